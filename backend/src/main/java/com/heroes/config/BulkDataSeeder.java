@@ -0,0 +1,170 @@
+package com.heroes.config;
+
+import com.heroes.model.dto.HeroRequestDTO;
+import com.heroes.model.entity.Superpoder;
+import com.heroes.repository.SuperpoderRepository;
+import com.heroes.service.HeroBatchService;
+import com.heroes.service.SuperpoderCatalog;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Massa de dados para testes de carga no perfil h2 (ligada com heroes.seed.herois > 0): completa o catálogo
+ * até heroes.seed.superpoderes e cria heroes.seed.herois heróis em lotes pelo HeroBatchService. A escolha dos
+ * superpoderes segue heroes.seed.distribuicao e é reproduzível pela heroes.seed.semente. Roda depois do
+ * DataInitializer, que só cria os dados iniciais em banco vazio.
+ */
+@Component
+@Profile("h2")
+@Order(Ordered.LOWEST_PRECEDENCE)
+public class BulkDataSeeder implements CommandLineRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(BulkDataSeeder.class);
+
+    private static final int BATCH_SIZE = 5000;
+
+    /**
+     * Quantos e quais superpoderes cada herói recebe, para uma média de heroes.seed.superpoderes-por-heroi (k).
+     */
+    public enum Distribution {
+        /** Exatamente k superpoderes, em rodízio pelo catálogo: todos os superpoderes aparecem igualmente. */
+        FIXA,
+        /** De 1 a 2k - 1 superpoderes, sorteados com a mesma chance. */
+        UNIFORME,
+        /** De 1 a 2k - 1 superpoderes, sorteados por popularidade (Zipf): poucos superpoderes em muitos heróis. */
+        ZIPF
+    }
+
+    private final HeroBatchService heroBatchService;
+    private final SuperpoderRepository superpoderRepository;
+    private final SuperpoderCatalog superpoderCatalog;
+    private final int heroCount;
+    private final int superpoderCount;
+    private final int superpoderesPerHero;
+    private final Distribution distribution;
+    private final long seed;
+
+    @Autowired
+    public BulkDataSeeder(HeroBatchService heroBatchService,
+                          SuperpoderRepository superpoderRepository,
+                          SuperpoderCatalog superpoderCatalog,
+                          @Value("${heroes.seed.herois:0}") int heroCount,
+                          @Value("${heroes.seed.superpoderes:10}") int superpoderCount,
+                          @Value("${heroes.seed.superpoderes-por-heroi:3}") int superpoderesPerHero,
+                          @Value("${heroes.seed.distribuicao:FIXA}") Distribution distribution,
+                          @Value("${heroes.seed.semente:42}") long seed) {
+        this.heroBatchService = heroBatchService;
+        this.superpoderRepository = superpoderRepository;
+        this.superpoderCatalog = superpoderCatalog;
+        this.heroCount = heroCount;
+        this.superpoderCount = superpoderCount;
+        this.superpoderesPerHero = superpoderesPerHero;
+        this.distribution = distribution;
+        this.seed = seed;
+    }
+
+    @Override
+    public void run(String... args) {
+        if (heroCount <= 0) {
+            return;
+        }
+
+        long start = System.nanoTime();
+        List<Long> superpoderIds = seedSuperpoderes();
+        Random random = new Random(seed);
+        double[] zipfCumulative = distribution == Distribution.ZIPF ? zipfCumulative(superpoderIds.size()) : null;
+
+        List<HeroRequestDTO> heroRequests = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < heroCount; i++) {
+            heroRequests.add(new HeroRequestDTO(
+                "Pessoa Carga " + i,
+                "Heroi Carga " + i,
+                LocalDate.of(1950, 1, 1).plusDays(random.nextInt(20000)),
+                1.50 + random.nextInt(60) / 100.0,
+                50.0 + random.nextInt(80),
+                selectSuperpoderIds(i, superpoderIds, random, zipfCumulative)
+            ));
+
+            if (heroRequests.size() == BATCH_SIZE) {
+                heroBatchService.createHeroes(heroRequests);
+                heroRequests.clear();
+            }
+        }
+        if (!heroRequests.isEmpty()) {
+            heroBatchService.createHeroes(heroRequests);
+        }
+
+        log.info("Massa de carga criada: {} heróis, {} superpoderes ({}) em {} ms",
+            heroCount, superpoderIds.size(), distribution, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private List<Long> seedSuperpoderes() {
+        long existing = superpoderRepository.count();
+        if (existing < superpoderCount) {
+            List<Superpoder> superpoderes = new ArrayList<>();
+            for (long i = existing; i < superpoderCount; i++) {
+                superpoderes.add(new Superpoder("Superpoder Carga " + i, "Superpoder gerado para testes de carga"));
+            }
+            superpoderRepository.saveAll(superpoderes);
+            superpoderCatalog.invalidate();
+        }
+
+        return superpoderRepository.findAll().stream()
+                .map(Superpoder::getId)
+                .sorted()
+                .toList();
+    }
+
+    List<Long> selectSuperpoderIds(int heroIndex, List<Long> superpoderIds, Random random, double[] zipfCumulative) {
+        int k = Math.max(1, Math.min(superpoderesPerHero, superpoderIds.size()));
+        if (distribution == Distribution.FIXA) {
+            List<Long> selected = new ArrayList<>(k);
+            for (int j = 0; j < k; j++) {
+                selected.add(superpoderIds.get((heroIndex + j) % superpoderIds.size()));
+            }
+            return selected;
+        }
+
+        int count = Math.min(1 + random.nextInt(2 * k - 1), superpoderIds.size());
+        Set<Long> selected = new LinkedHashSet<>(count);
+        while (selected.size() < count) {
+            int index = zipfCumulative != null ? zipfIndex(zipfCumulative, random.nextDouble()) : random.nextInt(superpoderIds.size());
+            selected.add(superpoderIds.get(index));
+        }
+        return new ArrayList<>(selected);
+    }
+
+    /** Distribuição acumulada de Zipf com expoente 1: o superpoder de posição r tem peso 1/r. */
+    static double[] zipfCumulative(int size) {
+        double[] cumulative = new double[size];
+        double total = 0;
+        for (int rank = 1; rank <= size; rank++) {
+            total += 1.0 / rank;
+            cumulative[rank - 1] = total;
+        }
+        for (int i = 0; i < size; i++) {
+            cumulative[i] /= total;
+        }
+        return cumulative;
+    }
+
+    private static int zipfIndex(double[] cumulative, double value) {
+        int index = Arrays.binarySearch(cumulative, value);
+        return Math.min(index >= 0 ? index : -index - 1, cumulative.length - 1);
+    }
+}
@@ -4,8 +4,12 @@ import com.heroes.model.entity.Hero;
 import com.heroes.model.entity.Superpoder;
 import com.heroes.repository.HeroRepository;
 import com.heroes.repository.SuperpoderRepository;
+import com.heroes.service.SuperpoderCatalog;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.context.annotation.Profile;
+import org.springframework.core.annotation.Order;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -14,14 +18,22 @@ import java.util.HashSet;
 import java.util.Set;
 
 @Component
+@Profile("!test")
+@Order(0)
 public class DataInitializer implements CommandLineRunner {
 
+    private static final Logger log = LoggerFactory.getLogger(DataInitializer.class);
+
     private final HeroRepository heroRepository;
     private final SuperpoderRepository superpoderRepository;
+    private final SuperpoderCatalog superpoderCatalog;
 
-    public DataInitializer(HeroRepository heroRepository, SuperpoderRepository superpoderRepository) {
+    public DataInitializer(HeroRepository heroRepository,
+                           SuperpoderRepository superpoderRepository,
+                           SuperpoderCatalog superpoderCatalog) {
         this.heroRepository = heroRepository;
         this.superpoderRepository = superpoderRepository;
+        this.superpoderCatalog = superpoderCatalog;
     }
 
     @Override
@@ -58,8 +70,9 @@ public class DataInitializer implements CommandLineRunner {
         superpoderRepository.save(sentidoAranha);
         superpoderRepository.save(braceletesIndestrutiveis);
         superpoderRepository.save(tecnologia);
+        superpoderCatalog.invalidate();
 
-        System.out.println("Superpoderes iniciais criados com sucesso!");
+        log.info("Superpoderes iniciais criados com sucesso!");
     }
 
     private void createHeroes() {
@@ -98,7 +111,7 @@ public class DataInitializer implements CommandLineRunner {
         spiderman.setSuperpoderes(spidermanPowers);
         heroRepository.save(spiderman);
 
-        System.out.println("Heróis iniciais criados com sucesso!");
+        log.info("Heróis iniciais criados com sucesso!");
     }
 
 }
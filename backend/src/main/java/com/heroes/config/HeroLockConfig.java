@@ -0,0 +1,23 @@
+package com.heroes.config;
+
+import com.heroes.service.HeroLocks;
+import org.springframework.aop.Advisor;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.annotation.AnnotationMatchingPointcut;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+@Configuration
+public class HeroLockConfig {
+
+    @Bean
+    public Advisor heroLockAdvisor(HeroLocks heroLocks) {
+        DefaultPointcutAdvisor advisor = new DefaultPointcutAdvisor(
+            AnnotationMatchingPointcut.forMethodAnnotation(HeroWriteLock.class), new HeroLockInterceptor(heroLocks));
+        // por dentro das novas tentativas (versionConflictRetryAdvisor), cada uma na fila de novo, e por fora do
+        // @Transactional: a conexão só sai do pool com a trava em mãos
+        advisor.setOrder(Ordered.HIGHEST_PRECEDENCE + 2);
+        return advisor;
+    }
+}
@@ -0,0 +1,40 @@
+package com.heroes.config;
+
+import com.heroes.service.HeroLocks;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Trava o herói dos métodos anotados com {@code @HeroWriteLock} em volta da transação: quem espera a trava não
+ * segura uma conexão do pool, e a trava só é solta depois do commit. Chamado dentro de uma transação já aberta
+ * (lote da escrita agrupada), a trava fica até o fim dessa transação.
+ */
+public class HeroLockInterceptor implements MethodInterceptor {
+
+    private final HeroLocks heroLocks;
+
+    public HeroLockInterceptor(HeroLocks heroLocks) {
+        this.heroLocks = heroLocks;
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        if (!heroLocks.isEnabled()) {
+            return invocation.proceed();
+        }
+        Long heroId = (Long) invocation.getArguments()[0];
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            heroLocks.lockUntilCompletion(heroId);
+            return invocation.proceed();
+        }
+        ReentrantLock lock = heroLocks.lock(heroId);
+        try {
+            return invocation.proceed();
+        } finally {
+            lock.unlock();
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.heroes.config;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Põe o método na fila da trava do herói cujo id é o primeiro parâmetro (HeroLockInterceptor), por fora da
+ * transação: a trava é tomada antes de a conexão sair do pool e solta depois do commit.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface HeroWriteLock {
+}
@@ -0,0 +1,51 @@
+package com.heroes.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+/**
+ * Dimensiona o pool HikariCP no perfil de produção antes da primeira conexão. Sem
+ * {@code heroes.datasource.pool-size}, usa núcleos * 2 + discos efetivos. O pool é fixo
+ * (minimumIdle = maximumPoolSize), como o HikariCP recomenda.
+ */
+@Component
+@Profile("prod")
+public class HikariPoolSizing implements BeanPostProcessor {
+
+    private final int poolSize;
+    private final int effectiveSpindles;
+    private final int availableProcessors;
+
+    @Autowired
+    public HikariPoolSizing(@Value("${heroes.datasource.pool-size:0}") int poolSize,
+                            @Value("${heroes.datasource.effective-spindles:1}") int effectiveSpindles) {
+        this(poolSize, effectiveSpindles, Runtime.getRuntime().availableProcessors());
+    }
+
+    HikariPoolSizing(int poolSize, int effectiveSpindles, int availableProcessors) {
+        this.poolSize = poolSize;
+        this.effectiveSpindles = effectiveSpindles;
+        this.availableProcessors = availableProcessors;
+    }
+
+    @Override
+    public Object postProcessBeforeInitialization(Object bean, String beanName) {
+        if (bean instanceof HikariDataSource dataSource) {
+            int size = resolvePoolSize();
+            dataSource.setMaximumPoolSize(size);
+            dataSource.setMinimumIdle(size);
+        }
+        return bean;
+    }
+
+    int resolvePoolSize() {
+        if (poolSize > 0) {
+            return poolSize;
+        }
+        return availableProcessors * 2 + Math.max(effectiveSpindles, 0);
+    }
+}
@@ -0,0 +1,106 @@
+package com.heroes.config;
+
+import com.heroes.service.HeroWriteQueue;
+import com.heroes.service.SuperpoderCatalog;
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.aop.Advisor;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.annotation.AnnotationMatchingPointcut;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Instrumentação da aplicação (desligável com heroes.metrics.enabled=false):
+ * <ul>
+ *   <li>heroes.service: tempo de cada método das classes anotadas com {@code @Timed} (HeroService);</li>
+ *   <li>heroes.sql.statements e heroes.http.sql.statements: instruções SQL no total e por requisição;</li>
+ *   <li>heroes.cache.gets: acertos e faltas do catálogo de superpoderes em memória;</li>
+ *   <li>heroes.escrita.commits e heroes.escrita.operacoes: commits e escritas de heróis da escrita agrupada;</li>
+ *   <li>heroes.escrita.conflitos-versao: escritas refeitas por esbarrarem na versão do herói.</li>
+ * </ul>
+ * Os endpoints já são medidos pelo Spring Boot em http.server.requests.
+ */
+@Configuration
+@ConditionalOnProperty(name = "heroes.metrics.enabled", havingValue = "true", matchIfMissing = true)
+public class MetricsConfig implements WebMvcConfigurer {
+
+    // o registro é resolvido sob demanda: ele depende dos MeterBinders, que dependem do EntityManagerFactory
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+    private final SqlStatementCounter sqlStatementCounter = new SqlStatementCounter();
+
+    public MetricsConfig(ObjectProvider<MeterRegistry> meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Bean
+    public Advisor timedServiceAdvisor() {
+        DefaultPointcutAdvisor advisor = new DefaultPointcutAdvisor(
+            new AnnotationMatchingPointcut(Timed.class, true), new TimedServiceInterceptor(meterRegistry));
+        // por fora do @Transactional: o tempo medido inclui o commit
+        advisor.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return advisor;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer sqlStatementCounterCustomizer() {
+        return properties -> properties.putIfAbsent(AvailableSettings.STATEMENT_INSPECTOR, sqlStatementCounter);
+    }
+
+    @Bean
+    public MeterBinder sqlStatementMetrics() {
+        return registry -> FunctionCounter.builder("heroes.sql.statements", sqlStatementCounter,
+                        SqlStatementCounter::getTotalCount)
+                .description("Instruções SQL preparadas pelo Hibernate")
+                .register(registry);
+    }
+
+    @Bean
+    public MeterBinder superpoderCatalogMetrics(SuperpoderCatalog superpoderCatalog) {
+        return registry -> {
+            FunctionCounter.builder("heroes.cache.gets", superpoderCatalog, SuperpoderCatalog::getHitCount)
+                    .description("Leituras do catálogo de superpoderes em memória")
+                    .tags("cache", "superpoderes", "result", "hit")
+                    .register(registry);
+            FunctionCounter.builder("heroes.cache.gets", superpoderCatalog, SuperpoderCatalog::getMissCount)
+                    .description("Leituras do catálogo de superpoderes em memória")
+                    .tags("cache", "superpoderes", "result", "miss")
+                    .register(registry);
+        };
+    }
+
+    @Bean
+    public MeterBinder heroWriteQueueMetrics(HeroWriteQueue heroWriteQueue) {
+        return registry -> {
+            FunctionCounter.builder("heroes.escrita.commits", heroWriteQueue, HeroWriteQueue::getCommitCount)
+                    .description("Transações confirmadas pela escrita agrupada de heróis")
+                    .register(registry);
+            FunctionCounter.builder("heroes.escrita.operacoes", heroWriteQueue, HeroWriteQueue::getWriteCount)
+                    .description("Criações, alterações e exclusões de heróis gravadas pela escrita agrupada")
+                    .register(registry);
+        };
+    }
+
+    @Bean
+    public MeterBinder versionConflictMetrics(VersionConflictRetryInterceptor versionConflictRetryInterceptor) {
+        return registry -> FunctionCounter.builder("heroes.escrita.conflitos-versao", versionConflictRetryInterceptor,
+                        VersionConflictRetryInterceptor::getRetryCount)
+                .description("Alterações e exclusões de heróis refeitas por conflito de versão (@Version)")
+                .register(registry);
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new SqlStatementMetricsInterceptor(sqlStatementCounter, meterRegistry))
+                .addPathPatterns("/api/**");
+    }
+}
@@ -0,0 +1,17 @@
+package com.heroes.config;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Refaz o método, em uma transação nova, quando a escrita esbarra na versão (@Version) de uma entidade alterada por
+ * outra transação (VersionConflictRetryInterceptor).
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface RetryOnVersionConflict {
+}
@@ -0,0 +1,36 @@
+package com.heroes.config;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Conta as instruções SQL preparadas pelo Hibernate: no total (heroes.sql.statements) e na thread
+ * atual, para que {@link SqlStatementMetricsInterceptor} registre quantas cada requisição executou.
+ * Não altera o SQL.
+ */
+public class SqlStatementCounter implements StatementInspector {
+
+    private static final ThreadLocal<int[]> CURRENT_THREAD_COUNT = ThreadLocal.withInitial(() -> new int[1]);
+
+    private final LongAdder totalCount = new LongAdder();
+
+    @Override
+    public String inspect(String sql) {
+        CURRENT_THREAD_COUNT.get()[0]++;
+        totalCount.increment();
+        return sql;
+    }
+
+    public void reset() {
+        CURRENT_THREAD_COUNT.get()[0] = 0;
+    }
+
+    public int currentThreadCount() {
+        return CURRENT_THREAD_COUNT.get()[0];
+    }
+
+    public long getTotalCount() {
+        return totalCount.sum();
+    }
+}
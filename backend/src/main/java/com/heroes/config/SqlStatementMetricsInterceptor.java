@@ -0,0 +1,54 @@
+package com.heroes.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Registra em heroes.http.sql.statements (por URI e método) quantas instruções SQL cada requisição executou.
+ * Respostas em streaming continuam em outra thread e só contam o que rodou antes do início da escrita. Cada
+ * par método e URI (o padrão mapeado, não o caminho da requisição) registra o seu DistributionSummary uma vez só.
+ */
+public class SqlStatementMetricsInterceptor implements HandlerInterceptor {
+
+    private final SqlStatementCounter sqlStatementCounter;
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+    private final Map<String, DistributionSummary> summaries = new ConcurrentHashMap<>();
+
+    public SqlStatementMetricsInterceptor(SqlStatementCounter sqlStatementCounter,
+                                          ObjectProvider<MeterRegistry> meterRegistry) {
+        this.sqlStatementCounter = sqlStatementCounter;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        sqlStatementCounter.reset();
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception ex) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern != null ? pattern.toString() : "UNKNOWN";
+        String method = request.getMethod();
+        summaries.computeIfAbsent(method + ' ' + uri, key -> register(uri, method))
+                .record(sqlStatementCounter.currentThreadCount());
+    }
+
+    private DistributionSummary register(String uri, String method) {
+        return DistributionSummary.builder("heroes.http.sql.statements")
+                .description("Instruções SQL por requisição")
+                .tag("uri", uri)
+                .tag("method", method)
+                .register(meterRegistry.getObject());
+    }
+}
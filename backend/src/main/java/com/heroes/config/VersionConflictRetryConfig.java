@@ -0,0 +1,28 @@
+package com.heroes.config;
+
+import org.springframework.aop.Advisor;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.annotation.AnnotationMatchingPointcut;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+@Configuration
+public class VersionConflictRetryConfig {
+
+    @Bean
+    public VersionConflictRetryInterceptor versionConflictRetryInterceptor(
+            @Value("${heroes.escrita.tentativas-otimistas:3}") int maxAttempts) {
+        return new VersionConflictRetryInterceptor(maxAttempts);
+    }
+
+    @Bean
+    public Advisor versionConflictRetryAdvisor(VersionConflictRetryInterceptor versionConflictRetryInterceptor) {
+        DefaultPointcutAdvisor advisor = new DefaultPointcutAdvisor(
+            AnnotationMatchingPointcut.forMethodAnnotation(RetryOnVersionConflict.class), versionConflictRetryInterceptor);
+        // por dentro da medição de tempo (timedServiceAdvisor) e por fora do @Transactional
+        advisor.setOrder(Ordered.HIGHEST_PRECEDENCE + 1);
+        return advisor;
+    }
+}
@@ -0,0 +1,51 @@
+package com.heroes.config;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.aop.ProxyMethodInvocation;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Refaz os métodos anotados com {@code @RetryOnVersionConflict} até heroes.escrita.tentativas-otimistas vezes
+ * quando a escrita esbarra na versão da entidade. Fica por fora do @Transactional: cada tentativa é uma transação
+ * nova, que relê a entidade. Chamado dentro de uma transação já aberta (lote da escrita agrupada), não refaz nada:
+ * a transação de fora é que falha e é refeita por quem a abriu.
+ */
+public class VersionConflictRetryInterceptor implements MethodInterceptor {
+
+    private final int maxAttempts;
+    private final LongAdder retryCount = new LongAdder();
+
+    public VersionConflictRetryInterceptor(int maxAttempts) {
+        if (maxAttempts < 1) {
+            throw new IllegalArgumentException("heroes.escrita.tentativas-otimistas deve ser maior que zero");
+        }
+        this.maxAttempts = maxAttempts;
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        if (maxAttempts == 1 || TransactionSynchronizationManager.isActualTransactionActive()) {
+            return invocation.proceed();
+        }
+        for (int attempt = 1; ; attempt++) {
+            try {
+                // proceed() só pode ser chamado uma vez por invocação: a cópia passa de novo pelos interceptores
+                // seguintes, inclusive o da transação
+                return ((ProxyMethodInvocation) invocation).invocableClone().proceed();
+            } catch (OptimisticLockingFailureException ex) {
+                if (attempt >= maxAttempts) {
+                    throw ex;
+                }
+                retryCount.increment();
+            }
+        }
+    }
+
+    public long getRetryCount() {
+        return retryCount.sum();
+    }
+}
@@ -0,0 +1,69 @@
+package com.heroes.config;
+
+import org.apache.coyote.ProtocolHandler;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Modo opcional (heroes.threads.virtuais=true) em que o Tomcat atende cada requisição em uma thread virtual,
+ * e com ela as chamadas ao HeroService e ao JDBC. Uma requisição parada esperando o banco deixa de ocupar uma
+ * das threads do Tomcat (server.tomcat.threads.max, ignorado neste modo); quem limita a concorrência no banco
+ * passa a ser o pool de conexões. Exige um JDK 21 ou superior em execução: o executor é obtido por reflexão
+ * para o projeto continuar compilando em Java 17, e a aplicação não sobe com a propriedade ligada em um JDK
+ * anterior.
+ * <p>
+ * Até o JDK 23, uma thread virtual que bloqueia dentro de um {@code synchronized} prende a thread portadora.
+ * Pontos conhecidos no caminho das requisições:
+ * <ul>
+ *   <li>SuperpoderCatalog recarrega o catálogo com um ReentrantLock, que não prende;</li>
+ *   <li>o driver PostgreSQL 42.7 não faz E/S dentro de {@code synchronized};</li>
+ *   <li>o otimizador pooled do Hibernate 5.6 ({@code PooledOptimizer.generate} e o do pooled-lo) é
+ *   {@code synchronized} e busca o próximo valor da sequência pelo JDBC dentro dele. Isso acontece uma vez a
+ *   cada heroes.id.allocation-size inserções por entidade (50), e as outras threads virtuais que inserem ao
+ *   mesmo tempo ficam presas na espera. Um bloco maior torna a ida ao banco mais rara, mas exige o mesmo
+ *   INCREMENT BY na sequência (nova migração).</li>
+ * </ul>
+ */
+@Configuration
+@ConditionalOnProperty(name = "heroes.threads.virtuais", havingValue = "true")
+public class VirtualThreadsConfig {
+
+    static final String THREAD_NAME_PREFIX = "http-virtual-";
+
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService virtualThreadExecutor() {
+        return newVirtualThreadPerTaskExecutor();
+    }
+
+    @Bean
+    public TomcatProtocolHandlerCustomizer<ProtocolHandler> virtualThreadProtocolHandlerCustomizer(
+            ExecutorService virtualThreadExecutor) {
+        return protocolHandler -> protocolHandler.setExecutor(virtualThreadExecutor);
+    }
+
+    /**
+     * Equivale a {@code Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name(THREAD_NAME_PREFIX, 0).factory())}
+     * do JDK 21; o nome com contador identifica as threads das requisições nos dumps e no jdk.tracePinnedThreads.
+     */
+    static ExecutorService newVirtualThreadPerTaskExecutor() {
+        try {
+            Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            Class<?> builderType = Class.forName("java.lang.Thread$Builder");
+            builder = builderType.getMethod("name", String.class, long.class).invoke(builder, THREAD_NAME_PREFIX, 0L);
+            ThreadFactory threadFactory = (ThreadFactory) builderType.getMethod("factory").invoke(builder);
+            return (ExecutorService) Executors.class.getMethod("newThreadPerTaskExecutor", ThreadFactory.class)
+                    .invoke(null, threadFactory);
+        } catch (NoSuchMethodException | ClassNotFoundException e) {
+            throw new IllegalStateException(
+                "heroes.threads.virtuais=true exige JDK 21 ou superior; em execução: " + Runtime.version(), e);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Não foi possível criar o executor de threads virtuais", e);
+        }
+    }
+}
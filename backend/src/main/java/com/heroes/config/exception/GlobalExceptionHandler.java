@@ -1,8 +1,11 @@
 package com.heroes.config.exception;
 
 import com.heroes.model.dto.ErrorResponse;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.validation.BindException;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -45,6 +48,81 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(errorResponse, HttpStatus.CONFLICT);
     }
 
+    // restrições do banco (nome único, chaves estrangeiras) barrando uma escrita concorrente que passou pelas
+    // verificações da aplicação
+    @ExceptionHandler(DataIntegrityViolationException.class)
+    public ResponseEntity<ErrorResponse> handleDataIntegrityViolationException(
+            DataIntegrityViolationException ex, WebRequest request) {
+
+        ErrorResponse errorResponse = new ErrorResponse(
+            HttpStatus.CONFLICT.value(),
+            "Conflito de dados",
+            "A operação viola uma restrição do banco de dados, possivelmente por uma alteração concorrente",
+            request.getDescription(false).replace("uri=", "")
+        );
+
+        return new ResponseEntity<>(errorResponse, HttpStatus.CONFLICT);
+    }
+
+    // a versão do herói mudou em todas as tentativas (heroes.escrita.tentativas-otimistas)
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<ErrorResponse> handleOptimisticLockingFailureException(
+            OptimisticLockingFailureException ex, WebRequest request) {
+
+        ErrorResponse errorResponse = new ErrorResponse(
+            HttpStatus.CONFLICT.value(),
+            "Conflito de concorrência",
+            "O registro foi alterado por outra requisição durante a operação; tente novamente",
+            request.getDescription(false).replace("uri=", "")
+        );
+
+        return new ResponseEntity<>(errorResponse, HttpStatus.CONFLICT);
+    }
+
+    @ExceptionHandler(HeroWriteQueueFullException.class)
+    public ResponseEntity<ErrorResponse> handleHeroWriteQueueFullException(
+            HeroWriteQueueFullException ex, WebRequest request) {
+
+        ErrorResponse errorResponse = new ErrorResponse(
+            HttpStatus.SERVICE_UNAVAILABLE.value(),
+            "Serviço sobrecarregado",
+            ex.getMessage(),
+            request.getDescription(false).replace("uri=", "")
+        );
+
+        return new ResponseEntity<>(errorResponse, HttpStatus.SERVICE_UNAVAILABLE);
+    }
+
+    // fila de escrita encerrada, ou sem resposta dela dentro de heroes.escrita.espera-resultado
+    @ExceptionHandler(HeroWriteQueueUnavailableException.class)
+    public ResponseEntity<ErrorResponse> handleHeroWriteQueueUnavailableException(
+            HeroWriteQueueUnavailableException ex, WebRequest request) {
+
+        ErrorResponse errorResponse = new ErrorResponse(
+            HttpStatus.SERVICE_UNAVAILABLE.value(),
+            "Serviço indisponível",
+            ex.getMessage(),
+            request.getDescription(false).replace("uri=", "")
+        );
+
+        return new ResponseEntity<>(errorResponse, HttpStatus.SERVICE_UNAVAILABLE);
+    }
+
+    // o mesmo herói ficou travado por outras alterações além de heroes.escrita.espera-trava
+    @ExceptionHandler(HeroLockTimeoutException.class)
+    public ResponseEntity<ErrorResponse> handleHeroLockTimeoutException(
+            HeroLockTimeoutException ex, WebRequest request) {
+
+        ErrorResponse errorResponse = new ErrorResponse(
+            HttpStatus.SERVICE_UNAVAILABLE.value(),
+            "Serviço sobrecarregado",
+            ex.getMessage(),
+            request.getDescription(false).replace("uri=", "")
+        );
+
+        return new ResponseEntity<>(errorResponse, HttpStatus.SERVICE_UNAVAILABLE);
+    }
+
     @ExceptionHandler(IllegalArgumentException.class)
     public ResponseEntity<ErrorResponse> handleIllegalArgumentException(
             IllegalArgumentException ex, WebRequest request) {
@@ -109,6 +187,31 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(errorResponse, HttpStatus.BAD_REQUEST);
     }
 
+    @ExceptionHandler(BindException.class)
+    public ResponseEntity<ErrorResponse> handleBindException(
+            BindException ex, WebRequest request) {
+
+        List<ErrorResponse.FieldError> fieldErrors = new ArrayList<>();
+
+        for (FieldError fieldError : ex.getBindingResult().getFieldErrors()) {
+            fieldErrors.add(new ErrorResponse.FieldError(
+                fieldError.getField(),
+                fieldError.getRejectedValue(),
+                fieldError.isBindingFailure() ? "Valor inválido" : fieldError.getDefaultMessage()
+            ));
+        }
+
+        ErrorResponse errorResponse = new ErrorResponse(
+            HttpStatus.BAD_REQUEST.value(),
+            "Parâmetros inválidos",
+            "Parâmetros de consulta não preenchidos ou inválidos",
+            request.getDescription(false).replace("uri=", ""),
+            fieldErrors
+        );
+
+        return new ResponseEntity<>(errorResponse, HttpStatus.BAD_REQUEST);
+    }
+
     @ExceptionHandler(Exception.class)
     public ResponseEntity<ErrorResponse> handleGenericException(
             Exception ex, WebRequest request) {
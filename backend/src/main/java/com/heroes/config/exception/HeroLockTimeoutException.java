@@ -0,0 +1,12 @@
+package com.heroes.config.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+public class HeroLockTimeoutException extends RuntimeException {
+
+    public HeroLockTimeoutException(Long heroId) {
+        super(String.format("O herói %d está sendo alterado por outras requisições; tente novamente em instantes", heroId));
+    }
+}
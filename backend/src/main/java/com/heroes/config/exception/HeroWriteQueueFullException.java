@@ -0,0 +1,12 @@
+package com.heroes.config.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+public class HeroWriteQueueFullException extends RuntimeException {
+
+    public HeroWriteQueueFullException(int capacity) {
+        super(String.format("Fila de escrita cheia (%d escritas aguardando); tente novamente em instantes", capacity));
+    }
+}
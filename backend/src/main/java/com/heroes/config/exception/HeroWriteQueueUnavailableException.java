@@ -0,0 +1,12 @@
+package com.heroes.config.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+public class HeroWriteQueueUnavailableException extends RuntimeException {
+
+    public HeroWriteQueueUnavailableException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,33 @@
+package com.heroes.controller;
+
+import com.heroes.model.dto.CacheRegionStatisticsDTO;
+import com.heroes.service.CacheStatisticsService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/cache")
+@Profile("cache")
+@Tag(name = "Cache", description = "Estatísticas do cache de segundo nível (perfil cache)")
+@CrossOrigin(origins = "http://localhost:4200")
+public class CacheStatisticsController {
+
+    private final CacheStatisticsService cacheStatisticsService;
+
+    public CacheStatisticsController(CacheStatisticsService cacheStatisticsService) {
+        this.cacheStatisticsService = cacheStatisticsService;
+    }
+
+    @GetMapping("/regions")
+    @Operation(summary = "Estatísticas por região", description = "Retorna acertos, faltas e inserções de cada região do cache de segundo nível")
+    @ApiResponse(responseCode = "200", description = "Estatísticas retornadas com sucesso")
+    public ResponseEntity<List<CacheRegionStatisticsDTO>> getRegionStatistics() {
+        return ResponseEntity.ok(cacheStatisticsService.findRegionStatistics());
+    }
+}
@@ -1,19 +1,38 @@
 package com.heroes.controller;
 
+import com.heroes.model.dto.HeroBatchItemResultDTO;
+import com.heroes.model.dto.HeroChangesDTO;
+import com.heroes.model.dto.HeroFilterDTO;
+import com.heroes.model.dto.HeroPageRevisionDTO;
 import com.heroes.model.dto.HeroRequestDTO;
 import com.heroes.model.dto.HeroResponseDTO;
+import com.heroes.model.dto.HeroRevisionDTO;
+import com.heroes.service.HeroBatchService;
+import com.heroes.service.HeroExportService;
+import com.heroes.service.HeroJsonWriter;
 import com.heroes.service.HeroService;
+import com.heroes.service.HeroSyncService;
+import com.heroes.service.HeroWriteQueue;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springdoc.api.annotations.ParameterObject;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import javax.servlet.http.HttpServletResponse;
 import javax.validation.Valid;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
+import java.util.zip.GZIPOutputStream;
 
 @RestController
 @RequestMapping("/api/heroes")
@@ -21,30 +40,151 @@ import java.util.List;
 @CrossOrigin(origins = "http://localhost:4200")
 public class HeroController {
 
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    public static final String NDJSON_MEDIA_TYPE = "application/x-ndjson";
+
+    private static final String GZIP_ENCODING = "gzip";
+    private static final int EXPORT_BUFFER_SIZE = 8192;
+
     private final HeroService heroService;
+    private final HeroExportService heroExportService;
+    private final HeroBatchService heroBatchService;
+    private final HeroSyncService heroSyncService;
+    private final HeroJsonWriter heroJsonWriter;
+    private final HeroWriteQueue heroWriteQueue;
 
-    public HeroController(HeroService heroService) {
+    public HeroController(HeroService heroService,
+                          HeroExportService heroExportService,
+                          HeroBatchService heroBatchService,
+                          HeroSyncService heroSyncService,
+                          HeroJsonWriter heroJsonWriter,
+                          HeroWriteQueue heroWriteQueue) {
         this.heroService = heroService;
+        this.heroExportService = heroExportService;
+        this.heroBatchService = heroBatchService;
+        this.heroSyncService = heroSyncService;
+        this.heroJsonWriter = heroJsonWriter;
+        this.heroWriteQueue = heroWriteQueue;
     }
 
     @GetMapping
-    @Operation(summary = "Listar todos os heróis", description = "Retorna uma lista com todos os super-heróis cadastrados")
+    @Operation(summary = "Listar heróis", description = "Retorna uma página de super-heróis, opcionalmente filtrada por prefixo do nome de herói, "
+            + "faixas de data de nascimento, altura e peso e superpoderes, ordenada pelo campo escolhido (padrão ID). "
+            + "Quando houver mais resultados, o cabeçalho " + NEXT_CURSOR_HEADER + " traz o token da próxima página, "
+            + "que deve ser usado com os mesmos filtros e ordenação")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Página de heróis retornada com sucesso"),
+        @ApiResponse(responseCode = "304", description = "Página não modificada desde o ETag informado em If-None-Match"),
+        @ApiResponse(responseCode = "400", description = "Filtro, cursor ou tamanho de página inválido")
+    })
+    public ResponseEntity<List<HeroResponseDTO>> getAllHeroes(
+            @ParameterObject HeroFilterDTO filtro,
+            @Parameter(description = "Token de continuação recebido na página anterior") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Quantidade máxima de heróis na página (1 a 500, padrão 50)") @RequestParam(required = false) Integer tamanho,
+            WebRequest webRequest,
+            HttpServletResponse response) throws IOException {
+        HeroPageRevisionDTO pageRevision = heroService.findHeroPageRevision(filtro, cursor, tamanho);
+        if (pageRevision.nextCursor() != null) {
+            response.setHeader(NEXT_CURSOR_HEADER, pageRevision.nextCursor());
+        }
+        // Só id e versão foram lidos até aqui; a página completa é buscada apenas se o ETag mudou
+        if (webRequest.checkNotModified(pageRevision.etag())) {
+            return null;
+        }
+        if (heroJsonWriter.isEnabled()) {
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            heroJsonWriter.writeHeroes(pageRevision.heroIds(), filtro.sortField(), filtro.sortDirection(),
+                response.getOutputStream());
+            return null;
+        }
+        return ResponseEntity.ok(heroService.findHeroesByIds(pageRevision.heroIds()));
+    }
+
+    @GetMapping(value = "/export", produces = NDJSON_MEDIA_TYPE)
+    @Operation(summary = "Exportar todos os heróis", description = "Exporta o catálogo completo de heróis em JSON delimitado por linha (NDJSON), "
+            + "com compressão gzip quando solicitada pelo cabeçalho Accept-Encoding")
+    @ApiResponse(responseCode = "200", description = "Exportação gerada com sucesso")
+    public void exportHeroes(
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            HttpServletResponse response) throws IOException {
+        boolean gzip = acceptsGzip(acceptEncoding);
+
+        response.setContentType(NDJSON_MEDIA_TYPE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, GZIP_ENCODING);
+        }
+
+        OutputStream outputStream = gzip
+            ? new GZIPOutputStream(response.getOutputStream(), EXPORT_BUFFER_SIZE)
+            : response.getOutputStream();
+        try (outputStream) {
+            heroExportService.exportHeroesAsNdjson(outputStream);
+        }
+    }
+
+    /**
+     * Se o Accept-Encoding aceita gzip: a entrada gzip (ou, sem ela, a curinga *) com qvalue maior que zero.
+     * {@code gzip;q=0} recusa o gzip explicitamente; um qvalue inválido conta como zero.
+     */
+    private static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        Double gzipQuality = null;
+        Double wildcardQuality = null;
+        for (String entry : acceptEncoding.split(",")) {
+            String[] parts = entry.split(";");
+            String coding = parts[0].trim();
+            double quality = 1.0;
+            for (int index = 1; index < parts.length; index++) {
+                String parameter = parts[index].trim();
+                if (parameter.regionMatches(true, 0, "q=", 0, 2)) {
+                    try {
+                        quality = Double.parseDouble(parameter.substring(2).trim());
+                    } catch (NumberFormatException ex) {
+                        quality = 0;
+                    }
+                }
+            }
+            if (coding.equalsIgnoreCase(GZIP_ENCODING) || coding.equalsIgnoreCase("x-gzip")) {
+                gzipQuality = gzipQuality == null ? quality : Math.max(gzipQuality, quality);
+            } else if (coding.equals("*")) {
+                wildcardQuality = quality;
+            }
+        }
+        Double quality = gzipQuality != null ? gzipQuality : wildcardQuality;
+        return quality != null && quality > 0;
+    }
+
+    @GetMapping("/changes")
+    @Operation(summary = "Sincronizar alterações", description = "Retorna os heróis criados, alterados ou removidos depois da marca informada, "
+            + "em ordem de alteração, junto com a marca a ser usada na próxima chamada. Sem marca, retorna o catálogo desde o início")
     @ApiResponses(value = {
-        @ApiResponse(responseCode = "200", description = "Lista de heróis retornada com sucesso"),
-        @ApiResponse(responseCode = "404", description = "Nenhum herói encontrado")
+        @ApiResponse(responseCode = "200", description = "Alterações retornadas com sucesso"),
+        @ApiResponse(responseCode = "400", description = "Marca ou tamanho de página inválido")
     })
-    public ResponseEntity<List<HeroResponseDTO>> getAllHeroes() {
-        return ResponseEntity.ok(heroService.findAllHeroes());
+    public ResponseEntity<HeroChangesDTO> getHeroChanges(
+            @Parameter(description = "Marca (proximaMarca) recebida na sincronização anterior") @RequestParam(required = false) String since,
+            @Parameter(description = "Quantidade máxima de alterações na resposta (1 a 500, padrão 100)") @RequestParam(required = false) Integer tamanho) {
+        return ResponseEntity.ok(heroSyncService.findChangesSince(since, tamanho));
     }
 
     @GetMapping("/{id}")
     @Operation(summary = "Buscar herói por ID", description = "Retorna um super-herói específico pelo seu ID")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Herói encontrado"),
+        @ApiResponse(responseCode = "304", description = "Herói não modificado desde o ETag (If-None-Match) ou a data (If-Modified-Since) informados"),
         @ApiResponse(responseCode = "404", description = "Herói não encontrado")
     })
     public ResponseEntity<HeroResponseDTO> getHeroById(
-            @Parameter(description = "ID do herói") @PathVariable Long id) {
+            @Parameter(description = "ID do herói") @PathVariable Long id,
+            WebRequest webRequest) {
+        HeroRevisionDTO revision = heroService.findHeroRevision(id);
+        if (webRequest.checkNotModified(revision.etag(), revision.lastModified().toEpochMilli())) {
+            return null;
+        }
         return ResponseEntity.ok(heroService.findHeroById(id));
     }
 
@@ -56,7 +196,21 @@ public class HeroController {
         @ApiResponse(responseCode = "409", description = "Nome do herói já existe")
     })
     public ResponseEntity<HeroResponseDTO> createHero(@Valid @RequestBody HeroRequestDTO heroRequestDTO) {
-        return ResponseEntity.status(HttpStatus.CREATED).body(heroService.createHero(heroRequestDTO));
+        HeroResponseDTO createdHero = heroWriteQueue.isEnabled()
+            ? HeroWriteQueue.join(heroWriteQueue.createHero(heroRequestDTO))
+            : heroService.createHero(heroRequestDTO);
+        return ResponseEntity.status(HttpStatus.CREATED).body(createdHero);
+    }
+
+    @PostMapping("/batch")
+    @Operation(summary = "Criar heróis em lote", description = "Cadastra até 10.000 super-heróis em uma única requisição. "
+            + "Cada item recebe seu próprio resultado (201, 400, 404 ou 409) na mesma posição do lote enviado")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Lote processado; consulte o status de cada item"),
+        @ApiResponse(responseCode = "400", description = "Lote vazio ou acima do tamanho máximo")
+    })
+    public ResponseEntity<List<HeroBatchItemResultDTO>> createHeroesBatch(@RequestBody List<HeroRequestDTO> heroRequests) {
+        return ResponseEntity.ok(heroBatchService.createHeroes(heroRequests));
     }
 
     @PutMapping("/{id}")
@@ -70,7 +224,10 @@ public class HeroController {
     public ResponseEntity<HeroResponseDTO> updateHero(
             @Parameter(description = "ID do herói") @PathVariable Long id,
             @Valid @RequestBody HeroRequestDTO heroRequestDTO) {
-        return ResponseEntity.ok(heroService.updateHero(id, heroRequestDTO));
+        HeroResponseDTO updatedHero = heroWriteQueue.isEnabled()
+            ? HeroWriteQueue.join(heroWriteQueue.updateHero(id, heroRequestDTO))
+            : heroService.updateHero(id, heroRequestDTO);
+        return ResponseEntity.ok(updatedHero);
     }
 
     @DeleteMapping("/{id}")
@@ -81,7 +238,11 @@ public class HeroController {
     })
     public ResponseEntity<Void> deleteHero(
             @Parameter(description = "ID do herói") @PathVariable Long id) {
-        heroService.removeHero(id);
+        if (heroWriteQueue.isEnabled()) {
+            HeroWriteQueue.join(heroWriteQueue.removeHero(id));
+        } else {
+            heroService.removeHero(id);
+        }
         return ResponseEntity.noContent().build();
     }
 }
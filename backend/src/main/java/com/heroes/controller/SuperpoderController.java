@@ -1,10 +1,20 @@
 package com.heroes.controller;
 
+import com.heroes.model.dto.HeroPageDTO;
+import com.heroes.model.dto.HeroResponseDTO;
 import com.heroes.model.dto.SuperpoderDTO;
+import com.heroes.service.HeroService;
+import com.heroes.service.SuperpoderCatalog;
 import com.heroes.service.SuperpoderService;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -17,15 +27,63 @@ import java.util.List;
 public class SuperpoderController {
 
     private final SuperpoderService superpoderService;
+    private final HeroService heroService;
 
-    public SuperpoderController(SuperpoderService superpoderService) {
+    public SuperpoderController(SuperpoderService superpoderService, HeroService heroService) {
         this.superpoderService = superpoderService;
+        this.heroService = heroService;
     }
 
     @GetMapping
     @Operation(summary = "Listar todos os superpoderes", description = "Retorna uma lista com todos os superpoderes disponíveis")
-    @ApiResponse(responseCode = "200", description = "Lista de superpoderes retornada com sucesso")
-    public ResponseEntity<List<SuperpoderDTO>> getAllSuperpoderes() {
-        return ResponseEntity.ok(superpoderService.findAll());
+    @ApiResponse(responseCode = "200", description = "Lista de superpoderes retornada com sucesso",
+            content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+                array = @ArraySchema(schema = @Schema(implementation = SuperpoderDTO.class))))
+    @ApiResponse(responseCode = "304", description = "Catálogo não modificado desde o ETag informado em If-None-Match")
+    public ResponseEntity<byte[]> getAllSuperpoderes() {
+        SuperpoderCatalog.Snapshot catalog = superpoderService.findCatalog();
+        // O ETag do ResponseEntity é comparado com If-None-Match e vira 304 sem corpo; o corpo é o JSON
+        // serializado quando o snapshot foi carregado, sem passar pelo Jackson a cada requisição
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache())
+                .eTag(catalog.etag())
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(catalog.json());
+    }
+
+    @GetMapping("/{id}/heroes")
+    @Operation(summary = "Listar heróis com o superpoder", description = "Retorna uma página, ordenada por ID, dos heróis que possuem o superpoder. "
+            + "Quando houver mais resultados, o cabeçalho " + HeroController.NEXT_CURSOR_HEADER + " traz o token da próxima página")
+    @ApiResponse(responseCode = "200", description = "Página de heróis retornada com sucesso")
+    @ApiResponse(responseCode = "400", description = "Cursor ou tamanho de página inválido")
+    @ApiResponse(responseCode = "404", description = "Superpoder não encontrado")
+    public ResponseEntity<List<HeroResponseDTO>> getHeroesBySuperpoder(
+            @Parameter(description = "ID do superpoder") @PathVariable Long id,
+            @Parameter(description = "Token de continuação recebido na página anterior") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Quantidade máxima de heróis na página (1 a 500, padrão 50)") @RequestParam(required = false) Integer tamanho) {
+        return toResponse(heroService.findHeroesBySuperpoderes(List.of(id), List.of(), cursor, tamanho));
+    }
+
+    @GetMapping("/heroes")
+    @Operation(summary = "Listar heróis por combinação de superpoderes", description = "Retorna uma página, ordenada por ID, dos heróis que possuem "
+            + "todos os superpoderes de 'todos' e ao menos um de 'qualquer'. Quando houver mais resultados, o cabeçalho "
+            + HeroController.NEXT_CURSOR_HEADER + " traz o token da próxima página")
+    @ApiResponse(responseCode = "200", description = "Página de heróis retornada com sucesso")
+    @ApiResponse(responseCode = "400", description = "Nenhum superpoder informado, cursor ou tamanho de página inválido")
+    @ApiResponse(responseCode = "404", description = "Superpoder não encontrado")
+    public ResponseEntity<List<HeroResponseDTO>> getHeroesBySuperpoderes(
+            @Parameter(description = "IDs de superpoderes que o herói deve possuir (E)") @RequestParam(required = false) List<Long> todos,
+            @Parameter(description = "IDs de superpoderes dos quais o herói deve possuir ao menos um (OU)") @RequestParam(required = false) List<Long> qualquer,
+            @Parameter(description = "Token de continuação recebido na página anterior") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Quantidade máxima de heróis na página (1 a 500, padrão 50)") @RequestParam(required = false) Integer tamanho) {
+        return toResponse(heroService.findHeroesBySuperpoderes(todos, qualquer, cursor, tamanho));
+    }
+
+    private ResponseEntity<List<HeroResponseDTO>> toResponse(HeroPageDTO page) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.nextCursor() != null) {
+            response.header(HeroController.NEXT_CURSOR_HEADER, page.nextCursor());
+        }
+        return response.body(page.content());
     }
 }
@@ -0,0 +1,8 @@
+package com.heroes.model.dto;
+
+public record CacheRegionStatisticsDTO(
+    String region,
+    long hitCount,
+    long missCount,
+    long putCount
+) {}
@@ -0,0 +1,8 @@
+package com.heroes.model.dto;
+
+public record HeroBatchItemResultDTO(
+    int index,
+    int status,
+    HeroResponseDTO hero,
+    String message
+) {}
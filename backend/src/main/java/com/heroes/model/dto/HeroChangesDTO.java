@@ -0,0 +1,10 @@
+package com.heroes.model.dto;
+
+import java.util.List;
+
+public record HeroChangesDTO(
+    List<HeroResponseDTO> atualizados,
+    List<Long> removidos,
+    String proximaMarca,
+    boolean temMais
+) {}
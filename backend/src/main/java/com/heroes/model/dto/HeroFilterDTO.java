@@ -0,0 +1,62 @@
+package com.heroes.model.dto;
+
+import io.swagger.v3.oas.annotations.Parameter;
+import org.springframework.data.domain.Sort;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public record HeroFilterDTO(
+    @Parameter(description = "Início do nome de herói (diferencia maiúsculas de minúsculas)")
+    String nomeHeroi,
+
+    @Parameter(description = "Data de nascimento mínima (inclusiva), no formato AAAA-MM-DD")
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    LocalDate nascimentoDe,
+
+    @Parameter(description = "Data de nascimento máxima (inclusiva), no formato AAAA-MM-DD")
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    LocalDate nascimentoAte,
+
+    @Parameter(description = "Altura mínima em metros (inclusiva)")
+    Double alturaMin,
+
+    @Parameter(description = "Altura máxima em metros (inclusiva)")
+    Double alturaMax,
+
+    @Parameter(description = "Peso mínimo em quilos (inclusivo)")
+    Double pesoMin,
+
+    @Parameter(description = "Peso máximo em quilos (inclusivo)")
+    Double pesoMax,
+
+    @Parameter(description = "IDs de superpoderes que o herói deve possuir")
+    List<Long> superpoderIds,
+
+    @Parameter(description = "TODOS exige todos os superpoderes informados; QUALQUER exige ao menos um (padrão TODOS)")
+    SuperpoderMatch superpoderModo,
+
+    @Parameter(description = "Campo de ordenação (padrão ID)")
+    HeroSortField ordenarPor,
+
+    @Parameter(description = "Direção da ordenação: ASC ou DESC (padrão ASC)")
+    Sort.Direction direcao
+) {
+
+    public static HeroFilterDTO semFiltros() {
+        return new HeroFilterDTO(null, null, null, null, null, null, null, null, null, null, null);
+    }
+
+    public HeroSortField sortField() {
+        return ordenarPor != null ? ordenarPor : HeroSortField.ID;
+    }
+
+    public Sort.Direction sortDirection() {
+        return direcao != null ? direcao : Sort.Direction.ASC;
+    }
+
+    public SuperpoderMatch superpoderMatch() {
+        return superpoderModo != null ? superpoderModo : SuperpoderMatch.TODOS;
+    }
+}
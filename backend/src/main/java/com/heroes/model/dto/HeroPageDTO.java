@@ -0,0 +1,8 @@
+package com.heroes.model.dto;
+
+import java.util.List;
+
+public record HeroPageDTO(
+    List<HeroResponseDTO> content,
+    String nextCursor
+) {}
@@ -0,0 +1,7 @@
+package com.heroes.model.dto;
+
+public record HeroPageKeyDTO(
+    Long id,
+    Long versao,
+    Comparable<?> sortValue
+) {}
@@ -0,0 +1,9 @@
+package com.heroes.model.dto;
+
+import java.util.List;
+
+public record HeroPageRevisionDTO(
+    List<Long> heroIds,
+    String nextCursor,
+    String etag
+) {}
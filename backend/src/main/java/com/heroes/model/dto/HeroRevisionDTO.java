@@ -0,0 +1,8 @@
+package com.heroes.model.dto;
+
+import java.time.Instant;
+
+public record HeroRevisionDTO(
+    String etag,
+    Instant lastModified
+) {}
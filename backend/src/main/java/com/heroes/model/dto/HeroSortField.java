@@ -0,0 +1,33 @@
+package com.heroes.model.dto;
+
+import java.time.LocalDate;
+import java.util.function.Function;
+
+/**
+ * Campos aceitos na ordenação da listagem de heróis. Cada campo tem um índice composto
+ * (campo, id) no banco, o que mantém a paginação por cursor em uma varredura de faixa do índice.
+ */
+public enum HeroSortField {
+
+    ID("id", Long::valueOf),
+    NOME_HEROI("nomeHeroi", value -> value),
+    DATA_NASCIMENTO("dataNascimento", LocalDate::parse),
+    ALTURA("altura", Double::valueOf),
+    PESO("peso", Double::valueOf);
+
+    private final String attribute;
+    private final Function<String, Comparable<?>> parser;
+
+    HeroSortField(String attribute, Function<String, Comparable<?>> parser) {
+        this.attribute = attribute;
+        this.parser = parser;
+    }
+
+    public String getAttribute() {
+        return attribute;
+    }
+
+    public Comparable<?> parseValue(String value) {
+        return parser.apply(value);
+    }
+}
@@ -0,0 +1,19 @@
+package com.heroes.model.dto;
+
+import java.time.LocalDate;
+
+/**
+ * Uma linha da projeção herói x superpoder: as colunas do herói repetidas para cada superpoder.
+ * Herói sem superpoderes vem em uma única linha, com as colunas de superpoder nulas.
+ */
+public record HeroSuperpoderRowDTO(
+    Long id,
+    String nome,
+    String nomeHeroi,
+    LocalDate dataNascimento,
+    Double altura,
+    Double peso,
+    Long superpoderId,
+    String superpoderNome,
+    String superpoderDescricao
+) {}
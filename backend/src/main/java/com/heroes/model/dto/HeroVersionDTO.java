@@ -0,0 +1,9 @@
+package com.heroes.model.dto;
+
+import java.time.Instant;
+
+public record HeroVersionDTO(
+    Long id,
+    Long versao,
+    Instant atualizadoEm
+) {}
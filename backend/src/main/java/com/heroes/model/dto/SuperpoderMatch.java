@@ -0,0 +1,6 @@
+package com.heroes.model.dto;
+
+public enum SuperpoderMatch {
+    TODOS,
+    QUALQUER
+}
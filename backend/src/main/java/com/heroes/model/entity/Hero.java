@@ -4,8 +4,15 @@ import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
+import org.hibernate.annotations.UpdateTimestamp;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
 
 import javax.persistence.*;
+import java.time.Instant;
 import java.time.LocalDate;
 import java.util.Set;
 
@@ -15,10 +22,13 @@ import java.util.Set;
 @NoArgsConstructor
 @AllArgsConstructor
 @EqualsAndHashCode(exclude = "superpoderes")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "hero")
 public class Hero {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "herois_seq")
+    @GenericGenerator(name = "herois_seq", strategy = "com.heroes.model.entity.PooledSequenceGenerator",
+        parameters = @Parameter(name = SequenceStyleGenerator.SEQUENCE_PARAM, value = "herois_seq"))
     private Long id;
 
     @Column(nullable = false, length = 120)
@@ -36,12 +46,23 @@ public class Hero {
     @Column(nullable = false)
     private Double peso;
 
+    @Version
+    @Column(nullable = false)
+    private Long versao;
+
+    @UpdateTimestamp
+    @Column(nullable = false)
+    private Instant atualizadoEm;
+
     @ManyToMany(cascade = {CascadeType.PERSIST, CascadeType.MERGE}, fetch = FetchType.LAZY)
     @JoinTable(
         name = "heroissuperpoderes",
         joinColumns = @JoinColumn(name = "heroi_id"),
         inverseJoinColumns = @JoinColumn(name = "superpoder_id")
     )
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "hero-superpoderes")
+    // ordem estável na resposta, a mesma da escrita direta em JSON (HeroJsonWriter)
+    @OrderBy("id")
     private Set<Superpoder> superpoderes;
 
     public Hero(String nome, String nomeHeroi, LocalDate dataNascimento, Double altura, Double peso) {
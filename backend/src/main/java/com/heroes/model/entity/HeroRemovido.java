@@ -0,0 +1,32 @@
+package com.heroes.model.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+
+import javax.persistence.*;
+import java.time.Instant;
+
+/**
+ * Marca de remoção de um herói, usada pela sincronização incremental (GET /api/heroes/changes)
+ * para informar aos clientes os heróis excluídos depois da última marca d'água.
+ */
+@Entity
+@Table(name = "herois_removidos")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class HeroRemovido {
+
+    @Id
+    private Long heroiId;
+
+    @CreationTimestamp
+    @Column(nullable = false)
+    private Instant removidoEm;
+
+    public HeroRemovido(Long heroiId) {
+        this.heroiId = heroiId;
+    }
+}
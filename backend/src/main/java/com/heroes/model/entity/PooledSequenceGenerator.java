@@ -0,0 +1,43 @@
+package com.heroes.model.entity;
+
+import org.hibernate.MappingException;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.engine.config.spi.ConfigurationService;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+import org.hibernate.internal.util.config.ConfigurationHelper;
+import org.hibernate.service.ServiceRegistry;
+import org.hibernate.type.Type;
+
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * Gerador de IDs por sequência cujo tamanho de bloco vem da configuração
+ * ({@value #ALLOCATION_SIZE_SETTING}) em vez de ficar fixo na anotação da entidade.
+ * O otimizador segue {@code hibernate.id.optimizer.pooled.preferred} (pooled ou pooled-lo).
+ * O INCREMENT BY da sequência no banco precisa ser igual ao tamanho do bloco. A busca de um novo bloco
+ * acontece dentro do {@code synchronized} do otimizador (ver VirtualThreadsConfig).
+ */
+public class PooledSequenceGenerator extends SequenceStyleGenerator {
+
+    public static final String ALLOCATION_SIZE_SETTING = "heroes.id.allocation-size";
+    public static final int DEFAULT_ALLOCATION_SIZE = 50;
+
+    @Override
+    public void configure(Type type, Properties params, ServiceRegistry serviceRegistry) throws MappingException {
+        Map<?, ?> settings = serviceRegistry.getService(ConfigurationService.class).getSettings();
+
+        int allocationSize = ConfigurationHelper.getInt(ALLOCATION_SIZE_SETTING, settings, DEFAULT_ALLOCATION_SIZE);
+        if (allocationSize < 1) {
+            throw new MappingException(ALLOCATION_SIZE_SETTING + " deve ser maior que zero: " + allocationSize);
+        }
+        params.setProperty(INCREMENT_PARAM, String.valueOf(allocationSize));
+
+        String preferredOptimizer = ConfigurationHelper.getString(AvailableSettings.PREFERRED_POOLED_OPTIMIZER, settings);
+        if (preferredOptimizer != null && allocationSize > 1) {
+            params.putIfAbsent(OPT_PARAM, preferredOptimizer);
+        }
+
+        super.configure(type, params, serviceRegistry);
+    }
+}
@@ -2,17 +2,35 @@ package com.heroes.model.mapper;
 
 import com.heroes.model.dto.HeroRequestDTO;
 import com.heroes.model.dto.HeroResponseDTO;
+import com.heroes.model.dto.HeroSuperpoderRowDTO;
 import com.heroes.model.dto.SuperpoderDTO;
 import com.heroes.model.entity.Hero;
 import com.heroes.model.entity.Superpoder;
 import org.springframework.stereotype.Component;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
-import java.util.stream.Collectors;
+import java.util.concurrent.ConcurrentHashMap;
 
+/**
+ * Conversões entre entidades e DTOs de heróis e superpoderes. A conversão para resposta roda para cada herói
+ * de uma listagem ou exportação, então evita coleções intermediárias: os superpoderes vão direto para um array
+ * do tamanho exato, e os SuperpoderDTO (imutáveis) são reaproveitados por ID enquanto nome e descrição não mudam.
+ * As listagens chegam como linhas da projeção herói x superpoder (HeroSuperpoderRowDTO), sem entidades.
+ */
 @Component
 public class HeroMapper {
 
+    // o catálogo de superpoderes é pequeno; o limite só protege contra um crescimento inesperado
+    private static final int MAX_CACHED_SUPERPODERES = 10_000;
+
+    private final Map<Long, SuperpoderDTO> superpoderDTOs = new ConcurrentHashMap<>();
+
     public Hero toEntity(HeroRequestDTO dto, Set<Superpoder> superpoderes) {
         if (dto == null) {
             return null;
@@ -34,12 +52,6 @@ public class HeroMapper {
             return null;
         }
 
-        Set<SuperpoderDTO> superpoderesDTO = hero.getSuperpoderes() != null 
-            ? hero.getSuperpoderes().stream()
-                .map(this::toSuperpoderDTO)
-                .collect(Collectors.toSet())
-            : Set.of();
-
         return new HeroResponseDTO(
             hero.getId(),
             hero.getNome(),
@@ -47,10 +59,29 @@ public class HeroMapper {
             hero.getDataNascimento(),
             hero.getAltura(),
             hero.getPeso(),
-            superpoderesDTO.stream().toList()
+            toSuperpoderDTOs(hero.getSuperpoderes())
         );
     }
 
+    /**
+     * Agrupa as linhas da projeção herói x superpoder, ordenadas por herói, em um HeroResponseDTO por herói,
+     * na ordem das linhas. Os superpoderes de cada herói saem na ordem em que vieram.
+     */
+    public List<HeroResponseDTO> toResponseDTOs(List<HeroSuperpoderRowDTO> rows) {
+        List<HeroResponseDTO> heroes = new ArrayList<>();
+        int start = 0;
+        while (start < rows.size()) {
+            Long heroId = rows.get(start).id();
+            int end = start + 1;
+            while (end < rows.size() && heroId.equals(rows.get(end).id())) {
+                end++;
+            }
+            heroes.add(toResponseDTO(rows, start, end));
+            start = end;
+        }
+        return heroes;
+    }
+
     public void updateEntityFromDTO(Hero hero, HeroRequestDTO dto, Set<Superpoder> superpoderes) {
         if (hero == null || dto == null) {
             return;
@@ -69,10 +100,68 @@ public class HeroMapper {
             return null;
         }
 
-        return new SuperpoderDTO(
-            superpoder.getId(),
-            superpoder.getNome(),
-            superpoder.getDescricao()
+        return toSuperpoderDTO(superpoder.getId(), superpoder.getNome(), superpoder.getDescricao());
+    }
+
+    private SuperpoderDTO toSuperpoderDTO(Long id, String nome, String descricao) {
+        if (id == null) {
+            return new SuperpoderDTO(null, nome, descricao);
+        }
+
+        SuperpoderDTO cached = superpoderDTOs.get(id);
+        if (cached != null
+                && Objects.equals(cached.nome(), nome)
+                && Objects.equals(cached.descricao(), descricao)) {
+            return cached;
+        }
+
+        SuperpoderDTO superpoderDTO = new SuperpoderDTO(id, nome, descricao);
+        if (superpoderDTOs.size() >= MAX_CACHED_SUPERPODERES) {
+            superpoderDTOs.clear();
+        }
+        superpoderDTOs.put(id, superpoderDTO);
+        return superpoderDTO;
+    }
+
+    /** Um herói a partir das linhas [start, end) da projeção, todas do mesmo herói. */
+    private HeroResponseDTO toResponseDTO(List<HeroSuperpoderRowDTO> rows, int start, int end) {
+        HeroSuperpoderRowDTO first = rows.get(start);
+        List<SuperpoderDTO> superpoderes;
+        if (first.superpoderId() == null) {
+            // LEFT JOIN de herói sem superpoderes: uma linha só, com o superpoder nulo
+            superpoderes = List.of();
+        } else {
+            SuperpoderDTO[] superpoderesDTO = new SuperpoderDTO[end - start];
+            for (int index = start; index < end; index++) {
+                HeroSuperpoderRowDTO row = rows.get(index);
+                superpoderesDTO[index - start] =
+                    toSuperpoderDTO(row.superpoderId(), row.superpoderNome(), row.superpoderDescricao());
+            }
+            superpoderes = Collections.unmodifiableList(Arrays.asList(superpoderesDTO));
+        }
+
+        return new HeroResponseDTO(
+            first.id(),
+            first.nome(),
+            first.nomeHeroi(),
+            first.dataNascimento(),
+            first.altura(),
+            first.peso(),
+            superpoderes
         );
     }
+
+    private List<SuperpoderDTO> toSuperpoderDTOs(Set<Superpoder> superpoderes) {
+        if (superpoderes == null || superpoderes.isEmpty()) {
+            return List.of();
+        }
+
+        // o Set da entidade já não tem repetidos; cada superpoder vira um DTO, na ordem de iteração
+        SuperpoderDTO[] superpoderesDTO = new SuperpoderDTO[superpoderes.size()];
+        int index = 0;
+        for (Superpoder superpoder : superpoderes) {
+            superpoderesDTO[index++] = toSuperpoderDTO(superpoder);
+        }
+        return Collections.unmodifiableList(Arrays.asList(superpoderesDTO));
+    }
 }
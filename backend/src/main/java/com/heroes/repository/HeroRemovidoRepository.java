@@ -0,0 +1,23 @@
+package com.heroes.repository;
+
+import com.heroes.model.entity.HeroRemovido;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.List;
+
+@Repository
+public interface HeroRemovidoRepository extends JpaRepository<HeroRemovido, Long> {
+    
+    @Query("SELECT r FROM HeroRemovido r "
+            + "WHERE (r.removidoEm > :desde OR (r.removidoEm = :desde AND r.heroiId > :aposId)) AND r.removidoEm <= :ate "
+            + "ORDER BY r.removidoEm, r.heroiId")
+    List<HeroRemovido> findRemovedAfter(@Param("desde") Instant desde,
+                                        @Param("aposId") Long aposId,
+                                        @Param("ate") Instant ate,
+                                        Pageable pageable);
+}
@@ -1,16 +1,28 @@
 package com.heroes.repository;
 
+import com.heroes.model.dto.HeroSuperpoderRowDTO;
+import com.heroes.model.dto.HeroVersionDTO;
 import com.heroes.model.entity.Hero;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import javax.persistence.QueryHint;
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.QueryHints.HINT_CACHEABLE;
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
 
 @Repository
-public interface HeroRepository extends JpaRepository<Hero, Long> {
+public interface HeroRepository extends JpaRepository<Hero, Long>, HeroRepositoryCustom {
     
     Optional<Hero> findByNomeHeroi(String nomeHeroi);
     
@@ -18,9 +30,46 @@ public interface HeroRepository extends JpaRepository<Hero, Long> {
     
     boolean existsByNomeHeroiAndIdNot(String nomeHeroi, Long id);
     
+    @Query("SELECT h.nomeHeroi FROM Hero h WHERE h.nomeHeroi IN :nomesHeroi")
+    Set<String> findExistingNomesHeroi(@Param("nomesHeroi") Collection<String> nomesHeroi);
+    
     @Query("SELECT h FROM Hero h LEFT JOIN FETCH h.superpoderes")
     List<Hero> findAllWithSuperpoderes();
     
+    @Query("SELECT new com.heroes.model.dto.HeroVersionDTO(h.id, h.versao, h.atualizadoEm) FROM Hero h WHERE h.id = :id")
+    @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
+    Optional<HeroVersionDTO> findVersionById(@Param("id") Long id);
+    
+    @Query("SELECT new com.heroes.model.dto.HeroVersionDTO(h.id, h.versao, h.atualizadoEm) FROM Hero h "
+            + "WHERE (h.atualizadoEm > :desde OR (h.atualizadoEm = :desde AND h.id > :aposId)) AND h.atualizadoEm <= :ate "
+            + "ORDER BY h.atualizadoEm, h.id")
+    List<HeroVersionDTO> findChangedAfter(@Param("desde") Instant desde,
+                                          @Param("aposId") Long aposId,
+                                          @Param("ate") Instant ate,
+                                          Pageable pageable);
+    
+    // projeções sem entidades gerenciadas: só as colunas de HeroResponseDTO, agrupadas pelo HeroMapper
+    @Query("SELECT new com.heroes.model.dto.HeroSuperpoderRowDTO(h.id, h.nome, h.nomeHeroi, h.dataNascimento, "
+            + "h.altura, h.peso, s.id, s.nome, s.descricao) "
+            + "FROM Hero h LEFT JOIN h.superpoderes s WHERE h.id IN :ids ORDER BY h.id, s.id")
+    List<HeroSuperpoderRowDTO> findHeroRowsByIdIn(@Param("ids") Collection<Long> ids);
+    
+    @Query("SELECT new com.heroes.model.dto.HeroSuperpoderRowDTO(h.id, h.nome, h.nomeHeroi, h.dataNascimento, "
+            + "h.altura, h.peso, s.id, s.nome, s.descricao) "
+            + "FROM Hero h LEFT JOIN h.superpoderes s ORDER BY h.id, s.id")
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "500"))
+    Stream<HeroSuperpoderRowDTO> streamAllHeroRows();
+    
+    @Query(value = "SELECT superpoder_id, heroi_id FROM heroissuperpoderes ORDER BY superpoder_id, heroi_id",
+            nativeQuery = true)
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "10000"))
+    Stream<Object[]> streamSuperpoderHeroIds();
+    
+    @Query("SELECT h.nomeHeroi, h.id FROM Hero h")
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "10000"))
+    Stream<Object[]> streamNomesHeroi();
+    
     @Query("SELECT h FROM Hero h LEFT JOIN FETCH h.superpoderes WHERE h.id = :id")
+    @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
     Optional<Hero> findByIdWithSuperpoderes(@Param("id") Long id);
 }
@@ -0,0 +1,19 @@
+package com.heroes.repository;
+
+import com.heroes.model.dto.HeroPageKeyDTO;
+import com.heroes.model.dto.HeroSortField;
+import com.heroes.model.entity.Hero;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+
+public interface HeroRepositoryCustom {
+
+    /**
+     * Lê apenas id, versão e valor de ordenação dos heróis que atendem à especificação,
+     * em uma única consulta ordenada por (campo, id) e limitada a {@code limit} linhas.
+     */
+    List<HeroPageKeyDTO> findPageKeys(Specification<Hero> specification, HeroSortField sortField,
+                                      Sort.Direction direction, int limit);
+}
@@ -0,0 +1,60 @@
+package com.heroes.repository;
+
+import com.heroes.model.dto.HeroPageKeyDTO;
+import com.heroes.model.dto.HeroSortField;
+import com.heroes.model.entity.Hero;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.Tuple;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Order;
+import javax.persistence.criteria.Path;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+import java.util.List;
+import java.util.stream.Collectors;
+
+class HeroRepositoryCustomImpl implements HeroRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<HeroPageKeyDTO> findPageKeys(Specification<Hero> specification, HeroSortField sortField,
+                                             Sort.Direction direction, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Hero> root = query.from(Hero.class);
+
+        Path<Long> id = root.get("id");
+        Path<Comparable<?>> sortValue = root.get(sortField.getAttribute());
+        query.multiselect(id, root.get("versao"), sortValue);
+
+        Predicate predicate = specification != null ? specification.toPredicate(root, query, cb) : null;
+        if (predicate != null) {
+            query.where(predicate);
+        }
+
+        Order bySortValue = direction.isAscending() ? cb.asc(sortValue) : cb.desc(sortValue);
+        if (sortField == HeroSortField.ID) {
+            query.orderBy(bySortValue);
+        } else {
+            query.orderBy(bySortValue, direction.isAscending() ? cb.asc(id) : cb.desc(id));
+        }
+
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList()
+                .stream()
+                .map(tuple -> new HeroPageKeyDTO(
+                    tuple.get(0, Long.class),
+                    tuple.get(1, Long.class),
+                    (Comparable<?>) tuple.get(2)
+                ))
+                .collect(Collectors.toList());
+    }
+}
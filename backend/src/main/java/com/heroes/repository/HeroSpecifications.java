@@ -0,0 +1,146 @@
+package com.heroes.repository;
+
+import com.heroes.model.dto.HeroFilterDTO;
+import com.heroes.model.dto.HeroSortField;
+import com.heroes.model.dto.SuperpoderMatch;
+import com.heroes.model.entity.Hero;
+import com.heroes.model.entity.Superpoder;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import javax.persistence.criteria.Join;
+import javax.persistence.criteria.Path;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+import javax.persistence.criteria.Expression;
+import javax.persistence.criteria.Subquery;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Filtros da listagem de heróis. Todos os predicados são faixas sobre colunas indexadas
+ * (ou subconsultas sobre o índice de heroissuperpoderes), para que nenhum filtro caia em varredura completa.
+ */
+public final class HeroSpecifications {
+
+    private static final char LIKE_ESCAPE = '\\';
+
+    private HeroSpecifications() {
+    }
+
+    public static Specification<Hero> matching(HeroFilterDTO filter) {
+        return Specification.where(nomeHeroiStartsWith(filter.nomeHeroi()))
+                .and(between("dataNascimento", filter.nascimentoDe(), filter.nascimentoAte()))
+                .and(between("altura", filter.alturaMin(), filter.alturaMax()))
+                .and(between("peso", filter.pesoMin(), filter.pesoMax()))
+                .and(hasSuperpoderes(filter.superpoderIds(), filter.superpoderMatch()));
+    }
+
+    /**
+     * Prefixo do nome de herói sem diferenciar maiúsculas/minúsculas: compara lower(nome_heroi) com o prefixo em
+     * minúsculas, atendido no PostgreSQL pelo índice idx_herois_nome_heroi_lower (migração V2).
+     */
+    public static Specification<Hero> nomeHeroiStartsWith(String prefix) {
+        if (prefix == null || prefix.isEmpty()) {
+            return null;
+        }
+        String lowerPrefix = prefix.toLowerCase(Locale.ROOT);
+        return (root, query, cb) -> {
+            Expression<String> nomeHeroi = cb.lower(root.get("nomeHeroi"));
+            // O LIKE com parâmetro não usa índice em todos os bancos; a faixa explícita garante a busca pelo índice
+            Predicate predicate = cb.and(
+                cb.like(nomeHeroi, escapeLike(lowerPrefix) + "%", LIKE_ESCAPE),
+                cb.greaterThanOrEqualTo(nomeHeroi, lowerPrefix)
+            );
+            String upperBound = prefixUpperBound(lowerPrefix);
+            if (upperBound != null) {
+                predicate = cb.and(predicate, cb.lessThan(nomeHeroi, upperBound));
+            }
+            return predicate;
+        };
+    }
+
+    public static <T extends Comparable<? super T>> Specification<Hero> between(String attribute, T min, T max) {
+        if (min == null && max == null) {
+            return null;
+        }
+        return (root, query, cb) -> {
+            Path<T> path = root.get(attribute);
+            if (min == null) {
+                return cb.lessThanOrEqualTo(path, max);
+            }
+            if (max == null) {
+                return cb.greaterThanOrEqualTo(path, min);
+            }
+            return cb.between(path, min, max);
+        };
+    }
+
+    public static Specification<Hero> hasSuperpoderes(List<Long> superpoderIds, SuperpoderMatch match) {
+        if (superpoderIds == null || superpoderIds.isEmpty()) {
+            return null;
+        }
+        Set<Long> distinctIds = new LinkedHashSet<>(superpoderIds);
+        return (root, query, cb) -> {
+            Subquery<Long> heroIds = query.subquery(Long.class);
+            Root<Superpoder> superpoder = heroIds.from(Superpoder.class);
+            Join<Superpoder, Hero> hero = superpoder.join("heroes");
+            heroIds.select(hero.get("id")).where(superpoder.get("id").in(distinctIds));
+            if (match == SuperpoderMatch.TODOS && distinctIds.size() > 1) {
+                heroIds.groupBy(hero.get("id"))
+                        .having(cb.equal(cb.count(superpoder.get("id")), (long) distinctIds.size()));
+            }
+            return root.get("id").in(heroIds);
+        };
+    }
+
+    /**
+     * Posição de continuação da paginação por cursor: {@code campo >= v AND (campo > v OR id > ultimoId)}
+     * (invertido na ordem decrescente). A forma redundante com {@code >=} deixa a faixa visível para o índice (campo, id).
+     */
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    public static Specification<Hero> after(HeroSortField sortField, Sort.Direction direction,
+                                            Comparable sortValue, Long heroId) {
+        boolean ascending = direction.isAscending();
+        return (root, query, cb) -> {
+            Path<Long> id = root.get("id");
+            if (sortField == HeroSortField.ID) {
+                return ascending ? cb.greaterThan(id, heroId) : cb.lessThan(id, heroId);
+            }
+
+            Path<Comparable> sortPath = root.get(sortField.getAttribute());
+            if (ascending) {
+                return cb.and(
+                    cb.greaterThanOrEqualTo(sortPath, sortValue),
+                    cb.or(cb.greaterThan(sortPath, sortValue), cb.greaterThan(id, heroId))
+                );
+            }
+            return cb.and(
+                cb.lessThanOrEqualTo(sortPath, sortValue),
+                cb.or(cb.lessThan(sortPath, sortValue), cb.lessThan(id, heroId))
+            );
+        };
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+
+    /**
+     * Menor texto maior que todos os que começam com o prefixo. Só é calculado quando o último caractere é
+     * letra ou dígito ASCII, cujo sucessor também é letra ou dígito: com pontuação ou acentos a ordem da
+     * collation do banco pode divergir da ordem dos códigos, e então a busca fica apenas com o limite inferior.
+     */
+    static String prefixUpperBound(String prefix) {
+        char last = prefix.charAt(prefix.length() - 1);
+        boolean hasAlphanumericSuccessor = (last >= '0' && last < '9')
+                || (last >= 'A' && last < 'Z')
+                || (last >= 'a' && last < 'z');
+        if (!hasAlphanumericSuccessor) {
+            return null;
+        }
+        return prefix.substring(0, prefix.length() - 1) + (char) (last + 1);
+    }
+}
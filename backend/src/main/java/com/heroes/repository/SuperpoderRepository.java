@@ -2,8 +2,12 @@ package com.heroes.repository;
 
 import com.heroes.model.entity.Superpoder;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -12,4 +16,7 @@ public interface SuperpoderRepository extends JpaRepository<Superpoder, Long> {
     Optional<Superpoder> findByNome(String nome);
     
     boolean existsByNome(String nome);
+    
+    @Query("SELECT s.id FROM Superpoder s WHERE s.id IN :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
 }
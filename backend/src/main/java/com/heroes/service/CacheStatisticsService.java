@@ -0,0 +1,46 @@
+package com.heroes.service;
+
+import com.heroes.model.dto.CacheRegionStatisticsDTO;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+@Service
+@Profile("cache")
+public class CacheStatisticsService {
+
+    private final Statistics statistics;
+
+    public CacheStatisticsService(EntityManagerFactory entityManagerFactory) {
+        this.statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    public List<CacheRegionStatisticsDTO> findRegionStatistics() {
+        return Arrays.stream(statistics.getSecondLevelCacheRegionNames())
+                .sorted()
+                .map(this::toRegionStatistics)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+    }
+
+    private CacheRegionStatisticsDTO toRegionStatistics(String regionName) {
+        CacheRegionStatistics regionStatistics = statistics.getCacheRegionStatistics(regionName);
+        if (regionStatistics == null) {
+            return null;
+        }
+        return new CacheRegionStatisticsDTO(
+            regionName,
+            regionStatistics.getHitCount(),
+            regionStatistics.getMissCount(),
+            regionStatistics.getPutCount()
+        );
+    }
+}
@@ -0,0 +1,193 @@
+package com.heroes.service;
+
+import com.heroes.model.dto.HeroBatchItemResultDTO;
+import com.heroes.model.dto.HeroRequestDTO;
+import com.heroes.model.entity.Hero;
+import com.heroes.model.entity.Superpoder;
+import com.heroes.model.mapper.HeroMapper;
+import com.heroes.repository.HeroRepository;
+import com.heroes.repository.SuperpoderRepository;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import javax.validation.ConstraintViolation;
+import javax.validation.Validator;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Service
+public class HeroBatchService {
+
+    private static final int MAX_BATCH_SIZE = 10_000;
+    private static final int CHUNK_SIZE = 500;
+    private static final String SUPERPODER_RESOURCE_NAME = "Superpoder";
+
+    private final HeroRepository heroRepository;
+    private final SuperpoderRepository superpoderRepository;
+    private final HeroMapper heroMapper;
+    private final EntityManager entityManager;
+    private final Validator validator;
+    private final SuperpoderHeroIndex superpoderHeroIndex;
+    private final HeroNameRegistry heroNameRegistry;
+
+    public HeroBatchService(HeroRepository heroRepository,
+                            SuperpoderRepository superpoderRepository,
+                            HeroMapper heroMapper,
+                            EntityManager entityManager,
+                            Validator validator,
+                            SuperpoderHeroIndex superpoderHeroIndex,
+                            HeroNameRegistry heroNameRegistry) {
+        this.heroRepository = heroRepository;
+        this.superpoderRepository = superpoderRepository;
+        this.heroMapper = heroMapper;
+        this.entityManager = entityManager;
+        this.validator = validator;
+        this.superpoderHeroIndex = superpoderHeroIndex;
+        this.heroNameRegistry = heroNameRegistry;
+    }
+
+    @Transactional
+    public List<HeroBatchItemResultDTO> createHeroes(List<HeroRequestDTO> heroRequests) {
+        validateBatchSize(heroRequests);
+
+        Map<Long, Superpoder> superpoderes = findSuperpoderesByIds(heroRequests);
+        Set<String> heroNamesInBatch = new HashSet<>();
+        HeroBatchItemResultDTO[] results = new HeroBatchItemResultDTO[heroRequests.size()];
+
+        for (int start = 0; start < heroRequests.size(); start += CHUNK_SIZE) {
+            int end = Math.min(start + CHUNK_SIZE, heroRequests.size());
+            createChunk(heroRequests, start, end, superpoderes, heroNamesInBatch, results);
+        }
+
+        return Arrays.asList(results);
+    }
+
+    private void createChunk(List<HeroRequestDTO> heroRequests, int start, int end,
+                             Map<Long, Superpoder> superpoderes,
+                             Set<String> heroNamesInBatch,
+                             HeroBatchItemResultDTO[] results) {
+        Set<String> existingHeroNames = findExistingHeroNames(heroRequests.subList(start, end));
+        List<PendingHero> pendingHeroes = new ArrayList<>(end - start);
+
+        for (int index = start; index < end; index++) {
+            HeroRequestDTO heroRequest = heroRequests.get(index);
+            HeroBatchItemResultDTO rejection = validate(index, heroRequest, superpoderes, existingHeroNames, heroNamesInBatch);
+            if (rejection != null) {
+                results[index] = rejection;
+                continue;
+            }
+
+            Hero newHero = heroMapper.toEntity(heroRequest, selectSuperpoderes(heroRequest.superpoderIds(), superpoderes));
+            // nome reservado por uma escrita concorrente, ainda não confirmada
+            if (!heroNameRegistry.tryReserve(heroRequest.nomeHeroi(), newHero)) {
+                results[index] = duplicateName(index, heroRequest.nomeHeroi());
+                continue;
+            }
+            heroRepository.save(newHero);
+            pendingHeroes.add(new PendingHero(index, newHero));
+        }
+
+        heroRepository.flush();
+
+        Map<Long, List<Long>> superpoderIdsByHero = new HashMap<>();
+        for (PendingHero pendingHero : pendingHeroes) {
+            superpoderIdsByHero.put(pendingHero.hero().getId(), heroRequests.get(pendingHero.index()).superpoderIds());
+        }
+        superpoderHeroIndex.indexHeroes(superpoderIdsByHero);
+
+        for (PendingHero pendingHero : pendingHeroes) {
+            results[pendingHero.index()] = new HeroBatchItemResultDTO(
+                pendingHero.index(), HttpStatus.CREATED.value(), heroMapper.toResponseDTO(pendingHero.hero()), null);
+            entityManager.detach(pendingHero.hero());
+        }
+    }
+
+    private HeroBatchItemResultDTO validate(int index, HeroRequestDTO heroRequest,
+                                            Map<Long, Superpoder> superpoderes,
+                                            Set<String> existingHeroNames,
+                                            Set<String> heroNamesInBatch) {
+        if (heroRequest == null) {
+            return rejected(index, HttpStatus.BAD_REQUEST, "Herói não informado");
+        }
+
+        Set<ConstraintViolation<HeroRequestDTO>> violations = validator.validate(heroRequest);
+        if (!violations.isEmpty()) {
+            String message = violations.stream()
+                    .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                    .sorted()
+                    .collect(Collectors.joining("; "));
+            return rejected(index, HttpStatus.BAD_REQUEST, message);
+        }
+
+        if (existingHeroNames.contains(heroRequest.nomeHeroi()) || !heroNamesInBatch.add(heroRequest.nomeHeroi())) {
+            return duplicateName(index, heroRequest.nomeHeroi());
+        }
+
+        List<Long> missingSuperpoderIds = heroRequest.superpoderIds().stream()
+                .filter(superpoderId -> !superpoderes.containsKey(superpoderId))
+                .distinct()
+                .collect(Collectors.toList());
+        if (!missingSuperpoderIds.isEmpty()) {
+            heroNamesInBatch.remove(heroRequest.nomeHeroi());
+            return rejected(index, HttpStatus.NOT_FOUND, String.format("%s não encontrado com ID: '%s'",
+                SUPERPODER_RESOURCE_NAME,
+                missingSuperpoderIds.stream().map(String::valueOf).collect(Collectors.joining(", "))));
+        }
+
+        return null;
+    }
+
+    private HeroBatchItemResultDTO rejected(int index, HttpStatus status, String message) {
+        return new HeroBatchItemResultDTO(index, status.value(), null, message);
+    }
+
+    private HeroBatchItemResultDTO duplicateName(int index, String heroName) {
+        return rejected(index, HttpStatus.CONFLICT,
+            String.format("Já existe um herói cadastrado com o nome '%s'", heroName));
+    }
+
+    private void validateBatchSize(List<HeroRequestDTO> heroRequests) {
+        if (heroRequests == null || heroRequests.isEmpty()) {
+            throw new IllegalArgumentException("Lote de heróis vazio");
+        }
+        if (heroRequests.size() > MAX_BATCH_SIZE) {
+            throw new IllegalArgumentException(
+                String.format("Lote de heróis deve ter no máximo %d itens", MAX_BATCH_SIZE));
+        }
+    }
+
+    private Set<String> findExistingHeroNames(List<HeroRequestDTO> heroRequests) {
+        Set<String> heroNames = heroRequests.stream()
+                .filter(Objects::nonNull)
+                .map(HeroRequestDTO::nomeHeroi)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        return heroNames.isEmpty() ? Set.of() : heroRepository.findExistingNomesHeroi(heroNames);
+    }
+
+    private Map<Long, Superpoder> findSuperpoderesByIds(List<HeroRequestDTO> heroRequests) {
+        Set<Long> superpoderIds = heroRequests.stream()
+                .filter(heroRequest -> heroRequest != null && heroRequest.superpoderIds() != null)
+                .flatMap(heroRequest -> heroRequest.superpoderIds().stream())
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+
+        return superpoderRepository.findAllById(superpoderIds).stream()
+                .collect(Collectors.toMap(Superpoder::getId, Function.identity()));
+    }
+
+    private Set<Superpoder> selectSuperpoderes(List<Long> superpoderIds, Map<Long, Superpoder> superpoderes) {
+        // em ordem de id, como o @OrderBy("id") da leitura
+        return superpoderIds.stream()
+                .distinct()
+                .sorted()
+                .map(superpoderes::get)
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+    }
+
+    private record PendingHero(int index, Hero hero) {
+    }
+}
@@ -0,0 +1,55 @@
+package com.heroes.service;
+
+import com.heroes.model.dto.HeroSortField;
+import org.springframework.data.domain.Sort;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Cursor da listagem de heróis: campo e direção da ordenação, id e valor de ordenação do último herói da página.
+ * O valor fica por último porque o nome de herói pode conter o separador.
+ */
+final class HeroCursor {
+
+    private static final String PREFIX = "k";
+    private static final String SEPARATOR = ":";
+    private static final String INVALID_CURSOR_MESSAGE = "Cursor de paginação inválido";
+
+    private HeroCursor() {
+    }
+
+    static String encode(HeroSortField sortField, Sort.Direction direction, Long lastHeroId, Object lastSortValue) {
+        String raw = String.join(SEPARATOR,
+            PREFIX, sortField.name(), direction.name(), String.valueOf(lastHeroId), String.valueOf(lastSortValue));
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    static Position decode(String cursor, HeroSortField sortField, Sort.Direction direction) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+
+        String[] parts;
+        try {
+            parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split(SEPARATOR, 5);
+        } catch (IllegalArgumentException ex) {
+            throw new IllegalArgumentException(INVALID_CURSOR_MESSAGE, ex);
+        }
+        if (parts.length != 5 || !PREFIX.equals(parts[0])) {
+            throw new IllegalArgumentException(INVALID_CURSOR_MESSAGE);
+        }
+        if (!sortField.name().equals(parts[1]) || !direction.name().equals(parts[2])) {
+            throw new IllegalArgumentException("Cursor de paginação não corresponde à ordenação solicitada");
+        }
+
+        try {
+            return new Position(Long.parseLong(parts[3]), sortField.parseValue(parts[4]));
+        } catch (RuntimeException ex) {
+            throw new IllegalArgumentException(INVALID_CURSOR_MESSAGE, ex);
+        }
+    }
+
+    record Position(long heroId, Comparable<?> sortValue) {
+    }
+}
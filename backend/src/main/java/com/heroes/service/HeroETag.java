@@ -0,0 +1,30 @@
+package com.heroes.service;
+
+import com.heroes.model.dto.HeroPageKeyDTO;
+import com.heroes.model.dto.HeroVersionDTO;
+import org.springframework.util.DigestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * ETags das leituras de heróis. Os nomes dos superpoderes fazem parte da representação,
+ * por isso o ETag do catálogo de superpoderes entra no cálculo junto com a versão do herói.
+ */
+final class HeroETag {
+
+    private HeroETag() {
+    }
+
+    static String of(HeroVersionDTO heroVersion, String catalogETag) {
+        return heroVersion.id() + "-" + heroVersion.versao() + "-" + catalogETag;
+    }
+
+    static String ofPage(List<HeroPageKeyDTO> pageKeys, String nextCursor, String catalogETag) {
+        StringBuilder content = new StringBuilder(pageKeys.size() * 16);
+        pageKeys.forEach(pageKey -> content
+            .append(pageKey.id()).append(':').append(pageKey.versao()).append(','));
+        content.append(nextCursor).append('|').append(catalogETag);
+        return DigestUtils.md5DigestAsHex(content.toString().getBytes(StandardCharsets.UTF_8));
+    }
+}
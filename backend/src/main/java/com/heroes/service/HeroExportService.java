@@ -0,0 +1,82 @@
+package com.heroes.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.heroes.model.dto.HeroResponseDTO;
+import com.heroes.model.dto.HeroSuperpoderRowDTO;
+import com.heroes.model.mapper.HeroMapper;
+import com.heroes.repository.HeroRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Stream;
+
+@Service
+public class HeroExportService {
+
+    private static final char RECORD_SEPARATOR = '\n';
+
+    private final HeroRepository heroRepository;
+    private final HeroMapper heroMapper;
+    private final ObjectWriter heroWriter;
+    private final ObjectMapper objectMapper;
+    private final HeroJsonWriter heroJsonWriter;
+
+    public HeroExportService(HeroRepository heroRepository,
+                             HeroMapper heroMapper,
+                             ObjectMapper objectMapper,
+                             HeroJsonWriter heroJsonWriter) {
+        this.heroRepository = heroRepository;
+        this.heroMapper = heroMapper;
+        this.objectMapper = objectMapper;
+        this.heroJsonWriter = heroJsonWriter;
+        this.heroWriter = objectMapper.writerFor(HeroResponseDTO.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    }
+
+    @Transactional(readOnly = true)
+    public long exportHeroesAsNdjson(OutputStream outputStream) throws IOException {
+        if (heroJsonWriter.isEnabled()) {
+            return heroJsonWriter.writeAllHeroesAsNdjson(outputStream);
+        }
+
+        long exported = 0;
+
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream);
+             Stream<HeroSuperpoderRowDTO> rows = heroRepository.streamAllHeroRows()) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+
+            // projeção sem entidades gerenciadas: as linhas vêm ordenadas por herói, e cada herói é escrito
+            // quando a primeira linha do seguinte chega, então só as linhas de um herói ficam em memória
+            List<HeroSuperpoderRowDTO> heroRows = new ArrayList<>();
+            Iterator<HeroSuperpoderRowDTO> iterator = rows.iterator();
+            while (iterator.hasNext()) {
+                HeroSuperpoderRowDTO row = iterator.next();
+                if (!heroRows.isEmpty() && !heroRows.get(0).id().equals(row.id())) {
+                    writeHero(generator, heroRows);
+                    heroRows.clear();
+                    exported++;
+                }
+                heroRows.add(row);
+            }
+            if (!heroRows.isEmpty()) {
+                writeHero(generator, heroRows);
+                exported++;
+            }
+        }
+
+        return exported;
+    }
+
+    private void writeHero(JsonGenerator generator, List<HeroSuperpoderRowDTO> heroRows) throws IOException {
+        heroWriter.writeValue(generator, heroMapper.toResponseDTOs(heroRows).get(0));
+        generator.writeRaw(RECORD_SEPARATOR);
+    }
+}
@@ -0,0 +1,193 @@
+package com.heroes.service;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.heroes.model.dto.HeroSortField;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Escrita direta em JSON (opcional, heroes.json.escrita-direta): as linhas do JDBC vão direto para o
+ * JsonGenerator, sem entidades, HeroResponseDTO nem coleções intermediárias. Gera os mesmos bytes que a
+ * serialização de HeroResponseDTO pelo ObjectMapper da aplicação: mesma ordem de campos, datas ISO e
+ * superpoderes ordenados por id, como no {@code @OrderBy} de Hero.superpoderes.
+ */
+@Component
+public class HeroJsonWriter {
+
+    private static final char RECORD_SEPARATOR = '\n';
+    private static final int FETCH_SIZE = 500;
+
+    // uma linha por par herói/superpoder; herói sem superpoder vem com as colunas de superpoder nulas
+    private static final String SELECT_HEROES = "SELECT h.id, h.nome, h.nome_heroi, h.data_nascimento, h.altura, h.peso, "
+            + "s.id AS superpoder_id, s.nome AS superpoder_nome, s.descricao AS superpoder_descricao "
+            + "FROM herois h "
+            + "LEFT JOIN heroissuperpoderes hs ON hs.heroi_id = h.id "
+            + "LEFT JOIN superpoderes s ON s.id = hs.superpoder_id ";
+
+    private static final Map<HeroSortField, String> SORT_COLUMNS = Map.of(
+        HeroSortField.ID, "h.id",
+        HeroSortField.NOME_HEROI, "h.nome_heroi",
+        HeroSortField.DATA_NASCIMENTO, "h.data_nascimento",
+        HeroSortField.ALTURA, "h.altura",
+        HeroSortField.PESO, "h.peso"
+    );
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final JsonFactory jsonFactory;
+    private final boolean enabled;
+
+    @Autowired
+    public HeroJsonWriter(DataSource dataSource,
+                          ObjectMapper objectMapper,
+                          @Value("${heroes.json.escrita-direta:false}") boolean enabled) {
+        JdbcTemplate template = new JdbcTemplate(dataSource);
+        template.setFetchSize(FETCH_SIZE);
+        this.jdbcTemplate = new NamedParameterJdbcTemplate(template);
+        this.jsonFactory = objectMapper.getFactory();
+        this.enabled = enabled;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Escreve como array JSON os heróis de uma página, na ordem da listagem (campo e direção da ordenação,
+     * desempatados pelo id), igual a HeroService.findHeroesByIds.
+     */
+    @Transactional(readOnly = true)
+    public int writeHeroes(List<Long> heroIds, HeroSortField sortField, Sort.Direction direction,
+                           OutputStream outputStream) throws IOException {
+        try (JsonGenerator generator = createGenerator(outputStream)) {
+            generator.writeStartArray();
+            int written = 0;
+            if (!heroIds.isEmpty()) {
+                String order = direction.isAscending() ? " ASC" : " DESC";
+                String orderBy = sortField == HeroSortField.ID
+                    ? "h.id" + order
+                    : SORT_COLUMNS.get(sortField) + order + ", h.id" + order;
+                written = query(SELECT_HEROES + "WHERE h.id IN (:ids) ORDER BY " + orderBy + ", s.id",
+                    new MapSqlParameterSource("ids", heroIds), generator, false);
+            }
+            generator.writeEndArray();
+            return written;
+        }
+    }
+
+    /** Exporta todos os heróis em NDJSON, um objeto por linha, como HeroExportService.exportHeroesAsNdjson. */
+    @Transactional(readOnly = true)
+    public long writeAllHeroesAsNdjson(OutputStream outputStream) throws IOException {
+        try (JsonGenerator generator = createGenerator(outputStream)) {
+            return query(SELECT_HEROES + "ORDER BY h.id, s.id", new MapSqlParameterSource(), generator, true);
+        }
+    }
+
+    private JsonGenerator createGenerator(OutputStream outputStream) throws IOException {
+        JsonGenerator generator = jsonFactory.createGenerator(outputStream);
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        return generator;
+    }
+
+    private int query(String sql, MapSqlParameterSource parameters, JsonGenerator generator, boolean ndjson)
+            throws IOException {
+        HeroRowWriter rowWriter = new HeroRowWriter(generator, ndjson);
+        try {
+            jdbcTemplate.query(sql, parameters, rowWriter);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        rowWriter.finish();
+        return rowWriter.heroCount;
+    }
+
+    /** Abre um objeto a cada novo id de herói e fecha o anterior; as linhas chegam agrupadas por herói. */
+    private static final class HeroRowWriter implements RowCallbackHandler {
+
+        private final JsonGenerator generator;
+        private final boolean ndjson;
+        private long currentHeroId;
+        private int heroCount;
+        private boolean heroOpen;
+
+        HeroRowWriter(JsonGenerator generator, boolean ndjson) {
+            this.generator = generator;
+            this.ndjson = ndjson;
+        }
+
+        @Override
+        public void processRow(ResultSet rs) throws SQLException {
+            try {
+                long heroId = rs.getLong(1);
+                if (!heroOpen || heroId != currentHeroId) {
+                    finish();
+                    startHero(rs, heroId);
+                }
+                long superpoderId = rs.getLong(7);
+                if (!rs.wasNull()) {
+                    generator.writeStartObject();
+                    generator.writeNumberField("id", superpoderId);
+                    writeStringField("nome", rs.getString(8));
+                    writeStringField("descricao", rs.getString(9));
+                    generator.writeEndObject();
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        private void startHero(ResultSet rs, long heroId) throws SQLException, IOException {
+            currentHeroId = heroId;
+            heroCount++;
+            heroOpen = true;
+            generator.writeStartObject();
+            generator.writeNumberField("id", heroId);
+            writeStringField("nome", rs.getString(2));
+            writeStringField("nomeHeroi", rs.getString(3));
+            LocalDate dataNascimento = rs.getObject(4, LocalDate.class);
+            writeStringField("dataNascimento", dataNascimento != null ? dataNascimento.toString() : null);
+            generator.writeNumberField("altura", rs.getDouble(5));
+            generator.writeNumberField("peso", rs.getDouble(6));
+            generator.writeArrayFieldStart("superpoderes");
+        }
+
+        /** Fecha o herói aberto, se houver. */
+        void finish() throws IOException {
+            if (!heroOpen) {
+                return;
+            }
+            heroOpen = false;
+            generator.writeEndArray();
+            generator.writeEndObject();
+            if (ndjson) {
+                generator.writeRaw(RECORD_SEPARATOR);
+            }
+        }
+
+        private void writeStringField(String name, String value) throws IOException {
+            if (value != null) {
+                generator.writeStringField(name, value);
+            } else {
+                generator.writeNullField(name);
+            }
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.heroes.service;
+
+import com.heroes.config.exception.HeroLockTimeoutException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Travas por herói em faixas: o id do herói escolhe uma de heroes.escrita.faixas-de-trava travas. Alterações e
+ * exclusões do mesmo herói esperam umas pelas outras; em heróis diferentes, só disputam a trava quando caem na
+ * mesma faixa. A trava é tomada antes da transação (HeroLockInterceptor), sem conexão do pool em mãos, e solta
+ * depois do commit ou rollback, para a escrita seguinte já ler o que a anterior gravou e não esbarrar na versão
+ * (@Version) do herói. Quem espera mais que heroes.escrita.espera-trava desiste (HeroLockTimeoutException, 503).
+ * <p>
+ * Vale só para esta instância: entre instâncias, a versão continua barrando a escrita sobre um herói desatualizado.
+ */
+@Component
+public class HeroLocks {
+
+    private final boolean enabled;
+    private final ReentrantLock[] stripes;
+    private final long maxWaitNanos;
+
+    public HeroLocks(@Value("${heroes.escrita.travas-por-heroi:true}") boolean enabled,
+                     @Value("${heroes.escrita.faixas-de-trava:1024}") int stripeCount,
+                     @Value("${heroes.escrita.espera-trava:PT2S}") Duration maxWait) {
+        if (stripeCount < 1) {
+            throw new IllegalArgumentException("heroes.escrita.faixas-de-trava deve ser maior que zero");
+        }
+        this.enabled = enabled;
+        this.stripes = new ReentrantLock[stripeCount];
+        for (int i = 0; i < stripeCount; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+        this.maxWaitNanos = maxWait.toNanos();
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /** Trava o herói para quem chama soltar (unlock) quando terminar; a mesma thread pode travá-lo de novo. */
+    public ReentrantLock lock(Long heroId) {
+        ReentrantLock lock = stripes[stripeIndex(heroId)];
+        try {
+            if (lock.tryLock(maxWaitNanos, TimeUnit.NANOSECONDS)) {
+                return lock;
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+        throw new HeroLockTimeoutException(heroId);
+    }
+
+    /**
+     * Trava o herói até o fim da transação corrente, já aberta por quem chama (lote da escrita agrupada, em que a
+     * única thread de escrita já tem a conexão e ninguém mais nesta instância escreve).
+     */
+    public void lockUntilCompletion(Long heroId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            throw new IllegalStateException("A trava do herói exige uma transação em andamento");
+        }
+        ReentrantLock lock = lock(heroId);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                lock.unlock();
+            }
+        });
+    }
+
+    int stripeIndex(Long heroId) {
+        return Math.floorMod(Long.hashCode(heroId), stripes.length);
+    }
+}
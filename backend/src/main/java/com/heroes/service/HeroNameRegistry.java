@@ -0,0 +1,153 @@
+package com.heroes.service;
+
+import com.heroes.model.entity.Hero;
+import com.heroes.repository.HeroRepository;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Registro em memória nome do herói → herói, que responde à verificação de nome duplicado sem consultar o banco.
+ * A reserva do nome é atômica (putIfAbsent): de duas escritas concorrentes com o mesmo nome, só uma passa, e a outra
+ * recebe 409 antes de chegar ao banco. A reserva fica pendente até o fim da transação e é desfeita se ela não
+ * confirmar; o nome liberado por uma alteração ou exclusão volta ao herói se a transação não confirmar.
+ * <p>
+ * O registro só conhece as escritas desta instância. Quando ele aponta outro herói já confirmado, o banco é
+ * consultado antes de recusar o nome (o herói pode ter sido removido ou renomeado por fora); um nome gravado por
+ * fora e ausente do registro é barrado pela restrição única do banco, que continua valendo.
+ */
+@Component
+public class HeroNameRegistry {
+
+    private final HeroRepository heroRepository;
+    private final ConcurrentMap<String, Entry> entriesByName = new ConcurrentHashMap<>();
+    private volatile boolean loaded;
+
+    public HeroNameRegistry(HeroRepository heroRepository) {
+        this.heroRepository = heroRepository;
+    }
+
+    /**
+     * Carrega os nomes do banco. As reservas feitas durante a carga têm precedência; um nome lido de um herói
+     * removido nesse meio tempo é corrigido pela consulta ao banco da primeira reserva que o encontrar.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void load() {
+        try (Stream<Object[]> names = heroRepository.streamNomesHeroi()) {
+            names.forEach(name -> entriesByName.putIfAbsent((String) name[0],
+                Entry.committed(((Number) name[1]).longValue())));
+        }
+        loaded = true;
+    }
+
+    /**
+     * Reserva {@code heroName} para {@code hero} (sem id, se for novo) até o fim da transação corrente. Devolve
+     * false se o nome pertence a outro herói ou está reservado por outra escrita ainda não confirmada.
+     */
+    public boolean tryReserve(String heroName, Hero hero) {
+        Long heroId = hero.getId();
+        Entry current = entriesByName.get(heroName);
+        if (current != null && current.isHeldBy(heroId)) {
+            return true;
+        }
+        if (current != null && (current.isPending() || takenInDatabase(heroName, heroId))) {
+            return false;
+        }
+
+        Entry reservation = Entry.pending(hero);
+        boolean reserved = current == null
+                ? entriesByName.putIfAbsent(heroName, reservation) == null
+                : entriesByName.replace(heroName, current, reservation);
+        if (!reserved) {
+            return false;
+        }
+        // antes da carga, a ausência no registro não garante que o nome esteja livre
+        if (!loaded && takenInDatabase(heroName, heroId)) {
+            entriesByName.remove(heroName, reservation);
+            return false;
+        }
+
+        afterCompletion(committed -> {
+            if (committed) {
+                entriesByName.replace(heroName, reservation, Entry.committed(hero.getId()));
+            } else {
+                entriesByName.remove(heroName, reservation);
+            }
+        });
+        return true;
+    }
+
+    /** Libera o nome do herói (alteração do nome ou exclusão); volta a ser dele se a transação não confirmar. */
+    public void release(String heroName, Long heroId) {
+        Entry current = entriesByName.get(heroName);
+        if (current == null || !current.isHeldBy(heroId) || !entriesByName.remove(heroName, current)) {
+            return;
+        }
+        afterCompletion(committed -> {
+            // o nome continua do herói no banco: uma reserva feita nesse meio tempo esbarraria na restrição única
+            if (!committed && !current.isPending()) {
+                entriesByName.compute(heroName, (name, entry) ->
+                    entry == null || entry.isPending() ? Entry.committed(heroId) : entry);
+            }
+        });
+    }
+
+    private boolean takenInDatabase(String heroName, Long heroId) {
+        return heroId == null
+                ? heroRepository.existsByNomeHeroi(heroName)
+                : heroRepository.existsByNomeHeroiAndIdNot(heroName, heroId);
+    }
+
+    // Sem transação não há fim a esperar: a reserva continua com a entidade, que recebe o id no save
+    private void afterCompletion(Consumer<Boolean> callback) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                callback.accept(status == STATUS_COMMITTED);
+            }
+        });
+    }
+
+    /**
+     * Dono de um nome: o id de um herói confirmado ou, enquanto a transação não termina, a entidade da escrita
+     * pendente (o id de um herói novo só existe depois do save). Comparado por identidade nas trocas do mapa.
+     */
+    private static final class Entry {
+
+        private final Long heroId;
+        private final Hero pendingHero;
+
+        private Entry(Long heroId, Hero pendingHero) {
+            this.heroId = heroId;
+            this.pendingHero = pendingHero;
+        }
+
+        static Entry committed(Long heroId) {
+            return new Entry(heroId, null);
+        }
+
+        static Entry pending(Hero hero) {
+            return new Entry(null, hero);
+        }
+
+        boolean isPending() {
+            return pendingHero != null;
+        }
+
+        boolean isHeldBy(Long id) {
+            return id != null && id.equals(isPending() ? pendingHero.getId() : heroId);
+        }
+    }
+}
@@ -1,89 +1,256 @@
 package com.heroes.service;
 
+import com.heroes.config.HeroWriteLock;
+import com.heroes.config.RetryOnVersionConflict;
 import com.heroes.config.exception.DuplicateHeroNameException;
 import com.heroes.config.exception.ResourceNotFoundException;
+import com.heroes.model.dto.HeroFilterDTO;
+import com.heroes.model.dto.HeroPageDTO;
+import com.heroes.model.dto.HeroPageKeyDTO;
+import com.heroes.model.dto.HeroPageRevisionDTO;
 import com.heroes.model.dto.HeroRequestDTO;
 import com.heroes.model.dto.HeroResponseDTO;
-import com.heroes.model.dto.SuperpoderDTO;
+import com.heroes.model.dto.HeroRevisionDTO;
+import com.heroes.model.dto.HeroSortField;
+import com.heroes.model.dto.HeroVersionDTO;
 import com.heroes.model.entity.Hero;
+import com.heroes.model.entity.HeroRemovido;
 import com.heroes.model.entity.Superpoder;
 import com.heroes.model.mapper.HeroMapper;
+import com.heroes.repository.HeroRemovidoRepository;
 import com.heroes.repository.HeroRepository;
+import com.heroes.repository.HeroSpecifications;
 import com.heroes.repository.SuperpoderRepository;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.interceptor.TransactionAspectSupport;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.sql.SQLException;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
+@Timed("heroes.service")
 public class HeroService {
 
     private static final String HERO_RESOURCE_NAME = "Herói";
     private static final String SUPERPODER_RESOURCE_NAME = "Superpoder";
+    private static final int DEFAULT_PAGE_SIZE = 50;
+    private static final int MAX_PAGE_SIZE = 500;
 
     private final HeroRepository heroRepository;
+    private final HeroRemovidoRepository heroRemovidoRepository;
     private final SuperpoderRepository superpoderRepository;
     private final HeroMapper heroMapper;
+    private final SuperpoderCatalog superpoderCatalog;
+    private final SuperpoderHeroIndex superpoderHeroIndex;
+    private final HeroNameRegistry heroNameRegistry;
 
     public HeroService(HeroRepository heroRepository,
+                      HeroRemovidoRepository heroRemovidoRepository,
                       SuperpoderRepository superpoderRepository,
-                      HeroMapper heroMapper) {
+                      HeroMapper heroMapper,
+                      SuperpoderCatalog superpoderCatalog,
+                      SuperpoderHeroIndex superpoderHeroIndex,
+                      HeroNameRegistry heroNameRegistry) {
         this.heroRepository = heroRepository;
+        this.heroRemovidoRepository = heroRemovidoRepository;
         this.superpoderRepository = superpoderRepository;
         this.heroMapper = heroMapper;
+        this.superpoderCatalog = superpoderCatalog;
+        this.superpoderHeroIndex = superpoderHeroIndex;
+        this.heroNameRegistry = heroNameRegistry;
     }
 
     @Transactional(readOnly = true)
-    public List<HeroResponseDTO> findAllHeroes() {
-        List<Hero> heroes = heroRepository.findAllWithSuperpoderes();
-        return heroes.stream()
-                .map(this::convertHeroToResponseDTO)
+    public HeroPageDTO findAllHeroes(HeroFilterDTO filter, String cursor, Integer pageSize) {
+        HeroPageRevisionDTO pageRevision = findHeroPageRevision(filter, cursor, pageSize);
+        return new HeroPageDTO(findHeroesByIds(pageRevision.heroIds()), pageRevision.nextCursor());
+    }
+
+    @Transactional(readOnly = true)
+    public HeroPageRevisionDTO findHeroPageRevision(HeroFilterDTO filter, String cursor, Integer pageSize) {
+        int size = resolvePageSize(pageSize);
+        validateFilter(filter);
+        HeroSortField sortField = filter.sortField();
+        Sort.Direction direction = filter.sortDirection();
+
+        Specification<Hero> specification = HeroSpecifications.matching(filter);
+        HeroCursor.Position position = HeroCursor.decode(cursor, sortField, direction);
+        if (position != null) {
+            specification = specification.and(
+                HeroSpecifications.after(sortField, direction, position.sortValue(), position.heroId()));
+        }
+
+        List<HeroPageKeyDTO> pageKeys = heroRepository.findPageKeys(specification, sortField, direction, size + 1);
+        boolean hasNextPage = pageKeys.size() > size;
+        if (hasNextPage) {
+            pageKeys = pageKeys.subList(0, size);
+        }
+
+        List<Long> pageIds = pageKeys.stream()
+                .map(HeroPageKeyDTO::id)
+                .collect(Collectors.toList());
+        String nextCursor = null;
+        if (hasNextPage) {
+            HeroPageKeyDTO lastKey = pageKeys.get(pageKeys.size() - 1);
+            nextCursor = HeroCursor.encode(sortField, direction, lastKey.id(), lastKey.sortValue());
+        }
+        String etag = HeroETag.ofPage(pageKeys, nextCursor, superpoderCatalog.getSnapshot().etag());
+        return new HeroPageRevisionDTO(pageIds, nextCursor, etag);
+    }
+
+    @Transactional(readOnly = true)
+    public List<HeroResponseDTO> findHeroesByIds(List<Long> heroIds) {
+        if (heroIds.isEmpty()) {
+            return List.of();
+        }
+
+        // projeção só com as colunas da resposta: nenhuma entidade entra no contexto de persistência
+        Map<Long, HeroResponseDTO> heroesById = heroMapper.toResponseDTOs(heroRepository.findHeroRowsByIdIn(heroIds))
+                .stream()
+                .collect(Collectors.toMap(HeroResponseDTO::id, Function.identity()));
+        // mantém a ordem da listagem, que pode não ser por id
+        return heroIds.stream()
+                .map(heroesById::get)
+                .filter(Objects::nonNull)
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Heróis que têm todos os superpoderes de {@code todos} e ao menos um de {@code qualquer}, ordenados por id.
+     * Os ids saem do índice invertido em memória; o banco só é consultado para montar a página.
+     */
+    @Transactional(readOnly = true)
+    public HeroPageDTO findHeroesBySuperpoderes(List<Long> todos, List<Long> qualquer, String cursor, Integer pageSize) {
+        int size = resolvePageSize(pageSize);
+        Set<Long> todosIds = todos != null ? new LinkedHashSet<>(todos) : Set.of();
+        Set<Long> qualquerIds = qualquer != null ? new LinkedHashSet<>(qualquer) : Set.of();
+        if (todosIds.isEmpty() && qualquerIds.isEmpty()) {
+            throw new IllegalArgumentException("Informe ao menos um superpoder");
+        }
+
+        Set<Long> superpoderIds = new LinkedHashSet<>(todosIds);
+        superpoderIds.addAll(qualquerIds);
+        List<Long> unknownIds = superpoderCatalog.findUnknownIds(superpoderIds);
+        if (!unknownIds.isEmpty()) {
+            throw superpoderesNotFound(unknownIds);
+        }
+
+        HeroCursor.Position position = HeroCursor.decode(cursor, HeroSortField.ID, Sort.Direction.ASC);
+        long afterId = position != null ? position.heroId() : 0L;
+        List<Long> heroIds = superpoderHeroIndex.findHeroIds(todosIds, qualquerIds, afterId, size + 1);
+
+        boolean hasNextPage = heroIds.size() > size;
+        List<Long> pageIds = hasNextPage ? heroIds.subList(0, size) : heroIds;
+        String nextCursor = null;
+        if (hasNextPage) {
+            Long lastId = pageIds.get(pageIds.size() - 1);
+            nextCursor = HeroCursor.encode(HeroSortField.ID, Sort.Direction.ASC, lastId, lastId);
+        }
+        return new HeroPageDTO(findHeroesByIds(pageIds), nextCursor);
+    }
+
+    @Transactional(readOnly = true)
+    public HeroRevisionDTO findHeroRevision(Long heroId) {
+        HeroVersionDTO heroVersion = heroRepository.findVersionById(heroId)
+                .orElseThrow(() -> new ResourceNotFoundException(HERO_RESOURCE_NAME, "ID", heroId));
+        return new HeroRevisionDTO(
+            HeroETag.of(heroVersion, superpoderCatalog.getSnapshot().etag()),
+            heroVersion.atualizadoEm()
+        );
+    }
+
     @Transactional(readOnly = true)
     public HeroResponseDTO findHeroById(Long heroId) {
         Hero hero = findHeroByIdWithSuperpoderesOrThrow(heroId);
-        return convertHeroToResponseDTO(hero);
+        return heroMapper.toResponseDTO(hero);
     }
 
-    @Transactional
+    // As exceções de validação saem antes de qualquer escrita: não desfazem a transação de um lote da
+    // escrita agrupada (HeroWriteQueue), em que as demais escritas do lote seguem
+    @Transactional(noRollbackFor = {DuplicateHeroNameException.class, ResourceNotFoundException.class})
     public HeroResponseDTO createHero(HeroRequestDTO heroRequest) {
-        validateHeroNameUniqueness(heroRequest.nomeHeroi());
-
         Set<Superpoder> superpoderes = findSuperpoderesByIds(heroRequest.superpoderIds());
 
         Hero newHero = heroMapper.toEntity(heroRequest, superpoderes);
-        Hero savedHero = heroRepository.save(newHero);
+        // reserva depois das validações: uma recusa não desfaz a transação, e a reserva seria confirmada sem o herói
+        reserveHeroName(heroRequest.nomeHeroi(), newHero);
+        Hero savedHero = saveAndFlush(newHero);
+        superpoderHeroIndex.indexHero(savedHero.getId(), superpoderIds(superpoderes));
 
-        Hero heroWithSuperpoderes = findHeroByIdWithSuperpoderesOrThrow(savedHero.getId());
-        return convertHeroToResponseDTO(heroWithSuperpoderes);
+        return heroMapper.toResponseDTO(savedHero);
     }
 
-    @Transactional
+    // a trava vem antes da transação: a alteração anterior do mesmo herói já está confirmada quando ela é liberada
+    @RetryOnVersionConflict
+    @HeroWriteLock
+    @Transactional(noRollbackFor = {DuplicateHeroNameException.class, ResourceNotFoundException.class})
     public HeroResponseDTO updateHero(Long heroId, HeroRequestDTO heroRequest) {
         Hero existingHero = findHeroByIdOrThrow(heroId);
-
-        validateHeroNameUniquenessForUpdate(heroRequest.nomeHeroi(), heroId);
+        String previousHeroName = existingHero.getNomeHeroi();
 
         Set<Superpoder> superpoderes = findSuperpoderesByIds(heroRequest.superpoderIds());
 
+        reserveHeroName(heroRequest.nomeHeroi(), existingHero);
         heroMapper.updateEntityFromDTO(existingHero, heroRequest, superpoderes);
-        Hero updatedHero = heroRepository.save(existingHero);
+        Hero updatedHero = saveAndFlush(existingHero);
+        superpoderHeroIndex.indexHero(updatedHero.getId(), superpoderIds(superpoderes));
+        if (!previousHeroName.equals(updatedHero.getNomeHeroi())) {
+            heroNameRegistry.release(previousHeroName, heroId);
+        }
 
-        Hero heroWithSuperpoderes = findHeroByIdWithSuperpoderesOrThrow(updatedHero.getId());
-        return convertHeroToResponseDTO(heroWithSuperpoderes);
+        return heroMapper.toResponseDTO(updatedHero);
     }
 
-    @Transactional
+    @RetryOnVersionConflict
+    @HeroWriteLock
+    @Transactional(noRollbackFor = ResourceNotFoundException.class)
     public void removeHero(Long heroId) {
-        validateHeroExists(heroId);
-        heroRepository.deleteById(heroId);
+        Hero hero = findHeroByIdOrThrow(heroId);
+        heroRepository.delete(hero);
+        heroRemovidoRepository.save(new HeroRemovido(heroId));
+        superpoderHeroIndex.removeHero(heroId);
+        heroNameRegistry.release(hero.getNomeHeroi(), heroId);
     }
 
 
+    private int resolvePageSize(Integer pageSize) {
+        if (pageSize == null) {
+            return DEFAULT_PAGE_SIZE;
+        }
+        if (pageSize < 1 || pageSize > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException(
+                String.format("Tamanho de página deve estar entre 1 e %d", MAX_PAGE_SIZE));
+        }
+        return pageSize;
+    }
+
+    private void validateFilter(HeroFilterDTO filter) {
+        validateRange("nascimento", filter.nascimentoDe(), filter.nascimentoAte());
+        validateRange("altura", filter.alturaMin(), filter.alturaMax());
+        validateRange("peso", filter.pesoMin(), filter.pesoMax());
+    }
+
+    private <T extends Comparable<? super T>> void validateRange(String fieldName, T min, T max) {
+        if (min != null && max != null && min.compareTo(max) > 0) {
+            throw new IllegalArgumentException(
+                String.format("Faixa de %s inválida: o mínimo é maior que o máximo", fieldName));
+        }
+    }
+
     private Hero findHeroByIdOrThrow(Long heroId) {
         return heroRepository.findById(heroId)
                 .orElseThrow(() -> new ResourceNotFoundException(HERO_RESOURCE_NAME, "ID", heroId));
@@ -94,67 +261,64 @@ public class HeroService {
                 .orElseThrow(() -> new ResourceNotFoundException(HERO_RESOURCE_NAME, "ID", heroId));
     }
 
-    private void validateHeroNameUniqueness(String heroName) {
-        if (heroRepository.existsByNomeHeroi(heroName)) {
+    private void reserveHeroName(String heroName, Hero hero) {
+        if (!heroNameRegistry.tryReserve(heroName, hero)) {
             throw new DuplicateHeroNameException(heroName);
         }
     }
 
-    private void validateHeroNameUniquenessForUpdate(String heroName, Long heroId) {
-        if (heroRepository.existsByNomeHeroiAndIdNot(heroName, heroId)) {
-            throw new DuplicateHeroNameException(heroName);
+    /**
+     * Grava e descarrega na hora: um nome gravado fora do registro (outra instância, carga direta no banco) esbarra
+     * aqui na restrição única do banco e sai como nome duplicado, com a transação marcada para ser desfeita.
+     */
+    private Hero saveAndFlush(Hero hero) {
+        try {
+            return heroRepository.saveAndFlush(hero);
+        } catch (DataIntegrityViolationException ex) {
+            if (!isUniqueViolation(ex)) {
+                throw ex;
+            }
+            if (TransactionSynchronizationManager.isActualTransactionActive()) {
+                TransactionAspectSupport.currentTransactionStatus().setRollbackOnly();
+            }
+            throw new DuplicateHeroNameException(hero.getNomeHeroi());
         }
     }
 
-    private void validateHeroExists(Long heroId) {
-        if (!heroRepository.existsById(heroId)) {
-            throw new ResourceNotFoundException(HERO_RESOURCE_NAME, "ID", heroId);
-        }
+    // 23505 é unique_violation no SQL padrão (PostgreSQL e H2); em herois, a única restrição única além da chave
+    // primária é a do nome
+    private static boolean isUniqueViolation(DataIntegrityViolationException ex) {
+        return ex.getMostSpecificCause() instanceof SQLException sqlException
+                && "23505".equals(sqlException.getSQLState());
     }
 
     private Set<Superpoder> findSuperpoderesByIds(List<Long> superpoderIds) {
-        return superpoderIds.stream()
-                .map(this::findSuperpoderByIdOrThrow)
-                .collect(Collectors.toSet());
-    }
-
-    private Superpoder findSuperpoderByIdOrThrow(Long superpoderId) {
-        return superpoderRepository.findById(superpoderId)
-                .orElseThrow(() -> new ResourceNotFoundException(SUPERPODER_RESOURCE_NAME, "ID", superpoderId));
-    }
+        Set<Long> distinctIds = new LinkedHashSet<>(superpoderIds);
 
-    private HeroResponseDTO convertHeroToResponseDTO(Hero hero) {
-        if (hero == null) {
-            return null;
+        // uma consulta só, sem o catálogo: o herói precisa das entidades, e conferir os ids no catálogo antes
+        // não evitaria esta leitura
+        List<Superpoder> superpoderes = superpoderRepository.findAllById(distinctIds);
+        if (superpoderes.size() != distinctIds.size()) {
+            superpoderes.forEach(superpoder -> distinctIds.remove(superpoder.getId()));
+            throw superpoderesNotFound(distinctIds);
         }
 
-        Set<Superpoder> superpoderes = hero.getSuperpoderes();
-        Set<SuperpoderDTO> superpoderesDTO = superpoderes != null 
-            ? superpoderes.stream()
-                .map(this::convertSuperpoderToDTO)
-                .collect(Collectors.toSet())
-            : Set.of();
-
-        return new HeroResponseDTO(
-            hero.getId(),
-            hero.getNome(),
-            hero.getNomeHeroi(),
-            hero.getDataNascimento(),
-            hero.getAltura(),
-            hero.getPeso(),
-            superpoderesDTO.stream().toList()
-        );
+        // em ordem de id, como o @OrderBy("id") da leitura: a resposta de POST/PUT é a mesma que o GET devolve
+        return superpoderes.stream()
+                .sorted(Comparator.comparing(Superpoder::getId))
+                .collect(Collectors.toCollection(LinkedHashSet::new));
     }
 
-    private SuperpoderDTO convertSuperpoderToDTO(Superpoder superpoder) {
-        if (superpoder == null) {
-            return null;
-        }
+    private List<Long> superpoderIds(Set<Superpoder> superpoderes) {
+        return superpoderes.stream()
+                .map(Superpoder::getId)
+                .collect(Collectors.toList());
+    }
 
-        return new SuperpoderDTO(
-            superpoder.getId(),
-            superpoder.getNome(),
-            superpoder.getDescricao()
-        );
+    private ResourceNotFoundException superpoderesNotFound(Collection<Long> superpoderIds) {
+        String ids = superpoderIds.stream()
+                .map(String::valueOf)
+                .collect(Collectors.joining(", "));
+        return new ResourceNotFoundException(SUPERPODER_RESOURCE_NAME, "ID", ids);
     }
 }
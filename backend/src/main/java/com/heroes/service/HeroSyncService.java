@@ -0,0 +1,122 @@
+package com.heroes.service;
+
+import com.heroes.model.dto.HeroChangesDTO;
+import com.heroes.model.dto.HeroResponseDTO;
+import com.heroes.model.dto.HeroVersionDTO;
+import com.heroes.model.entity.HeroRemovido;
+import com.heroes.model.mapper.HeroMapper;
+import com.heroes.repository.HeroRemovidoRepository;
+import com.heroes.repository.HeroRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Service
+public class HeroSyncService {
+
+    private static final int DEFAULT_PAGE_SIZE = 100;
+    private static final int MAX_PAGE_SIZE = 500;
+
+    private final HeroRepository heroRepository;
+    private final HeroRemovidoRepository heroRemovidoRepository;
+    private final HeroMapper heroMapper;
+    private final Duration consistencyMargin;
+
+    public HeroSyncService(HeroRepository heroRepository,
+                           HeroRemovidoRepository heroRemovidoRepository,
+                           HeroMapper heroMapper,
+                           @Value("${heroes.sync.margem-consistencia:PT5S}") Duration consistencyMargin) {
+        this.heroRepository = heroRepository;
+        this.heroRemovidoRepository = heroRemovidoRepository;
+        this.heroMapper = heroMapper;
+        this.consistencyMargin = consistencyMargin;
+    }
+
+    /**
+     * Retorna os heróis criados, alterados ou removidos depois da marca informada, em ordem de alteração.
+     * Alterações mais recentes que a margem de consistência ficam para a próxima chamada, para que uma
+     * transação ainda não confirmada com carimbo anterior não seja pulada pela nova marca.
+     */
+    @Transactional(readOnly = true)
+    public HeroChangesDTO findChangesSince(String since, Integer pageSize) {
+        int size = resolvePageSize(pageSize);
+        HeroSyncWatermark watermark = HeroSyncWatermark.decode(since);
+        Instant upperBound = Instant.now().minus(consistencyMargin);
+        Pageable limit = PageRequest.of(0, size + 1);
+
+        List<HeroVersionDTO> changed = heroRepository.findChangedAfter(
+            watermark.timestamp(), watermark.heroId(), upperBound, limit);
+        List<HeroRemovido> removed = heroRemovidoRepository.findRemovedAfter(
+            watermark.timestamp(), watermark.heroId(), upperBound, limit);
+
+        List<Long> changedIds = new ArrayList<>();
+        List<Long> removedIds = new ArrayList<>();
+        HeroSyncWatermark nextWatermark = watermark;
+        int changedIndex = 0;
+        int removedIndex = 0;
+
+        while (changedIds.size() + removedIds.size() < size
+                && (changedIndex < changed.size() || removedIndex < removed.size())) {
+            HeroSyncWatermark nextChanged = changedIndex < changed.size() ? toWatermark(changed.get(changedIndex)) : null;
+            HeroSyncWatermark nextRemoved = removedIndex < removed.size() ? toWatermark(removed.get(removedIndex)) : null;
+
+            if (nextRemoved == null || (nextChanged != null && nextChanged.compareTo(nextRemoved) < 0)) {
+                changedIds.add(nextChanged.heroId());
+                nextWatermark = nextChanged;
+                changedIndex++;
+            } else {
+                removedIds.add(nextRemoved.heroId());
+                nextWatermark = nextRemoved;
+                removedIndex++;
+            }
+        }
+
+        boolean hasMore = changedIndex < changed.size() || removedIndex < removed.size();
+        return new HeroChangesDTO(findHeroesInOrder(changedIds), removedIds, nextWatermark.encode(), hasMore);
+    }
+
+    private List<HeroResponseDTO> findHeroesInOrder(List<Long> heroIds) {
+        if (heroIds.isEmpty()) {
+            return List.of();
+        }
+
+        Map<Long, HeroResponseDTO> heroesById = heroMapper.toResponseDTOs(heroRepository.findHeroRowsByIdIn(heroIds))
+                .stream()
+                .collect(Collectors.toMap(HeroResponseDTO::id, Function.identity()));
+        return heroIds.stream()
+                .map(heroesById::get)
+                // removido entre as duas consultas: a marca de remoção sai na próxima sincronização
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+    }
+
+    private HeroSyncWatermark toWatermark(HeroVersionDTO heroVersion) {
+        return new HeroSyncWatermark(heroVersion.atualizadoEm(), heroVersion.id());
+    }
+
+    private HeroSyncWatermark toWatermark(HeroRemovido heroRemovido) {
+        return new HeroSyncWatermark(heroRemovido.getRemovidoEm(), heroRemovido.getHeroiId());
+    }
+
+    private int resolvePageSize(Integer pageSize) {
+        if (pageSize == null) {
+            return DEFAULT_PAGE_SIZE;
+        }
+        if (pageSize < 1 || pageSize > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException(
+                String.format("Tamanho de página deve estar entre 1 e %d", MAX_PAGE_SIZE));
+        }
+        return pageSize;
+    }
+}
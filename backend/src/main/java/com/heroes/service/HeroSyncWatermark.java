@@ -0,0 +1,47 @@
+package com.heroes.service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.util.Base64;
+
+/**
+ * Marca d'água opaca da sincronização incremental: instante da última alteração entregue
+ * e o ID do herói correspondente, que desempata alterações no mesmo instante.
+ */
+record HeroSyncWatermark(Instant timestamp, long heroId) implements Comparable<HeroSyncWatermark> {
+
+    static final HeroSyncWatermark INITIAL = new HeroSyncWatermark(Instant.EPOCH, 0L);
+
+    private static final String PREFIX = "w:";
+    private static final String SEPARATOR = ":";
+
+    String encode() {
+        String raw = PREFIX + timestamp.getEpochSecond() + SEPARATOR + timestamp.getNano() + SEPARATOR + heroId;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    static HeroSyncWatermark decode(String watermark) {
+        if (watermark == null || watermark.isBlank()) {
+            return INITIAL;
+        }
+
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(watermark), StandardCharsets.UTF_8);
+            String[] parts = raw.startsWith(PREFIX) ? raw.substring(PREFIX.length()).split(SEPARATOR) : new String[0];
+            if (parts.length != 3) {
+                throw new IllegalArgumentException("Marca de sincronização inválida");
+            }
+            Instant timestamp = Instant.ofEpochSecond(Long.parseLong(parts[0]), Long.parseLong(parts[1]));
+            return new HeroSyncWatermark(timestamp, Long.parseLong(parts[2]));
+        } catch (IllegalArgumentException | DateTimeException ex) {
+            throw new IllegalArgumentException("Marca de sincronização inválida", ex);
+        }
+    }
+
+    @Override
+    public int compareTo(HeroSyncWatermark other) {
+        int byTimestamp = timestamp.compareTo(other.timestamp);
+        return byTimestamp != 0 ? byTimestamp : Long.compare(heroId, other.heroId);
+    }
+}
@@ -0,0 +1,295 @@
+package com.heroes.service;
+
+import com.heroes.config.exception.DuplicateHeroNameException;
+import com.heroes.config.exception.HeroWriteQueueFullException;
+import com.heroes.config.exception.HeroWriteQueueUnavailableException;
+import com.heroes.config.exception.ResourceNotFoundException;
+import com.heroes.model.dto.HeroRequestDTO;
+import com.heroes.model.dto.HeroResponseDTO;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Function;
+
+/**
+ * Escrita agrupada (opcional, heroes.escrita.agrupada): criações, alterações e exclusões de heróis entram numa
+ * fila sem bloqueio e uma única thread as grava em lotes de até heroes.escrita.lote-maximo, esperando no máximo
+ * heroes.escrita.espera-maxima pelo lote completar, com um só commit por lote. Cada chamador recebe o próprio
+ * resultado (ou a própria exceção) num CompletableFuture.
+ * <p>
+ * As escritas de um lote passam pelo HeroService, na ordem de chegada, dentro da mesma transação: o nome reservado
+ * no HeroNameRegistry por uma escrita do lote barra as seguintes, então dois heróis com o mesmo nome no lote
+ * resultam em um 201 e um 409, como em requisições separadas. As exceções de validação saem antes de qualquer
+ * escrita e não desfazem o lote; qualquer outro erro desfaz o lote inteiro, e cada escrita é refeita na sua
+ * própria transação.
+ * <p>
+ * O chamador espera o resultado no máximo heroes.escrita.espera-resultado (503 depois disso), e uma escrita cujo
+ * chamador já desistiu não é mais gravada quando sai da fila. Um Error durante um lote falha as escritas desse lote;
+ * se a thread de escrita parar, a fila é encerrada e as escritas pendentes e novas recebem 503.
+ */
+@Component
+public class HeroWriteQueue {
+
+    private static final String WRITER_THREAD_NAME = "heroes-escrita-agrupada";
+    private static final long SHUTDOWN_TIMEOUT_MILLIS = 10_000;
+
+    private final HeroService heroService;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final int maxBatchSize;
+    private final long maxWaitNanos;
+    private final int capacity;
+    private final long resultTimeoutNanos;
+
+    private final Queue<PendingWrite<?>> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger queuedCount = new AtomicInteger();
+    private final LongAdder commitCount = new LongAdder();
+    private final LongAdder writeCount = new LongAdder();
+    private volatile boolean running;
+    private Thread writerThread;
+
+    @Autowired
+    public HeroWriteQueue(HeroService heroService,
+                          TransactionTemplate transactionTemplate,
+                          @Value("${heroes.escrita.agrupada:false}") boolean enabled,
+                          @Value("${heroes.escrita.lote-maximo:64}") int maxBatchSize,
+                          @Value("${heroes.escrita.espera-maxima:PT0.002S}") Duration maxWait,
+                          @Value("${heroes.escrita.capacidade-fila:10000}") int capacity,
+                          @Value("${heroes.escrita.espera-resultado:PT10S}") Duration resultTimeout) {
+        if (maxBatchSize < 1 || capacity < 1) {
+            throw new IllegalArgumentException("heroes.escrita.lote-maximo e heroes.escrita.capacidade-fila devem ser maiores que zero");
+        }
+        this.heroService = heroService;
+        this.transactionTemplate = transactionTemplate;
+        this.enabled = enabled;
+        this.maxBatchSize = maxBatchSize;
+        this.maxWaitNanos = maxWait.toNanos();
+        this.capacity = capacity;
+        this.resultTimeoutNanos = resultTimeout.toNanos();
+    }
+
+    @PostConstruct
+    void start() {
+        if (!enabled) {
+            return;
+        }
+        running = true;
+        writerThread = new Thread(this::drain, WRITER_THREAD_NAME);
+        writerThread.setDaemon(true);
+        writerThread.start();
+    }
+
+    /** Grava o que já está na fila e encerra a thread de escrita. */
+    @PreDestroy
+    void shutdown() throws InterruptedException {
+        if (writerThread == null) {
+            return;
+        }
+        running = false;
+        LockSupport.unpark(writerThread);
+        writerThread.join(SHUTDOWN_TIMEOUT_MILLIS);
+        // escritas que chegaram depois da última passada da thread
+        failQueued();
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public CompletableFuture<HeroResponseDTO> createHero(HeroRequestDTO heroRequest) {
+        return submit(service -> service.createHero(heroRequest));
+    }
+
+    public CompletableFuture<HeroResponseDTO> updateHero(Long heroId, HeroRequestDTO heroRequest) {
+        return submit(service -> service.updateHero(heroId, heroRequest));
+    }
+
+    public CompletableFuture<Void> removeHero(Long heroId) {
+        return submit(service -> {
+            service.removeHero(heroId);
+            return null;
+        });
+    }
+
+    /** Espera o resultado da escrita e relança a exceção do HeroService, para o GlobalExceptionHandler. */
+    public static <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof TimeoutException) {
+                throw new HeroWriteQueueUnavailableException(
+                    "A fila de escrita não confirmou a escrita a tempo; confira o herói antes de tentar novamente");
+            }
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw ex;
+        }
+    }
+
+    public long getCommitCount() {
+        return commitCount.sum();
+    }
+
+    public long getWriteCount() {
+        return writeCount.sum();
+    }
+
+    private <T> CompletableFuture<T> submit(Function<HeroService, T> operation) {
+        if (!enabled) {
+            throw new IllegalStateException("Escrita agrupada desligada (heroes.escrita.agrupada=false)");
+        }
+        if (!running) {
+            throw closedQueue();
+        }
+        if (queuedCount.incrementAndGet() > capacity) {
+            queuedCount.decrementAndGet();
+            throw new HeroWriteQueueFullException(capacity);
+        }
+        PendingWrite<T> write = new PendingWrite<>(operation);
+        queue.offer(write);
+        LockSupport.unpark(writerThread);
+        return write.future.orTimeout(resultTimeoutNanos, TimeUnit.NANOSECONDS);
+    }
+
+    private void drain() {
+        List<PendingWrite<?>> batch = new ArrayList<>(maxBatchSize);
+        try {
+            while (running || !queue.isEmpty()) {
+                PendingWrite<?> first = pollPending();
+                if (first == null) {
+                    if (running) {
+                        LockSupport.park(this);
+                    }
+                    continue;
+                }
+                batch.add(first);
+                long deadline = System.nanoTime() + maxWaitNanos;
+                while (batch.size() < maxBatchSize) {
+                    PendingWrite<?> next = pollPending();
+                    if (next != null) {
+                        batch.add(next);
+                        continue;
+                    }
+                    long remaining = deadline - System.nanoTime();
+                    if (remaining <= 0 || !running) {
+                        break;
+                    }
+                    LockSupport.parkNanos(this, remaining);
+                }
+                queuedCount.addAndGet(-batch.size());
+                commit(batch);
+                batch.clear();
+            }
+        } finally {
+            // a thread só sai do laço no encerramento ou por um erro fora de um lote: sem ela, ninguém mais grava
+            running = false;
+            HeroWriteQueueUnavailableException closed = closedQueue();
+            batch.forEach(write -> write.future.completeExceptionally(closed));
+            failQueued();
+        }
+    }
+
+    /** Próxima escrita da fila cujo chamador ainda espera; as que já desistiram (espera-resultado) são descartadas. */
+    private PendingWrite<?> pollPending() {
+        PendingWrite<?> write;
+        while ((write = queue.poll()) != null) {
+            if (!write.future.isDone()) {
+                return write;
+            }
+            queuedCount.decrementAndGet();
+        }
+        return null;
+    }
+
+    private void failQueued() {
+        HeroWriteQueueUnavailableException closed = closedQueue();
+        PendingWrite<?> write;
+        while ((write = queue.poll()) != null) {
+            queuedCount.decrementAndGet();
+            write.future.completeExceptionally(closed);
+        }
+    }
+
+    private static HeroWriteQueueUnavailableException closedQueue() {
+        return new HeroWriteQueueUnavailableException("Fila de escrita encerrada; tente novamente em instantes");
+    }
+
+    private void commit(List<PendingWrite<?>> batch) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> batch.forEach(PendingWrite::apply));
+            commitCount.increment();
+            writeCount.add(batch.size());
+            batch.forEach(PendingWrite::complete);
+        } catch (RuntimeException ex) {
+            // o lote foi desfeito: cada escrita é refeita sozinha, e só a que falhar de novo recebe o erro
+            batch.forEach(this::commitAlone);
+        } catch (Throwable ex) {
+            // Error (falta de memória, estouro de pilha...): o lote não é refeito, e todo o lote recebe o erro
+            batch.forEach(write -> write.future.completeExceptionally(ex));
+        }
+    }
+
+    private void commitAlone(PendingWrite<?> write) {
+        // os contadores mudam antes de o chamador receber o resultado, como no commit do lote
+        commitCount.increment();
+        writeCount.increment();
+        write.completeAlone();
+    }
+
+    private final class PendingWrite<T> {
+
+        private final Function<HeroService, T> operation;
+        private final CompletableFuture<T> future = new CompletableFuture<>();
+        private T result;
+        private RuntimeException validationError;
+
+        PendingWrite(Function<HeroService, T> operation) {
+            this.operation = operation;
+        }
+
+        /** Executa dentro da transação do lote; a validação recusada fica guardada até o commit. */
+        void apply() {
+            try {
+                result = operation.apply(heroService);
+                validationError = null;
+            } catch (DuplicateHeroNameException | ResourceNotFoundException ex) {
+                result = null;
+                validationError = ex;
+            }
+        }
+
+        void complete() {
+            if (validationError != null) {
+                future.completeExceptionally(validationError);
+            } else {
+                future.complete(result);
+            }
+        }
+
+        /** Executa na própria transação do HeroService. */
+        void completeAlone() {
+            try {
+                future.complete(operation.apply(heroService));
+            } catch (Throwable ex) {
+                future.completeExceptionally(ex);
+            }
+        }
+    }
+}
@@ -0,0 +1,152 @@
+package com.heroes.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.heroes.model.dto.SuperpoderDTO;
+import com.heroes.model.mapper.HeroMapper;
+import com.heroes.repository.SuperpoderRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.DigestUtils;
+
+import java.io.UncheckedIOException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Collectors;
+
+/**
+ * Cache read-through do catálogo de superpoderes. O snapshot é imutável e substituído
+ * por inteiro quando expira (TTL configurável) ou quando o catálogo é invalidado após uma escrita.
+ * Ids fora do snapshot são conferidos no banco só eles, pela chave primária: um id inexistente repetido
+ * não recarrega o catálogo inteiro a cada requisição. O JSON da listagem é gerado uma vez por snapshot, e o
+ * ETag é o hash desses bytes.
+ */
+@Component
+public class SuperpoderCatalog {
+
+    private final SuperpoderRepository superpoderRepository;
+    private final HeroMapper heroMapper;
+    private final ObjectMapper objectMapper;
+    private final Duration ttl;
+    private final Clock clock;
+    private final AtomicReference<Snapshot> snapshot = new AtomicReference<>();
+    private final AtomicLong hitCount = new AtomicLong();
+    private final AtomicLong missCount = new AtomicLong();
+    // lock em vez de synchronized: a recarga consulta o banco, e uma thread virtual bloqueada dentro de um
+    // synchronized prende a thread portadora (heroes.threads.virtuais)
+    private final ReentrantLock refreshLock = new ReentrantLock();
+
+    @Autowired
+    public SuperpoderCatalog(SuperpoderRepository superpoderRepository, HeroMapper heroMapper, ObjectMapper objectMapper,
+                             @Value("${heroes.superpoderes.cache-ttl:PT10M}") Duration ttl) {
+        this(superpoderRepository, heroMapper, objectMapper, ttl, Clock.systemUTC());
+    }
+
+    SuperpoderCatalog(SuperpoderRepository superpoderRepository, HeroMapper heroMapper, ObjectMapper objectMapper,
+                      Duration ttl, Clock clock) {
+        this.superpoderRepository = superpoderRepository;
+        this.heroMapper = heroMapper;
+        this.objectMapper = objectMapper;
+        this.ttl = ttl;
+        this.clock = clock;
+    }
+
+    public Snapshot getSnapshot() {
+        Snapshot current = snapshot.get();
+        if (isFresh(current)) {
+            hitCount.incrementAndGet();
+            return current;
+        }
+        missCount.incrementAndGet();
+        return refreshIfStale();
+    }
+
+    public List<Long> findUnknownIds(Collection<Long> superpoderIds) {
+        List<Long> unknownIds = filterUnknownIds(superpoderIds, getSnapshot());
+        if (unknownIds.isEmpty()) {
+            return unknownIds;
+        }
+        List<Long> existingIds = superpoderRepository.findExistingIds(unknownIds);
+        if (!existingIds.isEmpty()) {
+            // superpoder criado depois do snapshot (por outra instância, por exemplo): a próxima leitura recarrega
+            invalidate();
+            unknownIds.removeAll(existingIds);
+        }
+        return unknownIds;
+    }
+
+    public void invalidate() {
+        snapshot.set(null);
+    }
+
+    public long getHitCount() {
+        return hitCount.get();
+    }
+
+    public long getMissCount() {
+        return missCount.get();
+    }
+
+    private boolean isFresh(Snapshot current) {
+        return current != null && clock.instant().isBefore(current.expiresAt());
+    }
+
+    private Snapshot refreshIfStale() {
+        refreshLock.lock();
+        try {
+            Snapshot current = snapshot.get();
+            return isFresh(current) ? current : load();
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+
+    private Snapshot load() {
+        Map<Long, SuperpoderDTO> loaded = new LinkedHashMap<>();
+        superpoderRepository.findAll().forEach(superpoder ->
+            loaded.put(superpoder.getId(), heroMapper.toSuperpoderDTO(superpoder)));
+
+        List<SuperpoderDTO> superpoderes = Collections.unmodifiableList(new ArrayList<>(loaded.values()));
+        byte[] json = toJson(superpoderes);
+        Snapshot refreshed = new Snapshot(
+            superpoderes,
+            Collections.unmodifiableMap(loaded),
+            json,
+            DigestUtils.md5DigestAsHex(json),
+            clock.instant().plus(ttl)
+        );
+        snapshot.set(refreshed);
+        return refreshed;
+    }
+
+    private byte[] toJson(List<SuperpoderDTO> superpoderes) {
+        try {
+            return objectMapper.writeValueAsBytes(superpoderes);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private List<Long> filterUnknownIds(Collection<Long> superpoderIds, Snapshot catalog) {
+        return superpoderIds.stream()
+                .filter(superpoderId -> !catalog.byId().containsKey(superpoderId))
+                .distinct()
+                .collect(Collectors.toList());
+    }
+
+    /** {@code json} é a lista {@code superpoderes} já serializada; quem recebe o snapshot não deve alterar o array. */
+    public record Snapshot(List<SuperpoderDTO> superpoderes, Map<Long, SuperpoderDTO> byId,
+                           byte[] json, String etag, Instant expiresAt) {
+    }
+}
@@ -0,0 +1,132 @@
+package com.heroes.service;
+
+import com.heroes.repository.HeroRepository;
+import org.roaringbitmap.longlong.PeekableLongIterator;
+import org.roaringbitmap.longlong.Roaring64Bitmap;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+/**
+ * Índice invertido em memória: id do superpoder → bitmap comprimido (Roaring) com os ids dos heróis que o possuem.
+ * É reconstruído a partir de heroissuperpoderes quando a aplicação sobe e atualizado pelas escritas de heróis
+ * somente depois do commit, para que um rollback não deixe o índice à frente do banco.
+ */
+@Component
+public class SuperpoderHeroIndex {
+
+    private static final Roaring64Bitmap EMPTY = new Roaring64Bitmap();
+
+    private final HeroRepository heroRepository;
+    private final Map<Long, Roaring64Bitmap> heroIdsBySuperpoder = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public SuperpoderHeroIndex(HeroRepository heroRepository) {
+        this.heroRepository = heroRepository;
+    }
+
+    /**
+     * Recarrega o índice inteiro. A trava de escrita é obtida antes da leitura do banco: atualizações de commits
+     * concorrentes esperam e são reaplicadas depois, o que é seguro porque cada uma substitui o estado do herói.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        lock.writeLock().lock();
+        try (Stream<Object[]> pairs = heroRepository.streamSuperpoderHeroIds()) {
+            heroIdsBySuperpoder.clear();
+            pairs.forEach(pair -> heroIdsBySuperpoder
+                .computeIfAbsent(((Number) pair[0]).longValue(), superpoderId -> new Roaring64Bitmap())
+                .addLong(((Number) pair[1]).longValue()));
+            heroIdsBySuperpoder.values().forEach(Roaring64Bitmap::runOptimize);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void indexHero(Long heroId, Collection<Long> superpoderIds) {
+        indexHeroes(Map.of(heroId, superpoderIds));
+    }
+
+    public void indexHeroes(Map<Long, ? extends Collection<Long>> superpoderIdsByHero) {
+        Map<Long, List<Long>> snapshot = new HashMap<>();
+        superpoderIdsByHero.forEach((heroId, superpoderIds) -> snapshot.put(heroId, List.copyOf(superpoderIds)));
+        afterCommit(() -> snapshot.forEach(this::replace));
+    }
+
+    public void removeHero(Long heroId) {
+        afterCommit(() -> replace(heroId, List.of()));
+    }
+
+    /**
+     * Ids, em ordem crescente e maiores que {@code afterHeroId}, dos heróis que têm todos os superpoderes de
+     * {@code todos} e ao menos um de {@code qualquer}. Uma lista vazia não restringe o resultado.
+     */
+    public List<Long> findHeroIds(Collection<Long> todos, Collection<Long> qualquer, long afterHeroId, int limit) {
+        lock.readLock().lock();
+        try {
+            Roaring64Bitmap matches = match(todos, qualquer);
+            List<Long> heroIds = new ArrayList<>(limit);
+            PeekableLongIterator iterator = matches.getLongIteratorFrom(afterHeroId + 1);
+            while (iterator.hasNext() && heroIds.size() < limit) {
+                heroIds.add(iterator.next());
+            }
+            return heroIds;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Os bitmaps do mapa nunca são alterados aqui: and/or estáticos devolvem um bitmap novo
+    private Roaring64Bitmap match(Collection<Long> todos, Collection<Long> qualquer) {
+        Roaring64Bitmap result = null;
+        for (Long superpoderId : todos) {
+            Roaring64Bitmap heroIds = heroIdsBySuperpoder.getOrDefault(superpoderId, EMPTY);
+            result = result == null ? heroIds : Roaring64Bitmap.and(result, heroIds);
+        }
+
+        if (!qualquer.isEmpty()) {
+            Roaring64Bitmap any = new Roaring64Bitmap();
+            qualquer.forEach(superpoderId -> any.or(heroIdsBySuperpoder.getOrDefault(superpoderId, EMPTY)));
+            result = result == null ? any : Roaring64Bitmap.and(result, any);
+        }
+        return result != null ? result : EMPTY;
+    }
+
+    private void replace(Long heroId, Collection<Long> superpoderIds) {
+        lock.writeLock().lock();
+        try {
+            heroIdsBySuperpoder.values().forEach(heroIds -> heroIds.removeLong(heroId));
+            superpoderIds.forEach(superpoderId -> heroIdsBySuperpoder
+                .computeIfAbsent(superpoderId, id -> new Roaring64Bitmap())
+                .addLong(heroId));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void afterCommit(Runnable update) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            update.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                update.run();
+            }
+        });
+    }
+}
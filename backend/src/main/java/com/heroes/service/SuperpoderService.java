@@ -1,30 +1,30 @@
 package com.heroes.service;
 
 import com.heroes.model.dto.SuperpoderDTO;
-import com.heroes.model.entity.Superpoder;
-import com.heroes.model.mapper.HeroMapper;
-import com.heroes.repository.SuperpoderRepository;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
-import java.util.stream.Collectors;
 
 @Service
 @Transactional(readOnly = true)
 public class SuperpoderService {
 
-    private final SuperpoderRepository superpoderRepository;
-    private final HeroMapper heroMapper;
+    private final SuperpoderCatalog superpoderCatalog;
 
-    public SuperpoderService(SuperpoderRepository superpoderRepository, HeroMapper heroMapper) {
-        this.superpoderRepository = superpoderRepository;
-        this.heroMapper = heroMapper;
+    public SuperpoderService(SuperpoderCatalog superpoderCatalog) {
+        this.superpoderCatalog = superpoderCatalog;
     }
 
+    // SUPPORTS: leituras servidas pelo snapshot em memória não abrem transação nem obtêm conexão
+    @Transactional(propagation = Propagation.SUPPORTS)
     public List<SuperpoderDTO> findAll() {
-        return superpoderRepository.findAll().stream()
-                .map(heroMapper::toSuperpoderDTO)
-                .collect(Collectors.toList());
+        return superpoderCatalog.getSnapshot().superpoderes();
+    }
+
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public SuperpoderCatalog.Snapshot findCatalog() {
+        return superpoderCatalog.getSnapshot();
     }
 }
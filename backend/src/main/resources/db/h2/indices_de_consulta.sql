@@ -0,0 +1,9 @@
+-- Índices da migração V2 para o banco em memória do perfil h2, cujo esquema vem do Hibernate (create-drop) e não
+-- passa pelo Flyway. Executado depois do Hibernate (spring.jpa.defer-datasource-initialization).
+-- O H2 não tem índice sobre expressão: idx_herois_nome_heroi_lower fica só no PostgreSQL.
+CREATE INDEX IF NOT EXISTS idx_herois_atualizado_em ON herois (atualizado_em, id);
+CREATE INDEX IF NOT EXISTS idx_herois_data_nascimento ON herois (data_nascimento, id);
+CREATE INDEX IF NOT EXISTS idx_herois_altura ON herois (altura, id);
+CREATE INDEX IF NOT EXISTS idx_herois_peso ON herois (peso, id);
+CREATE INDEX IF NOT EXISTS idx_herois_removidos_removido_em ON herois_removidos (removido_em, heroi_id);
+CREATE INDEX IF NOT EXISTS idx_heroissuperpoderes_superpoder ON heroissuperpoderes (superpoder_id, heroi_id);
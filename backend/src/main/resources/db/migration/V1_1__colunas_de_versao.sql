@@ -0,0 +1,13 @@
+-- Colunas de versão usadas pelo ETag/Last-Modified e pela sincronização incremental dos heróis.
+-- Num banco criado pela V1 nada muda; bancos vindos do ddl-auto: update (baseline na versão 1) podem não ter as
+-- colunas ou tê-las sem NOT NULL, que o ddl-auto: update não aplica sobre linhas existentes.
+-- Roda antes da V2, que indexa atualizado_em.
+ALTER TABLE herois ADD COLUMN IF NOT EXISTS versao BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE herois ADD COLUMN IF NOT EXISTS atualizado_em TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP;
+
+UPDATE herois SET versao = 0 WHERE versao IS NULL;
+UPDATE herois SET atualizado_em = CURRENT_TIMESTAMP WHERE atualizado_em IS NULL;
+ALTER TABLE herois ALTER COLUMN versao SET DEFAULT 0;
+ALTER TABLE herois ALTER COLUMN versao SET NOT NULL;
+ALTER TABLE herois ALTER COLUMN atualizado_em SET DEFAULT CURRENT_TIMESTAMP;
+ALTER TABLE herois ALTER COLUMN atualizado_em SET NOT NULL;
@@ -0,0 +1,27 @@
+-- IDs de heróis e superpoderes gerados por sequência (otimizador pooled). Num banco criado pela V1 as colunas e as
+-- sequências já estão assim; bancos vindos do ddl-auto: update (baseline na versão 1) podem ter colunas
+-- serial/identity. O Flyway roda antes de a aplicação atender, então nenhum bloco de IDs está em uso.
+-- O INCREMENT BY precisa ser igual a heroes.id.allocation-size (50 por padrão); se os valores divergirem, a
+-- aplicação não sobe (hibernate.id.sequence.increment_size_mismatch_strategy=EXCEPTION).
+
+-- Superpoderes: a coluna deixa de ser serial/identity, o Hibernate passa a atribuir o ID
+ALTER TABLE superpoderes ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE superpoderes ALTER COLUMN id DROP DEFAULT;
+DROP SEQUENCE IF EXISTS superpoderes_id_seq;
+CREATE SEQUENCE IF NOT EXISTS superpoderes_seq START WITH 1 INCREMENT BY 50;
+ALTER SEQUENCE superpoderes_seq INCREMENT BY 50;
+
+-- Heróis: mesma transição
+ALTER TABLE herois ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE herois ALTER COLUMN id DROP DEFAULT;
+DROP SEQUENCE IF EXISTS herois_id_seq;
+CREATE SEQUENCE IF NOT EXISTS herois_seq START WITH 1 INCREMENT BY 50;
+ALTER SEQUENCE herois_seq INCREMENT BY 50;
+
+-- O próximo valor lido fica 50 acima do maior ID existente e do último valor da sequência: o otimizador pooled usa
+-- o valor lido como fim do bloco, então o primeiro bloco começa depois de todos os IDs já usados ou reservados
+-- (com pooled-lo começa no próprio valor lido, também livre)
+SELECT setval('superpoderes_seq',
+    GREATEST(COALESCE((SELECT MAX(id) FROM superpoderes), 0), (SELECT last_value FROM superpoderes_seq)) + 50, false);
+SELECT setval('herois_seq',
+    GREATEST(COALESCE((SELECT MAX(id) FROM herois), 0), (SELECT last_value FROM herois_seq)) + 50, false);
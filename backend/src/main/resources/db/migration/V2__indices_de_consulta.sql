@@ -0,0 +1,22 @@
+-- Índices de consulta criados com CONCURRENTLY: não bloqueiam escritas em tabelas já populadas.
+-- Só há instruções CONCURRENTLY aqui, então o Flyway executa esta versão fora de transação.
+-- IF NOT EXISTS cobre bancos em que o ddl-auto: update já criou parte destes índices.
+-- Se uma criação falhar, o índice fica INVALID: remova-o com DROP INDEX CONCURRENTLY antes de repetir.
+-- nome_heroi, superpoderes.nome e heroissuperpoderes(heroi_id) já são atendidos pelos índices das
+-- restrições UNIQUE e da chave primária; um índice comum a mais só custaria escrita.
+
+-- Filtro por prefixo do nome sem diferenciar maiúsculas/minúsculas (HeroSpecifications.nomeHeroiStartsWith):
+-- a faixa lower(nome_heroi) >= prefixo AND < limite usa o índice com a classe de operadores padrão
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_herois_nome_heroi_lower ON herois (lower(nome_heroi));
+
+-- Sincronização incremental e filtros/ordenações da listagem: (campo, id) atende faixa, ordenação e cursor
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_herois_atualizado_em ON herois (atualizado_em, id);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_herois_data_nascimento ON herois (data_nascimento, id);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_herois_altura ON herois (altura, id);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_herois_peso ON herois (peso, id);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_herois_removidos_removido_em ON herois_removidos (removido_em, heroi_id);
+
+-- Heróis por superpoder (filtro superpoderIds e reconstrução do índice invertido). Bancos vindos do ddl-auto: update
+-- podem ter um índice com este nome só em superpoder_id; ele é recriado com o heroi_id, para o filtro ler só o índice
+DROP INDEX CONCURRENTLY IF EXISTS idx_heroissuperpoderes_superpoder;
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_heroissuperpoderes_superpoder ON heroissuperpoderes (superpoder_id, heroi_id);
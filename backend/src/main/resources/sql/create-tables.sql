@@ -1,21 +1,33 @@
 -- Script SQL para criação das tabelas do sistema de heróis
 -- Compatível com SQL Server, MySQL, PostgreSQL
 
+-- Sequências de IDs (incremento igual a heroes.id.allocation-size, o bloco do otimizador pooled do Hibernate)
+CREATE SEQUENCE superpoderes_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE herois_seq START WITH 1 INCREMENT BY 50;
+
 -- Tabela de Superpoderes
 CREATE TABLE superpoderes (
-    id BIGINT IDENTITY(1,1) PRIMARY KEY,
+    id BIGINT PRIMARY KEY,
     nome NVARCHAR(120) NOT NULL UNIQUE,
     descricao NVARCHAR(500)
 );
 
 -- Tabela de Heróis
 CREATE TABLE herois (
-    id BIGINT IDENTITY(1,1) PRIMARY KEY,
+    id BIGINT PRIMARY KEY,
     nome NVARCHAR(120) NOT NULL,
     nome_heroi NVARCHAR(120) NOT NULL UNIQUE,
     data_nascimento DATETIME2(7) NOT NULL,
     altura FLOAT NOT NULL,
-    peso FLOAT NOT NULL
+    peso FLOAT NOT NULL,
+    versao BIGINT NOT NULL DEFAULT 0,
+    atualizado_em DATETIME2(7) NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+-- Marcas de remoção de heróis (sincronização incremental)
+CREATE TABLE herois_removidos (
+    heroi_id BIGINT PRIMARY KEY,
+    removido_em DATETIME2(7) NOT NULL
 );
 
 -- Tabela de relacionamento Heróis-Superpoderes
@@ -29,6 +41,12 @@ CREATE TABLE heroissuperpoderes (
 
 -- Índices para melhor performance
 CREATE INDEX idx_herois_nome_heroi ON herois(nome_heroi);
+CREATE INDEX idx_herois_atualizado_em ON herois(atualizado_em, id);
+-- Filtros e ordenações da listagem: (campo, id) atende faixa, ordenação e paginação por cursor
+CREATE INDEX idx_herois_data_nascimento ON herois(data_nascimento, id);
+CREATE INDEX idx_herois_altura ON herois(altura, id);
+CREATE INDEX idx_herois_peso ON herois(peso, id);
+CREATE INDEX idx_herois_removidos_removido_em ON herois_removidos(removido_em, heroi_id);
 CREATE INDEX idx_superpoderes_nome ON superpoderes(nome);
 CREATE INDEX idx_heroissuperpoderes_heroi ON heroissuperpoderes(heroi_id);
-CREATE INDEX idx_heroissuperpoderes_superpoder ON heroissuperpoderes(superpoder_id);
+CREATE INDEX idx_heroissuperpoderes_superpoder ON heroissuperpoderes(superpoder_id, heroi_id);
@@ -1,22 +1,26 @@
 -- Script SQL para inserir dados iniciais
 -- Superpoderes
-INSERT INTO superpoderes (nome, descricao) VALUES
-('Super Força', 'Capacidade de levantar objetos extremamente pesados'),
-('Voo', 'Capacidade de voar pelos céus'),
-('Visão de Calor', 'Capacidade de emitir raios de calor pelos olhos'),
-('Super Velocidade', 'Capacidade de se mover em velocidades sobre-humanas'),
-('Inteligência', 'Capacidade mental superior'),
-('Artes Marciais', 'Habilidades avançadas de combate'),
-('Agilidade', 'Capacidade de se mover com rapidez e precisão'),
-('Sentido Aranha', 'Sexto sentido que alerta sobre perigos'),
-('Braceletes Indestrutíveis', 'Braceletes que podem bloquear qualquer ataque'),
-('Tecnologia', 'Conhecimento avançado em tecnologia');
+INSERT INTO superpoderes (id, nome, descricao) VALUES
+(1, 'Super Força', 'Capacidade de levantar objetos extremamente pesados'),
+(2, 'Voo', 'Capacidade de voar pelos céus'),
+(3, 'Visão de Calor', 'Capacidade de emitir raios de calor pelos olhos'),
+(4, 'Super Velocidade', 'Capacidade de se mover em velocidades sobre-humanas'),
+(5, 'Inteligência', 'Capacidade mental superior'),
+(6, 'Artes Marciais', 'Habilidades avançadas de combate'),
+(7, 'Agilidade', 'Capacidade de se mover com rapidez e precisão'),
+(8, 'Sentido Aranha', 'Sexto sentido que alerta sobre perigos'),
+(9, 'Braceletes Indestrutíveis', 'Braceletes que podem bloquear qualquer ataque'),
+(10, 'Tecnologia', 'Conhecimento avançado em tecnologia');
 
 -- Heróis
-INSERT INTO herois (nome, nome_heroi, data_nascimento, altura, peso) VALUES
-('Clark Kent', 'Superman', '1938-04-18', 1.91, 107.0),
-('Bruce Wayne', 'Batman', '1939-03-30', 1.88, 95.0),
-('Peter Parker', 'Homem-Aranha', '1962-08-10', 1.78, 76.0);
+INSERT INTO herois (id, nome, nome_heroi, data_nascimento, altura, peso) VALUES
+(1, 'Clark Kent', 'Superman', '1938-04-18', 1.91, 107.0),
+(2, 'Bruce Wayne', 'Batman', '1939-03-30', 1.88, 95.0),
+(3, 'Peter Parker', 'Homem-Aranha', '1962-08-10', 1.78, 76.0);
+
+-- Avança as sequências para além dos IDs fixos acima (o otimizador pooled aloca o bloco que termina no valor lido)
+ALTER SEQUENCE superpoderes_seq RESTART WITH 101;
+ALTER SEQUENCE herois_seq RESTART WITH 101;
 
 -- Relacionamentos Heróis-Superpoderes
 -- Superman
@@ -0,0 +1,65 @@
+package com.heroes;
+
+import com.heroes.model.entity.Hero;
+import com.heroes.model.entity.Superpoder;
+import com.heroes.repository.HeroRepository;
+import com.heroes.repository.SuperpoderRepository;
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.MigrationInfo;
+import org.flywaydb.core.api.MigrationState;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Aplica as migrações do esquema (V1 e V1.1) num H2 em modo PostgreSQL e sobe o Hibernate com ddl-auto: validate:
+ * o contexto só carrega se as tabelas, colunas e sequências criadas pelo Flyway baterem com as entidades.
+ * A V1.2 (DROP IDENTITY, setval) e a V2 (CREATE INDEX CONCURRENTLY) são exclusivas do PostgreSQL e ficam fora do alvo.
+ */
+@SpringBootTest(classes = HeroesManagementApplication.class, properties = {
+    "spring.datasource.url=jdbc:h2:mem:schema-migration;MODE=PostgreSQL;DB_CLOSE_DELAY=-1",
+    "spring.flyway.enabled=true",
+    "spring.flyway.target=1.1",
+    "spring.jpa.hibernate.ddl-auto=validate"
+})
+@ActiveProfiles("test")
+class SchemaMigrationTest {
+
+    @Autowired
+    private Flyway flyway;
+
+    @Autowired
+    private HeroRepository heroRepository;
+
+    @Autowired
+    private SuperpoderRepository superpoderRepository;
+
+    @Test
+    void testSchemaCreatedByMigrationMatchesEntities() {
+        MigrationInfo current = flyway.info().current();
+
+        assertEquals("1.1", current.getVersion().getVersion());
+        assertEquals(MigrationState.SUCCESS, current.getState());
+    }
+
+    @Test
+    @Transactional
+    void testSaveHeroOnMigratedSchema() {
+        Superpoder superpoder = superpoderRepository.save(new Superpoder("Voo", "Capacidade de voar pelos céus"));
+        Hero hero = new Hero("Clark Kent", "Superman", LocalDate.of(1938, 4, 18), 1.91, 107.0);
+        hero.setSuperpoderes(new HashSet<>(Set.of(superpoder)));
+
+        Hero savedHero = heroRepository.saveAndFlush(hero);
+
+        assertNotNull(savedHero.getId());
+        assertEquals(0L, savedHero.getVersao());
+    }
+}
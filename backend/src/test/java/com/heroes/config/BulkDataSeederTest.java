@@ -0,0 +1,142 @@
+package com.heroes.config;
+
+import com.heroes.config.BulkDataSeeder.Distribution;
+import com.heroes.model.dto.HeroRequestDTO;
+import com.heroes.model.entity.Superpoder;
+import com.heroes.repository.SuperpoderRepository;
+import com.heroes.service.HeroBatchService;
+import com.heroes.service.SuperpoderCatalog;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyIterable;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BulkDataSeederTest {
+
+    private static final List<Long> SUPERPODER_IDS = LongStream.rangeClosed(1, 20).boxed().toList();
+
+    @Mock
+    private HeroBatchService heroBatchService;
+
+    @Mock
+    private SuperpoderRepository superpoderRepository;
+
+    @Mock
+    private SuperpoderCatalog superpoderCatalog;
+
+    @Test
+    void testSeedsCatalogAndHeroesInBatches() {
+        when(superpoderRepository.count()).thenReturn(10L);
+        when(superpoderRepository.findAll()).thenReturn(superpoderes());
+        List<Integer> batchSizes = new ArrayList<>();
+        when(heroBatchService.createHeroes(anyList())).thenAnswer(invocation -> {
+            batchSizes.add(invocation.<List<HeroRequestDTO>>getArgument(0).size());
+            return List.of();
+        });
+
+        seeder(12000, Distribution.UNIFORME).run();
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Superpoder>> newSuperpoderes = ArgumentCaptor.forClass(List.class);
+        verify(superpoderRepository).saveAll(newSuperpoderes.capture());
+        assertEquals(10, newSuperpoderes.getValue().size());
+        verify(superpoderCatalog).invalidate();
+        assertEquals(List.of(5000, 5000, 2000), batchSizes);
+    }
+
+    @Test
+    void testDisabledWithoutHeroCount() {
+        seeder(0, Distribution.FIXA).run();
+
+        verifyNoInteractions(heroBatchService, superpoderRepository, superpoderCatalog);
+    }
+
+    @Test
+    void testExistingCatalogIsKept() {
+        when(superpoderRepository.count()).thenReturn(20L);
+        when(superpoderRepository.findAll()).thenReturn(superpoderes());
+
+        seeder(10, Distribution.FIXA).run();
+
+        verify(superpoderRepository, never()).saveAll(anyIterable());
+        verify(superpoderCatalog, never()).invalidate();
+        verify(heroBatchService).createHeroes(anyList());
+    }
+
+    @Test
+    void testFixedDistributionRotatesThroughCatalog() {
+        BulkDataSeeder seeder = seeder(1, Distribution.FIXA);
+
+        assertEquals(List.of(1L, 2L, 3L), seeder.selectSuperpoderIds(0, SUPERPODER_IDS, new Random(1), null));
+        assertEquals(List.of(20L, 1L, 2L), seeder.selectSuperpoderIds(19, SUPERPODER_IDS, new Random(1), null));
+    }
+
+    @Test
+    void testUniformDistributionAveragesConfiguredCount() {
+        BulkDataSeeder seeder = seeder(1, Distribution.UNIFORME);
+        Random random = new Random(42);
+
+        int total = 0;
+        for (int i = 0; i < 10000; i++) {
+            List<Long> selected = seeder.selectSuperpoderIds(i, SUPERPODER_IDS, random, null);
+            assertTrue(selected.size() >= 1 && selected.size() <= 5);
+            assertEquals(selected.size(), selected.stream().distinct().count());
+            total += selected.size();
+        }
+        assertEquals(3.0, total / 10000.0, 0.1);
+    }
+
+    @Test
+    void testZipfDistributionFavorsFirstSuperpoderes() {
+        BulkDataSeeder seeder = seeder(1, Distribution.ZIPF);
+        double[] cumulative = BulkDataSeeder.zipfCumulative(SUPERPODER_IDS.size());
+        Random random = new Random(42);
+
+        int[] occurrences = new int[SUPERPODER_IDS.size() + 1];
+        for (int i = 0; i < 10000; i++) {
+            seeder.selectSuperpoderIds(i, SUPERPODER_IDS, random, cumulative)
+                    .forEach(id -> occurrences[id.intValue()]++);
+        }
+        assertEquals(1.0, cumulative[cumulative.length - 1], 1e-9);
+        assertTrue(occurrences[1] > 5 * occurrences[20]);
+    }
+
+    @Test
+    void testSameSeedProducesSameDataset() {
+        BulkDataSeeder seeder = seeder(1, Distribution.ZIPF);
+        double[] cumulative = BulkDataSeeder.zipfCumulative(SUPERPODER_IDS.size());
+        Random first = new Random(7);
+        Random second = new Random(7);
+
+        for (int i = 0; i < 100; i++) {
+            assertEquals(seeder.selectSuperpoderIds(i, SUPERPODER_IDS, first, cumulative),
+                seeder.selectSuperpoderIds(i, SUPERPODER_IDS, second, cumulative));
+        }
+    }
+
+    private BulkDataSeeder seeder(int heroCount, Distribution distribution) {
+        return new BulkDataSeeder(heroBatchService, superpoderRepository, superpoderCatalog,
+            heroCount, 20, 3, distribution, 42L);
+    }
+
+    private static List<Superpoder> superpoderes() {
+        return SUPERPODER_IDS.stream()
+                .map(id -> {
+                    Superpoder superpoder = new Superpoder("Superpoder " + id, null);
+                    superpoder.setId(id);
+                    return superpoder;
+                })
+                .toList();
+    }
+}
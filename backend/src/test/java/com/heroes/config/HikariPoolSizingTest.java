@@ -0,0 +1,44 @@
+package com.heroes.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HikariPoolSizingTest {
+
+    @Test
+    void testPoolSizeDerivedFromProcessors() {
+        HikariPoolSizing poolSizing = new HikariPoolSizing(0, 1, 8);
+
+        assertEquals(17, poolSizing.resolvePoolSize());
+    }
+
+    @Test
+    void testConfiguredPoolSizeWins() {
+        HikariPoolSizing poolSizing = new HikariPoolSizing(12, 1, 8);
+
+        assertEquals(12, poolSizing.resolvePoolSize());
+    }
+
+    @Test
+    void testHikariDataSourceGetsFixedSizePool() {
+        HikariPoolSizing poolSizing = new HikariPoolSizing(0, 2, 4);
+
+        try (HikariDataSource dataSource = new HikariDataSource()) {
+            Object processed = poolSizing.postProcessBeforeInitialization(dataSource, "dataSource");
+
+            assertSame(dataSource, processed);
+            assertEquals(10, dataSource.getMaximumPoolSize());
+            assertEquals(10, dataSource.getMinimumIdle());
+        }
+    }
+
+    @Test
+    void testOtherBeansUntouched() {
+        HikariPoolSizing poolSizing = new HikariPoolSizing(0, 1, 8);
+        Object bean = new Object();
+
+        assertSame(bean, poolSizing.postProcessBeforeInitialization(bean, "outroBean"));
+    }
+}
@@ -0,0 +1,55 @@
+package com.heroes.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class SqlStatementMetricsInterceptorTest {
+
+    private final SqlStatementCounter sqlStatementCounter = new SqlStatementCounter();
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @SuppressWarnings("unchecked")
+    private final ObjectProvider<MeterRegistry> meterRegistryProvider = mock(ObjectProvider.class);
+
+    @Test
+    void testSummaryRegisteredOncePerMethodAndUri() {
+        when(meterRegistryProvider.getObject()).thenReturn(meterRegistry);
+        SqlStatementMetricsInterceptor interceptor =
+            new SqlStatementMetricsInterceptor(sqlStatementCounter, meterRegistryProvider);
+
+        handle(interceptor, "GET", "/api/heroes/{id}", 2);
+        handle(interceptor, "GET", "/api/heroes/{id}", 4);
+        handle(interceptor, "PUT", "/api/heroes/{id}", 3);
+
+        DistributionSummary gets = meterRegistry.get("heroes.http.sql.statements")
+            .tag("uri", "/api/heroes/{id}")
+            .tag("method", "GET")
+            .summary();
+        assertEquals(2, gets.count());
+        assertEquals(6, gets.totalAmount());
+        assertEquals(2, meterRegistry.find("heroes.http.sql.statements").summaries().size());
+        // o registro só é consultado na primeira requisição de cada par método e URI
+        verify(meterRegistryProvider, times(2)).getObject();
+    }
+
+    private void handle(SqlStatementMetricsInterceptor interceptor, String method, String uri, int statements) {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, uri);
+        request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, uri);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        interceptor.preHandle(request, response, null);
+        for (int i = 0; i < statements; i++) {
+            sqlStatementCounter.inspect("select 1");
+        }
+        interceptor.afterCompletion(request, response, null, null);
+    }
+}
@@ -1,5 +1,6 @@
 package com.heroes.config;
 
+import org.springframework.boot.autoconfigure.orm.jpa.JpaProperties;
 import org.springframework.boot.test.context.TestConfiguration;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Profile;
@@ -21,11 +22,17 @@ import java.util.Properties;
 @EnableTransactionManagement
 public class TestConfig {
 
+    private final JpaProperties jpaProperties;
+
+    public TestConfig(JpaProperties jpaProperties) {
+        this.jpaProperties = jpaProperties;
+    }
+
     @Bean
     public DataSource dataSource() {
         return new EmbeddedDatabaseBuilder()
                 .setType(EmbeddedDatabaseType.H2)
-                .setName("testdb")
+                .generateUniqueName(true)
                 .build();
     }
 
@@ -60,6 +67,7 @@ public class TestConfig {
         properties.setProperty("hibernate.dialect", "org.hibernate.dialect.H2Dialect");
         properties.setProperty("hibernate.show_sql", "true");
         properties.setProperty("hibernate.format_sql", "true");
+        properties.putAll(jpaProperties.getProperties());
         return properties;
     }
 }
@@ -0,0 +1,92 @@
+package com.heroes.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.annotation.AnnotationMatchingPointcut;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class VersionConflictRetryInterceptorTest {
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.setActualTransactionActive(false);
+    }
+
+    @Test
+    void testRetriesUntilWriteSucceeds() {
+        VersionConflictRetryInterceptor interceptor = new VersionConflictRetryInterceptor(3);
+        ConflictingWriter writer = proxy(new ConflictingWriter(2), interceptor);
+
+        assertEquals("gravado", writer.write());
+        assertEquals(3, writer.attempts());
+        assertEquals(2, interceptor.getRetryCount());
+    }
+
+    @Test
+    void testGivesUpAfterMaxAttempts() {
+        VersionConflictRetryInterceptor interceptor = new VersionConflictRetryInterceptor(3);
+        ConflictingWriter writer = proxy(new ConflictingWriter(5), interceptor);
+
+        assertThrows(ObjectOptimisticLockingFailureException.class, writer::write);
+        assertEquals(3, writer.attempts());
+    }
+
+    @Test
+    void testDoesNotRetryInsideOuterTransaction() {
+        VersionConflictRetryInterceptor interceptor = new VersionConflictRetryInterceptor(3);
+        ConflictingWriter writer = proxy(new ConflictingWriter(1), interceptor);
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+
+        assertThrows(ObjectOptimisticLockingFailureException.class, writer::write);
+        assertEquals(1, writer.attempts());
+        assertEquals(0, interceptor.getRetryCount());
+    }
+
+    @Test
+    void testMethodsWithoutAnnotationAreNotRetried() {
+        ConflictingWriter writer = proxy(new ConflictingWriter(1), new VersionConflictRetryInterceptor(3));
+
+        assertThrows(ObjectOptimisticLockingFailureException.class, writer::writeOnce);
+        assertEquals(1, writer.attempts());
+    }
+
+    private static ConflictingWriter proxy(ConflictingWriter target, VersionConflictRetryInterceptor interceptor) {
+        ProxyFactory proxyFactory = new ProxyFactory(target);
+        proxyFactory.setProxyTargetClass(true);
+        proxyFactory.addAdvisor(new DefaultPointcutAdvisor(
+            AnnotationMatchingPointcut.forMethodAnnotation(RetryOnVersionConflict.class), interceptor));
+        return (ConflictingWriter) proxyFactory.getProxy();
+    }
+
+    static class ConflictingWriter {
+
+        private final int conflicts;
+        private int attempts;
+
+        ConflictingWriter(int conflicts) {
+            this.conflicts = conflicts;
+        }
+
+        @RetryOnVersionConflict
+        public String write() {
+            return writeOnce();
+        }
+
+        public String writeOnce() {
+            attempts++;
+            if (attempts <= conflicts) {
+                throw new ObjectOptimisticLockingFailureException("Hero", 1L);
+            }
+            return "gravado";
+        }
+
+        public int attempts() {
+            return attempts;
+        }
+    }
+}
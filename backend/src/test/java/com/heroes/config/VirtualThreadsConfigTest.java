@@ -0,0 +1,38 @@
+package com.heroes.config;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ExecutorService;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+class VirtualThreadsConfigTest {
+
+    private static final int VIRTUAL_THREADS_FEATURE_VERSION = 21;
+
+    @Test
+    void testTasksRunOnNamedVirtualThreads() throws Exception {
+        assumeTrue(Runtime.version().feature() >= VIRTUAL_THREADS_FEATURE_VERSION);
+
+        ExecutorService executor = VirtualThreadsConfig.newVirtualThreadPerTaskExecutor();
+        try {
+            Thread thread = executor.submit(Thread::currentThread).get();
+
+            assertTrue((Boolean) Thread.class.getMethod("isVirtual").invoke(thread));
+            assertTrue(thread.getName().startsWith(VirtualThreadsConfig.THREAD_NAME_PREFIX));
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void testRuntimeWithoutVirtualThreadsFailsFast() {
+        assumeTrue(Runtime.version().feature() < VIRTUAL_THREADS_FEATURE_VERSION);
+
+        IllegalStateException exception = assertThrows(IllegalStateException.class,
+            VirtualThreadsConfig::newVirtualThreadPerTaskExecutor);
+
+        assertTrue(exception.getMessage().contains("JDK 21"));
+    }
+}
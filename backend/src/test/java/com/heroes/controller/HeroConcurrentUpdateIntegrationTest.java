@@ -0,0 +1,160 @@
+package com.heroes.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.heroes.HeroesManagementApplication;
+import com.heroes.model.dto.HeroRequestDTO;
+import com.heroes.model.dto.HeroResponseDTO;
+import com.heroes.model.entity.Hero;
+import com.heroes.model.entity.Superpoder;
+import com.heroes.repository.HeroRepository;
+import com.heroes.repository.SuperpoderRepository;
+import com.heroes.service.HeroLocks;
+import com.heroes.service.HeroService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.locks.ReentrantLock;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Alterações concorrentes do mesmo herói: a trava por herói as põe em fila, e cada uma é aplicada sobre a anterior
+ * (a versão avança uma vez por requisição, sem conflitos). Sem @Transactional: cada requisição confirma a própria
+ * transação. O pool tem só 2 conexões: quem espera a trava não pode segurar uma delas.
+ */
+@SpringBootTest(classes = HeroesManagementApplication.class, properties = {
+    "spring.datasource.url=jdbc:h2:mem:concurrent-update;DB_CLOSE_DELAY=-1",
+    "spring.datasource.hikari.maximum-pool-size=2",
+    "spring.datasource.hikari.connection-timeout=1000"
+})
+@ActiveProfiles("test")
+class HeroConcurrentUpdateIntegrationTest {
+
+    private static final int CONCURRENT_REQUESTS = 16;
+
+    @Autowired
+    private WebApplicationContext webApplicationContext;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private HeroService heroService;
+
+    @Autowired
+    private HeroRepository heroRepository;
+
+    @Autowired
+    private HeroLocks heroLocks;
+
+    @Autowired
+    private SuperpoderRepository superpoderRepository;
+
+    private MockMvc mockMvc;
+    private Long superpoderId;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.webAppContextSetup(webApplicationContext).build();
+        superpoderId = superpoderRepository.findByNome("Voo")
+                .orElseGet(() -> superpoderRepository.save(new Superpoder("Voo", "Capacidade de voar pelos céus")))
+                .getId();
+    }
+
+    @Test
+    void testConcurrentUpdatesOfSameHeroAreAppliedInSequence() throws Exception {
+        HeroResponseDTO hero = heroService.createHero(request("Disputado", 80.0));
+        long initialVersion = versionOf(hero.id());
+
+        ExecutorService executor = Executors.newFixedThreadPool(CONCURRENT_REQUESTS);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<Integer>> statuses = new ArrayList<>();
+            for (int i = 0; i < CONCURRENT_REQUESTS; i++) {
+                String body = objectMapper.writeValueAsString(request("Disputado", 81.0 + i));
+                Callable<Integer> update = () -> {
+                    start.await();
+                    return mockMvc.perform(put("/api/heroes/{id}", hero.id())
+                                    .contentType(MediaType.APPLICATION_JSON)
+                                    .content(body))
+                            .andReturn()
+                            .getResponse()
+                            .getStatus();
+                };
+                statuses.add(executor.submit(update));
+            }
+            start.countDown();
+
+            for (Future<Integer> status : statuses) {
+                assertEquals(200, status.get());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(initialVersion + CONCURRENT_REQUESTS, versionOf(hero.id()));
+    }
+
+    @Test
+    void testUpdatesWaitingForHeroLockDoNotHoldConnections() throws Exception {
+        HeroResponseDTO hero = heroService.createHero(request("Travado", 80.0));
+        HeroResponseDTO otherHero = heroService.createHero(request("Vizinho", 70.0));
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        ReentrantLock lock = heroLocks.lock(hero.id());
+        try {
+            List<Future<Integer>> statuses = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                String body = objectMapper.writeValueAsString(request("Travado", 81.0 + i));
+                statuses.add(executor.submit(() -> mockMvc.perform(put("/api/heroes/{id}", hero.id())
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(body))
+                        .andReturn()
+                        .getResponse()
+                        .getStatus()));
+            }
+            Thread.sleep(200);
+
+            // as 4 alterações esperam a trava sem conexão: a leitura de outro herói ainda consegue uma do pool
+            mockMvc.perform(get("/api/heroes/{id}", otherHero.id()))
+                    .andExpect(status().isOk());
+
+            lock.unlock();
+            for (Future<Integer> status : statuses) {
+                assertEquals(200, status.get());
+            }
+        } finally {
+            if (lock.isHeldByCurrentThread()) {
+                lock.unlock();
+            }
+            executor.shutdownNow();
+        }
+    }
+
+    private long versionOf(Long heroId) {
+        return heroRepository.findById(heroId).map(Hero::getVersao).orElseThrow();
+    }
+
+    private HeroRequestDTO request(String nomeHeroi, double peso) {
+        return new HeroRequestDTO("Pessoa Disputada", nomeHeroi, LocalDate.of(1980, 1, 1), 1.80, peso,
+            List.of(superpoderId));
+    }
+}
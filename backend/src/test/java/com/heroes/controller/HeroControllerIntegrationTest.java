@@ -6,29 +6,43 @@ import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import com.heroes.HeroesManagementApplication;
 import com.heroes.config.TestConfig;
 import com.heroes.model.dto.HeroRequestDTO;
+import com.heroes.model.dto.HeroResponseDTO;
 import com.heroes.model.entity.Hero;
 import com.heroes.model.entity.Superpoder;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.context.WebApplicationContext;
 
 import javax.persistence.EntityManager;
 import javax.persistence.PersistenceContext;
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
 import java.util.*;
+import java.util.function.Function;
+import java.util.zip.GZIPInputStream;
+
+import static org.hamcrest.Matchers.not;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
-@SpringBootTest(classes = HeroesManagementApplication.class)
+// blocos de um id: cada herói criado lê herois_seq uma vez, e as contagens de comandos SQL ficam exatas
+@SpringBootTest(classes = HeroesManagementApplication.class, properties = "spring.jpa.properties.heroes.id.allocation-size=1")
 @ActiveProfiles("test")
 @Import(TestConfig.class)
 @Transactional
@@ -83,9 +97,152 @@ class HeroControllerIntegrationTest {
                 .andExpect(status().isOk())
                 .andExpect(content().contentType(MediaType.APPLICATION_JSON))
                 .andExpect(jsonPath("$").isArray())
-                .andExpect(jsonPath("$.length()").value(3))
+                .andExpect(jsonPath("$.length()").value(2))
                 .andExpect(jsonPath("$[0].nome").exists())
-                .andExpect(jsonPath("$[0].nomeHeroi").exists());
+                .andExpect(jsonPath("$[0].nomeHeroi").exists())
+                .andExpect(jsonPath("$[0].superpoderes.length()").value(2))
+                .andExpect(header().doesNotExist(HeroController.NEXT_CURSOR_HEADER));
+    }
+
+    @Test
+    void testGetAllHeroesPaginated() throws Exception {
+        String nextCursor = mockMvc.perform(get("/api/heroes").param("tamanho", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].id").value(hero1.getId()))
+                .andExpect(header().exists(HeroController.NEXT_CURSOR_HEADER))
+                .andReturn()
+                .getResponse()
+                .getHeader(HeroController.NEXT_CURSOR_HEADER);
+
+        mockMvc.perform(get("/api/heroes").param("tamanho", "1").param("cursor", nextCursor))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].id").value(hero2.getId()))
+                .andExpect(header().doesNotExist(HeroController.NEXT_CURSOR_HEADER));
+    }
+
+    @Test
+    void testGetAllHeroesWithInvalidCursor() throws Exception {
+        mockMvc.perform(get("/api/heroes").param("cursor", "???"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.status").value(400))
+                .andExpect(jsonPath("$.error").value("Argumento inválido"));
+    }
+
+    @Test
+    void testGetAllHeroesFilteredAndSorted() throws Exception {
+        mockMvc.perform(get("/api/heroes")
+                .param("superpoderIds", String.valueOf(superpoder1.getId()), String.valueOf(superpoder2.getId()))
+                .param("superpoderModo", "QUALQUER")
+                .param("nascimentoAte", "1939-12-31")
+                .param("ordenarPor", "ALTURA"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].nomeHeroi").value("Batman"))
+                .andExpect(jsonPath("$[1].nomeHeroi").value("Superman"));
+
+        mockMvc.perform(get("/api/heroes")
+                .param("superpoderIds", String.valueOf(superpoder1.getId()), String.valueOf(superpoder2.getId())))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].nomeHeroi").value("Superman"));
+
+        mockMvc.perform(get("/api/heroes").param("nomeHeroi", "Bat").param("pesoMax", "100"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].nomeHeroi").value("Batman"));
+    }
+
+    @Test
+    void testGetAllHeroesSortedDescendingPaginated() throws Exception {
+        String nextCursor = mockMvc.perform(get("/api/heroes")
+                .param("ordenarPor", "NOME_HEROI").param("direcao", "DESC").param("tamanho", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].nomeHeroi").value("Superman"))
+                .andReturn()
+                .getResponse()
+                .getHeader(HeroController.NEXT_CURSOR_HEADER);
+
+        mockMvc.perform(get("/api/heroes")
+                .param("ordenarPor", "NOME_HEROI").param("direcao", "DESC").param("tamanho", "1")
+                .param("cursor", nextCursor))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].nomeHeroi").value("Batman"))
+                .andExpect(header().doesNotExist(HeroController.NEXT_CURSOR_HEADER));
+
+        mockMvc.perform(get("/api/heroes").param("tamanho", "1").param("cursor", nextCursor))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Argumento inválido"));
+    }
+
+    @Test
+    void testGetAllHeroesWithInvalidFilter() throws Exception {
+        mockMvc.perform(get("/api/heroes").param("ordenarPor", "PODER"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.fieldErrors[0].field").value("ordenarPor"));
+
+        mockMvc.perform(get("/api/heroes").param("alturaMin", "2.0").param("alturaMax", "1.5"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Argumento inválido"));
+    }
+
+    @Test
+    void testExportHeroes() throws Exception {
+        String body = mockMvc.perform(get("/api/heroes/export"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(HeroController.NDJSON_MEDIA_TYPE + ";charset=UTF-8"))
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING))
+                .andReturn()
+                .getResponse()
+                .getContentAsString(StandardCharsets.UTF_8);
+
+        assertExportedHeroes(body);
+    }
+
+    @Test
+    void testExportHeroesGzip() throws Exception {
+        byte[] compressed = mockMvc.perform(get("/api/heroes/export").header(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+                .andReturn()
+                .getResponse()
+                .getContentAsByteArray();
+
+        try (GZIPInputStream inputStream = new GZIPInputStream(new ByteArrayInputStream(compressed))) {
+            assertExportedHeroes(new String(inputStream.readAllBytes(), StandardCharsets.UTF_8));
+        }
+    }
+
+    @Test
+    void testExportHeroesHonorsGzipQuality() throws Exception {
+        mockMvc.perform(get("/api/heroes/export").header(HttpHeaders.ACCEPT_ENCODING, "gzip;q=0, deflate"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING));
+        mockMvc.perform(get("/api/heroes/export").header(HttpHeaders.ACCEPT_ENCODING, "*, gzip; q=0.0"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING));
+        mockMvc.perform(get("/api/heroes/export").header(HttpHeaders.ACCEPT_ENCODING, "deflate, GZIP;q=0.5"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"));
+        mockMvc.perform(get("/api/heroes/export").header(HttpHeaders.ACCEPT_ENCODING, "identity, *;q=0.1"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"));
+    }
+
+    private void assertExportedHeroes(String body) throws Exception {
+        assertTrue(body.endsWith("\n"));
+
+        String[] lines = body.split("\n");
+        assertEquals(2, lines.length);
+
+        HeroResponseDTO first = objectMapper.readValue(lines[0], HeroResponseDTO.class);
+        HeroResponseDTO second = objectMapper.readValue(lines[1], HeroResponseDTO.class);
+        assertEquals(hero1.getId(), first.id());
+        assertEquals("Superman", first.nomeHeroi());
+        assertEquals(2, first.superpoderes().size());
+        assertEquals(hero2.getId(), second.id());
+        assertEquals(1, second.superpoderes().size());
     }
 
     @Test
@@ -134,6 +291,56 @@ class HeroControllerIntegrationTest {
                 .andExpect(jsonPath("$.superpoderes.length()").value(2));
     }
 
+    @Test
+    void testCreateHeroesBatch() throws Exception {
+        List<HeroRequestDTO> heroRequests = List.of(
+            new HeroRequestDTO("Diana Prince", "Mulher-Maravilha", LocalDate.of(1941, 10, 21), 1.83, 74.0,
+                List.of(superpoder1.getId(), superpoder2.getId())),
+            new HeroRequestDTO("Clark Kent", "Superman", LocalDate.of(1938, 4, 18), 1.91, 107.0,
+                List.of(superpoder1.getId())),
+            new HeroRequestDTO("Barry Allen", "Flash", LocalDate.of(1940, 1, 1), 1.83, 88.0,
+                List.of(999L, 998L)),
+            new HeroRequestDTO("", "Sem Nome", LocalDate.of(1940, 1, 1), 1.83, 88.0,
+                List.of(superpoder1.getId())),
+            new HeroRequestDTO("Hal Jordan", "Lanterna Verde", LocalDate.of(1959, 10, 1), 1.88, 90.0,
+                List.of(superpoder2.getId())),
+            new HeroRequestDTO("Guy Gardner", "Lanterna Verde", LocalDate.of(1968, 12, 1), 1.80, 85.0,
+                List.of(superpoder2.getId()))
+        );
+
+        mockMvc.perform(post("/api/heroes/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(heroRequests)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(6))
+                .andExpect(jsonPath("$[0].index").value(0))
+                .andExpect(jsonPath("$[0].status").value(201))
+                .andExpect(jsonPath("$[0].hero.id").isNumber())
+                .andExpect(jsonPath("$[0].hero.nomeHeroi").value("Mulher-Maravilha"))
+                .andExpect(jsonPath("$[0].hero.superpoderes.length()").value(2))
+                .andExpect(jsonPath("$[1].status").value(409))
+                .andExpect(jsonPath("$[1].message").value("Já existe um herói cadastrado com o nome 'Superman'"))
+                .andExpect(jsonPath("$[2].status").value(404))
+                .andExpect(jsonPath("$[2].message").value("Superpoder não encontrado com ID: '999, 998'"))
+                .andExpect(jsonPath("$[3].status").value(400))
+                .andExpect(jsonPath("$[3].hero").doesNotExist())
+                .andExpect(jsonPath("$[4].status").value(201))
+                .andExpect(jsonPath("$[5].status").value(409));
+
+        mockMvc.perform(get("/api/heroes"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(4));
+    }
+
+    @Test
+    void testCreateHeroesBatchEmpty() throws Exception {
+        mockMvc.perform(post("/api/heroes/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("[]"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Lote de heróis vazio"));
+    }
+
     @Test
     void testCreateHeroWithInvalidData() throws Exception {
         HeroRequestDTO invalidRequest = new HeroRequestDTO(
@@ -199,6 +406,256 @@ class HeroControllerIntegrationTest {
                 .andExpect(jsonPath("$.superpoderes.length()").value(1));
     }
 
+    @Test
+    void testCreateHeroStatementCountIndependentOfSuperpoderCount() throws Exception {
+        List<Long> superpoderIds = createSuperpoderes(10);
+        performCreate("Warm Up", superpoderIds.subList(0, 1));
+
+        long statementsWithOneSuperpoder = countStatements(() ->
+            performCreate("Hero One", superpoderIds.subList(0, 1)));
+        long statementsWithTenSuperpoderes = countStatements(() ->
+            performCreate("Hero Ten", superpoderIds));
+
+        assertEquals(statementsWithOneSuperpoder, statementsWithTenSuperpoderes);
+    }
+
+    @Test
+    void testUpdateHeroStatementCountIndependentOfSuperpoderCount() throws Exception {
+        List<Long> superpoderIds = createSuperpoderes(10);
+        performUpdate(hero1.getId(), "Superman", superpoderIds.subList(0, 1));
+        performUpdate(hero2.getId(), "Batman", superpoderIds.subList(0, 1));
+
+        long statementsWithOneSuperpoder = countStatements(() ->
+            performUpdate(hero1.getId(), "Superman", superpoderIds.subList(1, 2)));
+        long statementsWithTenSuperpoderes = countStatements(() ->
+            performUpdate(hero2.getId(), "Batman", superpoderIds));
+
+        assertEquals(statementsWithOneSuperpoder, statementsWithTenSuperpoderes);
+    }
+
+    @Test
+    void testCreateHeroDoesNotReloadHeroAfterSave() throws Exception {
+        List<Long> superpoderIds = createSuperpoderes(3);
+
+        long statements = countStatements(() -> performCreate("Hero One", superpoderIds));
+
+        // superpoderes, herois_seq, INSERT do herói e o lote de INSERTs em heroissuperpoderes; nenhum SELECT do herói salvo
+        assertEquals(4, statements);
+    }
+
+    @Test
+    void testUpdateHeroDoesNotReloadHeroAfterSave() throws Exception {
+        List<Long> superpoderIds = createSuperpoderes(3);
+
+        long statements = countStatements(() -> performUpdate(hero1.getId(), "Superman", superpoderIds));
+
+        // herói, superpoderes, UPDATE do herói, DELETE e o lote de INSERTs em heroissuperpoderes; nenhum SELECT depois do save
+        assertEquals(5, statements);
+    }
+
+    @Test
+    void testGetHeroByIdReturnsValidators() throws Exception {
+        mockMvc.perform(get("/api/heroes/{id}", hero1.getId()))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andExpect(header().exists(HttpHeaders.LAST_MODIFIED));
+    }
+
+    @Test
+    void testGetHeroByIdNotModifiedWithIfNoneMatch() throws Exception {
+        String etag = mockMvc.perform(get("/api/heroes/{id}", hero1.getId()))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        long statements = countStatements(() ->
+            mockMvc.perform(get("/api/heroes/{id}", hero1.getId()).header(HttpHeaders.IF_NONE_MATCH, etag))
+                    .andExpect(status().isNotModified())
+                    .andExpect(header().string(HttpHeaders.ETAG, etag))
+                    .andExpect(content().string("")));
+
+        // apenas a consulta de versão; nem o herói nem os superpoderes são carregados
+        assertEquals(1, statements);
+    }
+
+    @Test
+    void testGetHeroByIdNotModifiedWithIfModifiedSince() throws Exception {
+        String lastModified = mockMvc.perform(get("/api/heroes/{id}", hero1.getId()))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.LAST_MODIFIED);
+
+        mockMvc.perform(get("/api/heroes/{id}", hero1.getId()).header(HttpHeaders.IF_MODIFIED_SINCE, lastModified))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    void testGetHeroByIdModifiedAfterUpdate() throws Exception {
+        String etag = mockMvc.perform(get("/api/heroes/{id}", hero1.getId()))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        performUpdate(hero1.getId(), "Superman Prime", List.of(superpoder2.getId()));
+        entityManager.flush();
+
+        mockMvc.perform(get("/api/heroes/{id}", hero1.getId()).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.nomeHeroi").value("Superman Prime"))
+                .andExpect(header().string(HttpHeaders.ETAG, not(etag)));
+    }
+
+    @Test
+    void testGetHeroByIdConditionalNotFound() throws Exception {
+        mockMvc.perform(get("/api/heroes/{id}", 999L).header(HttpHeaders.IF_NONE_MATCH, "\"999-0-x\""))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void testGetAllHeroesNotModifiedWithIfNoneMatch() throws Exception {
+        String etag = mockMvc.perform(get("/api/heroes").param("tamanho", "1"))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        long statements = countStatements(() ->
+            mockMvc.perform(get("/api/heroes").param("tamanho", "1").header(HttpHeaders.IF_NONE_MATCH, etag))
+                    .andExpect(status().isNotModified())
+                    .andExpect(header().exists(HeroController.NEXT_CURSOR_HEADER))
+                    .andExpect(content().string("")));
+
+        assertEquals(1, statements);
+    }
+
+    @Test
+    void testGetAllHeroesModifiedAfterUpdate() throws Exception {
+        String etag = mockMvc.perform(get("/api/heroes"))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        performUpdate(hero2.getId(), "Batman Beyond", List.of(superpoder1.getId()));
+        entityManager.flush();
+
+        mockMvc.perform(get("/api/heroes").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2));
+    }
+
+    @Test
+    void testGetHeroChangesInitialSync() throws Exception {
+        mockMvc.perform(get("/api/heroes/changes"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.atualizados.length()").value(2))
+                .andExpect(jsonPath("$.atualizados[0].id").value(hero1.getId()))
+                .andExpect(jsonPath("$.atualizados[1].id").value(hero2.getId()))
+                .andExpect(jsonPath("$.removidos").isEmpty())
+                .andExpect(jsonPath("$.temMais").value(false))
+                .andExpect(jsonPath("$.proximaMarca").isNotEmpty());
+    }
+
+    @Test
+    void testGetHeroChangesReturnsOnlyChangesAfterWatermark() throws Exception {
+        String watermark = readWatermark(mockMvc.perform(get("/api/heroes/changes")).andReturn());
+
+        mockMvc.perform(get("/api/heroes/changes").param("since", watermark))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.atualizados").isEmpty())
+                .andExpect(jsonPath("$.removidos").isEmpty())
+                .andExpect(jsonPath("$.proximaMarca").value(watermark));
+
+        performUpdate(hero2.getId(), "Batman Beyond", List.of(superpoder2.getId()));
+        mockMvc.perform(delete("/api/heroes/{id}", hero1.getId()))
+                .andExpect(status().isNoContent());
+        entityManager.flush();
+
+        mockMvc.perform(get("/api/heroes/changes").param("since", watermark))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.atualizados.length()").value(1))
+                .andExpect(jsonPath("$.atualizados[0].nomeHeroi").value("Batman Beyond"))
+                .andExpect(jsonPath("$.removidos.length()").value(1))
+                .andExpect(jsonPath("$.removidos[0]").value(hero1.getId()))
+                .andExpect(jsonPath("$.temMais").value(false));
+    }
+
+    @Test
+    void testGetHeroChangesPaginated() throws Exception {
+        MvcResult firstPage = mockMvc.perform(get("/api/heroes/changes").param("tamanho", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.atualizados.length()").value(1))
+                .andExpect(jsonPath("$.atualizados[0].id").value(hero1.getId()))
+                .andExpect(jsonPath("$.temMais").value(true))
+                .andReturn();
+
+        mockMvc.perform(get("/api/heroes/changes").param("tamanho", "1").param("since", readWatermark(firstPage)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.atualizados.length()").value(1))
+                .andExpect(jsonPath("$.atualizados[0].id").value(hero2.getId()))
+                .andExpect(jsonPath("$.temMais").value(false));
+    }
+
+    @Test
+    void testGetHeroChangesWithInvalidWatermark() throws Exception {
+        mockMvc.perform(get("/api/heroes/changes").param("since", "invalida"))
+                .andExpect(status().isBadRequest());
+    }
+
+    private String readWatermark(MvcResult result) throws Exception {
+        return objectMapper.readTree(result.getResponse().getContentAsString()).get("proximaMarca").asText();
+    }
+
+    private List<Long> createSuperpoderes(int count) {
+        List<Long> superpoderIds = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            Superpoder superpoder = new Superpoder("Poder " + i, "Descrição " + i);
+            entityManager.persist(superpoder);
+            superpoderIds.add(superpoder.getId());
+        }
+        entityManager.flush();
+        return superpoderIds;
+    }
+
+    private void performCreate(String nomeHeroi, List<Long> superpoderIds) throws Exception {
+        HeroRequestDTO heroRequest = new HeroRequestDTO(
+            "Nome " + nomeHeroi, nomeHeroi, LocalDate.of(1980, 1, 1), 1.80, 80.0, superpoderIds);
+
+        mockMvc.perform(post("/api/heroes")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(heroRequest)))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.superpoderes.length()").value(superpoderIds.size()));
+    }
+
+    private void performUpdate(Long heroId, String nomeHeroi, List<Long> superpoderIds) throws Exception {
+        HeroRequestDTO heroRequest = new HeroRequestDTO(
+            "Nome " + nomeHeroi, nomeHeroi, LocalDate.of(1980, 1, 1), 1.80, 80.0, superpoderIds);
+
+        mockMvc.perform(put("/api/heroes/{id}", heroId)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(heroRequest)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.superpoderes.length()").value(superpoderIds.size()));
+    }
+
+    private long countStatements(MockMvcAction action) throws Exception {
+        return withStatistics(action, Statistics::getPrepareStatementCount);
+    }
+
+    private <T> T withStatistics(MockMvcAction action, Function<Statistics, T> reader) throws Exception {
+        entityManager.flush();
+        entityManager.clear();
+
+        Statistics statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        statistics.setStatisticsEnabled(true);
+        try {
+            action.perform();
+            entityManager.flush();
+            return reader.apply(statistics);
+        } finally {
+            statistics.setStatisticsEnabled(false);
+        }
+    }
+
+    @FunctionalInterface
+    private interface MockMvcAction {
+        void perform() throws Exception;
+    }
+
     @Test
     void testUpdateHeroNotFound() throws Exception {
         HeroRequestDTO updateRequest = new HeroRequestDTO(
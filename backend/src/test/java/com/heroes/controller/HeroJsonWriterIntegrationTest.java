@@ -0,0 +1,177 @@
+package com.heroes.controller;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.heroes.HeroesManagementApplication;
+import com.heroes.model.dto.HeroResponseDTO;
+import com.heroes.model.entity.Hero;
+import com.heroes.model.entity.Superpoder;
+import com.heroes.model.dto.HeroSortField;
+import com.heroes.model.mapper.HeroMapper;
+import com.heroes.repository.HeroRepository;
+import com.heroes.service.HeroJsonWriter;
+import com.heroes.service.HeroService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.context.WebApplicationContext;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * A escrita direta (heroes.json.escrita-direta=true) tem que gerar exatamente os mesmos bytes que a
+ * serialização dos HeroResponseDTO montados a partir das entidades. Sobe o contexto pela autoconfiguração
+ * do Spring Boot (sem o TestConfig) para ter os nomes de coluna do banco real, lidos pelo SQL do HeroJsonWriter.
+ */
+@SpringBootTest(classes = HeroesManagementApplication.class, properties = {
+    "spring.datasource.url=jdbc:h2:mem:json-writer;DB_CLOSE_DELAY=-1",
+    "heroes.json.escrita-direta=true"
+})
+@ActiveProfiles("test")
+@Transactional
+class HeroJsonWriterIntegrationTest {
+
+    @Autowired
+    private WebApplicationContext webApplicationContext;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private HeroService heroService;
+
+    @Autowired
+    private HeroRepository heroRepository;
+
+    @Autowired
+    private HeroMapper heroMapper;
+
+    @Autowired
+    private HeroJsonWriter heroJsonWriter;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private MockMvc mockMvc;
+    private List<Long> heroIds;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.webAppContextSetup(webApplicationContext).build();
+
+        Superpoder superForca = new Superpoder("Super Força", "Capacidade de levantar objetos extremamente pesados");
+        Superpoder voo = new Superpoder("Voo", "Capacidade de voar pelos céus");
+        Superpoder semDescricao = new Superpoder("Sorte \"absurda\"", null);
+        entityManager.persist(superForca);
+        entityManager.persist(voo);
+        entityManager.persist(semDescricao);
+
+        Hero superman = new Hero("Clark Kent", "Superman", LocalDate.of(1938, 4, 18), 1.91, 107.0);
+        superman.setSuperpoderes(Set.of(voo, superForca, semDescricao));
+        Hero batman = new Hero("Bruce Wayne", "Batman", LocalDate.of(1939, 3, 30), 1.88, 95.5);
+        batman.setSuperpoderes(Set.of(superForca));
+        Hero semPoderes = new Hero("João da Silva \\ Ninguém", "Herói Comum", LocalDate.of(2001, 12, 1), 1.7, 0.1);
+        semPoderes.setSuperpoderes(Set.of());
+        entityManager.persist(superman);
+        entityManager.persist(batman);
+        entityManager.persist(semPoderes);
+        entityManager.flush();
+        // recarrega as entidades do banco, com os superpoderes na ordem do @OrderBy
+        entityManager.clear();
+
+        heroIds = List.of(superman.getId(), batman.getId(), semPoderes.getId());
+    }
+
+    @Test
+    void testListingIsByteIdenticalToDtoSerialization() throws Exception {
+        byte[] expected = objectMapper.writeValueAsBytes(heroService.findHeroesByIds(heroIds));
+        entityManager.clear();
+
+        byte[] actual = mockMvc.perform(get("/api/heroes"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andReturn()
+                .getResponse()
+                .getContentAsByteArray();
+
+        assertArrayEquals(expected, actual, () -> new String(actual));
+    }
+
+    @Test
+    void testSortedListingKeepsListingOrder() throws Exception {
+        List<Long> byPesoDesc = List.of(heroIds.get(0), heroIds.get(1), heroIds.get(2));
+        byte[] expected = objectMapper.writeValueAsBytes(heroService.findHeroesByIds(byPesoDesc));
+        entityManager.clear();
+
+        byte[] actual = mockMvc.perform(get("/api/heroes").param("ordenarPor", "PESO").param("direcao", "DESC"))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsByteArray();
+
+        assertArrayEquals(expected, actual, () -> new String(actual));
+    }
+
+    @Test
+    void testEmptyPage() throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        int written = heroJsonWriter.writeHeroes(List.of(), HeroSortField.ID, Sort.Direction.ASC, outputStream);
+
+        assertEquals(0, written);
+        assertEquals("[]", outputStream.toString());
+    }
+
+    @Test
+    void testExportIsByteIdenticalToDtoSerialization() throws Exception {
+        byte[] expected = ndjsonFromEntities();
+        entityManager.clear();
+
+        byte[] actual = mockMvc.perform(get("/api/heroes/export"))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsByteArray();
+
+        assertArrayEquals(expected, actual, () -> new String(actual));
+    }
+
+    /** A exportação pelas entidades, como o HeroExportService faz com a escrita direta desligada. */
+    private byte[] ndjsonFromEntities() throws IOException {
+        ObjectWriter heroWriter = objectMapper.writerFor(HeroResponseDTO.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)) {
+            List<Hero> heroes = heroRepository.findAllWithSuperpoderes().stream()
+                    .distinct()
+                    .sorted(Comparator.comparing(Hero::getId))
+                    .toList();
+            for (Hero hero : heroes) {
+                heroWriter.writeValue(generator, heroMapper.toResponseDTO(hero));
+                generator.writeRaw('\n');
+            }
+        }
+        return outputStream.toByteArray();
+    }
+}
@@ -0,0 +1,129 @@
+package com.heroes.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.heroes.HeroesManagementApplication;
+import com.heroes.model.dto.HeroRequestDTO;
+import com.heroes.model.entity.Hero;
+import com.heroes.model.entity.Superpoder;
+import com.heroes.repository.HeroRepository;
+import com.heroes.repository.SuperpoderRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Unicidade do nome do herói com requisições concorrentes e com heróis gravados por fora do registro. Sem
+ * @Transactional: cada requisição confirma a própria transação, e cada teste usa nomes próprios.
+ */
+@SpringBootTest(classes = HeroesManagementApplication.class, properties =
+    "spring.datasource.url=jdbc:h2:mem:name-registry;DB_CLOSE_DELAY=-1")
+@ActiveProfiles("test")
+class HeroNameRegistryIntegrationTest {
+
+    private static final int CONCURRENT_REQUESTS = 16;
+
+    @Autowired
+    private WebApplicationContext webApplicationContext;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private HeroRepository heroRepository;
+
+    @Autowired
+    private SuperpoderRepository superpoderRepository;
+
+    private MockMvc mockMvc;
+    private Long superpoderId;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.webAppContextSetup(webApplicationContext).build();
+        superpoderId = superpoderRepository.findByNome("Voo")
+                .orElseGet(() -> superpoderRepository.save(new Superpoder("Voo", "Capacidade de voar pelos céus")))
+                .getId();
+    }
+
+    @Test
+    void testConcurrentCreatesWithSameNameAdmitOnlyOne() throws Exception {
+        String body = objectMapper.writeValueAsString(request("Corrida"));
+        ExecutorService executor = Executors.newFixedThreadPool(CONCURRENT_REQUESTS);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<Integer>> statuses = new ArrayList<>();
+            for (int i = 0; i < CONCURRENT_REQUESTS; i++) {
+                Callable<Integer> create = () -> {
+                    start.await();
+                    return mockMvc.perform(post("/api/heroes").contentType(MediaType.APPLICATION_JSON).content(body))
+                            .andReturn()
+                            .getResponse()
+                            .getStatus();
+                };
+                statuses.add(executor.submit(create));
+            }
+            start.countDown();
+
+            int created = 0;
+            int conflicts = 0;
+            for (Future<Integer> status : statuses) {
+                switch (status.get()) {
+                    case 201 -> created++;
+                    case 409 -> conflicts++;
+                    default -> throw new AssertionError("Status inesperado: " + status.get());
+                }
+            }
+            assertEquals(1, created);
+            assertEquals(CONCURRENT_REQUESTS - 1, conflicts);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void testNameWrittenOutsideRegistryIsStoppedByDatabase() throws Exception {
+        heroRepository.save(new Hero("Pessoa Por Fora", "Por Fora", LocalDate.of(1980, 1, 1), 1.80, 80.0));
+
+        mockMvc.perform(post("/api/heroes").contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request("Por Fora"))))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.error").value("Nome de herói duplicado"))
+                .andExpect(jsonPath("$.message").value("Já existe um herói cadastrado com o nome 'Por Fora'"));
+    }
+
+    @Test
+    void testNameRemovedOutsideRegistryCanBeTaken() throws Exception {
+        String body = objectMapper.writeValueAsString(request("Removido Por Fora"));
+        mockMvc.perform(post("/api/heroes").contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isCreated());
+
+        heroRepository.delete(heroRepository.findByNomeHeroi("Removido Por Fora").orElseThrow());
+
+        mockMvc.perform(post("/api/heroes").contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isCreated());
+    }
+
+    private HeroRequestDTO request(String nomeHeroi) {
+        return new HeroRequestDTO("Pessoa " + nomeHeroi, nomeHeroi, LocalDate.of(1980, 1, 1), 1.80, 80.0,
+            List.of(superpoderId));
+    }
+}
@@ -0,0 +1,169 @@
+package com.heroes.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.heroes.HeroesManagementApplication;
+import com.heroes.config.TestConfig;
+import com.heroes.model.dto.HeroRequestDTO;
+import com.heroes.model.entity.Superpoder;
+import com.heroes.repository.HeroRepository;
+import com.heroes.repository.SuperpoderRepository;
+import com.heroes.service.SuperpoderCatalog;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import javax.persistence.EntityManagerFactory;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.hamcrest.Matchers.hasItem;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Sem @Transactional: o cache de segundo nível só é populado e invalidado quando as
+ * transações de cada requisição fazem commit.
+ */
+@SpringBootTest(classes = HeroesManagementApplication.class)
+@ActiveProfiles({"test", "cache"})
+@Import(TestConfig.class)
+class HeroSecondLevelCacheIntegrationTest {
+
+    @Autowired
+    private WebApplicationContext webApplicationContext;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private HeroRepository heroRepository;
+
+    @Autowired
+    private SuperpoderRepository superpoderRepository;
+
+    @Autowired
+    private SuperpoderCatalog superpoderCatalog;
+
+    private MockMvc mockMvc;
+    private Statistics statistics;
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+    private Long superpoderId1;
+    private Long superpoderId2;
+    private Long heroId;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        mockMvc = MockMvcBuilders.webAppContextSetup(webApplicationContext).build();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        superpoderId1 = superpoderRepository.save(
+            new Superpoder("Super Força", "Capacidade de levantar objetos extremamente pesados")).getId();
+        superpoderId2 = superpoderRepository.save(
+            new Superpoder("Voo", "Capacidade de voar pelos céus")).getId();
+        superpoderCatalog.invalidate();
+
+        heroId = createHero("Superman", List.of(superpoderId1, superpoderId2));
+        statistics.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        heroRepository.deleteAll();
+        superpoderRepository.deleteAll();
+        entityManagerFactory.getCache().evictAll();
+        superpoderCatalog.invalidate();
+    }
+
+    @Test
+    void testFindHeroByIdServedFromSecondLevelCache() throws Exception {
+        mockMvc.perform(get("/api/heroes/{id}", heroId))
+                .andExpect(status().isOk());
+        statistics.clear();
+
+        mockMvc.perform(get("/api/heroes/{id}", heroId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.nomeHeroi").value("Superman"))
+                .andExpect(jsonPath("$.superpoderes.length()").value(2));
+
+        assertEquals(0, statistics.getPrepareStatementCount());
+        // consulta de versão (ETag) e consulta do herói com superpoderes
+        assertEquals(2, statistics.getQueryCacheHitCount());
+        assertTrue(statistics.getDomainDataRegionStatistics("hero").getHitCount() > 0);
+        assertTrue(statistics.getDomainDataRegionStatistics("hero-superpoderes").getHitCount() > 0);
+        assertTrue(statistics.getDomainDataRegionStatistics("superpoder").getHitCount() > 0);
+    }
+
+    @Test
+    void testUpdateHeroInvalidatesCachedHero() throws Exception {
+        mockMvc.perform(get("/api/heroes/{id}", heroId))
+                .andExpect(status().isOk());
+
+        HeroRequestDTO heroRequest = new HeroRequestDTO(
+            "Kal-El", "Superman Prime", LocalDate.of(1938, 4, 18), 1.91, 107.0, List.of(superpoderId2));
+        mockMvc.perform(put("/api/heroes/{id}", heroId)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(heroRequest)))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/heroes/{id}", heroId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.nome").value("Kal-El"))
+                .andExpect(jsonPath("$.nomeHeroi").value("Superman Prime"))
+                .andExpect(jsonPath("$.superpoderes.length()").value(1))
+                .andExpect(jsonPath("$.superpoderes[0].id").value(superpoderId2));
+    }
+
+    @Test
+    void testRemoveHeroInvalidatesCachedHero() throws Exception {
+        mockMvc.perform(get("/api/heroes/{id}", heroId))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(delete("/api/heroes/{id}", heroId))
+                .andExpect(status().isNoContent());
+
+        mockMvc.perform(get("/api/heroes/{id}", heroId))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void testRegionStatisticsEndpoint() throws Exception {
+        mockMvc.perform(get("/api/heroes/{id}", heroId));
+        mockMvc.perform(get("/api/heroes/{id}", heroId));
+
+        mockMvc.perform(get("/api/cache/regions"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].region", hasItem("hero")))
+                .andExpect(jsonPath("$[*].region", hasItem("hero-superpoderes")))
+                .andExpect(jsonPath("$[*].region", hasItem("superpoder")))
+                .andExpect(jsonPath("$[?(@.region == 'hero')].hitCount", hasItem(1)));
+    }
+
+    private Long createHero(String nomeHeroi, List<Long> superpoderIds) throws Exception {
+        HeroRequestDTO heroRequest = new HeroRequestDTO(
+            "Clark Kent", nomeHeroi, LocalDate.of(1938, 4, 18), 1.91, 107.0, superpoderIds);
+
+        String response = mockMvc.perform(post("/api/heroes")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(heroRequest)))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(response).get("id").asLong();
+    }
+}
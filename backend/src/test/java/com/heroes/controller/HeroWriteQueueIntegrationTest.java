@@ -0,0 +1,126 @@
+package com.heroes.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.heroes.HeroesManagementApplication;
+import com.heroes.config.exception.DuplicateHeroNameException;
+import com.heroes.model.dto.HeroRequestDTO;
+import com.heroes.model.dto.HeroResponseDTO;
+import com.heroes.model.entity.Superpoder;
+import com.heroes.repository.HeroRepository;
+import com.heroes.repository.SuperpoderRepository;
+import com.heroes.service.HeroService;
+import com.heroes.service.HeroWriteQueue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Escrita agrupada contra o banco: as escritas de cada teste entram no mesmo lote (espera máxima longa) e a
+ * unicidade do nome do herói vale também entre escritas do mesmo lote. Sem @Transactional: a thread de escrita
+ * grava e confirma na própria transação, e cada teste usa nomes próprios.
+ */
+@SpringBootTest(classes = HeroesManagementApplication.class, properties = {
+    "spring.datasource.url=jdbc:h2:mem:write-queue;DB_CLOSE_DELAY=-1",
+    "heroes.escrita.agrupada=true",
+    "heroes.escrita.espera-maxima=PT0.3S"
+})
+@ActiveProfiles("test")
+class HeroWriteQueueIntegrationTest {
+
+    @Autowired
+    private WebApplicationContext webApplicationContext;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private HeroWriteQueue heroWriteQueue;
+
+    @Autowired
+    private HeroService heroService;
+
+    @Autowired
+    private HeroRepository heroRepository;
+
+    @Autowired
+    private SuperpoderRepository superpoderRepository;
+
+    private MockMvc mockMvc;
+    private Long superpoderId;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.webAppContextSetup(webApplicationContext).build();
+        superpoderId = superpoderRepository.findByNome("Voo")
+                .orElseGet(() -> superpoderRepository.save(new Superpoder("Voo", "Capacidade de voar pelos céus")))
+                .getId();
+    }
+
+    @Test
+    void testSameNameTwiceInOneBatch() {
+        long commitsBefore = heroWriteQueue.getCommitCount();
+
+        CompletableFuture<HeroResponseDTO> first = heroWriteQueue.createHero(request("Gêmeo"));
+        CompletableFuture<HeroResponseDTO> second = heroWriteQueue.createHero(request("Gêmeo"));
+
+        assertEquals("Gêmeo", HeroWriteQueue.join(first).nomeHeroi());
+        assertThrows(DuplicateHeroNameException.class, () -> HeroWriteQueue.join(second));
+        assertEquals(commitsBefore + 1, heroWriteQueue.getCommitCount());
+        assertTrue(heroRepository.existsByNomeHeroi("Gêmeo"));
+    }
+
+    @Test
+    void testNameReleasedEarlierInTheBatchCanBeTaken() {
+        HeroResponseDTO original = heroService.createHero(request("Nome Antigo"));
+
+        CompletableFuture<HeroResponseDTO> renamed = heroWriteQueue.updateHero(original.id(), request("Nome Novo"));
+        CompletableFuture<HeroResponseDTO> created = heroWriteQueue.createHero(request("Nome Antigo"));
+
+        assertEquals("Nome Novo", HeroWriteQueue.join(renamed).nomeHeroi());
+        HeroResponseDTO newHero = HeroWriteQueue.join(created);
+        assertNotEquals(original.id(), newHero.id());
+        assertEquals("Nome Antigo", heroService.findHeroById(newHero.id()).nomeHeroi());
+    }
+
+    @Test
+    void testControllerWritesThroughQueue() throws Exception {
+        String body = objectMapper.writeValueAsString(request("Pela Fila"));
+
+        String created = mockMvc.perform(post("/api/heroes").contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.nomeHeroi").value("Pela Fila"))
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+        Long heroId = objectMapper.readValue(created, HeroResponseDTO.class).id();
+
+        mockMvc.perform(post("/api/heroes").contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.error").value("Nome de herói duplicado"));
+
+        mockMvc.perform(delete("/api/heroes/{id}", heroId))
+                .andExpect(status().isNoContent());
+
+        mockMvc.perform(delete("/api/heroes/{id}", heroId))
+                .andExpect(status().isNotFound());
+    }
+
+    private HeroRequestDTO request(String nomeHeroi) {
+        return new HeroRequestDTO("Pessoa " + nomeHeroi, nomeHeroi, LocalDate.of(1980, 1, 1), 1.80, 80.0,
+            List.of(superpoderId));
+    }
+}
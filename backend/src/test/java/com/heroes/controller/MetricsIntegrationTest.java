@@ -0,0 +1,100 @@
+package com.heroes.controller;
+
+import com.heroes.HeroesManagementApplication;
+import com.heroes.model.entity.Hero;
+import com.heroes.model.entity.Superpoder;
+import com.heroes.repository.HeroRepository;
+import com.heroes.repository.SuperpoderRepository;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.metrics.AutoConfigureMetrics;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Sobe o contexto pela autoconfiguração do Spring Boot (sem o TestConfig) para que o contador de SQL
+ * seja registrado no Hibernate, e com a exportação de métricas ligada para expor /actuator/prometheus.
+ */
+@SpringBootTest(classes = HeroesManagementApplication.class, properties =
+    "spring.datasource.url=jdbc:h2:mem:metrics;DB_CLOSE_DELAY=-1")
+@AutoConfigureMockMvc
+@AutoConfigureMetrics
+@ActiveProfiles("test")
+@Transactional
+class MetricsIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private HeroRepository heroRepository;
+
+    @Autowired
+    private SuperpoderRepository superpoderRepository;
+
+    private Long heroId;
+
+    @BeforeEach
+    void setUp() {
+        Superpoder superpoder = superpoderRepository.save(new Superpoder("Voo", "Capacidade de voar pelos céus"));
+        Hero hero = new Hero("Clark Kent", "Superman", LocalDate.of(1938, 4, 18), 1.91, 107.0);
+        hero.setSuperpoderes(new HashSet<>(Set.of(superpoder)));
+        heroId = heroRepository.saveAndFlush(hero).getId();
+    }
+
+    @Test
+    void testServiceTimerAndSqlStatementsPerRequest() throws Exception {
+        mockMvc.perform(get("/api/heroes/{id}", heroId))
+                .andExpect(status().isOk());
+
+        Timer serviceTimer = meterRegistry.get("heroes.service")
+                .tag("class", "com.heroes.service.HeroService")
+                .tag("method", "findHeroById")
+                .timer();
+        assertTrue(serviceTimer.count() >= 1);
+
+        DistributionSummary statements = meterRegistry.get("heroes.http.sql.statements")
+                .tag("uri", "/api/heroes/{id}")
+                .tag("method", "GET")
+                .summary();
+        assertTrue(statements.count() >= 1);
+        assertTrue(statements.max() > 0);
+    }
+
+    @Test
+    void testPrometheusEndpointExposesHistogramsAndCacheCounters() throws Exception {
+        mockMvc.perform(get("/api/heroes/{id}", heroId));
+        mockMvc.perform(get("/api/superpoderes"));
+        mockMvc.perform(get("/api/superpoderes"));
+
+        mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("http_server_requests_seconds_bucket{")))
+                .andExpect(content().string(containsString("uri=\"/api/heroes/{id}\"")))
+                .andExpect(content().string(containsString("heroes_service_seconds_bucket{")))
+                .andExpect(content().string(containsString("heroes_sql_statements_total")))
+                .andExpect(content().string(containsString("heroes_http_sql_statements_count{")))
+                .andExpect(content().string(containsString("heroes_cache_gets_total{")))
+                .andExpect(content().string(containsString("result=\"hit\"")));
+    }
+}
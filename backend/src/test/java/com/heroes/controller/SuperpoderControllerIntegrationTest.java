@@ -2,24 +2,34 @@ package com.heroes.controller;
 
 import com.heroes.HeroesManagementApplication;
 import com.heroes.config.TestConfig;
+import com.heroes.model.entity.Hero;
 import com.heroes.model.entity.Superpoder;
+import com.heroes.service.SuperpoderCatalog;
+import com.heroes.service.SuperpoderHeroIndex;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.context.WebApplicationContext;
 
 import javax.persistence.EntityManager;
 import javax.persistence.PersistenceContext;
+import java.time.LocalDate;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Set;
 
+import static org.junit.jupiter.api.Assertions.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -32,6 +42,11 @@ class SuperpoderControllerIntegrationTest {
     @Autowired
     private WebApplicationContext webApplicationContext;
 
+    @Autowired
+    private SuperpoderCatalog superpoderCatalog;
+
+    @Autowired
+    private SuperpoderHeroIndex superpoderHeroIndex;
 
     @PersistenceContext
     private EntityManager entityManager;
@@ -58,6 +73,7 @@ class SuperpoderControllerIntegrationTest {
         entityManager.persist(superpoder2);
         entityManager.persist(superpoder3);
         entityManager.flush();
+        superpoderCatalog.invalidate();
     }
 
     @Test
@@ -79,6 +95,7 @@ class SuperpoderControllerIntegrationTest {
     void testGetAllSuperpoderesEmpty() throws Exception {
         entityManager.createQuery("DELETE FROM Superpoder").executeUpdate();
         entityManager.flush();
+        superpoderCatalog.invalidate();
 
         mockMvc.perform(get("/api/superpoderes"))
                 .andExpect(status().isOk())
@@ -93,6 +110,7 @@ class SuperpoderControllerIntegrationTest {
                 .setParameter("id", superpoder1.getId())
                 .executeUpdate();
         entityManager.flush();
+        superpoderCatalog.invalidate();
 
         mockMvc.perform(get("/api/superpoderes"))
                 .andExpect(status().isOk())
@@ -119,6 +137,7 @@ class SuperpoderControllerIntegrationTest {
             entityManager.persist(superpoder);
         }
         entityManager.flush();
+        superpoderCatalog.invalidate();
 
         mockMvc.perform(get("/api/superpoderes"))
                 .andExpect(status().isOk())
@@ -132,6 +151,7 @@ class SuperpoderControllerIntegrationTest {
         Superpoder superpoderWithNullDesc = new Superpoder("Superpoder Sem Descrição", null);
         entityManager.persist(superpoderWithNullDesc);
         entityManager.flush();
+        superpoderCatalog.invalidate();
 
         mockMvc.perform(get("/api/superpoderes"))
                 .andExpect(status().isOk())
@@ -147,6 +167,7 @@ class SuperpoderControllerIntegrationTest {
         Superpoder superpoderWithEmptyDesc = new Superpoder("Superpoder Descrição Vazia", "");
         entityManager.persist(superpoderWithEmptyDesc);
         entityManager.flush();
+        superpoderCatalog.invalidate();
 
         mockMvc.perform(get("/api/superpoderes"))
                 .andExpect(status().isOk())
@@ -167,6 +188,7 @@ class SuperpoderControllerIntegrationTest {
         Superpoder superpoderWithLongDesc = new Superpoder("Superpoder Descrição Longa", longDescription);
         entityManager.persist(superpoderWithLongDesc);
         entityManager.flush();
+        superpoderCatalog.invalidate();
 
         mockMvc.perform(get("/api/superpoderes"))
                 .andExpect(status().isOk())
@@ -185,6 +207,7 @@ class SuperpoderControllerIntegrationTest {
         );
         entityManager.persist(superpoderWithSpecialChars);
         entityManager.flush();
+        superpoderCatalog.invalidate();
 
         mockMvc.perform(get("/api/superpoderes"))
                 .andExpect(status().isOk())
@@ -220,4 +243,114 @@ class SuperpoderControllerIntegrationTest {
                 .andExpect(jsonPath("$[1].id").value(superpoder2.getId()))
                 .andExpect(jsonPath("$[2].id").value(superpoder3.getId()));
     }
+
+    @Test
+    void testGetAllSuperpoderesReturnsETag() throws Exception {
+        mockMvc.perform(get("/api/superpoderes"))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache"));
+    }
+
+    @Test
+    void testGetAllSuperpoderesNotModifiedWithoutDatabaseAccess() throws Exception {
+        String etag = mockMvc.perform(get("/api/superpoderes"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        Statistics statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        statistics.setStatisticsEnabled(true);
+        try {
+            MvcResult result = mockMvc.perform(get("/api/superpoderes").header(HttpHeaders.IF_NONE_MATCH, etag))
+                    .andExpect(status().isNotModified())
+                    .andExpect(header().string(HttpHeaders.ETAG, etag))
+                    .andReturn();
+
+            assertEquals(0, result.getResponse().getContentLength());
+            assertEquals(0, statistics.getPrepareStatementCount());
+        } finally {
+            statistics.setStatisticsEnabled(false);
+        }
+    }
+
+    @Test
+    void testGetAllSuperpoderesETagChangesAfterWrite() throws Exception {
+        String etag = mockMvc.perform(get("/api/superpoderes"))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        entityManager.persist(new Superpoder("Telepatia", "Capacidade de ler mentes"));
+        entityManager.flush();
+        superpoderCatalog.invalidate();
+
+        mockMvc.perform(get("/api/superpoderes").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(4));
+
+        String newEtag = mockMvc.perform(get("/api/superpoderes"))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertNotEquals(etag, newEtag);
+    }
+
+    @Test
+    void testGetHeroesBySuperpoder() throws Exception {
+        createHeroes();
+
+        String nextCursor = mockMvc.perform(get("/api/superpoderes/{id}/heroes", superpoder1.getId()).param("tamanho", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].nomeHeroi").value("Superman"))
+                .andExpect(jsonPath("$[1].nomeHeroi").value("Batman"))
+                .andReturn().getResponse().getHeader(HeroController.NEXT_CURSOR_HEADER);
+
+        mockMvc.perform(get("/api/superpoderes/{id}/heroes", superpoder1.getId())
+                .param("tamanho", "2").param("cursor", nextCursor))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].nomeHeroi").value("Homem-Aranha"))
+                .andExpect(header().doesNotExist(HeroController.NEXT_CURSOR_HEADER));
+    }
+
+    @Test
+    void testGetHeroesBySuperpoderCombination() throws Exception {
+        createHeroes();
+
+        mockMvc.perform(get("/api/superpoderes/heroes")
+                .param("todos", String.valueOf(superpoder1.getId()))
+                .param("qualquer", String.valueOf(superpoder2.getId()), String.valueOf(superpoder3.getId())))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].nomeHeroi").value("Superman"))
+                .andExpect(jsonPath("$[1].nomeHeroi").value("Homem-Aranha"));
+
+        mockMvc.perform(get("/api/superpoderes/heroes")
+                .param("todos", String.valueOf(superpoder2.getId()), String.valueOf(superpoder3.getId())))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(0));
+    }
+
+    @Test
+    void testGetHeroesBySuperpoderNotFound() throws Exception {
+        mockMvc.perform(get("/api/superpoderes/{id}/heroes", 999L))
+                .andExpect(status().isNotFound());
+
+        mockMvc.perform(get("/api/superpoderes/heroes"))
+                .andExpect(status().isBadRequest());
+    }
+
+    private void createHeroes() {
+        Hero superman = new Hero("Clark Kent", "Superman", LocalDate.of(1938, 4, 18), 1.91, 107.0);
+        superman.setSuperpoderes(Set.of(superpoder1, superpoder2));
+        Hero batman = new Hero("Bruce Wayne", "Batman", LocalDate.of(1939, 3, 30), 1.88, 95.0);
+        batman.setSuperpoderes(Set.of(superpoder1));
+        Hero homemAranha = new Hero("Peter Parker", "Homem-Aranha", LocalDate.of(1962, 8, 10), 1.78, 76.0);
+        homemAranha.setSuperpoderes(Set.of(superpoder1, superpoder3));
+
+        entityManager.persist(superman);
+        entityManager.persist(batman);
+        entityManager.persist(homemAranha);
+        entityManager.flush();
+        // a transação do teste não faz commit, então o índice é reconstruído a partir do banco
+        superpoderHeroIndex.rebuild();
+    }
 }
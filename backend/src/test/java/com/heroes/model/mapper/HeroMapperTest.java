@@ -0,0 +1,127 @@
+package com.heroes.model.mapper;
+
+import com.heroes.model.dto.HeroResponseDTO;
+import com.heroes.model.dto.HeroSuperpoderRowDTO;
+import com.heroes.model.dto.SuperpoderDTO;
+import com.heroes.model.entity.Hero;
+import com.heroes.model.entity.Superpoder;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HeroMapperTest {
+
+    private HeroMapper heroMapper;
+    private Superpoder superForca;
+    private Superpoder voo;
+
+    @BeforeEach
+    void setUp() {
+        heroMapper = new HeroMapper();
+
+        superForca = new Superpoder("Super Força", "Capacidade de levantar objetos extremamente pesados");
+        superForca.setId(1L);
+        voo = new Superpoder("Voo", "Capacidade de voar pelos céus");
+        voo.setId(2L);
+    }
+
+    @Test
+    void testToResponseDTOCopiesHeroAndSuperpoderes() {
+        Hero hero = hero(new HashSet<>(Set.of(superForca, voo)));
+
+        HeroResponseDTO response = heroMapper.toResponseDTO(hero);
+
+        assertEquals(1L, response.id());
+        assertEquals("Clark Kent", response.nome());
+        assertEquals("Superman", response.nomeHeroi());
+        assertEquals(LocalDate.of(1938, 4, 18), response.dataNascimento());
+        assertEquals(1.91, response.altura());
+        assertEquals(107.0, response.peso());
+        assertEquals(Set.of(
+            new SuperpoderDTO(1L, "Super Força", "Capacidade de levantar objetos extremamente pesados"),
+            new SuperpoderDTO(2L, "Voo", "Capacidade de voar pelos céus")
+        ), Set.copyOf(response.superpoderes()));
+        assertThrows(UnsupportedOperationException.class, () -> response.superpoderes().set(0, null));
+    }
+
+    @Test
+    void testToResponseDTOWithoutSuperpoderes() {
+        assertTrue(heroMapper.toResponseDTO(hero(null)).superpoderes().isEmpty());
+        assertTrue(heroMapper.toResponseDTO(hero(Set.of())).superpoderes().isEmpty());
+        assertNull(heroMapper.toResponseDTO(null));
+    }
+
+    @Test
+    void testToResponseDTOsGroupsRowsByHero() {
+        List<HeroSuperpoderRowDTO> rows = List.of(
+            row(1L, "Superman", 1L, "Super Força", "Capacidade de levantar objetos extremamente pesados"),
+            row(1L, "Superman", 2L, "Voo", "Capacidade de voar pelos céus"),
+            row(2L, "Herói Comum", null, null, null),
+            row(3L, "Batman", 1L, "Super Força", "Capacidade de levantar objetos extremamente pesados")
+        );
+
+        List<HeroResponseDTO> heroes = heroMapper.toResponseDTOs(rows);
+
+        assertEquals(List.of(1L, 2L, 3L), heroes.stream().map(HeroResponseDTO::id).toList());
+        assertEquals(List.of(
+            new SuperpoderDTO(1L, "Super Força", "Capacidade de levantar objetos extremamente pesados"),
+            new SuperpoderDTO(2L, "Voo", "Capacidade de voar pelos céus")
+        ), heroes.get(0).superpoderes());
+        assertEquals("Superman", heroes.get(0).nomeHeroi());
+        assertEquals(LocalDate.of(1938, 4, 18), heroes.get(0).dataNascimento());
+        assertTrue(heroes.get(1).superpoderes().isEmpty());
+        assertSame(heroes.get(0).superpoderes().get(0), heroes.get(2).superpoderes().get(0));
+        assertEquals(heroMapper.toResponseDTO(hero(Set.of(superForca, voo))).superpoderes().size(),
+            heroes.get(0).superpoderes().size());
+        assertTrue(heroMapper.toResponseDTOs(List.of()).isEmpty());
+    }
+
+    @Test
+    void testSuperpoderDTOReusedAcrossHeroes() {
+        SuperpoderDTO first = heroMapper.toResponseDTO(hero(Set.of(superForca))).superpoderes().get(0);
+        SuperpoderDTO second = heroMapper.toResponseDTO(hero(Set.of(superForca))).superpoderes().get(0);
+
+        assertSame(first, second);
+    }
+
+    @Test
+    void testCachedSuperpoderDTOReplacedWhenSuperpoderChanges() {
+        SuperpoderDTO before = heroMapper.toSuperpoderDTO(voo);
+        voo.setDescricao("Capacidade de voar mais rápido que o som");
+
+        SuperpoderDTO after = heroMapper.toSuperpoderDTO(voo);
+
+        assertNotSame(before, after);
+        assertEquals("Capacidade de voar mais rápido que o som", after.descricao());
+        assertSame(after, heroMapper.toSuperpoderDTO(voo));
+    }
+
+    @Test
+    void testUnsavedSuperpoderIsNotCached() {
+        Superpoder novo = new Superpoder("Invisibilidade", "Capacidade de ficar invisível");
+
+        SuperpoderDTO superpoderDTO = heroMapper.toSuperpoderDTO(novo);
+
+        assertNull(superpoderDTO.id());
+        assertNotSame(superpoderDTO, heroMapper.toSuperpoderDTO(novo));
+    }
+
+    private static HeroSuperpoderRowDTO row(Long heroId, String nomeHeroi, Long superpoderId,
+                                            String superpoderNome, String superpoderDescricao) {
+        return new HeroSuperpoderRowDTO(heroId, "Clark Kent", nomeHeroi, LocalDate.of(1938, 4, 18), 1.91, 107.0,
+            superpoderId, superpoderNome, superpoderDescricao);
+    }
+
+    private static Hero hero(Set<Superpoder> superpoderes) {
+        Hero hero = new Hero("Clark Kent", "Superman", LocalDate.of(1938, 4, 18), 1.91, 107.0);
+        hero.setId(1L);
+        hero.setSuperpoderes(superpoderes);
+        return hero;
+    }
+}
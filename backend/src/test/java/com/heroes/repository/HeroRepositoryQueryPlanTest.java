@@ -0,0 +1,189 @@
+package com.heroes.repository;
+
+import com.heroes.HeroesManagementApplication;
+import com.heroes.config.TestConfig;
+import com.heroes.model.dto.HeroFilterDTO;
+import com.heroes.model.dto.HeroSortField;
+import com.heroes.model.dto.SuperpoderMatch;
+import com.heroes.model.entity.Hero;
+import com.heroes.model.entity.Superpoder;
+import org.hibernate.Session;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.context.jdbc.SqlConfig;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Verifica pelo EXPLAIN do H2 que cada filtro da listagem é resolvido por busca em índice:
+ * o plano não pode ter "tableScan" nem leitura de índice sem condição (varredura completa do índice).
+ * As entidades não declaram índices: os da migração V2 são criados no esquema de teste pelo script do @Sql.
+ */
+@SpringBootTest(classes = HeroesManagementApplication.class, properties =
+    "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "com.heroes.repository.HeroRepositoryQueryPlanTest$CapturingStatementInspector")
+@Import(TestConfig.class)
+@ActiveProfiles("test")
+@Transactional
+@Sql(scripts = "classpath:db/h2/indices_de_consulta_test.sql", config = @SqlConfig(transactionMode = SqlConfig.TransactionMode.ISOLATED))
+class HeroRepositoryQueryPlanTest {
+
+    private static final int HERO_COUNT = 300;
+    private static final Pattern UNCONDITIONED_INDEX_READ = Pattern.compile("/\\* PUBLIC\\.[A-Z0-9_]+ \\*/");
+    private static final Pattern LOWER_NOME_HEROI_LIKE = Pattern.compile("lower\\(\\w+\\.nome_?heroi\\) like \\?", Pattern.CASE_INSENSITIVE);
+    private static final Pattern LOWER_NOME_HEROI_RANGE = Pattern.compile("lower\\(\\w+\\.nome_?heroi\\)>=\\?", Pattern.CASE_INSENSITIVE);
+
+    @Autowired
+    private HeroRepository heroRepository;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final List<Superpoder> superpoderes = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        for (int i = 0; i < 10; i++) {
+            Superpoder superpoder = new Superpoder("Superpoder " + i, "Descrição " + i);
+            entityManager.persist(superpoder);
+            superpoderes.add(superpoder);
+        }
+
+        for (int i = 0; i < HERO_COUNT; i++) {
+            Hero hero = new Hero("Herói " + i, String.format("Herói %03d", i),
+                LocalDate.of(1900, 1, 1).plusDays(i * 97L), 1.50 + (i % 60) / 100.0, 50.0 + (i % 90));
+            hero.setSuperpoderes(new HashSet<>(Set.of(superpoderes.get(i % 10), superpoderes.get((i + 3) % 10))));
+            entityManager.persist(hero);
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void testNomeHeroiPrefixComparesLowercaseName() {
+        // o H2 não tem índice sobre expressão: o índice sobre lower(nome_heroi) (V2) só existe no PostgreSQL, e
+        // aqui se confere que o filtro compara a mesma expressão, com a faixa explícita que o índice atende
+        CapturingStatementInspector.STATEMENTS.clear();
+        heroRepository.findPageKeys(HeroSpecifications.matching(filter("HERÓI 12", null, null)),
+            HeroSortField.ID, Sort.Direction.ASC, 51);
+
+        String sql = CapturingStatementInspector.STATEMENTS.get(0);
+        assertTrue(LOWER_NOME_HEROI_LIKE.matcher(sql).find(), () -> "LIKE sem lower(nome_heroi):\n" + sql);
+        assertTrue(LOWER_NOME_HEROI_RANGE.matcher(sql).find(), () -> "faixa sem lower(nome_heroi):\n" + sql);
+    }
+
+    @Test
+    void testDataNascimentoRangeUsesIndex() {
+        HeroFilterDTO filter = new HeroFilterDTO(null, LocalDate.of(1950, 1, 1), LocalDate.of(1960, 12, 31),
+            null, null, null, null, null, null, null, null);
+
+        assertIndexOnly(filter, HeroSortField.DATA_NASCIMENTO, null);
+        assertIndexOnly(filter, HeroSortField.ID, null);
+    }
+
+    @Test
+    void testAlturaRangeUsesIndex() {
+        HeroFilterDTO filter = new HeroFilterDTO(null, null, null, 1.80, 1.85, null, null, null, null, null, null);
+
+        assertIndexOnly(filter, HeroSortField.ALTURA, null);
+        assertIndexOnly(filter, HeroSortField.ID, null);
+    }
+
+    @Test
+    void testPesoRangeUsesIndex() {
+        HeroFilterDTO filter = new HeroFilterDTO(null, null, null, null, null, 60.0, 70.0, null, null, null, null);
+
+        assertIndexOnly(filter, HeroSortField.PESO, null);
+        assertIndexOnly(filter, HeroSortField.ID, null);
+    }
+
+    @Test
+    void testSuperpoderesUseJoinTableIndex() {
+        List<Long> superpoderIds = List.of(superpoderes.get(1).getId(), superpoderes.get(4).getId());
+
+        assertIndexOnly(filter(null, superpoderIds, SuperpoderMatch.QUALQUER), HeroSortField.ID, null);
+        assertIndexOnly(filter(null, superpoderIds, SuperpoderMatch.TODOS), HeroSortField.ID, null);
+    }
+
+    @Test
+    void testKeysetContinuationUsesIndex() {
+        HeroFilterDTO noFilter = HeroFilterDTO.semFiltros();
+
+        assertIndexOnly(noFilter, HeroSortField.ID,
+            HeroSpecifications.after(HeroSortField.ID, Sort.Direction.ASC, 100L, 100L));
+        assertIndexOnly(noFilter, HeroSortField.ALTURA,
+            HeroSpecifications.after(HeroSortField.ALTURA, Sort.Direction.ASC, 1.75, 100L));
+        assertIndexOnly(noFilter, HeroSortField.PESO,
+            HeroSpecifications.after(HeroSortField.PESO, Sort.Direction.DESC, 80.0, 100L));
+        assertIndexOnly(noFilter, HeroSortField.DATA_NASCIMENTO,
+            HeroSpecifications.after(HeroSortField.DATA_NASCIMENTO, Sort.Direction.ASC, LocalDate.of(1950, 1, 1), 100L));
+        assertIndexOnly(noFilter, HeroSortField.NOME_HEROI,
+            HeroSpecifications.after(HeroSortField.NOME_HEROI, Sort.Direction.ASC, "Herói 150", 100L));
+    }
+
+    private void assertIndexOnly(HeroFilterDTO filter, HeroSortField sortField, Specification<Hero> after) {
+        Sort.Direction direction = filter.sortDirection();
+        Specification<Hero> specification = HeroSpecifications.matching(filter);
+        if (after != null) {
+            specification = specification.and(after);
+        }
+
+        CapturingStatementInspector.STATEMENTS.clear();
+        heroRepository.findPageKeys(specification, sortField, direction, 51);
+        assertEquals(1, CapturingStatementInspector.STATEMENTS.size(), "a listagem deve ser uma única consulta");
+
+        String plan = explain(CapturingStatementInspector.STATEMENTS.get(0));
+        assertFalse(plan.contains("tableScan"), () -> "varredura completa da tabela:\n" + plan);
+        assertFalse(UNCONDITIONED_INDEX_READ.matcher(plan).find(), () -> "varredura completa de índice:\n" + plan);
+    }
+
+    private String explain(String sql) {
+        return entityManager.unwrap(Session.class).doReturningWork(connection -> {
+            // parâmetros sem valor: o plano é o mesmo escolhido para a consulta preparada
+            try (PreparedStatement statement = connection.prepareStatement("EXPLAIN " + sql);
+                 ResultSet resultSet = statement.executeQuery()) {
+                resultSet.next();
+                return resultSet.getString(1);
+            }
+        });
+    }
+
+    private HeroFilterDTO filter(String nomeHeroi, List<Long> superpoderIds, SuperpoderMatch superpoderModo) {
+        return new HeroFilterDTO(nomeHeroi, null, null, null, null, null, null,
+            superpoderIds, superpoderModo, null, null);
+    }
+
+    public static class CapturingStatementInspector implements StatementInspector {
+
+        static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            if (sql.contains("herois")) {
+                STATEMENTS.add(sql);
+            }
+            return sql;
+        }
+    }
+}
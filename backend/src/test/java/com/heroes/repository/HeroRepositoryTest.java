@@ -2,13 +2,22 @@ package com.heroes.repository;
 
 import com.heroes.HeroesManagementApplication;
 import com.heroes.config.TestConfig;
+import com.heroes.model.dto.HeroFilterDTO;
+import com.heroes.model.dto.HeroPageKeyDTO;
+import com.heroes.model.dto.HeroSortField;
+import com.heroes.model.dto.HeroSuperpoderRowDTO;
+import com.heroes.model.dto.HeroVersionDTO;
+import com.heroes.model.dto.SuperpoderMatch;
 import com.heroes.model.entity.Hero;
 import com.heroes.model.entity.Superpoder;
+import org.hibernate.Session;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -18,6 +27,8 @@ import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -156,6 +167,126 @@ class HeroRepositoryTest {
         assertEquals(2, superman.getSuperpoderes().size());
     }
 
+    @Test
+    void testFindPageKeysWithoutFilter() {
+        List<HeroPageKeyDTO> firstPage = heroRepository.findPageKeys(
+            HeroSpecifications.matching(HeroFilterDTO.semFiltros()), HeroSortField.ID, Sort.Direction.ASC, 2);
+
+        assertEquals(List.of(hero1.getId(), hero2.getId()), ids(firstPage));
+        assertEquals(0L, firstPage.get(0).versao());
+        assertEquals(hero1.getId(), firstPage.get(0).sortValue());
+
+        List<HeroPageKeyDTO> secondPage = heroRepository.findPageKeys(
+            HeroSpecifications.after(HeroSortField.ID, Sort.Direction.ASC, hero2.getId(), hero2.getId()),
+            HeroSortField.ID, Sort.Direction.ASC, 2);
+
+        assertEquals(List.of(hero3.getId()), ids(secondPage));
+    }
+
+    @Test
+    void testFindPageKeysByNomeHeroiPrefix() {
+        assertEquals(List.of(hero1.getId()), findIds(filter("Super", null, null, null, null), HeroSortField.ID));
+        assertEquals(List.of(hero3.getId()), findIds(filter("Homem-", null, null, null, null), HeroSortField.ID));
+        assertEquals(List.of(hero1.getId()), findIds(filter("super", null, null, null, null), HeroSortField.ID));
+        assertEquals(List.of(hero3.getId()), findIds(filter("HOMEM-A", null, null, null, null), HeroSortField.ID));
+        assertTrue(findIds(filter("Bat%", null, null, null, null), HeroSortField.ID).isEmpty());
+    }
+
+    @Test
+    void testFindPageKeysByRanges() {
+        assertEquals(List.of(hero1.getId(), hero2.getId()), findIds(
+            new HeroFilterDTO(null, LocalDate.of(1938, 1, 1), LocalDate.of(1939, 12, 31),
+                null, null, null, null, null, null, null, null), HeroSortField.ID));
+        assertEquals(List.of(hero2.getId(), hero1.getId()), findIds(
+            new HeroFilterDTO(null, null, null, 1.80, null, null, null, null, null, null, null), HeroSortField.ALTURA));
+        assertEquals(List.of(hero3.getId(), hero2.getId()), findIds(
+            new HeroFilterDTO(null, null, null, null, null, null, 100.0, null, null, null, null), HeroSortField.PESO));
+    }
+
+    @Test
+    void testFindPageKeysBySuperpoderes() {
+        List<Long> forcaEVoo = List.of(superpoder1.getId(), superpoder2.getId());
+
+        assertEquals(List.of(hero1.getId()),
+            findIds(filter(null, null, null, forcaEVoo, SuperpoderMatch.TODOS), HeroSortField.ID));
+        assertEquals(List.of(hero1.getId(), hero2.getId(), hero3.getId()),
+            findIds(filter(null, null, null, forcaEVoo, SuperpoderMatch.QUALQUER), HeroSortField.ID));
+        assertEquals(List.of(hero1.getId(), hero3.getId()),
+            findIds(filter(null, null, null, List.of(superpoder2.getId(), superpoder3.getId()), SuperpoderMatch.QUALQUER),
+                HeroSortField.ID));
+    }
+
+    @Test
+    void testFindPageKeysSortedDescendingAfterPosition() {
+        Specification<Hero> afterSuperman = HeroSpecifications.after(
+            HeroSortField.NOME_HEROI, Sort.Direction.DESC, "Superman", hero1.getId());
+
+        List<HeroPageKeyDTO> keys = heroRepository.findPageKeys(
+            afterSuperman, HeroSortField.NOME_HEROI, Sort.Direction.DESC, 10);
+
+        assertEquals(List.of(hero3.getId(), hero2.getId()), ids(keys));
+        assertEquals("Homem-Aranha", keys.get(0).sortValue());
+    }
+
+    @Test
+    void testFindVersionByIdIncrementsOnUpdate() {
+        HeroVersionDTO before = heroRepository.findVersionById(hero1.getId()).orElseThrow();
+
+        hero1.setPeso(110.0);
+        entityManager.flush();
+
+        HeroVersionDTO after = heroRepository.findVersionById(hero1.getId()).orElseThrow();
+        assertEquals(before.versao() + 1, after.versao());
+        assertFalse(after.atualizadoEm().isBefore(before.atualizadoEm()));
+        assertTrue(heroRepository.findVersionById(999L).isEmpty());
+    }
+
+    @Test
+    void testFindVersionByIdIncrementsWhenOnlySuperpoderesChange() {
+        HeroVersionDTO before = heroRepository.findVersionById(hero2.getId()).orElseThrow();
+
+        hero2.setSuperpoderes(Set.of(superpoder3));
+        entityManager.flush();
+
+        assertEquals(before.versao() + 1, heroRepository.findVersionById(hero2.getId()).orElseThrow().versao());
+    }
+
+    @Test
+    void testFindHeroRowsByIdIn() {
+        Hero semPoderes = new Hero("João da Silva", "Herói Comum", LocalDate.of(2001, 12, 1), 1.70, 70.0);
+        semPoderes.setSuperpoderes(Set.of());
+        entityManager.persist(semPoderes);
+        entityManager.flush();
+        entityManager.clear();
+
+        List<HeroSuperpoderRowDTO> result = heroRepository.findHeroRowsByIdIn(
+            List.of(semPoderes.getId(), hero3.getId(), hero1.getId()));
+
+        // uma linha por superpoder, ordenadas por herói e superpoder; o herói sem superpoderes vem com nulos
+        assertEquals(List.of(hero1.getId(), hero1.getId(), hero3.getId(), hero3.getId(), semPoderes.getId()),
+            result.stream().map(HeroSuperpoderRowDTO::id).toList());
+        assertEquals(List.of(superpoder1.getId(), superpoder2.getId()),
+            List.of(result.get(0).superpoderId(), result.get(1).superpoderId()));
+        assertEquals("Superman", result.get(0).nomeHeroi());
+        assertEquals("Voo", result.get(1).superpoderNome());
+        assertNull(result.get(4).superpoderId());
+        assertNull(result.get(4).superpoderNome());
+        // projeção: nada entra no contexto de persistência
+        assertEquals(0, entityManager.unwrap(Session.class).getStatistics().getEntityCount());
+    }
+
+    @Test
+    void testStreamAllHeroRows() {
+        List<HeroSuperpoderRowDTO> result;
+        try (Stream<HeroSuperpoderRowDTO> rows = heroRepository.streamAllHeroRows()) {
+            result = rows.collect(Collectors.toList());
+        }
+
+        assertEquals(5, result.size());
+        assertEquals(hero1.getId(), result.get(0).id());
+        assertEquals(hero3.getId(), result.get(4).id());
+    }
+
     @Test
     void testFindByIdWithSuperpoderes() {
         Optional<Hero> result = heroRepository.findByIdWithSuperpoderes(hero1.getId());
@@ -306,4 +437,18 @@ class HeroRepositoryTest {
         assertEquals("José da Silva", result.get().getNome());
         assertEquals("Herói-Brasileiro", result.get().getNomeHeroi());
     }
+
+    private HeroFilterDTO filter(String nomeHeroi, Double alturaMin, Double alturaMax,
+                                 List<Long> superpoderIds, SuperpoderMatch superpoderModo) {
+        return new HeroFilterDTO(nomeHeroi, null, null, alturaMin, alturaMax, null, null,
+            superpoderIds, superpoderModo, null, null);
+    }
+
+    private List<Long> findIds(HeroFilterDTO filter, HeroSortField sortField) {
+        return ids(heroRepository.findPageKeys(HeroSpecifications.matching(filter), sortField, Sort.Direction.ASC, 10));
+    }
+
+    private List<Long> ids(List<HeroPageKeyDTO> keys) {
+        return keys.stream().map(HeroPageKeyDTO::id).collect(Collectors.toList());
+    }
 }
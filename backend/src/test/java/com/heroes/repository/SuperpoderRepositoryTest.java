@@ -2,7 +2,13 @@ package com.heroes.repository;
 
 import com.heroes.HeroesManagementApplication;
 import com.heroes.config.TestConfig;
+import com.heroes.model.entity.PooledSequenceGenerator;
 import com.heroes.model.entity.Superpoder;
+import org.hibernate.SessionFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.id.enhanced.PooledOptimizer;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -15,6 +21,8 @@ import javax.persistence.EntityManager;
 import javax.persistence.PersistenceContext;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -73,6 +81,13 @@ class SuperpoderRepositoryTest {
         assertEquals("Super Força", result.get().getNome());
     }
 
+    @Test
+    void testFindExistingIds() {
+        List<Long> result = superpoderRepository.findExistingIds(List.of(superpoder2.getId(), 999L));
+
+        assertEquals(List.of(superpoder2.getId()), result);
+    }
+
     @Test
     void testFindByNomeNotFound() {
         String superpoderName = "Telepatia";
@@ -322,4 +337,41 @@ class SuperpoderRepositoryTest {
         assertEquals("Superpoder @#$%", result.get().getNome());
         assertEquals("Descrição com símbolos: @#$%&*()", result.get().getDescricao());
     }
+
+    @Test
+    void testIdGeneratorUsesConfiguredPooledSequence() {
+        SequenceStyleGenerator generator = (SequenceStyleGenerator) entityManager.getEntityManagerFactory()
+                .unwrap(SessionFactoryImplementor.class)
+                .getMetamodel()
+                .entityPersister(Superpoder.class)
+                .getIdentifierGenerator();
+
+        assertInstanceOf(PooledSequenceGenerator.class, generator);
+        assertEquals(PooledSequenceGenerator.DEFAULT_ALLOCATION_SIZE, generator.getDatabaseStructure().getIncrementSize());
+        assertInstanceOf(PooledOptimizer.class, generator.getOptimizer());
+    }
+
+    @Test
+    void testSaveAllBatchesInserts() {
+        List<Superpoder> novosSuperpoderes = IntStream.range(0, 120)
+                .mapToObj(i -> new Superpoder("Superpoder em Lote " + i, null))
+                .collect(Collectors.toList());
+
+        Statistics statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        statistics.setStatisticsEnabled(true);
+        try {
+            superpoderRepository.saveAll(novosSuperpoderes);
+            entityManager.flush();
+
+            assertEquals(120, statistics.getEntityInsertCount());
+            // 3 lotes de INSERT (batch_size 50) e no máximo 3 chamadas à sequência (blocos de 50 IDs)
+            assertTrue(statistics.getPrepareStatementCount() <= 6,
+                "instruções preparadas: " + statistics.getPrepareStatementCount());
+        } finally {
+            statistics.setStatisticsEnabled(false);
+        }
+
+        assertEquals(120, novosSuperpoderes.stream().map(Superpoder::getId).distinct().count());
+    }
 }
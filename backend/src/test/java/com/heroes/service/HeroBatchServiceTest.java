@@ -0,0 +1,123 @@
+package com.heroes.service;
+
+import com.heroes.model.dto.HeroBatchItemResultDTO;
+import com.heroes.model.dto.HeroRequestDTO;
+import com.heroes.model.entity.Hero;
+import com.heroes.model.entity.Superpoder;
+import com.heroes.model.mapper.HeroMapper;
+import com.heroes.repository.HeroRepository;
+import com.heroes.repository.SuperpoderRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import javax.persistence.EntityManager;
+import javax.validation.Validation;
+import java.time.LocalDate;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class HeroBatchServiceTest {
+
+    @Mock
+    private HeroRepository heroRepository;
+
+    @Mock
+    private SuperpoderRepository superpoderRepository;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private SuperpoderHeroIndex superpoderHeroIndex;
+
+    @Mock
+    private HeroNameRegistry heroNameRegistry;
+
+    private HeroBatchService heroBatchService;
+
+    private Superpoder superpoder1;
+
+    @BeforeEach
+    void setUp() {
+        heroBatchService = new HeroBatchService(
+            heroRepository,
+            superpoderRepository,
+            new HeroMapper(),
+            entityManager,
+            Validation.buildDefaultValidatorFactory().getValidator(),
+            superpoderHeroIndex,
+            heroNameRegistry
+        );
+
+        superpoder1 = new Superpoder("Super Força", "Capacidade de levantar objetos extremamente pesados");
+        superpoder1.setId(1L);
+    }
+
+    @Test
+    void testCreateHeroesResolvesNamesAndSuperpoderesOnce() {
+        List<HeroRequestDTO> heroRequests = List.of(
+            heroRequest("Superman", 1L),
+            heroRequest("Batman", 1L),
+            heroRequest("Flash", 1L)
+        );
+
+        when(superpoderRepository.findAllById(Set.of(1L))).thenReturn(List.of(superpoder1));
+        when(heroRepository.findExistingNomesHeroi(Set.of("Superman", "Batman", "Flash"))).thenReturn(Set.of("Batman"));
+        when(heroRepository.save(any(Hero.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(heroNameRegistry.tryReserve(any(), any(Hero.class))).thenReturn(true);
+
+        List<HeroBatchItemResultDTO> results = heroBatchService.createHeroes(heroRequests);
+
+        assertEquals(3, results.size());
+        assertEquals(201, results.get(0).status());
+        assertEquals("Superman", results.get(0).hero().nomeHeroi());
+        assertEquals(1, results.get(0).hero().superpoderes().size());
+        assertEquals(409, results.get(1).status());
+        assertNull(results.get(1).hero());
+        assertEquals(201, results.get(2).status());
+
+        verify(superpoderRepository, times(1)).findAllById(any());
+        verify(heroRepository, times(1)).findExistingNomesHeroi(any());
+        verify(heroRepository, times(2)).save(any(Hero.class));
+        verify(heroRepository, times(1)).flush();
+        verify(superpoderHeroIndex, times(1)).indexHeroes(anyMap());
+        verify(superpoderRepository, never()).findById(any());
+        verify(heroRepository, never()).existsByNomeHeroi(any());
+        verify(heroNameRegistry, never()).tryReserve(eq("Batman"), any());
+    }
+
+    @Test
+    void testCreateHeroesRejectsNameReservedByConcurrentWrite() {
+        when(superpoderRepository.findAllById(Set.of(1L))).thenReturn(List.of(superpoder1));
+        when(heroRepository.findExistingNomesHeroi(Set.of("Superman", "Flash"))).thenReturn(Set.of());
+        when(heroRepository.save(any(Hero.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(heroNameRegistry.tryReserve(eq("Superman"), any(Hero.class))).thenReturn(false);
+        when(heroNameRegistry.tryReserve(eq("Flash"), any(Hero.class))).thenReturn(true);
+
+        List<HeroBatchItemResultDTO> results = heroBatchService.createHeroes(
+            List.of(heroRequest("Superman", 1L), heroRequest("Flash", 1L)));
+
+        assertEquals(409, results.get(0).status());
+        assertEquals("Já existe um herói cadastrado com o nome 'Superman'", results.get(0).message());
+        assertEquals(201, results.get(1).status());
+        verify(heroRepository, times(1)).save(any(Hero.class));
+    }
+
+    @Test
+    void testCreateHeroesRejectsEmptyBatch() {
+        assertThrows(IllegalArgumentException.class, () -> heroBatchService.createHeroes(List.of()));
+        verifyNoInteractions(heroRepository, superpoderRepository);
+    }
+
+    private HeroRequestDTO heroRequest(String nomeHeroi, Long... superpoderIds) {
+        return new HeroRequestDTO("Nome " + nomeHeroi, nomeHeroi, LocalDate.of(1950, 1, 1), 1.80, 80.0,
+            Arrays.asList(superpoderIds));
+    }
+}
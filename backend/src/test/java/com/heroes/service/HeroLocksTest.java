@@ -0,0 +1,112 @@
+package com.heroes.service;
+
+import com.heroes.config.exception.HeroLockTimeoutException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HeroLocksTest {
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void testSameHeroWaitsUntilFirstTransactionCompletes() throws Exception {
+        HeroLocks heroLocks = new HeroLocks(true, 16, Duration.ofSeconds(5));
+        CountDownLatch secondLocked = new CountDownLatch(1);
+
+        TransactionSynchronizationManager.initSynchronization();
+        heroLocks.lockUntilCompletion(1L);
+
+        CompletableFuture<Void> second = CompletableFuture.runAsync(() -> {
+            TransactionSynchronizationManager.initSynchronization();
+            try {
+                heroLocks.lockUntilCompletion(1L);
+                secondLocked.countDown();
+                complete(TransactionSynchronization.STATUS_COMMITTED);
+            } finally {
+                TransactionSynchronizationManager.clearSynchronization();
+            }
+        });
+
+        assertFalse(secondLocked.await(200, TimeUnit.MILLISECONDS));
+        complete(TransactionSynchronization.STATUS_ROLLED_BACK);
+        assertTrue(secondLocked.await(5, TimeUnit.SECONDS));
+        second.get(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    void testDifferentStripesDoNotWait() throws Exception {
+        HeroLocks heroLocks = new HeroLocks(true, 16, Duration.ofSeconds(5));
+        assertNotEquals(heroLocks.stripeIndex(1L), heroLocks.stripeIndex(2L));
+
+        TransactionSynchronizationManager.initSynchronization();
+        heroLocks.lockUntilCompletion(1L);
+
+        CompletableFuture.runAsync(() -> {
+            TransactionSynchronizationManager.initSynchronization();
+            try {
+                heroLocks.lockUntilCompletion(2L);
+                complete(TransactionSynchronization.STATUS_COMMITTED);
+            } finally {
+                TransactionSynchronizationManager.clearSynchronization();
+            }
+        }).get(5, TimeUnit.SECONDS);
+
+        complete(TransactionSynchronization.STATUS_COMMITTED);
+    }
+
+    @Test
+    void testSameThreadCanLockHeroAgain() {
+        HeroLocks heroLocks = new HeroLocks(true, 16, Duration.ofSeconds(5));
+
+        TransactionSynchronizationManager.initSynchronization();
+        heroLocks.lockUntilCompletion(1L);
+        heroLocks.lockUntilCompletion(17L);
+
+        assertEquals(heroLocks.stripeIndex(1L), heroLocks.stripeIndex(17L));
+        assertEquals(2, TransactionSynchronizationManager.getSynchronizations().size());
+        complete(TransactionSynchronization.STATUS_COMMITTED);
+    }
+
+    @Test
+    void testLockRequiresTransaction() {
+        HeroLocks heroLocks = new HeroLocks(true, 16, Duration.ofSeconds(5));
+
+        assertThrows(IllegalStateException.class, () -> heroLocks.lockUntilCompletion(1L));
+    }
+
+    @Test
+    void testLockGivesUpAfterMaxWait() throws Exception {
+        HeroLocks heroLocks = new HeroLocks(true, 16, Duration.ofMillis(50));
+        heroLocks.lock(1L);
+
+        CompletableFuture<Throwable> second = CompletableFuture.supplyAsync(() -> {
+            try {
+                heroLocks.lock(1L).unlock();
+                return null;
+            } catch (HeroLockTimeoutException ex) {
+                return ex;
+            }
+        });
+
+        assertInstanceOf(HeroLockTimeoutException.class, second.get(5, TimeUnit.SECONDS));
+    }
+
+    private static void complete(int status) {
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(synchronization -> synchronization.afterCompletion(status));
+    }
+}
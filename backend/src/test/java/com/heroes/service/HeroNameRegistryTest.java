@@ -0,0 +1,176 @@
+package com.heroes.service;
+
+import com.heroes.model.entity.Hero;
+import com.heroes.repository.HeroRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigInteger;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class HeroNameRegistryTest {
+
+    @Mock
+    private HeroRepository heroRepository;
+
+    private HeroNameRegistry heroNameRegistry;
+
+    @BeforeEach
+    void setUp() {
+        heroNameRegistry = new HeroNameRegistry(heroRepository);
+
+        when(heroRepository.streamNomesHeroi()).thenReturn(Stream.of(
+            new Object[]{"Superman", 1L},
+            new Object[]{"Batman", BigInteger.valueOf(2)}
+        ));
+        heroNameRegistry.load();
+    }
+
+    @Test
+    void testFreeNameIsReservedWithoutQuery() {
+        assertTrue(heroNameRegistry.tryReserve("Flash", hero(null)));
+
+        assertFalse(heroNameRegistry.tryReserve("Flash", hero(null)));
+        verify(heroRepository, never()).existsByNomeHeroi(any());
+    }
+
+    @Test
+    void testHeroKeepsItsOwnName() {
+        assertTrue(heroNameRegistry.tryReserve("Superman", hero(1L)));
+
+        verifyNoMoreInteractions(ignoreStubs(heroRepository));
+    }
+
+    @Test
+    void testNameOfAnotherHeroIsConfirmedWithDatabase() {
+        when(heroRepository.existsByNomeHeroiAndIdNot("Superman", 2L)).thenReturn(true);
+        when(heroRepository.existsByNomeHeroi("Batman")).thenReturn(false);
+
+        assertFalse(heroNameRegistry.tryReserve("Superman", hero(2L)));
+        // Batman foi removido por fora do registro: o nome fica livre
+        assertTrue(heroNameRegistry.tryReserve("Batman", hero(null)));
+    }
+
+    @Test
+    void testPendingReservationBlocksOtherWritesUntilRollback() {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            assertTrue(heroNameRegistry.tryReserve("Flash", hero(null)));
+            assertFalse(heroNameRegistry.tryReserve("Flash", hero(3L)));
+
+            complete(TransactionSynchronization.STATUS_ROLLED_BACK);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertTrue(heroNameRegistry.tryReserve("Flash", hero(3L)));
+        verify(heroRepository, never()).existsByNomeHeroi(any());
+    }
+
+    @Test
+    void testReservationIsCommittedWithIdAssignedOnSave() {
+        Hero newHero = hero(null);
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            assertTrue(heroNameRegistry.tryReserve("Flash", newHero));
+            newHero.setId(3L);
+
+            complete(TransactionSynchronization.STATUS_COMMITTED);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertTrue(heroNameRegistry.tryReserve("Flash", hero(3L)));
+        verifyNoMoreInteractions(ignoreStubs(heroRepository));
+    }
+
+    @Test
+    void testReleasedNameReturnsToHeroOnRollback() {
+        when(heroRepository.existsByNomeHeroiAndIdNot("Superman", 2L)).thenReturn(true);
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            heroNameRegistry.release("Superman", 1L);
+            assertTrue(heroNameRegistry.tryReserve("Superman", hero(null)));
+
+            complete(TransactionSynchronization.STATUS_ROLLED_BACK);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertTrue(heroNameRegistry.tryReserve("Superman", hero(1L)));
+        assertFalse(heroNameRegistry.tryReserve("Superman", hero(2L)));
+    }
+
+    @Test
+    void testReleaseIgnoresNameOfAnotherHero() {
+        heroNameRegistry.release("Superman", 2L);
+
+        assertTrue(heroNameRegistry.tryReserve("Superman", hero(1L)));
+    }
+
+    @Test
+    void testBeforeLoadFallsBackToDatabase() {
+        HeroNameRegistry notLoaded = new HeroNameRegistry(heroRepository);
+        when(heroRepository.existsByNomeHeroi("Superman")).thenReturn(true);
+        when(heroRepository.existsByNomeHeroi("Flash")).thenReturn(false);
+
+        assertFalse(notLoaded.tryReserve("Superman", hero(null)));
+        assertTrue(notLoaded.tryReserve("Flash", hero(null)));
+    }
+
+    @Test
+    void testConcurrentReservationsOfSameNameAdmitOnlyOne() throws Exception {
+        int threads = 16;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<Boolean>> results = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                Callable<Boolean> reserve = () -> {
+                    start.await();
+                    return heroNameRegistry.tryReserve("Flash", hero(null));
+                };
+                results.add(executor.submit(reserve));
+            }
+            start.countDown();
+
+            int reserved = 0;
+            for (Future<Boolean> result : results) {
+                reserved += result.get() ? 1 : 0;
+            }
+            assertEquals(1, reserved);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static void complete(int status) {
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(synchronization -> synchronization.afterCompletion(status));
+    }
+
+    private static Hero hero(Long id) {
+        Hero hero = new Hero("Pessoa", "Heroi", LocalDate.of(1980, 1, 1), 1.80, 80.0);
+        hero.setId(id);
+        return hero;
+    }
+}
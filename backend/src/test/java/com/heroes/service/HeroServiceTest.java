@@ -2,12 +2,22 @@ package com.heroes.service;
 
 import com.heroes.config.exception.DuplicateHeroNameException;
 import com.heroes.config.exception.ResourceNotFoundException;
+import com.heroes.model.dto.HeroFilterDTO;
+import com.heroes.model.dto.HeroPageDTO;
+import com.heroes.model.dto.HeroPageKeyDTO;
+import com.heroes.model.dto.HeroPageRevisionDTO;
 import com.heroes.model.dto.HeroRequestDTO;
 import com.heroes.model.dto.HeroResponseDTO;
+import com.heroes.model.dto.HeroRevisionDTO;
+import com.heroes.model.dto.HeroSortField;
+import com.heroes.model.dto.HeroSuperpoderRowDTO;
+import com.heroes.model.dto.HeroVersionDTO;
 import com.heroes.model.dto.SuperpoderDTO;
 import com.heroes.model.entity.Hero;
+import com.heroes.model.entity.HeroRemovido;
 import com.heroes.model.entity.Superpoder;
 import com.heroes.model.mapper.HeroMapper;
+import com.heroes.repository.HeroRemovidoRepository;
 import com.heroes.repository.HeroRepository;
 import com.heroes.repository.SuperpoderRepository;
 import org.junit.jupiter.api.BeforeEach;
@@ -15,8 +25,13 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Sort;
 
+import java.sql.SQLException;
+import java.time.Instant;
 import java.time.LocalDate;
 import java.util.*;
 
@@ -30,11 +45,23 @@ class HeroServiceTest {
     @Mock
     private HeroRepository heroRepository;
 
+    @Mock
+    private HeroRemovidoRepository heroRemovidoRepository;
+
     @Mock
     private SuperpoderRepository superpoderRepository;
 
+    @Spy
+    private HeroMapper heroMapper = new HeroMapper();
+
+    @Mock
+    private SuperpoderCatalog superpoderCatalog;
+
+    @Mock
+    private SuperpoderHeroIndex superpoderHeroIndex;
+
     @Mock
-    private HeroMapper heroMapper;
+    private HeroNameRegistry heroNameRegistry;
 
     @InjectMocks
     private HeroService heroService;
@@ -87,14 +114,54 @@ class HeroServiceTest {
 
     @Test
     void testFindAllHeroes() {
-        List<Hero> heroes = Arrays.asList(hero1, hero2);
-        when(heroRepository.findAllWithSuperpoderes()).thenReturn(heroes);
+        List<Long> heroIds = Arrays.asList(1L, 2L);
+        stubCatalogSnapshot();
+        when(heroRepository.findPageKeys(any(), eq(HeroSortField.ID), eq(Sort.Direction.ASC), eq(51)))
+            .thenReturn(pageKeys(1L, 2L));
+        when(heroRepository.findHeroRowsByIdIn(heroIds)).thenReturn(rows(hero1, hero2));
 
-        List<HeroResponseDTO> result = heroService.findAllHeroes();
+        HeroPageDTO result = heroService.findAllHeroes(HeroFilterDTO.semFiltros(), null, null);
 
         assertNotNull(result);
-        assertEquals(2, result.size());
-        verify(heroRepository).findAllWithSuperpoderes();
+        assertEquals(2, result.content().size());
+        assertNull(result.nextCursor());
+        verify(heroRepository).findHeroRowsByIdIn(heroIds);
+    }
+
+    @Test
+    void testFindAllHeroesWithNextPage() {
+        stubCatalogSnapshot();
+        when(heroRepository.findPageKeys(any(), any(), any(), anyInt()))
+            .thenReturn(pageKeys(1L, 2L))
+            .thenReturn(pageKeys(2L));
+        when(heroRepository.findHeroRowsByIdIn(List.of(1L))).thenReturn(rows(hero1));
+
+        HeroPageDTO firstPage = heroService.findAllHeroes(HeroFilterDTO.semFiltros(), null, 1);
+
+        assertEquals(1, firstPage.content().size());
+        assertEquals(1L, firstPage.content().get(0).id());
+        assertNotNull(firstPage.nextCursor());
+
+        when(heroRepository.findHeroRowsByIdIn(List.of(2L))).thenReturn(rows(hero2));
+
+        HeroPageDTO secondPage = heroService.findAllHeroes(HeroFilterDTO.semFiltros(), firstPage.nextCursor(), 1);
+
+        assertEquals(1, secondPage.content().size());
+        assertEquals(2L, secondPage.content().get(0).id());
+        assertNull(secondPage.nextCursor());
+    }
+
+    @Test
+    void testFindAllHeroesWithInvalidCursor() {
+        assertThrows(IllegalArgumentException.class, () -> heroService.findAllHeroes(HeroFilterDTO.semFiltros(), "cursor-invalido", null));
+        verifyNoInteractions(heroRepository);
+    }
+
+    @Test
+    void testFindAllHeroesWithInvalidPageSize() {
+        assertThrows(IllegalArgumentException.class, () -> heroService.findAllHeroes(HeroFilterDTO.semFiltros(), null, 0));
+        assertThrows(IllegalArgumentException.class, () -> heroService.findAllHeroes(HeroFilterDTO.semFiltros(), null, 501));
+        verifyNoInteractions(heroRepository);
     }
 
     @Test
@@ -123,12 +190,10 @@ class HeroServiceTest {
         newHero.setId(3L);
         newHero.setSuperpoderes(Set.of(superpoder1, superpoder2));
 
-        when(heroRepository.existsByNomeHeroi("Homem-Aranha")).thenReturn(false);
-        when(superpoderRepository.findById(1L)).thenReturn(Optional.of(superpoder1));
-        when(superpoderRepository.findById(2L)).thenReturn(Optional.of(superpoder2));
+        when(superpoderRepository.findAllById(Set.of(1L, 2L))).thenReturn(List.of(superpoder1, superpoder2));
         when(heroMapper.toEntity(heroRequestDTO, Set.of(superpoder1, superpoder2))).thenReturn(newHero);
-        when(heroRepository.save(newHero)).thenReturn(newHero);
-        when(heroRepository.findByIdWithSuperpoderes(3L)).thenReturn(Optional.of(newHero));
+        when(heroNameRegistry.tryReserve("Homem-Aranha", newHero)).thenReturn(true);
+        when(heroRepository.saveAndFlush(newHero)).thenReturn(newHero);
 
         HeroResponseDTO result = heroService.createHero(heroRequestDTO);
 
@@ -136,15 +201,44 @@ class HeroServiceTest {
         assertEquals(3L, result.id());
         assertEquals("Peter Parker", result.nome());
         assertEquals("Homem-Aranha", result.nomeHeroi());
-        verify(heroRepository).existsByNomeHeroi("Homem-Aranha");
-        verify(superpoderRepository).findById(1L);
-        verify(superpoderRepository).findById(2L);
-        verify(heroRepository).save(newHero);
+        verify(heroRepository, never()).existsByNomeHeroi(any());
+        verify(superpoderRepository).findAllById(Set.of(1L, 2L));
+        verify(superpoderRepository, never()).findById(any());
+        verifyNoInteractions(superpoderCatalog);
+        verify(heroRepository).saveAndFlush(newHero);
+        verify(heroRepository, never()).findByIdWithSuperpoderes(any());
+        verify(superpoderHeroIndex).indexHero(eq(3L), argThat(ids -> new HashSet<>(ids).equals(Set.of(1L, 2L))));
+    }
+
+    @Test
+    void testCreateHeroListsSuperpoderesById() {
+        List<Superpoder> superpoderes = new ArrayList<>();
+        for (long id = 5; id >= 1; id--) {
+            Superpoder superpoder = new Superpoder("Poder " + id, "Descrição " + id);
+            superpoder.setId(id);
+            superpoderes.add(superpoder);
+        }
+        HeroRequestDTO request = new HeroRequestDTO("Ororo Munroe", "Tempestade", LocalDate.of(1975, 5, 1), 1.80, 66.0,
+            List.of(4L, 2L, 5L, 1L, 3L));
+
+        when(superpoderRepository.findAllById(any())).thenReturn(superpoderes);
+        when(heroNameRegistry.tryReserve(eq("Tempestade"), any())).thenReturn(true);
+        when(heroRepository.saveAndFlush(any(Hero.class))).thenAnswer(invocation -> {
+            Hero saved = invocation.getArgument(0);
+            saved.setId(4L);
+            return saved;
+        });
+
+        HeroResponseDTO result = heroService.createHero(request);
+
+        // na mesma ordem do GET (@OrderBy("id")), não na do pedido nem na do HashSet
+        assertEquals(List.of(1L, 2L, 3L, 4L, 5L), result.superpoderes().stream().map(SuperpoderDTO::id).toList());
     }
 
     @Test
     void testCreateHeroWithDuplicateName() {
-        when(heroRepository.existsByNomeHeroi("Superman")).thenReturn(true);
+        when(superpoderRepository.findAllById(Set.of(1L))).thenReturn(List.of(superpoder1));
+        when(heroNameRegistry.tryReserve(eq("Superman"), any())).thenReturn(false);
 
         HeroRequestDTO duplicateRequest = new HeroRequestDTO(
             "Clark Kent",
@@ -156,12 +250,36 @@ class HeroServiceTest {
         );
 
         assertThrows(DuplicateHeroNameException.class, () -> heroService.createHero(duplicateRequest));
+        verify(heroRepository, never()).saveAndFlush(any());
+    }
+
+    @Test
+    void testCreateHeroWithNameTakenOutsideRegistry() {
+        when(superpoderRepository.findAllById(Set.of(1L, 2L))).thenReturn(List.of(superpoder1, superpoder2));
+        when(heroNameRegistry.tryReserve(eq("Homem-Aranha"), any())).thenReturn(true);
+        when(heroRepository.saveAndFlush(any())).thenThrow(new DataIntegrityViolationException("nome_heroi",
+            new SQLException("Unique index or primary key violation", "23505")));
+
+        DuplicateHeroNameException exception = assertThrows(DuplicateHeroNameException.class,
+            () -> heroService.createHero(heroRequestDTO));
+
+        assertEquals("Homem-Aranha", exception.getNomeHeroi());
+        verify(superpoderHeroIndex, never()).indexHero(any(), any());
+    }
+
+    @Test
+    void testCreateHeroKeepsOtherIntegrityViolations() {
+        when(superpoderRepository.findAllById(Set.of(1L, 2L))).thenReturn(List.of(superpoder1, superpoder2));
+        when(heroNameRegistry.tryReserve(eq("Homem-Aranha"), any())).thenReturn(true);
+        when(heroRepository.saveAndFlush(any())).thenThrow(new DataIntegrityViolationException("heroissuperpoderes",
+            new SQLException("Referential integrity constraint violation", "23503")));
+
+        assertThrows(DataIntegrityViolationException.class, () -> heroService.createHero(heroRequestDTO));
     }
 
     @Test
     void testCreateHeroWithInvalidSuperpoderId() {
-        when(heroRepository.existsByNomeHeroi("Homem-Aranha")).thenReturn(false);
-        when(superpoderRepository.findById(999L)).thenReturn(Optional.empty());
+        when(superpoderRepository.findAllById(Set.of(999L))).thenReturn(List.of());
 
         HeroRequestDTO invalidRequest = new HeroRequestDTO(
             "Peter Parker",
@@ -173,6 +291,27 @@ class HeroServiceTest {
         );
 
         assertThrows(ResourceNotFoundException.class, () -> heroService.createHero(invalidRequest));
+        verify(heroNameRegistry, never()).tryReserve(any(), any());
+    }
+
+    @Test
+    void testCreateHeroReportsAllMissingSuperpoderes() {
+        HeroRequestDTO invalidRequest = new HeroRequestDTO(
+            "Peter Parker",
+            "Homem-Aranha",
+            LocalDate.of(1962, 8, 10),
+            1.78,
+            76.0,
+            Arrays.asList(1L, 998L, 999L)
+        );
+
+        when(superpoderRepository.findAllById(Set.of(1L, 998L, 999L))).thenReturn(List.of(superpoder1));
+
+        ResourceNotFoundException exception = assertThrows(ResourceNotFoundException.class,
+            () -> heroService.createHero(invalidRequest));
+
+        assertEquals("Superpoder não encontrado com ID: '998, 999'", exception.getMessage());
+        verify(heroNameRegistry, never()).tryReserve(any(), any());
     }
 
     @Test
@@ -201,10 +340,9 @@ class HeroServiceTest {
         );
 
         when(heroRepository.findById(1L)).thenReturn(Optional.of(hero1));
-        when(heroRepository.existsByNomeHeroiAndIdNot("Spider-Man", 1L)).thenReturn(false);
-        when(superpoderRepository.findById(1L)).thenReturn(Optional.of(superpoder1));
-        when(heroRepository.save(hero1)).thenReturn(updatedHero);
-        when(heroRepository.findByIdWithSuperpoderes(1L)).thenReturn(Optional.of(updatedHero));
+        when(superpoderRepository.findAllById(Set.of(1L))).thenReturn(List.of(superpoder1));
+        when(heroNameRegistry.tryReserve("Spider-Man", hero1)).thenReturn(true);
+        when(heroRepository.saveAndFlush(hero1)).thenReturn(updatedHero);
 
         HeroResponseDTO result = heroService.updateHero(1L, updateRequest);
 
@@ -212,9 +350,12 @@ class HeroServiceTest {
         assertEquals(1L, result.id());
         assertEquals("Peter Parker", result.nome());
         assertEquals("Spider-Man", result.nomeHeroi());
+        assertEquals(1, result.superpoderes().size());
         verify(heroRepository).findById(1L);
-        verify(heroRepository).existsByNomeHeroiAndIdNot("Spider-Man", 1L);
-        verify(heroRepository).save(hero1);
+        verify(heroRepository, never()).existsByNomeHeroiAndIdNot(any(), any());
+        verify(heroRepository).saveAndFlush(hero1);
+        verify(heroNameRegistry).release("Superman", 1L);
+        verify(heroRepository, never()).findByIdWithSuperpoderes(any());
     }
 
     @Test
@@ -236,37 +377,206 @@ class HeroServiceTest {
         );
 
         when(heroRepository.findById(2L)).thenReturn(Optional.of(hero2));
-        when(heroRepository.existsByNomeHeroiAndIdNot("Superman", 2L)).thenReturn(true);
+        when(superpoderRepository.findAllById(Set.of(1L))).thenReturn(List.of(superpoder1));
+        when(heroNameRegistry.tryReserve("Superman", hero2)).thenReturn(false);
 
         assertThrows(DuplicateHeroNameException.class, () -> heroService.updateHero(2L, updateRequest));
+        assertEquals("Batman", hero2.getNomeHeroi());
+        verify(heroNameRegistry, never()).release(any(), any());
     }
 
     @Test
     void testRemoveHero() {
-        when(heroRepository.existsById(1L)).thenReturn(true);
+        when(heroRepository.findById(1L)).thenReturn(Optional.of(hero1));
 
         heroService.removeHero(1L);
 
-        verify(heroRepository).existsById(1L);
-        verify(heroRepository).deleteById(1L);
+        verify(heroRepository).delete(hero1);
+        verify(heroNameRegistry).release("Superman", 1L);
+        verify(heroRemovidoRepository).save(new HeroRemovido(1L));
+        verify(superpoderHeroIndex).removeHero(1L);
     }
 
     @Test
     void testRemoveHeroNotFound() {
-        when(heroRepository.existsById(999L)).thenReturn(false);
+        when(heroRepository.findById(999L)).thenReturn(Optional.empty());
 
         assertThrows(ResourceNotFoundException.class, () -> heroService.removeHero(999L));
+        verify(heroRemovidoRepository, never()).save(any());
     }
 
     @Test
     void testFindAllHeroesEmpty() {
-        when(heroRepository.findAllWithSuperpoderes()).thenReturn(Collections.emptyList());
+        stubCatalogSnapshot();
+        when(heroRepository.findPageKeys(any(), any(), any(), anyInt())).thenReturn(Collections.emptyList());
 
-        List<HeroResponseDTO> result = heroService.findAllHeroes();
+        HeroPageDTO result = heroService.findAllHeroes(HeroFilterDTO.semFiltros(), null, null);
 
         assertNotNull(result);
-        assertTrue(result.isEmpty());
-        verify(heroRepository).findAllWithSuperpoderes();
-        verify(heroMapper, never()).toResponseDTO(any(Hero.class));
+        assertTrue(result.content().isEmpty());
+        assertNull(result.nextCursor());
+        verify(heroRepository, never()).findHeroRowsByIdIn(any());
+        verify(heroMapper, never()).toResponseDTOs(any());
+    }
+
+    @Test
+    void testFindHeroRevision() {
+        Instant atualizadoEm = Instant.parse("2024-05-01T10:15:30Z");
+        stubCatalogSnapshot();
+        when(heroRepository.findVersionById(1L)).thenReturn(Optional.of(new HeroVersionDTO(1L, 3L, atualizadoEm)));
+
+        HeroRevisionDTO revision = heroService.findHeroRevision(1L);
+
+        assertEquals("1-3-catalogo", revision.etag());
+        assertEquals(atualizadoEm, revision.lastModified());
+        verify(heroRepository, never()).findByIdWithSuperpoderes(any());
+    }
+
+    @Test
+    void testFindHeroRevisionNotFound() {
+        when(heroRepository.findVersionById(999L)).thenReturn(Optional.empty());
+
+        assertThrows(ResourceNotFoundException.class, () -> heroService.findHeroRevision(999L));
+    }
+
+    @Test
+    void testFindHeroPageRevisionETagChangesWithVersion() {
+        stubCatalogSnapshot();
+        when(heroRepository.findPageKeys(any(), any(), any(), anyInt()))
+            .thenReturn(pageKeys(1L, 2L))
+            .thenReturn(pageKeys(1L, 2L))
+            .thenReturn(List.of(new HeroPageKeyDTO(1L, 0L, 1L), new HeroPageKeyDTO(2L, 1L, 2L)));
+
+        HeroPageRevisionDTO first = heroService.findHeroPageRevision(HeroFilterDTO.semFiltros(), null, null);
+        HeroPageRevisionDTO unchanged = heroService.findHeroPageRevision(HeroFilterDTO.semFiltros(), null, null);
+        HeroPageRevisionDTO changed = heroService.findHeroPageRevision(HeroFilterDTO.semFiltros(), null, null);
+
+        assertEquals(List.of(1L, 2L), first.heroIds());
+        assertEquals(first.etag(), unchanged.etag());
+        assertNotEquals(first.etag(), changed.etag());
+        verify(heroRepository, never()).findHeroRowsByIdIn(any());
+    }
+
+    @Test
+    void testFindAllHeroesSortedByAlturaKeepsRequestedOrder() {
+        HeroFilterDTO porAltura = new HeroFilterDTO(
+            null, null, null, null, null, null, null, null, null, HeroSortField.ALTURA, Sort.Direction.DESC);
+        stubCatalogSnapshot();
+        when(heroRepository.findPageKeys(any(), eq(HeroSortField.ALTURA), eq(Sort.Direction.DESC), eq(2)))
+            .thenReturn(List.of(new HeroPageKeyDTO(1L, 0L, 1.91), new HeroPageKeyDTO(2L, 0L, 1.88)));
+        when(heroRepository.findHeroRowsByIdIn(List.of(1L))).thenReturn(rows(hero1));
+
+        HeroPageDTO firstPage = heroService.findAllHeroes(porAltura, null, 1);
+
+        assertEquals(List.of(1L), firstPage.content().stream().map(HeroResponseDTO::id).toList());
+        assertNotNull(firstPage.nextCursor());
+
+        when(heroRepository.findPageKeys(any(), eq(HeroSortField.ALTURA), eq(Sort.Direction.DESC), eq(2)))
+            .thenReturn(List.of(new HeroPageKeyDTO(2L, 0L, 1.88)));
+        when(heroRepository.findHeroRowsByIdIn(List.of(2L))).thenReturn(rows(hero2));
+
+        HeroPageDTO secondPage = heroService.findAllHeroes(porAltura, firstPage.nextCursor(), 1);
+
+        assertEquals(List.of(2L), secondPage.content().stream().map(HeroResponseDTO::id).toList());
+        assertNull(secondPage.nextCursor());
+    }
+
+    @Test
+    void testFindAllHeroesWithCursorFromAnotherSort() {
+        stubCatalogSnapshot();
+        when(heroRepository.findPageKeys(any(), any(), any(), anyInt())).thenReturn(pageKeys(1L, 2L));
+        String cursorPorId = heroService.findHeroPageRevision(HeroFilterDTO.semFiltros(), null, 1).nextCursor();
+        HeroFilterDTO porPeso = new HeroFilterDTO(
+            null, null, null, null, null, null, null, null, null, HeroSortField.PESO, null);
+
+        assertThrows(IllegalArgumentException.class, () -> heroService.findAllHeroes(porPeso, cursorPorId, 1));
+        verify(heroRepository, times(1)).findPageKeys(any(), any(), any(), anyInt());
+    }
+
+    @Test
+    void testFindAllHeroesWithInvalidRange() {
+        HeroFilterDTO alturaInvertida = new HeroFilterDTO(
+            null, null, null, 2.0, 1.5, null, null, null, null, null, null);
+
+        assertThrows(IllegalArgumentException.class, () -> heroService.findAllHeroes(alturaInvertida, null, null));
+        verifyNoInteractions(heroRepository);
+    }
+
+    @Test
+    void testFindHeroesByIdsKeepsRequestedOrder() {
+        when(heroRepository.findHeroRowsByIdIn(List.of(2L, 1L))).thenReturn(rows(hero1, hero2));
+
+        List<HeroResponseDTO> result = heroService.findHeroesByIds(List.of(2L, 1L));
+
+        assertEquals(List.of(2L, 1L), result.stream().map(HeroResponseDTO::id).toList());
+    }
+
+    @Test
+    void testFindHeroesBySuperpoderesPaginated() {
+        when(superpoderCatalog.findUnknownIds(Set.of(1L, 2L))).thenReturn(List.of());
+        when(superpoderHeroIndex.findHeroIds(Set.of(1L), Set.of(2L), 0L, 2)).thenReturn(List.of(1L, 2L));
+        when(heroRepository.findHeroRowsByIdIn(List.of(1L))).thenReturn(rows(hero1));
+
+        HeroPageDTO firstPage = heroService.findHeroesBySuperpoderes(List.of(1L), List.of(2L), null, 1);
+
+        assertEquals(List.of(1L), firstPage.content().stream().map(HeroResponseDTO::id).toList());
+        assertNotNull(firstPage.nextCursor());
+
+        when(superpoderHeroIndex.findHeroIds(Set.of(1L), Set.of(2L), 1L, 2)).thenReturn(List.of(2L));
+        when(heroRepository.findHeroRowsByIdIn(List.of(2L))).thenReturn(rows(hero2));
+
+        HeroPageDTO secondPage = heroService.findHeroesBySuperpoderes(List.of(1L), List.of(2L), firstPage.nextCursor(), 1);
+
+        assertEquals(List.of(2L), secondPage.content().stream().map(HeroResponseDTO::id).toList());
+        assertNull(secondPage.nextCursor());
+    }
+
+    @Test
+    void testFindHeroesBySuperpoderesUnknownSuperpoder() {
+        when(superpoderCatalog.findUnknownIds(Set.of(999L))).thenReturn(List.of(999L));
+
+        assertThrows(ResourceNotFoundException.class,
+            () -> heroService.findHeroesBySuperpoderes(List.of(999L), null, null, null));
+        verifyNoInteractions(superpoderHeroIndex);
+    }
+
+    @Test
+    void testFindHeroesBySuperpoderesWithoutSuperpoderes() {
+        assertThrows(IllegalArgumentException.class,
+            () -> heroService.findHeroesBySuperpoderes(null, List.of(), null, null));
+        verifyNoInteractions(superpoderHeroIndex, heroRepository);
+    }
+
+    private void stubCatalogSnapshot() {
+        when(superpoderCatalog.getSnapshot())
+            .thenReturn(new SuperpoderCatalog.Snapshot(List.of(), Map.of(), new byte[0], "catalogo", Instant.MAX));
+    }
+
+    private List<HeroPageKeyDTO> pageKeys(Long... heroIds) {
+        List<HeroPageKeyDTO> pageKeys = new ArrayList<>();
+        for (Long heroId : heroIds) {
+            pageKeys.add(new HeroPageKeyDTO(heroId, 0L, heroId));
+        }
+        return pageKeys;
+    }
+
+    /** As linhas da projeção herói x superpoder que o banco devolveria para os heróis, em ordem de id. */
+    private static List<HeroSuperpoderRowDTO> rows(Hero... heroes) {
+        List<HeroSuperpoderRowDTO> rows = new ArrayList<>();
+        Arrays.stream(heroes).sorted(Comparator.comparing(Hero::getId)).forEach(hero -> {
+            List<Superpoder> superpoderes = hero.getSuperpoderes().stream()
+                    .sorted(Comparator.comparing(Superpoder::getId))
+                    .toList();
+            if (superpoderes.isEmpty()) {
+                rows.add(new HeroSuperpoderRowDTO(hero.getId(), hero.getNome(), hero.getNomeHeroi(),
+                    hero.getDataNascimento(), hero.getAltura(), hero.getPeso(), null, null, null));
+            }
+            for (Superpoder superpoder : superpoderes) {
+                rows.add(new HeroSuperpoderRowDTO(hero.getId(), hero.getNome(), hero.getNomeHeroi(),
+                    hero.getDataNascimento(), hero.getAltura(), hero.getPeso(),
+                    superpoder.getId(), superpoder.getNome(), superpoder.getDescricao()));
+            }
+        });
+        return rows;
     }
 }
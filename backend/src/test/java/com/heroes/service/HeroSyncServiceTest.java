@@ -0,0 +1,132 @@
+package com.heroes.service;
+
+import com.heroes.model.dto.HeroChangesDTO;
+import com.heroes.model.dto.HeroSuperpoderRowDTO;
+import com.heroes.model.dto.HeroVersionDTO;
+import com.heroes.model.entity.Hero;
+import com.heroes.model.entity.HeroRemovido;
+import com.heroes.model.entity.Superpoder;
+import com.heroes.model.mapper.HeroMapper;
+import com.heroes.repository.HeroRemovidoRepository;
+import com.heroes.repository.HeroRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class HeroSyncServiceTest {
+
+    private static final Instant T1 = Instant.parse("2024-05-01T10:00:00Z");
+    private static final Instant T2 = Instant.parse("2024-05-01T10:00:01Z");
+    private static final Instant T3 = Instant.parse("2024-05-01T10:00:02Z");
+
+    @Mock
+    private HeroRepository heroRepository;
+
+    @Mock
+    private HeroRemovidoRepository heroRemovidoRepository;
+
+    private HeroSyncService heroSyncService;
+
+    @BeforeEach
+    void setUp() {
+        heroSyncService = new HeroSyncService(heroRepository, heroRemovidoRepository, new HeroMapper(), Duration.ZERO);
+    }
+
+    @Test
+    void testFindChangesSinceMergesUpdatesAndRemovalsInChangeOrder() {
+        when(heroRepository.findChangedAfter(eq(Instant.EPOCH), eq(0L), any(Instant.class), eq(PageRequest.of(0, 101))))
+            .thenReturn(List.of(new HeroVersionDTO(2L, 0L, T1), new HeroVersionDTO(1L, 4L, T3)));
+        when(heroRemovidoRepository.findRemovedAfter(eq(Instant.EPOCH), eq(0L), any(Instant.class), eq(PageRequest.of(0, 101))))
+            .thenReturn(List.of(new HeroRemovido(7L, T2)));
+        when(heroRepository.findHeroRowsByIdIn(List.of(2L, 1L)))
+            .thenReturn(rows(hero(1L, "Superman"), hero(2L, "Batman")));
+
+        HeroChangesDTO changes = heroSyncService.findChangesSince(null, null);
+
+        assertEquals(List.of("Batman", "Superman"),
+            changes.atualizados().stream().map(hero -> hero.nomeHeroi()).toList());
+        assertEquals(List.of(7L), changes.removidos());
+        assertFalse(changes.temMais());
+        assertEquals(new HeroSyncWatermark(T3, 1L), HeroSyncWatermark.decode(changes.proximaMarca()));
+    }
+
+    @Test
+    void testFindChangesSinceStopsAtPageSize() {
+        when(heroRepository.findChangedAfter(any(), anyLong(), any(), eq(PageRequest.of(0, 2))))
+            .thenReturn(List.of(new HeroVersionDTO(2L, 0L, T1), new HeroVersionDTO(3L, 0L, T3)));
+        when(heroRemovidoRepository.findRemovedAfter(any(), anyLong(), any(), eq(PageRequest.of(0, 2))))
+            .thenReturn(List.of(new HeroRemovido(7L, T2)));
+        when(heroRepository.findHeroRowsByIdIn(List.of(2L))).thenReturn(rows(hero(2L, "Batman")));
+
+        HeroChangesDTO changes = heroSyncService.findChangesSince(null, 1);
+
+        assertEquals(1, changes.atualizados().size());
+        assertTrue(changes.removidos().isEmpty());
+        assertTrue(changes.temMais());
+        assertEquals(new HeroSyncWatermark(T1, 2L), HeroSyncWatermark.decode(changes.proximaMarca()));
+    }
+
+    @Test
+    void testFindChangesSinceWithoutChangesKeepsWatermark() {
+        String since = new HeroSyncWatermark(T2, 5L).encode();
+        when(heroRepository.findChangedAfter(eq(T2), eq(5L), any(), any())).thenReturn(List.of());
+        when(heroRemovidoRepository.findRemovedAfter(eq(T2), eq(5L), any(), any())).thenReturn(List.of());
+
+        HeroChangesDTO changes = heroSyncService.findChangesSince(since, null);
+
+        assertTrue(changes.atualizados().isEmpty());
+        assertTrue(changes.removidos().isEmpty());
+        assertEquals(since, changes.proximaMarca());
+        verify(heroRepository, never()).findHeroRowsByIdIn(any());
+    }
+
+    @Test
+    void testFindChangesSinceWithInvalidWatermark() {
+        assertThrows(IllegalArgumentException.class, () -> heroSyncService.findChangesSince("não-é-marca", null));
+        assertThrows(IllegalArgumentException.class, () -> heroSyncService.findChangesSince(null, 0));
+    }
+
+    private Hero hero(Long id, String nomeHeroi) {
+        Hero hero = new Hero("Pessoa " + id, nomeHeroi, LocalDate.of(1980, 1, 1), 1.80, 80.0);
+        hero.setId(id);
+        hero.setSuperpoderes(new HashSet<>());
+        return hero;
+    }
+
+    /** As linhas da projeção herói x superpoder que o banco devolveria para os heróis, em ordem de id. */
+    private static List<HeroSuperpoderRowDTO> rows(Hero... heroes) {
+        List<HeroSuperpoderRowDTO> rows = new ArrayList<>();
+        Arrays.stream(heroes).sorted(Comparator.comparing(Hero::getId)).forEach(hero -> {
+            List<Superpoder> superpoderes = hero.getSuperpoderes().stream()
+                    .sorted(Comparator.comparing(Superpoder::getId))
+                    .toList();
+            if (superpoderes.isEmpty()) {
+                rows.add(new HeroSuperpoderRowDTO(hero.getId(), hero.getNome(), hero.getNomeHeroi(),
+                    hero.getDataNascimento(), hero.getAltura(), hero.getPeso(), null, null, null));
+            }
+            for (Superpoder superpoder : superpoderes) {
+                rows.add(new HeroSuperpoderRowDTO(hero.getId(), hero.getNome(), hero.getNomeHeroi(),
+                    hero.getDataNascimento(), hero.getAltura(), hero.getPeso(),
+                    superpoder.getId(), superpoder.getNome(), superpoder.getDescricao()));
+            }
+        });
+        return rows;
+    }
+}
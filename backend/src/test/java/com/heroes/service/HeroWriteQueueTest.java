@@ -0,0 +1,227 @@
+package com.heroes.service;
+
+import com.heroes.config.exception.DuplicateHeroNameException;
+import com.heroes.config.exception.HeroWriteQueueFullException;
+import com.heroes.config.exception.HeroWriteQueueUnavailableException;
+import com.heroes.model.dto.HeroRequestDTO;
+import com.heroes.model.dto.HeroResponseDTO;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class HeroWriteQueueTest {
+
+    // longa o bastante para as escritas do teste caberem no mesmo lote
+    private static final Duration MAX_WAIT = Duration.ofMillis(300);
+    private static final Duration RESULT_TIMEOUT = Duration.ofSeconds(5);
+
+    @Mock
+    private HeroService heroService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private HeroWriteQueue heroWriteQueue;
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        if (heroWriteQueue != null) {
+            heroWriteQueue.shutdown();
+        }
+    }
+
+    @Test
+    void testWritesSubmittedTogetherShareOneCommit() {
+        startQueue(64, 100);
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        when(heroService.createHero(any())).thenAnswer(invocation -> response(invocation.getArgument(0)));
+
+        CompletableFuture<HeroResponseDTO> superman = heroWriteQueue.createHero(request("Superman"));
+        CompletableFuture<HeroResponseDTO> batman = heroWriteQueue.createHero(request("Batman"));
+        CompletableFuture<Void> removal = heroWriteQueue.removeHero(3L);
+
+        assertEquals("Superman", HeroWriteQueue.join(superman).nomeHeroi());
+        assertEquals("Batman", HeroWriteQueue.join(batman).nomeHeroi());
+        assertNull(HeroWriteQueue.join(removal));
+        assertEquals(1, heroWriteQueue.getCommitCount());
+        assertEquals(3, heroWriteQueue.getWriteCount());
+        verify(heroService).removeHero(3L);
+        verify(transactionManager, times(1)).commit(any());
+    }
+
+    @Test
+    void testBatchIsCutAtMaxBatchSize() {
+        startQueue(2, 100);
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        when(heroService.createHero(any())).thenAnswer(invocation -> response(invocation.getArgument(0)));
+
+        List<CompletableFuture<HeroResponseDTO>> futures = List.of(
+            heroWriteQueue.createHero(request("Heroi 1")),
+            heroWriteQueue.createHero(request("Heroi 2")),
+            heroWriteQueue.createHero(request("Heroi 3")));
+        futures.forEach(HeroWriteQueue::join);
+
+        assertEquals(2, heroWriteQueue.getCommitCount());
+        assertEquals(3, heroWriteQueue.getWriteCount());
+    }
+
+    @Test
+    void testValidationErrorFailsOnlyItsOwnWrite() {
+        startQueue(64, 100);
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        when(heroService.createHero(any())).thenAnswer(invocation -> response(invocation.getArgument(0)));
+        when(heroService.updateHero(eq(1L), any())).thenThrow(new DuplicateHeroNameException("Batman"));
+
+        CompletableFuture<HeroResponseDTO> created = heroWriteQueue.createHero(request("Superman"));
+        CompletableFuture<HeroResponseDTO> updated = heroWriteQueue.updateHero(1L, request("Batman"));
+
+        assertEquals("Superman", HeroWriteQueue.join(created).nomeHeroi());
+        DuplicateHeroNameException exception = assertThrows(DuplicateHeroNameException.class,
+            () -> HeroWriteQueue.join(updated));
+        assertEquals("Batman", exception.getNomeHeroi());
+        assertEquals(1, heroWriteQueue.getCommitCount());
+        verify(transactionManager, never()).rollback(any());
+    }
+
+    @Test
+    void testUnexpectedErrorRetriesEachWriteInItsOwnTransaction() {
+        startQueue(64, 100);
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        when(heroService.createHero(any())).thenAnswer(invocation -> {
+            HeroRequestDTO heroRequest = invocation.getArgument(0);
+            if (heroRequest.nomeHeroi().equals("Quebrado")) {
+                throw new IllegalStateException("falha no banco");
+            }
+            return response(heroRequest);
+        });
+
+        CompletableFuture<HeroResponseDTO> superman = heroWriteQueue.createHero(request("Superman"));
+        CompletableFuture<HeroResponseDTO> broken = heroWriteQueue.createHero(request("Quebrado"));
+        CompletableFuture<HeroResponseDTO> batman = heroWriteQueue.createHero(request("Batman"));
+
+        assertEquals("Superman", HeroWriteQueue.join(superman).nomeHeroi());
+        assertEquals("Batman", HeroWriteQueue.join(batman).nomeHeroi());
+        assertThrows(IllegalStateException.class, () -> HeroWriteQueue.join(broken));
+        verify(transactionManager).rollback(any());
+        verify(heroService, times(2)).createHero(request("Superman"));
+        // o lote desfeito não conta; cada escrita refeita sozinha é uma transação
+        assertEquals(3, heroWriteQueue.getCommitCount());
+    }
+
+    @Test
+    void testErrorFailsWholeBatchAndWriterKeepsRunning() {
+        startQueue(64, 100);
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        when(heroService.createHero(any())).thenAnswer(invocation -> {
+            HeroRequestDTO heroRequest = invocation.getArgument(0);
+            if (heroRequest.nomeHeroi().equals("Quebrado")) {
+                throw new StackOverflowError();
+            }
+            return response(heroRequest);
+        });
+
+        CompletableFuture<HeroResponseDTO> superman = heroWriteQueue.createHero(request("Superman"));
+        CompletableFuture<HeroResponseDTO> broken = heroWriteQueue.createHero(request("Quebrado"));
+
+        CompletionException exception = assertThrows(CompletionException.class, () -> HeroWriteQueue.join(superman));
+        assertInstanceOf(StackOverflowError.class, exception.getCause());
+        assertThrows(CompletionException.class, () -> HeroWriteQueue.join(broken));
+
+        assertEquals("Batman", HeroWriteQueue.join(heroWriteQueue.createHero(request("Batman"))).nomeHeroi());
+    }
+
+    @Test
+    void testCallerGivesUpAfterResultTimeout() {
+        heroWriteQueue = new HeroWriteQueue(heroService, new TransactionTemplate(transactionManager),
+            true, 1, MAX_WAIT, 100, Duration.ofMillis(100));
+        heroWriteQueue.start();
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        when(heroService.createHero(any())).thenAnswer(invocation -> {
+            Thread.sleep(500);
+            return response(invocation.getArgument(0));
+        });
+
+        CompletableFuture<HeroResponseDTO> slow = heroWriteQueue.createHero(request("Lento"));
+        CompletableFuture<HeroResponseDTO> abandoned = heroWriteQueue.createHero(request("Desistente"));
+
+        assertThrows(HeroWriteQueueUnavailableException.class, () -> HeroWriteQueue.join(slow));
+        assertThrows(HeroWriteQueueUnavailableException.class, () -> HeroWriteQueue.join(abandoned));
+        // a escrita que saiu da fila depois de o chamador desistir não é gravada
+        verify(heroService, after(800).times(1)).createHero(any());
+    }
+
+    @Test
+    void testShutdownQueueRejectsWrites() throws InterruptedException {
+        startQueue(64, 100);
+        heroWriteQueue.shutdown();
+
+        assertThrows(HeroWriteQueueUnavailableException.class, () -> heroWriteQueue.createHero(request("Superman")));
+        verifyNoInteractions(heroService);
+    }
+
+    @Test
+    void testFullQueueRejectsWrite() throws InterruptedException {
+        startQueue(64, 2);
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        when(heroService.createHero(any())).thenAnswer(invocation -> response(invocation.getArgument(0)));
+
+        CompletableFuture<HeroResponseDTO> first = heroWriteQueue.createHero(request("Heroi 1"));
+        CompletableFuture<HeroResponseDTO> second = heroWriteQueue.createHero(request("Heroi 2"));
+
+        assertThrows(HeroWriteQueueFullException.class, () -> heroWriteQueue.createHero(request("Heroi 3")));
+
+        // o encerramento grava o lote pendente
+        heroWriteQueue.shutdown();
+        assertEquals("Heroi 1", first.join().nomeHeroi());
+        assertEquals("Heroi 2", second.join().nomeHeroi());
+    }
+
+    @Test
+    void testDisabledQueueRejectsWrites() {
+        heroWriteQueue = new HeroWriteQueue(heroService, new TransactionTemplate(transactionManager),
+            false, 64, MAX_WAIT, 100, RESULT_TIMEOUT);
+        heroWriteQueue.start();
+
+        assertFalse(heroWriteQueue.isEnabled());
+        assertThrows(IllegalStateException.class, () -> heroWriteQueue.createHero(request("Superman")));
+        verifyNoInteractions(heroService, transactionManager);
+    }
+
+    @Test
+    void testJoinKeepsCheckedFailuresWrapped() {
+        CompletableFuture<String> future = CompletableFuture.failedFuture(new Exception("falha"));
+
+        assertThrows(CompletionException.class, () -> HeroWriteQueue.join(future));
+    }
+
+    private void startQueue(int maxBatchSize, int capacity) {
+        heroWriteQueue = new HeroWriteQueue(heroService, new TransactionTemplate(transactionManager),
+            true, maxBatchSize, MAX_WAIT, capacity, RESULT_TIMEOUT);
+        heroWriteQueue.start();
+    }
+
+    private static HeroRequestDTO request(String nomeHeroi) {
+        return new HeroRequestDTO("Pessoa " + nomeHeroi, nomeHeroi, LocalDate.of(1980, 1, 1), 1.80, 80.0, List.of(1L));
+    }
+
+    private static HeroResponseDTO response(HeroRequestDTO heroRequest) {
+        return new HeroResponseDTO(1L, heroRequest.nome(), heroRequest.nomeHeroi(), heroRequest.dataNascimento(),
+            heroRequest.altura(), heroRequest.peso(), List.of());
+    }
+}
@@ -0,0 +1,207 @@
+package com.heroes.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.heroes.model.dto.SuperpoderDTO;
+import com.heroes.model.entity.Superpoder;
+import com.heroes.model.mapper.HeroMapper;
+import com.heroes.repository.SuperpoderRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SuperpoderCatalogTest {
+
+    private static final Duration TTL = Duration.ofMinutes(10);
+
+    @Mock
+    private SuperpoderRepository superpoderRepository;
+
+    private MutableClock clock;
+    private SuperpoderCatalog superpoderCatalog;
+
+    private Superpoder superpoder1;
+    private Superpoder superpoder2;
+
+    @BeforeEach
+    void setUp() {
+        clock = new MutableClock(Instant.parse("2024-01-01T00:00:00Z"));
+        superpoderCatalog = new SuperpoderCatalog(superpoderRepository, new HeroMapper(), new ObjectMapper(), TTL, clock);
+
+        superpoder1 = new Superpoder("Super Força", "Capacidade de levantar objetos extremamente pesados");
+        superpoder1.setId(1L);
+
+        superpoder2 = new Superpoder("Voo", "Capacidade de voar pelos céus");
+        superpoder2.setId(2L);
+    }
+
+    @Test
+    void testGetSnapshotLoadsOnce() {
+        when(superpoderRepository.findAll()).thenReturn(List.of(superpoder1, superpoder2));
+
+        SuperpoderCatalog.Snapshot first = superpoderCatalog.getSnapshot();
+        SuperpoderCatalog.Snapshot second = superpoderCatalog.getSnapshot();
+
+        assertSame(first, second);
+        Map<Long, SuperpoderDTO> byId = first.byId();
+        assertEquals(2, byId.size());
+        assertEquals("Voo", byId.get(2L).nome());
+        assertEquals(List.of(byId.get(1L), byId.get(2L)), first.superpoderes());
+        assertThrows(UnsupportedOperationException.class, () -> byId.remove(1L));
+        assertThrows(UnsupportedOperationException.class, () -> first.superpoderes().clear());
+        verify(superpoderRepository, times(1)).findAll();
+    }
+
+    @Test
+    void testFindUnknownIdsWithoutDatabaseAccessWhenAllKnown() {
+        when(superpoderRepository.findAll()).thenReturn(List.of(superpoder1, superpoder2));
+        superpoderCatalog.getSnapshot();
+
+        List<Long> unknownIds = superpoderCatalog.findUnknownIds(List.of(1L, 2L, 1L));
+
+        assertTrue(unknownIds.isEmpty());
+        verify(superpoderRepository, times(1)).findAll();
+    }
+
+    @Test
+    void testFindUnknownIdsChecksOnlyMissingIdsBeforeReportingThem() {
+        Superpoder superpoder3 = new Superpoder("Visão de Calor", "Capacidade de emitir raios de calor pelos olhos");
+        superpoder3.setId(3L);
+
+        when(superpoderRepository.findAll())
+            .thenReturn(List.of(superpoder1, superpoder2))
+            .thenReturn(List.of(superpoder1, superpoder2, superpoder3));
+        when(superpoderRepository.findExistingIds(List.of(3L, 998L, 999L))).thenReturn(List.of(3L));
+        superpoderCatalog.getSnapshot();
+
+        List<Long> unknownIds = superpoderCatalog.findUnknownIds(List.of(1L, 3L, 998L, 999L));
+
+        assertEquals(List.of(998L, 999L), unknownIds);
+        verify(superpoderRepository, times(1)).findAll();
+        // o snapshot atrasado foi invalidado: a próxima leitura já traz o superpoder novo
+        assertTrue(superpoderCatalog.getSnapshot().byId().containsKey(3L));
+        verify(superpoderRepository, times(2)).findAll();
+    }
+
+    @Test
+    void testRepeatedUnknownIdDoesNotReloadCatalog() {
+        when(superpoderRepository.findAll()).thenReturn(List.of(superpoder1, superpoder2));
+        when(superpoderRepository.findExistingIds(List.of(999L))).thenReturn(List.of());
+
+        for (int i = 0; i < 3; i++) {
+            assertEquals(List.of(999L), superpoderCatalog.findUnknownIds(List.of(1L, 999L)));
+        }
+
+        verify(superpoderRepository, times(1)).findAll();
+        verify(superpoderRepository, times(3)).findExistingIds(List.of(999L));
+    }
+
+    @Test
+    void testInvalidateForcesReload() {
+        when(superpoderRepository.findAll()).thenReturn(List.of(superpoder1));
+        superpoderCatalog.getSnapshot();
+
+        superpoderCatalog.invalidate();
+        superpoderCatalog.getSnapshot();
+
+        verify(superpoderRepository, times(2)).findAll();
+    }
+
+    @Test
+    void testSnapshotExpiresAfterTtl() {
+        when(superpoderRepository.findAll()).thenReturn(List.of(superpoder1));
+        SuperpoderCatalog.Snapshot first = superpoderCatalog.getSnapshot();
+
+        clock.advance(TTL.minusSeconds(1));
+        assertSame(first, superpoderCatalog.getSnapshot());
+
+        clock.advance(Duration.ofSeconds(1));
+        assertNotSame(first, superpoderCatalog.getSnapshot());
+        verify(superpoderRepository, times(2)).findAll();
+    }
+
+    @Test
+    void testHitAndMissCounters() {
+        when(superpoderRepository.findAll()).thenReturn(List.of(superpoder1));
+
+        superpoderCatalog.getSnapshot();
+        superpoderCatalog.getSnapshot();
+        superpoderCatalog.getSnapshot();
+        superpoderCatalog.invalidate();
+        superpoderCatalog.getSnapshot();
+
+        assertEquals(2, superpoderCatalog.getHitCount());
+        assertEquals(2, superpoderCatalog.getMissCount());
+    }
+
+    @Test
+    void testETagStableForSameContentAndChangesWithContent() {
+        Superpoder renamed = new Superpoder("Voo Supersônico", "Capacidade de voar pelos céus");
+        renamed.setId(2L);
+
+        when(superpoderRepository.findAll())
+            .thenReturn(List.of(superpoder1, superpoder2))
+            .thenReturn(List.of(superpoder1, superpoder2))
+            .thenReturn(List.of(superpoder1, renamed));
+
+        String first = superpoderCatalog.getSnapshot().etag();
+        superpoderCatalog.invalidate();
+        String reloaded = superpoderCatalog.getSnapshot().etag();
+        superpoderCatalog.invalidate();
+        String changed = superpoderCatalog.getSnapshot().etag();
+
+        assertEquals(first, reloaded);
+        assertNotEquals(first, changed);
+    }
+
+    @Test
+    void testSnapshotCarriesSerializedList() throws Exception {
+        when(superpoderRepository.findAll()).thenReturn(List.of(superpoder1, superpoder2));
+
+        SuperpoderCatalog.Snapshot snapshot = superpoderCatalog.getSnapshot();
+
+        assertArrayEquals(new ObjectMapper().writeValueAsBytes(snapshot.superpoderes()), snapshot.json());
+        assertSame(snapshot.json(), superpoderCatalog.getSnapshot().json());
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private Instant instant;
+
+        private MutableClock(Instant instant) {
+            this.instant = instant;
+        }
+
+        void advance(Duration duration) {
+            instant = instant.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package com.heroes.service;
+
+import com.heroes.repository.HeroRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigInteger;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SuperpoderHeroIndexTest {
+
+    @Mock
+    private HeroRepository heroRepository;
+
+    private SuperpoderHeroIndex superpoderHeroIndex;
+
+    @BeforeEach
+    void setUp() {
+        superpoderHeroIndex = new SuperpoderHeroIndex(heroRepository);
+
+        // superpoder 1: heróis 10, 20, 30; superpoder 2: heróis 20, 30, 40; superpoder 3: herói 50
+        when(heroRepository.streamSuperpoderHeroIds()).thenReturn(Stream.of(
+            new Object[]{1L, 10L}, new Object[]{1L, 20L}, new Object[]{1L, 30L},
+            new Object[]{2L, 20L}, new Object[]{2L, 30L}, new Object[]{2L, 40L},
+            new Object[]{BigInteger.valueOf(3), BigInteger.valueOf(50)}
+        ));
+        superpoderHeroIndex.rebuild();
+    }
+
+    @Test
+    void testFindHeroIdsBySingleSuperpoder() {
+        assertEquals(List.of(10L, 20L, 30L), superpoderHeroIndex.findHeroIds(List.of(1L), List.of(), 0L, 10));
+        assertEquals(List.of(50L), superpoderHeroIndex.findHeroIds(List.of(3L), List.of(), 0L, 10));
+        assertTrue(superpoderHeroIndex.findHeroIds(List.of(99L), List.of(), 0L, 10).isEmpty());
+    }
+
+    @Test
+    void testFindHeroIdsWithAndOrCombinations() {
+        assertEquals(List.of(20L, 30L), superpoderHeroIndex.findHeroIds(List.of(1L, 2L), List.of(), 0L, 10));
+        assertEquals(List.of(10L, 20L, 30L, 40L, 50L),
+            superpoderHeroIndex.findHeroIds(List.of(), List.of(1L, 2L, 3L), 0L, 10));
+        assertEquals(List.of(20L, 30L), superpoderHeroIndex.findHeroIds(List.of(2L), List.of(1L, 3L), 0L, 10));
+        assertTrue(superpoderHeroIndex.findHeroIds(List.of(1L, 3L), List.of(), 0L, 10).isEmpty());
+    }
+
+    @Test
+    void testFindHeroIdsAfterPositionWithLimit() {
+        assertEquals(List.of(10L, 20L), superpoderHeroIndex.findHeroIds(List.of(), List.of(1L, 2L), 0L, 2));
+        assertEquals(List.of(30L, 40L), superpoderHeroIndex.findHeroIds(List.of(), List.of(1L, 2L), 20L, 2));
+        assertTrue(superpoderHeroIndex.findHeroIds(List.of(), List.of(1L, 2L), 40L, 2).isEmpty());
+    }
+
+    @Test
+    void testIndexHeroReplacesSuperpoderes() {
+        superpoderHeroIndex.indexHero(10L, List.of(2L, 3L));
+        superpoderHeroIndex.indexHero(60L, List.of(1L));
+
+        assertEquals(List.of(20L, 30L, 60L), superpoderHeroIndex.findHeroIds(List.of(1L), List.of(), 0L, 10));
+        assertEquals(List.of(10L, 20L, 30L, 40L), superpoderHeroIndex.findHeroIds(List.of(2L), List.of(), 0L, 10));
+        assertEquals(List.of(10L, 50L), superpoderHeroIndex.findHeroIds(List.of(3L), List.of(), 0L, 10));
+    }
+
+    @Test
+    void testRemoveHero() {
+        superpoderHeroIndex.removeHero(20L);
+
+        assertEquals(List.of(10L, 30L, 40L), superpoderHeroIndex.findHeroIds(List.of(), List.of(1L, 2L), 0L, 10));
+    }
+
+    @Test
+    void testUpdatesInsideTransactionApplyOnlyAfterCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            superpoderHeroIndex.indexHeroes(Map.of(60L, List.of(1L), 70L, List.of(1L)));
+            superpoderHeroIndex.removeHero(10L);
+
+            assertEquals(List.of(10L, 20L, 30L), superpoderHeroIndex.findHeroIds(List.of(1L), List.of(), 0L, 10));
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertEquals(List.of(20L, 30L, 60L, 70L), superpoderHeroIndex.findHeroIds(List.of(1L), List.of(), 0L, 10));
+    }
+
+    @Test
+    void testRebuildReplacesIndex() {
+        when(heroRepository.streamSuperpoderHeroIds()).thenReturn(Stream.<Object[]>of(new Object[]{1L, 99L}));
+
+        superpoderHeroIndex.rebuild();
+
+        assertEquals(List.of(99L), superpoderHeroIndex.findHeroIds(List.of(1L), List.of(), 0L, 10));
+        assertTrue(superpoderHeroIndex.findHeroIds(List.of(2L), List.of(), 0L, 10).isEmpty());
+    }
+}
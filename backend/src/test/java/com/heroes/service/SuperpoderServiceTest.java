@@ -1,5 +1,6 @@
 package com.heroes.service;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.heroes.model.dto.SuperpoderDTO;
 import com.heroes.model.entity.Superpoder;
 import com.heroes.model.mapper.HeroMapper;
@@ -7,10 +8,10 @@ import com.heroes.repository.SuperpoderRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.time.Duration;
 import java.util.*;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -25,7 +26,6 @@ class SuperpoderServiceTest {
     @Mock
     private HeroMapper heroMapper;
 
-    @InjectMocks
     private SuperpoderService superpoderService;
 
     private Superpoder superpoder1;
@@ -37,6 +37,9 @@ class SuperpoderServiceTest {
 
     @BeforeEach
     void setUp() {
+        superpoderService = new SuperpoderService(
+            new SuperpoderCatalog(superpoderRepository, heroMapper, new ObjectMapper(), Duration.ofMinutes(10)));
+
         superpoder1 = new Superpoder("Super Força", "Capacidade de levantar objetos extremamente pesados");
         superpoder1.setId(1L);
 
@@ -155,4 +158,32 @@ class SuperpoderServiceTest {
         verify(superpoderRepository).findAll();
         verify(heroMapper, times(10)).toSuperpoderDTO(any(Superpoder.class));
     }
+
+    @Test
+    void testFindAllServedFromCatalogSnapshot() {
+        when(superpoderRepository.findAll()).thenReturn(Arrays.asList(superpoder1, superpoder2));
+        when(heroMapper.toSuperpoderDTO(superpoder1)).thenReturn(superpoderDTO1);
+        when(heroMapper.toSuperpoderDTO(superpoder2)).thenReturn(superpoderDTO2);
+
+        List<SuperpoderDTO> first = superpoderService.findAll();
+        List<SuperpoderDTO> second = superpoderService.findAll();
+
+        assertSame(first, second);
+        assertThrows(UnsupportedOperationException.class, () -> first.add(superpoderDTO3));
+        verify(superpoderRepository, times(1)).findAll();
+        verify(heroMapper, times(2)).toSuperpoderDTO(any(Superpoder.class));
+    }
+
+    @Test
+    void testFindCatalogReturnsListAndETagFromSameSnapshot() {
+        when(superpoderRepository.findAll()).thenReturn(Arrays.asList(superpoder1));
+        when(heroMapper.toSuperpoderDTO(superpoder1)).thenReturn(superpoderDTO1);
+
+        SuperpoderCatalog.Snapshot catalog = superpoderService.findCatalog();
+
+        assertEquals(List.of(superpoderDTO1), catalog.superpoderes());
+        assertNotNull(catalog.etag());
+        assertSame(catalog.superpoderes(), superpoderService.findAll());
+        verify(superpoderRepository, times(1)).findAll();
+    }
 }
@@ -0,0 +1,7 @@
+-- Índices da migração V2 no esquema do perfil test, gerado pelo Hibernate com os nomes dos campos como colunas.
+CREATE INDEX IF NOT EXISTS idx_herois_atualizado_em ON herois (atualizadoEm, id);
+CREATE INDEX IF NOT EXISTS idx_herois_data_nascimento ON herois (dataNascimento, id);
+CREATE INDEX IF NOT EXISTS idx_herois_altura ON herois (altura, id);
+CREATE INDEX IF NOT EXISTS idx_herois_peso ON herois (peso, id);
+CREATE INDEX IF NOT EXISTS idx_herois_removidos_removido_em ON herois_removidos (removidoEm, heroiId);
+CREATE INDEX IF NOT EXISTS idx_heroissuperpoderes_superpoder ON heroissuperpoderes (superpoder_id, heroi_id);
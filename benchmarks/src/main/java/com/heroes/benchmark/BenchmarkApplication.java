@@ -0,0 +1,103 @@
+package com.heroes.benchmark;
+
+import com.heroes.HeroesManagementApplication;
+import com.heroes.model.dto.HeroRequestDTO;
+import com.heroes.model.dto.SuperpoderDTO;
+import com.heroes.service.HeroBatchService;
+import com.heroes.service.SuperpoderService;
+import org.h2.tools.Server;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+final class BenchmarkApplication {
+
+    private static final int SEED_BATCH_SIZE = 5000;
+
+    private BenchmarkApplication() {
+    }
+
+    static ConfigurableApplicationContext start(int heroCount, int superpoderesPerHero, String... extraArgs) {
+        List<String> args = new ArrayList<>(List.of(
+            "--spring.datasource.url=jdbc:h2:mem:benchmark;DB_CLOSE_DELAY=-1",
+            "--spring.jpa.show-sql=false",
+            "--spring.main.banner-mode=off",
+            "--logging.level.root=WARN",
+            "--logging.level.org.hibernate.SQL=OFF",
+            "--logging.level.org.hibernate.type.descriptor.sql.BasicBinder=OFF"
+        ));
+        for (String extraArg : extraArgs) {
+            // um argumento repetido viraria lista ("a,b"); o extra substitui o padrão de mesma chave
+            String key = extraArg.substring(0, extraArg.indexOf('=') + 1);
+            args.removeIf(arg -> arg.startsWith(key));
+            args.add(extraArg);
+        }
+
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(HeroesManagementApplication.class)
+                .web(WebApplicationType.NONE)
+                .profiles("h2")
+                // argumentos de linha de comando: precedem o application-h2.yml (propriedades padrão não)
+                .run(args.toArray(String[]::new));
+
+        seedHeroes(context, heroCount, superpoderesPerHero);
+        return context;
+    }
+
+    /**
+     * Servidor H2 TCP local: cada ida ao banco passa pela rede, como no PostgreSQL. Em memória no mesmo
+     * processo, o custo de ida e volta (lotes, pool de conexões) quase não aparece.
+     */
+    static Server startH2TcpServer() throws SQLException, IOException {
+        return Server.createTcpServer("-tcpPort", String.valueOf(freePort()), "-ifNotExists").start();
+    }
+
+    static String h2TcpUrl(Server server, String database) {
+        return "jdbc:h2:tcp://localhost:" + server.getPort() + "/mem:" + database + ";DB_CLOSE_DELAY=-1";
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    private static void seedHeroes(ConfigurableApplicationContext context, int heroCount, int superpoderesPerHero) {
+        HeroBatchService heroBatchService = context.getBean(HeroBatchService.class);
+        List<Long> superpoderIds = context.getBean(SuperpoderService.class).findAll().stream()
+                .map(SuperpoderDTO::id)
+                .toList();
+
+        List<HeroRequestDTO> heroRequests = new ArrayList<>(SEED_BATCH_SIZE);
+        for (int i = 0; i < heroCount; i++) {
+            List<Long> heroSuperpoderIds = new ArrayList<>(superpoderesPerHero);
+            for (int j = 0; j < superpoderesPerHero; j++) {
+                heroSuperpoderIds.add(superpoderIds.get((i + j) % superpoderIds.size()));
+            }
+
+            heroRequests.add(new HeroRequestDTO(
+                "Pessoa " + i,
+                "Heroi Benchmark " + i,
+                LocalDate.of(1950, 1, 1).plusDays(i % 20000),
+                1.50 + (i % 60) / 100.0,
+                50.0 + (i % 80),
+                heroSuperpoderIds
+            ));
+
+            if (heroRequests.size() == SEED_BATCH_SIZE) {
+                heroBatchService.createHeroes(heroRequests);
+                heroRequests.clear();
+            }
+        }
+
+        if (!heroRequests.isEmpty()) {
+            heroBatchService.createHeroes(heroRequests);
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.heroes.benchmark;
+
+import com.heroes.model.dto.HeroRequestDTO;
+import com.heroes.model.dto.SuperpoderDTO;
+import com.heroes.service.HeroBatchService;
+import com.heroes.service.HeroService;
+import com.heroes.service.SuperpoderService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compara a criação de heróis um a um (HeroService.createHero) com POST /api/heroes/batch
+ * (HeroBatchService.createHeroes) para o mesmo número de heróis por operação.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class HeroBatchInsertBenchmark {
+
+    @Param({"1000"})
+    private int heroesPerOperation;
+
+    @Param({"3"})
+    private int superpoderesPerHero;
+
+    private ConfigurableApplicationContext context;
+    private HeroService heroService;
+    private HeroBatchService heroBatchService;
+    private List<Long> superpoderIds;
+    private long sequence;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApplication.start(0, superpoderesPerHero);
+        heroService = context.getBean(HeroService.class);
+        heroBatchService = context.getBean(HeroBatchService.class);
+        superpoderIds = context.getBean(SuperpoderService.class).findAll().stream()
+                .map(SuperpoderDTO::id)
+                .toList();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public int createOneByOne() {
+        List<HeroRequestDTO> heroRequests = nextHeroRequests();
+        heroRequests.forEach(heroService::createHero);
+        return heroRequests.size();
+    }
+
+    @Benchmark
+    public int createBatch() {
+        return heroBatchService.createHeroes(nextHeroRequests()).size();
+    }
+
+    private List<HeroRequestDTO> nextHeroRequests() {
+        List<HeroRequestDTO> heroRequests = new ArrayList<>(heroesPerOperation);
+        for (int i = 0; i < heroesPerOperation; i++) {
+            long heroNumber = sequence++;
+            heroRequests.add(new HeroRequestDTO(
+                "Pessoa " + heroNumber,
+                "Heroi Insert " + heroNumber,
+                LocalDate.of(1980, 1, 1),
+                1.80,
+                80.0,
+                superpoderIds.subList(0, superpoderesPerHero)
+            ));
+        }
+        return heroRequests;
+    }
+}
@@ -0,0 +1,77 @@
+package com.heroes.benchmark;
+
+import com.heroes.service.HeroService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.h2.tools.Server;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Carga concorrente em HeroService.findHeroById (GET /api/heroes/{id}) com 32 threads, variando o tamanho
+ * do pool HikariCP. O H2 roda como servidor TCP local. Ao fim de cada configuração, imprime a espera média
+ * por conexão (hikaricp.connections.acquire) e os timeouts do pool.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Threads(32)
+@Fork(1)
+public class HeroConnectionPoolBenchmark {
+
+    @Param({"2", "4", "8", "16", "32"})
+    private int poolSize;
+
+    @Param({"10000"})
+    private int heroCount;
+
+    @Param({"3"})
+    private int superpoderesPerHero;
+
+    private Server h2Server;
+    private ConfigurableApplicationContext context;
+    private HeroService heroService;
+    private List<Long> heroIds;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException, IOException {
+        h2Server = BenchmarkApplication.startH2TcpServer();
+        context = BenchmarkApplication.start(heroCount, superpoderesPerHero,
+            "--spring.datasource.url=" + BenchmarkApplication.h2TcpUrl(h2Server, "benchmark-pool"),
+            "--spring.datasource.hikari.maximum-pool-size=" + poolSize,
+            "--spring.datasource.hikari.minimum-idle=" + poolSize);
+        heroService = context.getBean(HeroService.class);
+        heroIds = context.getBean(JdbcTemplate.class).queryForList("SELECT id FROM herois", Long.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        MeterRegistry meterRegistry = context.getBean(MeterRegistry.class);
+        Timer acquire = meterRegistry.find("hikaricp.connections.acquire").timer();
+        double timeouts = meterRegistry.find("hikaricp.connections.timeout").counters().stream()
+                .mapToDouble(counter -> counter.count())
+                .sum();
+        if (acquire != null) {
+            System.out.printf("%npool=%d: espera média por conexão %.1f µs (máx. %.1f µs), timeouts %.0f%n",
+                poolSize, acquire.mean(TimeUnit.MICROSECONDS), acquire.max(TimeUnit.MICROSECONDS), timeouts);
+        }
+
+        context.close();
+        h2Server.stop();
+    }
+
+    @Benchmark
+    public Object findHeroById() {
+        Long heroId = heroIds.get(ThreadLocalRandom.current().nextInt(heroIds.size()));
+        return heroService.findHeroById(heroId);
+    }
+}
@@ -0,0 +1,132 @@
+package com.heroes.benchmark;
+
+import com.heroes.config.VersionConflictRetryInterceptor;
+import com.heroes.model.dto.HeroRequestDTO;
+import com.heroes.model.dto.SuperpoderDTO;
+import com.heroes.service.HeroService;
+import com.heroes.service.SuperpoderService;
+import org.h2.tools.Server;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Alterações concorrentes (HeroService.updateHero, PUT /api/heroes/{id}) por 16 threads sobre 1 herói (todas
+ * disputam o mesmo) ou 1.024 heróis (quase sem disputa), com o H2 como servidor TCP local. Modos:
+ * <ul>
+ *   <li>travas: trava por herói (HeroLocks) e até 3 tentativas por conflito de versão;</li>
+ *   <li>otimista: sem travas, até 3 tentativas por conflito de versão;</li>
+ *   <li>nenhum: sem travas nem novas tentativas; cada conflito é uma alteração recusada (409).</li>
+ * </ul>
+ * Ao fim de cada iteração são impressas as alterações aceitas, recusadas e refeitas; ao fim da configuração, a
+ * soma das versões dos heróis confere que cada alteração aceita foi aplicada sobre a anterior, sem nenhuma perdida.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Threads(16)
+@Fork(1)
+public class HeroContendedUpdateBenchmark {
+
+    @Param({"travas", "otimista", "nenhum"})
+    private String modo;
+
+    @Param({"1", "1024"})
+    private int heroCount;
+
+    private Server h2Server;
+    private ConfigurableApplicationContext context;
+    private HeroService heroService;
+    private VersionConflictRetryInterceptor retryInterceptor;
+    private List<Map<String, Object>> heroes;
+    private List<Long> superpoderIds;
+    private long initialVersions;
+    private final AtomicLong accepted = new AtomicLong();
+    private final AtomicLong refused = new AtomicLong();
+    private long acceptedAtStart;
+    private long refusedAtStart;
+    private long retriesAtStart;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException, IOException {
+        h2Server = BenchmarkApplication.startH2TcpServer();
+        context = BenchmarkApplication.start(heroCount, 1,
+            "--spring.datasource.url=" + BenchmarkApplication.h2TcpUrl(h2Server, "benchmark-contended-update"),
+            "--spring.datasource.hikari.maximum-pool-size=16",
+            // cada conflito de versão já é contado aqui; o log de erro do lote a cada conflito só atrasaria as threads
+            "--logging.level.org.hibernate.engine.jdbc.batch.internal.BatchingBatch=OFF",
+            "--heroes.escrita.travas-por-heroi=" + modo.equals("travas"),
+            "--heroes.escrita.tentativas-otimistas=" + (modo.equals("nenhum") ? 1 : 3));
+        heroService = context.getBean(HeroService.class);
+        retryInterceptor = context.getBean(VersionConflictRetryInterceptor.class);
+        heroes = context.getBean(JdbcTemplate.class).queryForList("SELECT id, nome_heroi FROM herois");
+        superpoderIds = context.getBean(SuperpoderService.class).findAll().stream()
+                .map(SuperpoderDTO::id)
+                .limit(2)
+                .toList();
+        initialVersions = sumVersions();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        long applied = sumVersions() - initialVersions;
+        System.out.printf("%n%s, %d heróis: %d alterações aceitas, %d versões aplicadas, %d perdidas%n",
+            modo, heroCount, accepted.get(), applied, accepted.get() - applied);
+
+        context.close();
+        h2Server.stop();
+    }
+
+    @Setup(Level.Iteration)
+    public void startIteration() {
+        acceptedAtStart = accepted.get();
+        refusedAtStart = refused.get();
+        retriesAtStart = retryInterceptor.getRetryCount();
+    }
+
+    @TearDown(Level.Iteration)
+    public void reportIteration() {
+        System.out.printf("%n  aceitas: %d, recusadas (409): %d, refeitas: %d%n",
+            accepted.get() - acceptedAtStart, refused.get() - refusedAtStart,
+            retryInterceptor.getRetryCount() - retriesAtStart);
+    }
+
+    @Benchmark
+    public Object updateHero() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        Map<String, Object> hero = heroes.get(random.nextInt(heroes.size()));
+        HeroRequestDTO heroRequest = new HeroRequestDTO(
+            "Pessoa Alterada",
+            (String) hero.get("nome_heroi"),
+            LocalDate.of(1950, 1, 1).plusDays(random.nextInt(20000)),
+            1.50 + random.nextInt(60) / 100.0,
+            50.0 + random.nextInt(80),
+            superpoderIds
+        );
+        try {
+            Object updated = heroService.updateHero(((Number) hero.get("id")).longValue(), heroRequest);
+            accepted.incrementAndGet();
+            return updated;
+        } catch (OptimisticLockingFailureException ex) {
+            refused.incrementAndGet();
+            return ex;
+        }
+    }
+
+    private long sumVersions() {
+        Long versions = context.getBean(JdbcTemplate.class).queryForObject("SELECT SUM(versao) FROM herois", Long.class);
+        return versions != null ? versions : 0L;
+    }
+}
@@ -0,0 +1,77 @@
+package com.heroes.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.heroes.model.dto.HeroResponseDTO;
+import com.heroes.model.mapper.HeroMapper;
+import com.heroes.repository.HeroRepository;
+import com.heroes.service.HeroExportService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Compara a listagem materializada (findAllWithSuperpoderes + List de DTOs + array JSON)
+ * com a exportação NDJSON em streaming. Rodar com {@code -prof gc}: o heap fixo do fork
+ * faz a listagem materializada estourar memória conforme heroCount cresce, enquanto a
+ * exportação mantém o uso de heap constante.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xms384m", "-Xmx384m"})
+public class HeroExportBenchmark {
+
+    @Param({"10000", "100000"})
+    private int heroCount;
+
+    @Param({"3"})
+    private int superpoderesPerHero;
+
+    private ConfigurableApplicationContext context;
+    private HeroRepository heroRepository;
+    private HeroMapper heroMapper;
+    private HeroExportService heroExportService;
+    private ObjectMapper objectMapper;
+    private TransactionTemplate readOnlyTransaction;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApplication.start(heroCount, superpoderesPerHero);
+        heroRepository = context.getBean(HeroRepository.class);
+        heroMapper = context.getBean(HeroMapper.class);
+        heroExportService = context.getBean(HeroExportService.class);
+        objectMapper = context.getBean(ObjectMapper.class);
+        readOnlyTransaction = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        readOnlyTransaction.setReadOnly(true);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public int materializedList() throws IOException {
+        List<HeroResponseDTO> heroes = readOnlyTransaction.execute(status ->
+            heroRepository.findAllWithSuperpoderes().stream()
+                .map(heroMapper::toResponseDTO)
+                .collect(Collectors.toList()));
+
+        objectMapper.writeValue(OutputStream.nullOutputStream(), heroes);
+        return heroes.size();
+    }
+
+    @Benchmark
+    public long ndjsonExport() throws IOException {
+        return heroExportService.exportHeroesAsNdjson(OutputStream.nullOutputStream());
+    }
+}
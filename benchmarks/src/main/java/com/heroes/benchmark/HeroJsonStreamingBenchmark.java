@@ -0,0 +1,131 @@
+package com.heroes.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.heroes.model.dto.HeroSortField;
+import com.heroes.model.entity.Hero;
+import com.heroes.repository.HeroRepository;
+import com.heroes.service.HeroExportService;
+import com.heroes.service.HeroJsonWriter;
+import com.heroes.service.HeroService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compara a escrita direta em JSON (heroes.json.escrita-direta=true, HeroJsonWriter) com o caminho por
+ * entidades e HeroResponseDTO, na exportação NDJSON de todos os heróis e numa página de 500 heróis da
+ * listagem. Rodar com {@code -prof gc}: gc.alloc.rate.norm dividido por heroCount (exportação) ou por
+ * 500 (página) dá os bytes alocados por herói. Os benchmarks firstByte* medem o tempo até o primeiro
+ * bloco chegar ao OutputStream, quando a resposta começa a ir para o cliente.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xms384m", "-Xmx384m"})
+public class HeroJsonStreamingBenchmark {
+
+    private static final int PAGE_SIZE = 500;
+
+    @Param({"10000"})
+    private int heroCount;
+
+    @Param({"3"})
+    private int superpoderesPerHero;
+
+    @Param({"false", "true"})
+    private boolean escritaDireta;
+
+    private ConfigurableApplicationContext context;
+    private HeroService heroService;
+    private HeroExportService heroExportService;
+    private HeroJsonWriter heroJsonWriter;
+    private ObjectMapper objectMapper;
+    private List<Long> pageIds;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApplication.start(heroCount, superpoderesPerHero,
+            "--heroes.json.escrita-direta=" + escritaDireta);
+        heroService = context.getBean(HeroService.class);
+        heroExportService = context.getBean(HeroExportService.class);
+        heroJsonWriter = context.getBean(HeroJsonWriter.class);
+        objectMapper = context.getBean(ObjectMapper.class);
+        pageIds = context.getBean(HeroRepository.class)
+                .findAll(PageRequest.of(0, PAGE_SIZE, Sort.by("id")))
+                .map(Hero::getId)
+                .getContent();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public long export() throws IOException {
+        return heroExportService.exportHeroesAsNdjson(OutputStream.nullOutputStream());
+    }
+
+    @Benchmark
+    public int page() throws IOException {
+        return writePage(OutputStream.nullOutputStream());
+    }
+
+    @Benchmark
+    public boolean firstByteExport() throws IOException {
+        try {
+            heroExportService.exportHeroesAsNdjson(new FirstByteOutputStream());
+            return false;
+        } catch (FirstByteException e) {
+            return true;
+        }
+    }
+
+    @Benchmark
+    public boolean firstBytePage() throws IOException {
+        try {
+            writePage(new FirstByteOutputStream());
+            return false;
+        } catch (FirstByteException e) {
+            return true;
+        }
+    }
+
+    /** O que o HeroController faz com a página já resolvida, com e sem a escrita direta. */
+    private int writePage(OutputStream outputStream) throws IOException {
+        if (heroJsonWriter.isEnabled()) {
+            return heroJsonWriter.writeHeroes(pageIds, HeroSortField.ID, Sort.Direction.ASC, outputStream);
+        }
+        objectMapper.writeValue(outputStream, heroService.findHeroesByIds(pageIds));
+        return pageIds.size();
+    }
+
+    /** Interrompe a escrita no primeiro bloco recebido, como um cliente que só mede o primeiro byte. */
+    private static final class FirstByteOutputStream extends OutputStream {
+
+        @Override
+        public void write(int b) throws IOException {
+            throw new FirstByteException();
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            throw new FirstByteException();
+        }
+    }
+
+    private static final class FirstByteException extends IOException {
+
+        FirstByteException() {
+            super("primeiro byte recebido");
+        }
+    }
+}
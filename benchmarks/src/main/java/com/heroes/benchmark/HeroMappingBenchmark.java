@@ -0,0 +1,53 @@
+package com.heroes.benchmark;
+
+import com.heroes.model.dto.HeroResponseDTO;
+import com.heroes.model.entity.Hero;
+import com.heroes.model.entity.Superpoder;
+import com.heroes.model.mapper.HeroMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDate;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Conversão entidade → DTO de um herói já carregado, sem banco (HeroMapper.toResponseDTO, usado pelo
+ * HeroService, pela exportação e pela sincronização), variando a quantidade de superpoderes. Rodar com
+ * {@code -prof gc} para ver a alocação por conversão (gc.alloc.rate.norm).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class HeroMappingBenchmark {
+
+    @Param({"1", "10", "100"})
+    private int superpoderesPerHero;
+
+    private HeroMapper heroMapper;
+    private Hero hero;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        heroMapper = new HeroMapper();
+
+        Set<Superpoder> superpoderes = new HashSet<>();
+        for (long i = 1; i <= superpoderesPerHero; i++) {
+            Superpoder superpoder = new Superpoder("Superpoder " + i, "Descrição do superpoder " + i);
+            superpoder.setId(i);
+            superpoderes.add(superpoder);
+        }
+
+        hero = new Hero("Pessoa Benchmark", "Heroi Benchmark", LocalDate.of(1950, 1, 1), 1.80, 80.0);
+        hero.setId(1L);
+        hero.setSuperpoderes(superpoderes);
+    }
+
+    @Benchmark
+    public HeroResponseDTO heroMapper() {
+        return heroMapper.toResponseDTO(hero);
+    }
+}
@@ -0,0 +1,72 @@
+package com.heroes.benchmark;
+
+import com.heroes.model.dto.HeroResponseDTO;
+import com.heroes.model.dto.HeroSuperpoderRowDTO;
+import com.heroes.model.mapper.HeroMapper;
+import com.heroes.repository.HeroRepository;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Compara a leitura de todos os heróis como entidades gerenciadas (findAllWithSuperpoderes + HeroMapper.toResponseDTO)
+ * com a projeção herói x superpoder (streamAllHeroRows + HeroMapper.toResponseDTOs), as duas em transação somente
+ * leitura, como nos endpoints de listagem. Rodar com {@code -prof gc} para ver os bytes alocados por operação.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+public class HeroProjectionBenchmark {
+
+    @Param({"100000"})
+    private int heroCount;
+
+    @Param({"3"})
+    private int superpoderesPerHero;
+
+    private ConfigurableApplicationContext context;
+    private HeroRepository heroRepository;
+    private HeroMapper heroMapper;
+    private TransactionTemplate readOnlyTransaction;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApplication.start(heroCount, superpoderesPerHero);
+        heroRepository = context.getBean(HeroRepository.class);
+        heroMapper = context.getBean(HeroMapper.class);
+        readOnlyTransaction = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        readOnlyTransaction.setReadOnly(true);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<HeroResponseDTO> managedEntities() {
+        return readOnlyTransaction.execute(status ->
+            heroRepository.findAllWithSuperpoderes().stream()
+                .distinct()
+                .map(heroMapper::toResponseDTO)
+                .collect(Collectors.toList()));
+    }
+
+    @Benchmark
+    public List<HeroResponseDTO> projection() {
+        return readOnlyTransaction.execute(status -> {
+            try (Stream<HeroSuperpoderRowDTO> rows = heroRepository.streamAllHeroRows()) {
+                return heroMapper.toResponseDTOs(rows.collect(Collectors.toList()));
+            }
+        });
+    }
+}
@@ -0,0 +1,77 @@
+package com.heroes.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.heroes.model.dto.HeroResponseDTO;
+import com.heroes.model.dto.SuperpoderDTO;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serialização JSON de listas de HeroResponseDTO (o corpo das listagens de heróis), com o ObjectMapper
+ * configurado como na aplicação e sem banco. A lista é montada no setup; mede-se só a escrita, para um
+ * stream descartado.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class HeroSerializationBenchmark {
+
+    private static final int SUPERPODER_COUNT = 100;
+
+    @Param({"10", "1000", "100000"})
+    private int heroCount;
+
+    @Param({"3"})
+    private int superpoderesPerHero;
+
+    private ObjectMapper objectMapper;
+    private List<HeroResponseDTO> heroes;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        // mesmos padrões do Spring Boot, com spring.jackson.serialization.write-dates-as-timestamps=false
+        objectMapper = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+
+        List<SuperpoderDTO> superpoderes = new ArrayList<>(SUPERPODER_COUNT);
+        for (long i = 1; i <= SUPERPODER_COUNT; i++) {
+            superpoderes.add(new SuperpoderDTO(i, "Superpoder " + i, "Descrição do superpoder " + i));
+        }
+
+        heroes = new ArrayList<>(heroCount);
+        for (int i = 0; i < heroCount; i++) {
+            List<SuperpoderDTO> heroSuperpoderes = new ArrayList<>(superpoderesPerHero);
+            for (int j = 0; j < superpoderesPerHero; j++) {
+                heroSuperpoderes.add(superpoderes.get((i + j) % SUPERPODER_COUNT));
+            }
+
+            heroes.add(new HeroResponseDTO(
+                (long) i + 1,
+                "Pessoa " + i,
+                "Heroi Benchmark " + i,
+                LocalDate.of(1950, 1, 1).plusDays(i % 20000),
+                1.50 + (i % 60) / 100.0,
+                50.0 + (i % 80),
+                heroSuperpoderes
+            ));
+        }
+    }
+
+    @Benchmark
+    public List<HeroResponseDTO> writeHeroList() throws IOException {
+        objectMapper.writeValue(OutputStream.nullOutputStream(), heroes);
+        return heroes;
+    }
+}
@@ -0,0 +1,118 @@
+package com.heroes.benchmark;
+
+import com.heroes.model.dto.HeroFilterDTO;
+import com.heroes.model.dto.HeroPageDTO;
+import com.heroes.model.dto.HeroRequestDTO;
+import com.heroes.model.dto.HeroResponseDTO;
+import com.heroes.model.dto.SuperpoderDTO;
+import com.heroes.service.HeroService;
+import com.heroes.service.SuperpoderService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Métodos públicos do HeroService de ponta a ponta (transação, consultas no H2 em memória e conversão para
+ * DTO), sem a camada HTTP. As escritas alteram a massa: updateHero lê um herói e o regrava com outro peso
+ * (a medida inclui a leitura), e createAndRemoveHero remove o herói que acabou de criar.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class HeroServiceBenchmark {
+
+    @Param({"10000"})
+    private int heroCount;
+
+    @Param({"3"})
+    private int superpoderesPerHero;
+
+    @Param({"50"})
+    private int pageSize;
+
+    private ConfigurableApplicationContext context;
+    private HeroService heroService;
+    private List<Long> heroIds;
+    private List<Long> superpoderIds;
+    private long createdHeroCount;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApplication.start(heroCount, superpoderesPerHero);
+        heroService = context.getBean(HeroService.class);
+        heroIds = context.getBean(JdbcTemplate.class).queryForList("SELECT id FROM herois", Long.class);
+        superpoderIds = context.getBean(SuperpoderService.class).findAll().stream()
+                .map(SuperpoderDTO::id)
+                .toList();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public HeroResponseDTO findHeroById() {
+        return heroService.findHeroById(randomHeroId());
+    }
+
+    @Benchmark
+    public HeroPageDTO findAllHeroes() {
+        return heroService.findAllHeroes(HeroFilterDTO.semFiltros(), null, pageSize);
+    }
+
+    @Benchmark
+    public List<HeroResponseDTO> findHeroesByIds() {
+        int from = ThreadLocalRandom.current().nextInt(heroIds.size() - pageSize);
+        return heroService.findHeroesByIds(heroIds.subList(from, from + pageSize));
+    }
+
+    @Benchmark
+    public HeroPageDTO findHeroesBySuperpoderes() {
+        return heroService.findHeroesBySuperpoderes(List.of(randomSuperpoderId()), null, null, pageSize);
+    }
+
+    @Benchmark
+    public HeroResponseDTO updateHero() {
+        Long heroId = randomHeroId();
+        HeroResponseDTO hero = heroService.findHeroById(heroId);
+        return heroService.updateHero(heroId, new HeroRequestDTO(
+            hero.nome(),
+            hero.nomeHeroi(),
+            hero.dataNascimento(),
+            hero.altura(),
+            hero.peso() + 1,
+            List.of(randomSuperpoderId())
+        ));
+    }
+
+    @Benchmark
+    public Long createAndRemoveHero() {
+        HeroResponseDTO hero = heroService.createHero(new HeroRequestDTO(
+            "Pessoa Criada",
+            "Heroi Criado " + createdHeroCount++,
+            LocalDate.of(1980, 1, 1),
+            1.80,
+            80.0,
+            List.of(randomSuperpoderId())
+        ));
+        heroService.removeHero(hero.id());
+        return hero.id();
+    }
+
+    private Long randomHeroId() {
+        return heroIds.get(ThreadLocalRandom.current().nextInt(heroIds.size()));
+    }
+
+    private Long randomSuperpoderId() {
+        return superpoderIds.get(ThreadLocalRandom.current().nextInt(superpoderIds.size()));
+    }
+}
@@ -0,0 +1,126 @@
+package com.heroes.benchmark;
+
+import com.heroes.model.dto.HeroRequestDTO;
+import com.heroes.model.dto.HeroResponseDTO;
+import com.heroes.model.dto.SuperpoderDTO;
+import com.heroes.service.HeroService;
+import com.heroes.service.HeroWriteQueue;
+import com.heroes.service.SuperpoderService;
+import org.h2.tools.Server;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.util.FileSystemUtils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Criação de heróis por 32 chamadores concorrentes, cada um na sua transação (agrupada=false) ou pela escrita
+ * agrupada (HeroWriteQueue), com um commit por lote. O H2 roda como servidor TCP local sobre um banco em arquivo
+ * com WRITE_DELAY=0, para cada commit gravar no arquivo. O modo SampleTime dá os percentis da latência de cada
+ * criação; ao fim de cada iteração são impressos as escritas e os commits por segundo.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Threads(32)
+@Fork(value = 1, jvmArgsAppend = {"-Xms512m", "-Xmx512m"})
+public class HeroWriteQueueBenchmark {
+
+    @Param({"false", "true"})
+    private boolean agrupada;
+
+    @Param({"64"})
+    private int loteMaximo;
+
+    @Param({"PT0.002S"})
+    private String esperaMaxima;
+
+    private Path databaseDirectory;
+    private Server h2Server;
+    private ConfigurableApplicationContext context;
+    private HeroService heroService;
+    private HeroWriteQueue heroWriteQueue;
+    private List<Long> superpoderIds;
+    private final AtomicLong sequence = new AtomicLong();
+    private final AtomicLong directCommits = new AtomicLong();
+    private long iterationStart;
+    private long writesAtStart;
+    private long commitsAtStart;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException, IOException {
+        databaseDirectory = Files.createTempDirectory("heroes-escrita-agrupada");
+        h2Server = BenchmarkApplication.startH2TcpServer();
+        String url = "jdbc:h2:tcp://localhost:" + h2Server.getPort() + "/"
+                + databaseDirectory.resolve("benchmark").toAbsolutePath() + ";WRITE_DELAY=0";
+        context = BenchmarkApplication.start(0, 0,
+            "--spring.datasource.url=" + url,
+            "--spring.datasource.hikari.maximum-pool-size=32",
+            "--heroes.escrita.agrupada=" + agrupada,
+            "--heroes.escrita.lote-maximo=" + loteMaximo,
+            "--heroes.escrita.espera-maxima=" + esperaMaxima);
+        heroService = context.getBean(HeroService.class);
+        heroWriteQueue = context.getBean(HeroWriteQueue.class);
+        superpoderIds = context.getBean(SuperpoderService.class).findAll().stream()
+                .map(SuperpoderDTO::id)
+                .limit(3)
+                .toList();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        context.close();
+        h2Server.stop();
+        FileSystemUtils.deleteRecursively(databaseDirectory);
+    }
+
+    @Setup(Level.Iteration)
+    public void startIteration() {
+        iterationStart = System.nanoTime();
+        writesAtStart = writes();
+        commitsAtStart = commits();
+    }
+
+    @TearDown(Level.Iteration)
+    public void reportIteration() {
+        double seconds = (System.nanoTime() - iterationStart) / 1e9;
+        System.out.printf("%n  escritas/s: %.0f, commits/s: %.0f%n",
+            (writes() - writesAtStart) / seconds, (commits() - commitsAtStart) / seconds);
+    }
+
+    @Benchmark
+    public HeroResponseDTO createHero() {
+        long index = sequence.incrementAndGet();
+        HeroRequestDTO heroRequest = new HeroRequestDTO(
+            "Pessoa " + index,
+            "Heroi Escrita " + index,
+            LocalDate.of(1950, 1, 1).plusDays(index % 20000),
+            1.50 + (index % 60) / 100.0,
+            50.0 + (index % 80),
+            superpoderIds
+        );
+        if (agrupada) {
+            return HeroWriteQueue.join(heroWriteQueue.createHero(heroRequest));
+        }
+        HeroResponseDTO hero = heroService.createHero(heroRequest);
+        directCommits.incrementAndGet();
+        return hero;
+    }
+
+    private long writes() {
+        return agrupada ? heroWriteQueue.getWriteCount() : directCommits.get();
+    }
+
+    private long commits() {
+        return agrupada ? heroWriteQueue.getCommitCount() : directCommits.get();
+    }
+}
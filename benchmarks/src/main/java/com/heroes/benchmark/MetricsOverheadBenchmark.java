@@ -0,0 +1,56 @@
+package com.heroes.benchmark;
+
+import com.heroes.model.dto.HeroResponseDTO;
+import com.heroes.service.HeroService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Custo da instrumentação (timer heroes.service com histograma e contador de SQL no Hibernate) em
+ * HeroService.findHeroById, comparando com heroes.metrics.enabled=false. Usa o H2 em memória no mesmo
+ * processo, sem ida à rede, para que a diferença relativa seja a maior possível.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class MetricsOverheadBenchmark {
+
+    @Param({"false", "true"})
+    private boolean metricsEnabled;
+
+    @Param({"1000"})
+    private int heroCount;
+
+    @Param({"3"})
+    private int superpoderesPerHero;
+
+    private ConfigurableApplicationContext context;
+    private HeroService heroService;
+    private List<Long> heroIds;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApplication.start(heroCount, superpoderesPerHero,
+            "--heroes.metrics.enabled=" + metricsEnabled);
+        heroService = context.getBean(HeroService.class);
+        heroIds = context.getBean(JdbcTemplate.class).queryForList("SELECT id FROM herois", Long.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public HeroResponseDTO findHeroById() {
+        return heroService.findHeroById(heroIds.get(ThreadLocalRandom.current().nextInt(heroIds.size())));
+    }
+}
@@ -0,0 +1,56 @@
+package com.heroes.benchmark;
+
+import com.heroes.model.dto.SuperpoderDTO;
+import com.heroes.model.mapper.HeroMapper;
+import com.heroes.repository.SuperpoderRepository;
+import com.heroes.service.SuperpoderService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Compara a leitura do catálogo de superpoderes direto do banco (comportamento anterior de
+ * GET /api/superpoderes) com a leitura do snapshot em memória (SuperpoderService.findAll).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(4)
+public class SuperpoderCatalogBenchmark {
+
+    private ConfigurableApplicationContext context;
+    private SuperpoderRepository superpoderRepository;
+    private HeroMapper heroMapper;
+    private SuperpoderService superpoderService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApplication.start(0, 0);
+        superpoderRepository = context.getBean(SuperpoderRepository.class);
+        heroMapper = context.getBean(HeroMapper.class);
+        superpoderService = context.getBean(SuperpoderService.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<SuperpoderDTO> databaseFindAll() {
+        return superpoderRepository.findAll().stream()
+                .map(heroMapper::toSuperpoderDTO)
+                .collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public List<SuperpoderDTO> cachedFindAll() {
+        return superpoderService.findAll();
+    }
+}
@@ -0,0 +1,87 @@
+package com.heroes.benchmark;
+
+import com.heroes.model.dto.HeroPageKeyDTO;
+import com.heroes.model.dto.HeroSortField;
+import com.heroes.model.dto.SuperpoderDTO;
+import com.heroes.model.dto.SuperpoderMatch;
+import com.heroes.repository.HeroRepository;
+import com.heroes.repository.HeroSpecifications;
+import com.heroes.service.SuperpoderHeroIndex;
+import com.heroes.service.SuperpoderService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Sort;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compara a busca de heróis por combinação de superpoderes no índice invertido em memória
+ * (SuperpoderHeroIndex) com a mesma busca em SQL pela tabela heroissuperpoderes, e mede a reconstrução do índice.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SuperpoderHeroIndexBenchmark {
+
+    private static final int PAGE_SIZE = 50;
+
+    @Param({"100000"})
+    private int heroCount;
+
+    private ConfigurableApplicationContext context;
+    private HeroRepository heroRepository;
+    private SuperpoderHeroIndex superpoderHeroIndex;
+    private List<Long> todos;
+    private List<Long> qualquer;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApplication.start(heroCount, 3);
+        heroRepository = context.getBean(HeroRepository.class);
+        superpoderHeroIndex = context.getBean(SuperpoderHeroIndex.class);
+
+        List<Long> superpoderIds = context.getBean(SuperpoderService.class).findAll().stream()
+                .map(SuperpoderDTO::id)
+                .toList();
+        todos = List.of(superpoderIds.get(0), superpoderIds.get(1));
+        qualquer = List.of(superpoderIds.get(2), superpoderIds.get(3));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<Long> indexAll() {
+        return superpoderHeroIndex.findHeroIds(todos, List.of(), 0L, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public List<Long> indexAny() {
+        return superpoderHeroIndex.findHeroIds(List.of(), qualquer, 0L, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public List<HeroPageKeyDTO> databaseAll() {
+        return heroRepository.findPageKeys(HeroSpecifications.hasSuperpoderes(todos, SuperpoderMatch.TODOS),
+            HeroSortField.ID, Sort.Direction.ASC, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public List<HeroPageKeyDTO> databaseAny() {
+        return heroRepository.findPageKeys(HeroSpecifications.hasSuperpoderes(qualquer, SuperpoderMatch.QUALQUER),
+            HeroSortField.ID, Sort.Direction.ASC, PAGE_SIZE);
+    }
+
+    @Benchmark
+    @Warmup(iterations = 1)
+    @Measurement(iterations = 3)
+    public void rebuild() {
+        superpoderHeroIndex.rebuild();
+    }
+}
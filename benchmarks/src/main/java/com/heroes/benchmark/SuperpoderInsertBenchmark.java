@@ -0,0 +1,79 @@
+package com.heroes.benchmark;
+
+import com.heroes.model.entity.Superpoder;
+import com.heroes.repository.SuperpoderRepository;
+import org.h2.tools.Server;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import java.io.IOException;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Transações por segundo inserindo superpoderesPerOperation superpoderes cada, conforme o bloco
+ * de IDs da sequência (heroes.id.allocation-size) e o tamanho do lote JDBC (hibernate.jdbc.batch_size).
+ * allocationSize=1 e batchSize=1 reproduzem o custo do antigo IDENTITY: uma ida ao banco pelo ID
+ * e um INSERT por linha. O H2 roda como servidor TCP local (ver BenchmarkApplication.startH2TcpServer).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class SuperpoderInsertBenchmark {
+
+    @Param({"1", "50"})
+    private int allocationSize;
+
+    @Param({"1", "50"})
+    private int batchSize;
+
+    @Param({"1000"})
+    private int superpoderesPerOperation;
+
+    private Server h2Server;
+    private ConfigurableApplicationContext context;
+    private SuperpoderRepository superpoderRepository;
+    private EntityManager entityManager;
+    private TransactionTemplate transactionTemplate;
+    private long sequence;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException, IOException {
+        h2Server = BenchmarkApplication.startH2TcpServer();
+        context = BenchmarkApplication.start(0, 0,
+            "--spring.datasource.url=" + BenchmarkApplication.h2TcpUrl(h2Server, "benchmark-insert"),
+            "--spring.jpa.properties.heroes.id.allocation-size=" + allocationSize,
+            "--spring.jpa.properties.hibernate.jdbc.batch_size=" + batchSize);
+        superpoderRepository = context.getBean(SuperpoderRepository.class);
+        entityManager = context.getBean(EntityManager.class);
+        transactionTemplate = context.getBean(TransactionTemplate.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+        h2Server.stop();
+    }
+
+    @Benchmark
+    public int insertSuperpoderes() {
+        List<Superpoder> superpoderes = new ArrayList<>(superpoderesPerOperation);
+        for (int i = 0; i < superpoderesPerOperation; i++) {
+            superpoderes.add(new Superpoder("Superpoder Insert " + sequence++, "Gerado pelo benchmark"));
+        }
+
+        return transactionTemplate.execute(status -> {
+            superpoderRepository.saveAll(superpoderes);
+            entityManager.flush();
+            entityManager.clear();
+            return superpoderes.size();
+        });
+    }
+}
@@ -0,0 +1,69 @@
+package com.heroes.loadtest;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.heroes.controller.HeroController;
+import com.heroes.model.dto.HeroResponseDTO;
+import com.heroes.model.dto.SuperpoderDTO;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Heróis e superpoderes existentes antes da carga, descobertos pela própria API (listagem paginada e
+ * GET /api/superpoderes). Buscas e atualizações usam só esses heróis; as exclusões, só os criados durante a carga.
+ */
+record Dataset(long[] heroIds, String[] heroNames, long[] superpoderIds) {
+
+    private static final int PAGE_SIZE = 500;
+    private static final TypeReference<List<HeroResponseDTO>> HERO_LIST = new TypeReference<>() {
+    };
+    private static final TypeReference<List<SuperpoderDTO>> SUPERPODER_LIST = new TypeReference<>() {
+    };
+
+    static Dataset discover(HttpClient httpClient, ObjectMapper objectMapper, URI baseUri)
+            throws IOException, InterruptedException {
+        List<SuperpoderDTO> superpoderes = objectMapper.readValue(
+            get(httpClient, baseUri.resolve("/api/superpoderes")).body(), SUPERPODER_LIST);
+
+        List<HeroResponseDTO> heroes = new ArrayList<>();
+        String cursor = null;
+        do {
+            String query = "?tamanho=" + PAGE_SIZE
+                + (cursor != null ? "&cursor=" + URLEncoder.encode(cursor, StandardCharsets.UTF_8) : "");
+            HttpResponse<byte[]> response = get(httpClient, baseUri.resolve("/api/heroes" + query));
+            heroes.addAll(objectMapper.readValue(response.body(), HERO_LIST));
+            cursor = response.headers().firstValue(HeroController.NEXT_CURSOR_HEADER).orElse(null);
+        } while (cursor != null);
+
+        if (heroes.isEmpty() || superpoderes.isEmpty()) {
+            throw new IllegalStateException("A aplicação não tem heróis ou superpoderes para a carga");
+        }
+
+        return new Dataset(
+            heroes.stream().mapToLong(HeroResponseDTO::id).toArray(),
+            heroes.stream().map(HeroResponseDTO::nomeHeroi).toArray(String[]::new),
+            superpoderes.stream().mapToLong(SuperpoderDTO::id).toArray()
+        );
+    }
+
+    int heroCount() {
+        return heroIds.length;
+    }
+
+    private static HttpResponse<byte[]> get(HttpClient httpClient, URI uri) throws IOException, InterruptedException {
+        HttpResponse<byte[]> response = httpClient.send(HttpRequest.newBuilder(uri).GET().build(),
+            HttpResponse.BodyHandlers.ofByteArray());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("GET " + uri + " retornou " + response.statusCode());
+        }
+        return response;
+    }
+}
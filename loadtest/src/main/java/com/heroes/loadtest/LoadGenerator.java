@@ -0,0 +1,229 @@
+package com.heroes.loadtest;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.heroes.loadtest.LoadReport.OperationReport;
+import com.heroes.model.dto.HeroRequestDTO;
+import com.heroes.model.dto.HeroResponseDTO;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Gera a carga em modelo aberto: as requisições saem na taxa alvo, independentemente de quanto as anteriores
+ * demoram, e cada operação é sorteada pelos pesos do roteiro (com a semente do roteiro, para repetir a mesma
+ * sequência). Um limite de requisições em andamento evita que uma aplicação travada esgote a memória do gerador;
+ * quando ele é atingido, o atraso entra na latência das requisições seguintes.
+ */
+final class LoadGenerator {
+
+    private static final String JSON_CONTENT_TYPE = "application/json";
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+    private final HttpClient httpClient;
+    private final ObjectMapper objectMapper;
+    private final URI baseUri;
+    private final Workload workload;
+    private final Dataset dataset;
+    private final Map<Operation, OperationStats> stats = new EnumMap<>(Operation.class);
+    private final ConcurrentLinkedDeque<Long> createdHeroIds = new ConcurrentLinkedDeque<>();
+    private final AtomicLong createdHeroCount = new AtomicLong();
+
+    LoadGenerator(HttpClient httpClient, ObjectMapper objectMapper, URI baseUri, Workload workload, Dataset dataset) {
+        this.httpClient = httpClient;
+        this.objectMapper = objectMapper;
+        this.baseUri = baseUri;
+        this.workload = workload;
+        this.dataset = dataset;
+        for (Operation operation : Operation.values()) {
+            stats.put(operation, new OperationStats());
+        }
+    }
+
+    LoadReport run() throws InterruptedException {
+        Random random = new Random(workload.seed());
+        Semaphore inFlight = new Semaphore(workload.maxInFlight());
+        List<Operation> operations = new ArrayList<>(workload.weights().keySet());
+        int[] cumulativeWeights = cumulativeWeights(operations);
+
+        long start = System.nanoTime();
+        long warmupEnd = start + workload.warmup().toNanos();
+        long end = warmupEnd + workload.duration().toNanos();
+        for (long i = 0; ; i++) {
+            long scheduledAt = start + i * 1_000_000_000L / workload.rate();
+            if (scheduledAt >= end) {
+                break;
+            }
+            long delay = scheduledAt - System.nanoTime();
+            if (delay > 0) {
+                LockSupport.parkNanos(delay);
+            }
+
+            Call call = call(operations.get(pick(cumulativeWeights, random)), random);
+            boolean measured = scheduledAt >= warmupEnd;
+            inFlight.acquire();
+            httpClient.sendAsync(call.request(), HttpResponse.BodyHandlers.ofByteArray())
+                .whenComplete((response, failure) -> {
+                    try {
+                        long latencyMicros = (System.nanoTime() - scheduledAt) / 1000;
+                        onResponse(call.operation(), response);
+                        if (measured) {
+                            stats.get(call.operation()).record(latencyMicros, response, failure);
+                        }
+                    } finally {
+                        inFlight.release();
+                    }
+                });
+        }
+
+        if (!inFlight.tryAcquire(workload.maxInFlight(), REQUEST_TIMEOUT.toSeconds(), TimeUnit.SECONDS)) {
+            System.err.println("Requisições ainda em andamento ao fim da carga foram descartadas do relatório");
+        }
+        return report();
+    }
+
+    private Call call(Operation operation, Random random) {
+        int heroIndex = random.nextInt(dataset.heroCount());
+        long heroId = dataset.heroIds()[heroIndex];
+        return switch (operation) {
+            case LISTAR -> new Call(operation, request("/api/heroes?tamanho=" + workload.pageSize()).GET().build());
+            case BUSCAR -> new Call(operation, request("/api/heroes/" + heroId).GET().build());
+            case CRIAR -> new Call(operation, request("/api/heroes")
+                .header("Content-Type", JSON_CONTENT_TYPE)
+                .POST(HttpRequest.BodyPublishers.ofByteArray(
+                    heroBody("Heroi Carga Criado " + createdHeroCount.incrementAndGet(), random)))
+                .build());
+            case ATUALIZAR -> new Call(operation, request("/api/heroes/" + heroId)
+                .header("Content-Type", JSON_CONTENT_TYPE)
+                .PUT(HttpRequest.BodyPublishers.ofByteArray(heroBody(dataset.heroNames()[heroIndex], random)))
+                .build());
+            case EXCLUIR -> {
+                // só exclui heróis criados pela carga, para a massa inicial continuar do mesmo tamanho
+                Long createdHeroId = createdHeroIds.pollFirst();
+                yield createdHeroId != null
+                    ? new Call(operation, request("/api/heroes/" + createdHeroId).DELETE().build())
+                    : call(Operation.CRIAR, random);
+            }
+        };
+    }
+
+    private HttpRequest.Builder request(String path) {
+        return HttpRequest.newBuilder(baseUri.resolve(path)).timeout(REQUEST_TIMEOUT);
+    }
+
+    private byte[] heroBody(String nomeHeroi, Random random) {
+        long[] superpoderIds = dataset.superpoderIds();
+        HeroRequestDTO heroRequest = new HeroRequestDTO(
+            "Pessoa Carga",
+            nomeHeroi,
+            LocalDate.of(1950, 1, 1).plusDays(random.nextInt(20000)),
+            1.50 + random.nextInt(60) / 100.0,
+            50.0 + random.nextInt(80),
+            List.of(superpoderIds[random.nextInt(superpoderIds.length)])
+        );
+        try {
+            return objectMapper.writeValueAsBytes(heroRequest);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void onResponse(Operation operation, HttpResponse<byte[]> response) {
+        if (operation != Operation.CRIAR || response == null || response.statusCode() != 201) {
+            return;
+        }
+        try {
+            createdHeroIds.addLast(objectMapper.readValue(response.body(), HeroResponseDTO.class).id());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private LoadReport report() {
+        long durationSeconds = Math.max(1, workload.duration().toSeconds());
+        List<OperationReport> operationReports = new ArrayList<>();
+        Histogram totalLatencies = new Histogram(3);
+        long totalErrors = 0;
+        Map<Integer, Long> totalStatuses = new TreeMap<>();
+        for (Operation operation : workload.weights().keySet()) {
+            OperationStats operationStats = stats.get(operation);
+            Map<Integer, Long> statuses = operationStats.statuses();
+            operationReports.add(OperationReport.of(operation.name(), operation.endpoint(),
+                operationStats.latenciesMicros, operationStats.errors.sum(), statuses, durationSeconds));
+            totalLatencies.add(operationStats.latenciesMicros);
+            totalErrors += operationStats.errors.sum();
+            statuses.forEach((status, count) -> totalStatuses.merge(status, count, Long::sum));
+        }
+
+        return new LoadReport(workload.name(), Instant.now(), workload.rate(), durationSeconds, dataset.heroCount(),
+            operationReports,
+            OperationReport.of("TOTAL", "", totalLatencies, totalErrors, totalStatuses, durationSeconds));
+    }
+
+    private int[] cumulativeWeights(List<Operation> operations) {
+        int[] cumulativeWeights = new int[operations.size()];
+        int total = 0;
+        for (int i = 0; i < operations.size(); i++) {
+            total += workload.weights().get(operations.get(i));
+            cumulativeWeights[i] = total;
+        }
+        return cumulativeWeights;
+    }
+
+    private static int pick(int[] cumulativeWeights, Random random) {
+        int value = random.nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        int index = 0;
+        while (cumulativeWeights[index] <= value) {
+            index++;
+        }
+        return index;
+    }
+
+    private record Call(Operation operation, HttpRequest request) {
+    }
+
+    private static final class OperationStats {
+
+        private final Histogram latenciesMicros = new ConcurrentHistogram(3);
+        private final LongAdder errors = new LongAdder();
+        private final Map<Integer, LongAdder> statuses = new ConcurrentHashMap<>();
+
+        void record(long latencyMicros, HttpResponse<byte[]> response, Throwable failure) {
+            latenciesMicros.recordValue(latencyMicros);
+            // status 0: a requisição falhou sem resposta (conexão recusada, tempo esgotado)
+            int status = response != null ? response.statusCode() : 0;
+            statuses.computeIfAbsent(status, key -> new LongAdder()).increment();
+            if (failure != null || status >= 400) {
+                errors.increment();
+            }
+        }
+
+        Map<Integer, Long> statuses() {
+            Map<Integer, Long> snapshot = new TreeMap<>();
+            statuses.forEach((status, count) -> snapshot.put(status, count.sum()));
+            return snapshot;
+        }
+    }
+}
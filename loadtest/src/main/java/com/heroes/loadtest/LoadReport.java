@@ -0,0 +1,86 @@
+package com.heroes.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Resultado de uma execução: vazão e percentis de latência (em milissegundos) por operação e no total.
+ * A latência é contada a partir do instante em que a requisição deveria ter saído pela taxa alvo, então
+ * atrasos do próprio gerador ou da fila de conexões aparecem nos percentis em vez de serem omitidos.
+ */
+record LoadReport(
+    String roteiro,
+    Instant executadoEm,
+    int taxaAlvo,
+    long duracaoSegundos,
+    int herois,
+    List<OperationReport> operacoes,
+    OperationReport total
+) {
+
+    record OperationReport(
+        String operacao,
+        String endpoint,
+        long requisicoes,
+        long erros,
+        Map<Integer, Long> status,
+        double vazao,
+        double p50,
+        double p90,
+        double p99,
+        double p999,
+        double maximo
+    ) {
+
+        static OperationReport of(String operation, String endpoint, Histogram latenciesMicros, long errors,
+                                  Map<Integer, Long> statuses, long durationSeconds) {
+            long count = latenciesMicros.getTotalCount();
+            return new OperationReport(
+                operation,
+                endpoint,
+                count,
+                errors,
+                statuses,
+                (double) count / durationSeconds,
+                millis(latenciesMicros.getValueAtPercentile(50)),
+                millis(latenciesMicros.getValueAtPercentile(90)),
+                millis(latenciesMicros.getValueAtPercentile(99)),
+                millis(latenciesMicros.getValueAtPercentile(99.9)),
+                millis(latenciesMicros.getMaxValue())
+            );
+        }
+
+        private static double millis(long micros) {
+            return micros / 1000.0;
+        }
+    }
+
+    void print(PrintStream out) {
+        out.printf("%nRoteiro %s: %d req/s alvo por %d s, %d heróis%n", roteiro, taxaAlvo, duracaoSegundos, herois);
+        out.printf("%-10s %12s %8s %12s %10s %10s %10s %10s %10s%n",
+            "operação", "requisições", "erros", "vazão (r/s)", "p50 (ms)", "p90 (ms)", "p99 (ms)", "p99,9 (ms)", "máx (ms)");
+        operacoes.forEach(operation -> printLine(out, operation));
+        printLine(out, total);
+    }
+
+    void write(Path path, ObjectMapper objectMapper) throws IOException {
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+        objectMapper.writerWithDefaultPrettyPrinter().writeValue(path.toFile(), this);
+    }
+
+    private static void printLine(PrintStream out, OperationReport operation) {
+        out.printf("%-10s %12d %8d %12.1f %10.2f %10.2f %10.2f %10.2f %10.2f%n",
+            operation.operacao(), operation.requisicoes(), operation.erros(), operation.vazao(),
+            operation.p50(), operation.p90(), operation.p99(), operation.p999(), operation.maximo());
+    }
+}
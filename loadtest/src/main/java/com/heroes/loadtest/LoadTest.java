@@ -0,0 +1,93 @@
+package com.heroes.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.heroes.HeroesManagementApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+
+/**
+ * Teste de carga HTTP: {@code java -jar target/loadtest.jar <roteiro> [--chave=valor ...]}.
+ * <p>
+ * Sem {@code --url}, sobe a aplicação no perfil h2 neste processo, numa porta livre, com a massa descrita
+ * pelas chaves seed.* do roteiro e as propriedades app.*. Com {@code --url}, usa uma aplicação já em execução e a massa que ela tiver.
+ * Qualquer chave do roteiro pode ser sobrescrita na linha de comando (por exemplo {@code --taxa=500}).
+ * O relatório é impresso e gravado em JSON em {@code --relatorio} (padrão target/loadtest-&lt;roteiro&gt;.json).
+ */
+public final class LoadTest {
+
+    private LoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        String workloadName = args.length > 0 && !args[0].startsWith("--") ? args[0] : "misto";
+        Properties overrides = new Properties();
+        for (String arg : args) {
+            if (arg.startsWith("--") && arg.contains("=")) {
+                overrides.setProperty(arg.substring(2, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+            }
+        }
+        Workload workload = Workload.load(workloadName, overrides);
+
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+        HttpClient httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+
+        String url = workload.properties().getProperty("url");
+        ConfigurableApplicationContext context = url == null ? startApplication(workload) : null;
+        try {
+            URI baseUri = URI.create(url != null ? url
+                : "http://localhost:" + ((WebServerApplicationContext) context).getWebServer().getPort());
+            Dataset dataset = Dataset.discover(httpClient, objectMapper, baseUri);
+            System.out.printf("Carga %s em %s: %d heróis, %d superpoderes; aquecimento de %d s%n",
+                workload.name(), baseUri, dataset.heroCount(), dataset.superpoderIds().length,
+                workload.warmup().toSeconds());
+
+            LoadReport report = new LoadGenerator(httpClient, objectMapper, baseUri, workload, dataset).run();
+            report.print(System.out);
+
+            Path reportPath = Path.of(workload.properties().getProperty("relatorio",
+                "target/loadtest-" + workload.name() + ".json"));
+            report.write(reportPath, objectMapper);
+            System.out.println("Relatório gravado em " + reportPath);
+        } finally {
+            if (context != null) {
+                context.close();
+            }
+        }
+    }
+
+    private static ConfigurableApplicationContext startApplication(Workload workload) {
+        List<String> args = new ArrayList<>(List.of(
+            "--server.port=0",
+            "--spring.datasource.url=jdbc:h2:mem:loadtest;DB_CLOSE_DELAY=-1",
+            "--spring.jpa.show-sql=false",
+            "--spring.main.banner-mode=off",
+            "--logging.level.root=WARN",
+            "--logging.level.org.hibernate.SQL=OFF",
+            "--logging.level.org.hibernate.type.descriptor.sql.BasicBinder=OFF",
+            // o Tomcat para antes do pool de conexões ao fechar o contexto e avisa sobre as threads do HikariCP
+            "--logging.level.org.apache.catalina.loader.WebappClassLoaderBase=ERROR"
+        ));
+        workload.seedProperties().forEach((key, value) -> args.add("--" + key + "=" + value));
+        workload.applicationProperties().forEach((key, value) -> args.add("--" + key + "=" + value));
+
+        return new SpringApplicationBuilder(HeroesManagementApplication.class)
+                .profiles("h2")
+                .run(args.toArray(String[]::new));
+    }
+}
@@ -0,0 +1,29 @@
+package com.heroes.loadtest;
+
+/**
+ * Operações da carga, com a chave do peso no arquivo de carga (operacao.&lt;chave&gt;).
+ */
+enum Operation {
+
+    LISTAR("listar", "GET /api/heroes"),
+    BUSCAR("buscar", "GET /api/heroes/{id}"),
+    CRIAR("criar", "POST /api/heroes"),
+    ATUALIZAR("atualizar", "PUT /api/heroes/{id}"),
+    EXCLUIR("excluir", "DELETE /api/heroes/{id}");
+
+    private final String key;
+    private final String endpoint;
+
+    Operation(String key, String endpoint) {
+        this.key = key;
+        this.endpoint = endpoint;
+    }
+
+    String key() {
+        return key;
+    }
+
+    String endpoint() {
+        return endpoint;
+    }
+}
@@ -0,0 +1,104 @@
+package com.heroes.loadtest;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * Roteiro de carga lido de um arquivo .properties: taxa alvo em requisições por segundo, duração da medição,
+ * aquecimento (executado e descartado), tamanho da página da listagem e peso de cada operação. As chaves
+ * seed.* viram heroes.seed.* da aplicação iniciada pelo teste, e as chaves app.* são repassadas a ela sem o
+ * prefixo (por exemplo app.heroes.threads.virtuais=true).
+ */
+record Workload(
+    String name,
+    int rate,
+    Duration duration,
+    Duration warmup,
+    int pageSize,
+    int maxInFlight,
+    long seed,
+    Map<Operation, Integer> weights,
+    Properties properties
+) {
+
+    static final String WORKLOADS_DIRECTORY = "workloads/";
+
+    /**
+     * Carrega o roteiro pelo caminho de um arquivo ou pelo nome de um dos roteiros embutidos (leitura, misto,
+     * escrita), aplicando por cima as propriedades passadas na linha de comando.
+     */
+    static Workload load(String nameOrPath, Properties overrides) throws IOException {
+        Properties properties = new Properties();
+        Path path = Path.of(nameOrPath);
+        if (Files.isRegularFile(path)) {
+            try (Reader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+                properties.load(reader);
+            }
+        } else {
+            String resource = WORKLOADS_DIRECTORY + nameOrPath + ".properties";
+            try (InputStream inputStream = Workload.class.getClassLoader().getResourceAsStream(resource)) {
+                if (inputStream == null) {
+                    throw new IllegalArgumentException("Roteiro de carga não encontrado: " + nameOrPath);
+                }
+                properties.load(new InputStreamReader(inputStream, StandardCharsets.UTF_8));
+            }
+        }
+        properties.putAll(overrides);
+
+        String name = path.getFileName().toString().replaceFirst("\\.properties$", "");
+        Map<Operation, Integer> weights = new EnumMap<>(Operation.class);
+        for (Operation operation : Operation.values()) {
+            int weight = Integer.parseInt(properties.getProperty("operacao." + operation.key(), "0"));
+            if (weight > 0) {
+                weights.put(operation, weight);
+            }
+        }
+        if (weights.isEmpty()) {
+            throw new IllegalArgumentException("O roteiro " + name + " não tem nenhuma operação com peso positivo");
+        }
+
+        return new Workload(
+            name,
+            Integer.parseInt(properties.getProperty("taxa", "100")),
+            Duration.parse(properties.getProperty("duracao", "PT60S")),
+            Duration.parse(properties.getProperty("aquecimento", "PT15S")),
+            Integer.parseInt(properties.getProperty("tamanho-pagina", "50")),
+            Integer.parseInt(properties.getProperty("max-em-voo", "256")),
+            Long.parseLong(properties.getProperty("semente", "42")),
+            weights,
+            properties
+        );
+    }
+
+    /** Propriedades seed.* do roteiro, com o prefixo heroes.seed. esperado pelo BulkDataSeeder. */
+    Map<String, String> seedProperties() {
+        Map<String, String> seedProperties = new LinkedHashMap<>();
+        for (String key : properties.stringPropertyNames()) {
+            if (key.startsWith("seed.")) {
+                seedProperties.put("heroes." + key, properties.getProperty(key));
+            }
+        }
+        return seedProperties;
+    }
+
+    /** Propriedades app.* do roteiro, sem o prefixo, para a aplicação iniciada pelo teste. */
+    Map<String, String> applicationProperties() {
+        Map<String, String> applicationProperties = new LinkedHashMap<>();
+        for (String key : properties.stringPropertyNames()) {
+            if (key.startsWith("app.")) {
+                applicationProperties.put(key.substring("app.".length()), properties.getProperty(key));
+            }
+        }
+        return applicationProperties;
+    }
+}
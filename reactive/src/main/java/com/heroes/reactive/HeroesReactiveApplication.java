@@ -0,0 +1,16 @@
+package com.heroes.reactive;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+
+/**
+ * Variante reativa da API de heróis: o mesmo contrato de /api/heroes e /api/superpoderes do backend,
+ * servido pelo WebFlux (Netty) com acesso ao banco pelo R2DBC, sem nenhuma chamada bloqueante.
+ */
+@SpringBootApplication
+public class HeroesReactiveApplication {
+
+    public static void main(String[] args) {
+        SpringApplication.run(HeroesReactiveApplication.class, args);
+    }
+}
@@ -0,0 +1,103 @@
+package com.heroes.reactive.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+/**
+ * Massa de dados para testes de carga no H2 (ligada com heroes.seed.herois > 0), com os mesmos nomes e a mesma
+ * distribuição FIXA do BulkDataSeeder do backend: o catálogo é completado até heroes.seed.superpoderes e cada
+ * herói recebe heroes.seed.superpoderes-por-heroi superpoderes em rodízio. Gerada por INSERT ... SELECT sobre
+ * SYSTEM_RANGE, do H2, em vez de herói a herói.
+ */
+@Component
+@Profile("!postgres")
+public class BulkDataSeeder implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(BulkDataSeeder.class);
+
+    private final DatabaseClient databaseClient;
+    private final int heroCount;
+    private final int superpoderCount;
+    private final int superpoderesPerHero;
+    private final int allocationSize;
+
+    @Autowired
+    public BulkDataSeeder(DatabaseClient databaseClient,
+                          @Value("${heroes.seed.herois:0}") int heroCount,
+                          @Value("${heroes.seed.superpoderes:10}") int superpoderCount,
+                          @Value("${heroes.seed.superpoderes-por-heroi:3}") int superpoderesPerHero,
+                          @Value("${heroes.id.allocation-size:50}") int allocationSize) {
+        this.databaseClient = databaseClient;
+        this.heroCount = heroCount;
+        this.superpoderCount = superpoderCount;
+        this.superpoderesPerHero = superpoderesPerHero;
+        this.allocationSize = allocationSize;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (heroCount <= 0) {
+            return;
+        }
+
+        long start = System.nanoTime();
+        seedSuperpoderes()
+                .then(count("SELECT COALESCE(MAX(id), 0) FROM herois"))
+                .flatMap(this::seedHeroes)
+                .block();
+
+        log.info("Massa de carga criada: {} heróis, {} superpoderes (FIXA) em {} ms",
+            heroCount, superpoderCount, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private Mono<Void> seedSuperpoderes() {
+        return count("SELECT COUNT(*) FROM superpoderes")
+                .flatMap(existing -> existing >= superpoderCount
+                    ? Mono.empty()
+                    : execute(String.format("INSERT INTO superpoderes (id, nome, descricao) "
+                        + "SELECT m.ultimo + x, 'Superpoder Carga ' || (m.total + x - 1), 'Superpoder gerado para testes de carga' "
+                        + "FROM SYSTEM_RANGE(1, %d), (SELECT COALESCE(MAX(id), 0) AS ultimo, COUNT(*) AS total FROM superpoderes) m",
+                        superpoderCount - existing)));
+    }
+
+    private Mono<Void> seedHeroes(long lastHeroId) {
+        return count("SELECT COUNT(*) FROM superpoderes").flatMap(catalogSize -> {
+            long perHero = Math.max(1, Math.min(superpoderesPerHero, catalogSize));
+            return execute(String.format("INSERT INTO herois "
+                        + "(id, nome, nome_heroi, data_nascimento, altura, peso, versao, atualizado_em) "
+                        + "SELECT %d + x, 'Pessoa Carga ' || (x - 1), 'Heroi Carga ' || (x - 1), "
+                        + "DATEADD(DAY, MOD(x * 7919, 20000), DATE '1950-01-01'), 1.50 + MOD(x, 60) / 100.0, "
+                        + "50.0 + MOD(x, 80), 0, CURRENT_TIMESTAMP FROM SYSTEM_RANGE(1, %d)",
+                        lastHeroId, heroCount))
+                    // o herói de índice i (id - lastHeroId - 1) recebe os superpoderes i, i + 1, ..., i + k - 1 do catálogo
+                    .then(execute(String.format("INSERT INTO heroissuperpoderes (heroi_id, superpoder_id) "
+                        + "SELECT h.id, s.id FROM herois h "
+                        + "JOIN SYSTEM_RANGE(0, %d) j ON TRUE "
+                        + "JOIN (SELECT id, ROW_NUMBER() OVER (ORDER BY id) - 1 AS pos FROM superpoderes) s "
+                        + "ON s.pos = MOD(h.id - %d + j.x, %d) "
+                        + "WHERE h.id > %d",
+                        perHero - 1, lastHeroId + 1, catalogSize, lastHeroId)))
+                    // os próximos ids da aplicação vêm de herois_seq, em blocos que terminam no valor lido
+                    .then(execute(String.format("ALTER SEQUENCE herois_seq RESTART WITH %d",
+                        lastHeroId + heroCount + allocationSize)));
+        });
+    }
+
+    private Mono<Long> count(String sql) {
+        return databaseClient.sql(sql)
+                .map(row -> row.get(0, Long.class))
+                .one();
+    }
+
+    private Mono<Void> execute(String sql) {
+        return databaseClient.sql(sql).then();
+    }
+}
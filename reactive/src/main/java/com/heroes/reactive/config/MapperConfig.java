@@ -0,0 +1,18 @@
+package com.heroes.reactive.config;
+
+import com.heroes.model.mapper.HeroMapper;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * O HeroMapper do backend monta os HeroResponseDTO a partir das linhas herói/superpoder; aqui ele é
+ * registrado à mão porque o pacote com.heroes.model fica fora da varredura da aplicação reativa.
+ */
+@Configuration
+public class MapperConfig {
+
+    @Bean
+    public HeroMapper heroMapper() {
+        return new HeroMapper();
+    }
+}
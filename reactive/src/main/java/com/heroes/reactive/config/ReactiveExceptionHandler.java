@@ -0,0 +1,94 @@
+package com.heroes.reactive.config;
+
+import com.heroes.config.exception.DuplicateHeroNameException;
+import com.heroes.config.exception.ResourceNotFoundException;
+import com.heroes.model.dto.ErrorResponse;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.validation.FieldError;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.bind.support.WebExchangeBindException;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.server.ServerWebInputException;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * As mesmas respostas de erro do GlobalExceptionHandler do backend, com as exceções equivalentes do WebFlux.
+ */
+@RestControllerAdvice
+public class ReactiveExceptionHandler {
+
+    @ExceptionHandler(ResourceNotFoundException.class)
+    public ResponseEntity<ErrorResponse> handleResourceNotFoundException(
+            ResourceNotFoundException ex, ServerHttpRequest request) {
+        return toResponse(HttpStatus.NOT_FOUND, "Recurso não encontrado", ex.getMessage(), request);
+    }
+
+    @ExceptionHandler(DuplicateHeroNameException.class)
+    public ResponseEntity<ErrorResponse> handleDuplicateHeroNameException(
+            DuplicateHeroNameException ex, ServerHttpRequest request) {
+        return toResponse(HttpStatus.CONFLICT, "Nome de herói duplicado", ex.getMessage(), request);
+    }
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<ErrorResponse> handleIllegalArgumentException(
+            IllegalArgumentException ex, ServerHttpRequest request) {
+        return toResponse(HttpStatus.BAD_REQUEST, "Argumento inválido", ex.getMessage(), request);
+    }
+
+    @ExceptionHandler(WebExchangeBindException.class)
+    public ResponseEntity<ErrorResponse> handleWebExchangeBindException(
+            WebExchangeBindException ex, ServerHttpRequest request) {
+
+        List<ErrorResponse.FieldError> fieldErrors = new ArrayList<>();
+
+        for (FieldError fieldError : ex.getBindingResult().getFieldErrors()) {
+            fieldErrors.add(new ErrorResponse.FieldError(
+                fieldError.getField(),
+                fieldError.getRejectedValue(),
+                fieldError.getDefaultMessage()
+            ));
+        }
+
+        ErrorResponse errorResponse = new ErrorResponse(
+            HttpStatus.BAD_REQUEST.value(),
+            "Dados inválidos",
+            "Campos obrigatórios não preenchidos ou inválidos",
+            request.getPath().value(),
+            fieldErrors
+        );
+
+        return new ResponseEntity<>(errorResponse, HttpStatus.BAD_REQUEST);
+    }
+
+    /** Corpo ilegível, parâmetro com tipo errado e afins. */
+    @ExceptionHandler(ServerWebInputException.class)
+    public ResponseEntity<ErrorResponse> handleServerWebInputException(
+            ServerWebInputException ex, ServerHttpRequest request) {
+        return toResponse(HttpStatus.BAD_REQUEST, "Requisição inválida", ex.getReason(), request);
+    }
+
+    /** Rota inexistente, método não suportado e demais erros com status definido pelo próprio WebFlux. */
+    @ExceptionHandler(ResponseStatusException.class)
+    public ResponseEntity<ErrorResponse> handleResponseStatusException(
+            ResponseStatusException ex, ServerHttpRequest request) {
+        return toResponse(ex.getStatus(), ex.getStatus().getReasonPhrase(), ex.getReason(), request);
+    }
+
+    @ExceptionHandler(Exception.class)
+    public ResponseEntity<ErrorResponse> handleGenericException(
+            Exception ex, ServerHttpRequest request) {
+        return toResponse(HttpStatus.INTERNAL_SERVER_ERROR, "Erro interno do servidor",
+            "Ocorreu um erro inesperado. Tente novamente mais tarde.", request);
+    }
+
+    private ResponseEntity<ErrorResponse> toResponse(HttpStatus status, String error, String message,
+                                                     ServerHttpRequest request) {
+        ErrorResponse errorResponse = new ErrorResponse(status.value(), error, message, request.getPath().value());
+        return new ResponseEntity<>(errorResponse, status);
+    }
+}
@@ -0,0 +1,72 @@
+package com.heroes.reactive.controller;
+
+import com.heroes.model.dto.HeroPageDTO;
+import com.heroes.model.dto.HeroRequestDTO;
+import com.heroes.model.dto.HeroResponseDTO;
+import com.heroes.reactive.service.ReactiveHeroService;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import javax.validation.Valid;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/heroes")
+@CrossOrigin(origins = "http://localhost:4200")
+public class ReactiveHeroController {
+
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    public static final String NDJSON_MEDIA_TYPE = "application/x-ndjson";
+
+    private final ReactiveHeroService heroService;
+
+    public ReactiveHeroController(ReactiveHeroService heroService) {
+        this.heroService = heroService;
+    }
+
+    @GetMapping
+    public Mono<ResponseEntity<List<HeroResponseDTO>>> getAllHeroes(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer tamanho) {
+        return heroService.findHeroPage(cursor, tamanho).map(ReactiveHeroController::toResponse);
+    }
+
+    /** Um herói por linha, escrito à medida que chega do banco e no ritmo em que o cliente lê. */
+    @GetMapping(value = "/export", produces = NDJSON_MEDIA_TYPE)
+    public Flux<HeroResponseDTO> exportHeroes() {
+        return heroService.streamAllHeroes();
+    }
+
+    @GetMapping("/{id}")
+    public Mono<HeroResponseDTO> getHeroById(@PathVariable Long id) {
+        return heroService.findHeroById(id);
+    }
+
+    @PostMapping
+    @ResponseStatus(HttpStatus.CREATED)
+    public Mono<HeroResponseDTO> createHero(@Valid @RequestBody HeroRequestDTO heroRequestDTO) {
+        return heroService.createHero(heroRequestDTO);
+    }
+
+    @PutMapping("/{id}")
+    public Mono<HeroResponseDTO> updateHero(@PathVariable Long id, @Valid @RequestBody HeroRequestDTO heroRequestDTO) {
+        return heroService.updateHero(id, heroRequestDTO);
+    }
+
+    @DeleteMapping("/{id}")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    public Mono<Void> deleteHero(@PathVariable Long id) {
+        return heroService.removeHero(id);
+    }
+
+    static ResponseEntity<List<HeroResponseDTO>> toResponse(HeroPageDTO page) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.nextCursor() != null) {
+            response.header(NEXT_CURSOR_HEADER, page.nextCursor());
+        }
+        return response.body(page.content());
+    }
+}
@@ -0,0 +1,44 @@
+package com.heroes.reactive.controller;
+
+import com.heroes.model.dto.HeroResponseDTO;
+import com.heroes.model.dto.SuperpoderDTO;
+import com.heroes.reactive.service.ReactiveHeroService;
+import com.heroes.reactive.service.ReactiveSuperpoderService;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/superpoderes")
+@CrossOrigin(origins = "http://localhost:4200")
+public class ReactiveSuperpoderController {
+
+    private final ReactiveSuperpoderService superpoderService;
+    private final ReactiveHeroService heroService;
+
+    public ReactiveSuperpoderController(ReactiveSuperpoderService superpoderService, ReactiveHeroService heroService) {
+        this.superpoderService = superpoderService;
+        this.heroService = heroService;
+    }
+
+    @GetMapping
+    public Mono<ResponseEntity<List<SuperpoderDTO>>> getAllSuperpoderes() {
+        // O ETag do ResponseEntity é comparado com If-None-Match e vira 304 sem corpo
+        return superpoderService.findCatalog()
+                .map(catalog -> ResponseEntity.ok()
+                    .cacheControl(CacheControl.noCache())
+                    .eTag(catalog.etag())
+                    .body(catalog.superpoderes()));
+    }
+
+    @GetMapping("/{id}/heroes")
+    public Mono<ResponseEntity<List<HeroResponseDTO>>> getHeroesBySuperpoder(
+            @PathVariable Long id,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer tamanho) {
+        return heroService.findHeroesBySuperpoder(id, cursor, tamanho).map(ReactiveHeroController::toResponse);
+    }
+}
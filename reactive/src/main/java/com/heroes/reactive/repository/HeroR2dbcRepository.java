@@ -0,0 +1,214 @@
+package com.heroes.reactive.repository;
+
+import com.heroes.model.dto.HeroRequestDTO;
+import com.heroes.model.dto.HeroSuperpoderRowDTO;
+import io.r2dbc.spi.Row;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Acesso às tabelas de heróis pelo R2DBC, com o SQL escrito à mão sobre o esquema das migrações do backend.
+ * As leituras devolvem uma linha por par herói/superpoder (HeroSuperpoderRowDTO), ordenadas por herói e
+ * superpoder, para o HeroMapper agrupar como no backend.
+ */
+@Repository
+public class HeroR2dbcRepository {
+
+    // herói sem superpoder vem com as colunas de superpoder nulas
+    private static final String SELECT_ROWS = "SELECT h.id, h.nome, h.nome_heroi, h.data_nascimento, h.altura, h.peso, "
+            + "s.id AS superpoder_id, s.nome AS superpoder_nome, s.descricao AS superpoder_descricao ";
+    private static final String JOIN_SUPERPODERES = "LEFT JOIN heroissuperpoderes hs ON hs.heroi_id = h.id "
+            + "LEFT JOIN superpoderes s ON s.id = hs.superpoder_id ";
+    private static final String ORDER_ROWS = "ORDER BY h.id, s.id";
+
+    private final DatabaseClient databaseClient;
+    private final int allocationSize;
+    private final AtomicReference<IdBlock> idBlock = new AtomicReference<>();
+
+    public HeroR2dbcRepository(DatabaseClient databaseClient,
+                               @Value("${heroes.id.allocation-size:50}") int allocationSize) {
+        if (allocationSize < 1) {
+            throw new IllegalArgumentException("heroes.id.allocation-size deve ser maior que zero: " + allocationSize);
+        }
+        this.databaseClient = databaseClient;
+        this.allocationSize = allocationSize;
+    }
+
+    /** Linhas dos primeiros {@code limit} heróis com id maior que {@code afterId}. */
+    public Flux<HeroSuperpoderRowDTO> findRowsAfter(long afterId, int limit) {
+        return databaseClient.sql(SELECT_ROWS
+                    + "FROM (SELECT id FROM herois WHERE id > :afterId ORDER BY id LIMIT :limit) p "
+                    + "JOIN herois h ON h.id = p.id "
+                    + JOIN_SUPERPODERES + ORDER_ROWS)
+                .bind("afterId", afterId)
+                .bind("limit", limit)
+                .map(HeroR2dbcRepository::toRow)
+                .all();
+    }
+
+    /** Como {@link #findRowsAfter}, só com os heróis que possuem o superpoder. */
+    public Flux<HeroSuperpoderRowDTO> findRowsBySuperpoderAfter(long superpoderId, long afterId, int limit) {
+        return databaseClient.sql(SELECT_ROWS
+                    + "FROM (SELECT heroi_id AS id FROM heroissuperpoderes "
+                    + "WHERE superpoder_id = :superpoderId AND heroi_id > :afterId ORDER BY heroi_id LIMIT :limit) p "
+                    + "JOIN herois h ON h.id = p.id "
+                    + JOIN_SUPERPODERES + ORDER_ROWS)
+                .bind("superpoderId", superpoderId)
+                .bind("afterId", afterId)
+                .bind("limit", limit)
+                .map(HeroR2dbcRepository::toRow)
+                .all();
+    }
+
+    public Flux<HeroSuperpoderRowDTO> findRowsById(long heroId) {
+        return databaseClient.sql(SELECT_ROWS + "FROM herois h " + JOIN_SUPERPODERES + "WHERE h.id = :id " + ORDER_ROWS)
+                .bind("id", heroId)
+                .map(HeroR2dbcRepository::toRow)
+                .all();
+    }
+
+    public Mono<Boolean> existsById(long heroId) {
+        return databaseClient.sql("SELECT 1 FROM herois WHERE id = :id")
+                .bind("id", heroId)
+                .fetch()
+                .first()
+                .hasElement();
+    }
+
+    public Mono<Boolean> existsByNomeHeroi(String nomeHeroi) {
+        return databaseClient.sql("SELECT 1 FROM herois WHERE nome_heroi = :nomeHeroi")
+                .bind("nomeHeroi", nomeHeroi)
+                .fetch()
+                .first()
+                .hasElement();
+    }
+
+    public Mono<Boolean> existsByNomeHeroiAndIdNot(String nomeHeroi, long heroId) {
+        return databaseClient.sql("SELECT 1 FROM herois WHERE nome_heroi = :nomeHeroi AND id <> :id")
+                .bind("nomeHeroi", nomeHeroi)
+                .bind("id", heroId)
+                .fetch()
+                .first()
+                .hasElement();
+    }
+
+    /** Insere o herói com o próximo id do bloco reservado em herois_seq (ver {@link #nextHeroId()}). */
+    public Mono<Long> insert(HeroRequestDTO heroRequest) {
+        return nextHeroId()
+                .flatMap(heroId -> databaseClient.sql("INSERT INTO herois "
+                            + "(id, nome, nome_heroi, data_nascimento, altura, peso, versao, atualizado_em) "
+                            + "VALUES (:id, :nome, :nomeHeroi, :dataNascimento, :altura, :peso, 0, :atualizadoEm)")
+                        .bind("id", heroId)
+                        .bind("nome", heroRequest.nome())
+                        .bind("nomeHeroi", heroRequest.nomeHeroi())
+                        .bind("dataNascimento", heroRequest.dataNascimento())
+                        .bind("altura", heroRequest.altura())
+                        .bind("peso", heroRequest.peso())
+                        .bind("atualizadoEm", LocalDateTime.now())
+                        .then()
+                        .thenReturn(heroId));
+    }
+
+    /** Atualiza os dados do herói e, como o {@code @Version} e o {@code @UpdateTimestamp} do backend, a versão e a data. */
+    public Mono<Void> update(long heroId, HeroRequestDTO heroRequest) {
+        return databaseClient.sql("UPDATE herois SET nome = :nome, nome_heroi = :nomeHeroi, "
+                    + "data_nascimento = :dataNascimento, altura = :altura, peso = :peso, "
+                    + "versao = versao + 1, atualizado_em = :atualizadoEm WHERE id = :id")
+                .bind("nome", heroRequest.nome())
+                .bind("nomeHeroi", heroRequest.nomeHeroi())
+                .bind("dataNascimento", heroRequest.dataNascimento())
+                .bind("altura", heroRequest.altura())
+                .bind("peso", heroRequest.peso())
+                .bind("atualizadoEm", LocalDateTime.now())
+                .bind("id", heroId)
+                .then();
+    }
+
+    /** Troca os superpoderes do herói pelos informados, que já devem existir. */
+    public Mono<Void> replaceSuperpoderes(long heroId, Collection<Long> superpoderIds) {
+        return databaseClient.sql("DELETE FROM heroissuperpoderes WHERE heroi_id = :heroId")
+                .bind("heroId", heroId)
+                .then()
+                .then(databaseClient.sql("INSERT INTO heroissuperpoderes (heroi_id, superpoder_id) "
+                            + "SELECT :heroId, id FROM superpoderes WHERE id IN (:superpoderIds)")
+                        .bind("heroId", heroId)
+                        .bind("superpoderIds", superpoderIds)
+                        .then());
+    }
+
+    /** Remove o herói e registra a remoção em herois_removidos, como o backend. */
+    public Mono<Void> delete(long heroId) {
+        return databaseClient.sql("DELETE FROM heroissuperpoderes WHERE heroi_id = :heroId")
+                .bind("heroId", heroId)
+                .then()
+                .then(databaseClient.sql("DELETE FROM herois WHERE id = :heroId")
+                        .bind("heroId", heroId)
+                        .then())
+                .then(databaseClient.sql("INSERT INTO herois_removidos (heroi_id, removido_em) VALUES (:heroId, :removidoEm)")
+                        .bind("heroId", heroId)
+                        .bind("removidoEm", LocalDateTime.now())
+                        .then());
+    }
+
+    /**
+     * Próximo id de herói. Como o otimizador pooled do backend, cada leitura de herois_seq reserva o bloco de
+     * heroes.id.allocation-size ids (o INCREMENT BY da sequência) que termina no valor lido, e os ids seguintes
+     * saem da memória até o bloco acabar. Duas requisições que esgotam o bloco ao mesmo tempo reservam um bloco
+     * cada, e o que sobrar do bloco substituído fica sem uso.
+     */
+    Mono<Long> nextHeroId() {
+        return Mono.defer(() -> {
+            IdBlock current = idBlock.get();
+            if (current != null) {
+                long heroId = current.next.getAndIncrement();
+                if (heroId <= current.last) {
+                    return Mono.just(heroId);
+                }
+            }
+            return databaseClient.sql("SELECT nextval('herois_seq')")
+                    .map(row -> row.get(0, Long.class))
+                    .one()
+                    .map(last -> {
+                        // o primeiro valor da sequência (START WITH 1) é um bloco de um id só, como no backend
+                        IdBlock reserved = new IdBlock(Math.max(last - allocationSize + 1, 1), last);
+                        long heroId = reserved.next.getAndIncrement();
+                        idBlock.set(reserved);
+                        return heroId;
+                    });
+        });
+    }
+
+    private static HeroSuperpoderRowDTO toRow(Row row) {
+        return new HeroSuperpoderRowDTO(
+            row.get("id", Long.class),
+            row.get("nome", String.class),
+            row.get("nome_heroi", String.class),
+            row.get("data_nascimento", LocalDate.class),
+            row.get("altura", Double.class),
+            row.get("peso", Double.class),
+            row.get("superpoder_id", Long.class),
+            row.get("superpoder_nome", String.class),
+            row.get("superpoder_descricao", String.class)
+        );
+    }
+
+    private static final class IdBlock {
+
+        private final AtomicLong next;
+        private final long last;
+
+        IdBlock(long first, long last) {
+            this.next = new AtomicLong(first);
+            this.last = last;
+        }
+    }
+}
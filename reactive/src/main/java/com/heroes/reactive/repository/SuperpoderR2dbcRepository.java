@@ -0,0 +1,44 @@
+package com.heroes.reactive.repository;
+
+import com.heroes.model.dto.SuperpoderDTO;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
+
+@Repository
+public class SuperpoderR2dbcRepository {
+
+    private final DatabaseClient databaseClient;
+
+    public SuperpoderR2dbcRepository(DatabaseClient databaseClient) {
+        this.databaseClient = databaseClient;
+    }
+
+    public Flux<SuperpoderDTO> findAll() {
+        return databaseClient.sql("SELECT id, nome, descricao FROM superpoderes ORDER BY id")
+                .map(row -> new SuperpoderDTO(
+                    row.get("id", Long.class),
+                    row.get("nome", String.class),
+                    row.get("descricao", String.class)))
+                .all();
+    }
+
+    public Mono<Boolean> existsById(long superpoderId) {
+        return databaseClient.sql("SELECT 1 FROM superpoderes WHERE id = :id")
+                .bind("id", superpoderId)
+                .fetch()
+                .first()
+                .hasElement();
+    }
+
+    /** Os ids informados que existem no catálogo. */
+    public Flux<Long> findExistingIds(Collection<Long> superpoderIds) {
+        return databaseClient.sql("SELECT id FROM superpoderes WHERE id IN (:ids)")
+                .bind("ids", superpoderIds)
+                .map(row -> row.get("id", Long.class))
+                .all();
+    }
+}
@@ -0,0 +1,49 @@
+package com.heroes.reactive.service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Cursor da listagem por id, no mesmo formato do HeroCursor do backend com ordenação ID ASC: um cursor
+ * recebido de uma das aplicações continua a paginação na outra.
+ */
+final class HeroIdCursor {
+
+    private static final String PREFIX = "k:ID:ASC:";
+    private static final String INVALID_CURSOR_MESSAGE = "Cursor de paginação inválido";
+
+    private HeroIdCursor() {
+    }
+
+    static String encode(long lastHeroId) {
+        String raw = PREFIX + lastHeroId + ":" + lastHeroId;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /** Id do último herói da página anterior; 0 sem cursor, para começar do primeiro herói. */
+    static long decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return 0L;
+        }
+
+        String raw;
+        try {
+            raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException ex) {
+            throw new IllegalArgumentException(INVALID_CURSOR_MESSAGE, ex);
+        }
+        String[] parts = raw.split(":", 5);
+        if (parts.length != 5 || !"k".equals(parts[0])) {
+            throw new IllegalArgumentException(INVALID_CURSOR_MESSAGE);
+        }
+        if (!raw.startsWith(PREFIX)) {
+            throw new IllegalArgumentException("Cursor de paginação não corresponde à ordenação solicitada");
+        }
+
+        try {
+            return Long.parseLong(parts[3]);
+        } catch (NumberFormatException ex) {
+            throw new IllegalArgumentException(INVALID_CURSOR_MESSAGE, ex);
+        }
+    }
+}
@@ -0,0 +1,194 @@
+package com.heroes.reactive.service;
+
+import com.heroes.config.exception.DuplicateHeroNameException;
+import com.heroes.config.exception.ResourceNotFoundException;
+import com.heroes.model.dto.HeroPageDTO;
+import com.heroes.model.dto.HeroRequestDTO;
+import com.heroes.model.dto.HeroResponseDTO;
+import com.heroes.model.dto.HeroSuperpoderRowDTO;
+import com.heroes.model.mapper.HeroMapper;
+import com.heroes.reactive.repository.HeroR2dbcRepository;
+import com.heroes.reactive.repository.SuperpoderR2dbcRepository;
+import io.r2dbc.spi.R2dbcException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Regras do HeroService do backend sobre o R2DBC: mesmas validações, mesmas exceções e mesmos DTOs.
+ * A listagem é paginada por id com o cursor do backend; filtros e outras ordenações ficam só no backend.
+ */
+@Service
+public class ReactiveHeroService {
+
+    private static final String HERO_RESOURCE_NAME = "Herói";
+    private static final String SUPERPODER_RESOURCE_NAME = "Superpoder";
+    private static final int DEFAULT_PAGE_SIZE = 50;
+    private static final int MAX_PAGE_SIZE = 500;
+
+    private final HeroR2dbcRepository heroRepository;
+    private final SuperpoderR2dbcRepository superpoderRepository;
+    private final HeroMapper heroMapper;
+    private final int exportBatchSize;
+
+    @Autowired
+    public ReactiveHeroService(HeroR2dbcRepository heroRepository,
+                               SuperpoderR2dbcRepository superpoderRepository,
+                               HeroMapper heroMapper,
+                               @Value("${heroes.export.lote:500}") int exportBatchSize) {
+        this.heroRepository = heroRepository;
+        this.superpoderRepository = superpoderRepository;
+        this.heroMapper = heroMapper;
+        this.exportBatchSize = exportBatchSize;
+    }
+
+    public Mono<HeroPageDTO> findHeroPage(String cursor, Integer pageSize) {
+        return Mono.fromCallable(() -> new PageRequest(HeroIdCursor.decode(cursor), resolvePageSize(pageSize)))
+                .flatMap(page -> toPage(heroRepository.findRowsAfter(page.afterId(), page.size() + 1), page.size()));
+    }
+
+    public Mono<HeroPageDTO> findHeroesBySuperpoder(Long superpoderId, String cursor, Integer pageSize) {
+        return Mono.fromCallable(() -> new PageRequest(HeroIdCursor.decode(cursor), resolvePageSize(pageSize)))
+                .flatMap(page -> superpoderRepository.existsById(superpoderId)
+                    .flatMap(exists -> exists
+                        ? toPage(heroRepository.findRowsBySuperpoderAfter(superpoderId, page.afterId(), page.size() + 1),
+                            page.size())
+                        : Mono.error(new ResourceNotFoundException(SUPERPODER_RESOURCE_NAME, "ID", superpoderId))));
+    }
+
+    /**
+     * Todos os heróis por id, em lotes de heroes.export.lote buscados conforme o cliente consome: o próximo lote
+     * só é pedido ao banco quando o anterior já foi escrito, então um cliente lento não acumula heróis em memória
+     * nem segura uma conexão aberta durante a exportação.
+     */
+    public Flux<HeroResponseDTO> streamAllHeroes() {
+        return findBatchAfter(0L)
+                .expand(batch -> batch.size() < exportBatchSize
+                    ? Mono.empty()
+                    : findBatchAfter(batch.get(batch.size() - 1).id()))
+                .flatMapIterable(batch -> batch, 1);
+    }
+
+    public Mono<HeroResponseDTO> findHeroById(Long heroId) {
+        return heroRepository.findRowsById(heroId)
+                .collectList()
+                .flatMap(rows -> rows.isEmpty()
+                    ? Mono.error(new ResourceNotFoundException(HERO_RESOURCE_NAME, "ID", heroId))
+                    : Mono.just(heroMapper.toResponseDTOs(rows).get(0)));
+    }
+
+    @Transactional
+    public Mono<HeroResponseDTO> createHero(HeroRequestDTO heroRequest) {
+        return heroRepository.existsByNomeHeroi(heroRequest.nomeHeroi())
+                .flatMap(duplicate -> duplicate
+                    ? Mono.error(new DuplicateHeroNameException(heroRequest.nomeHeroi()))
+                    : validateSuperpoderes(heroRequest.superpoderIds()))
+                .flatMap(superpoderIds -> heroRepository.insert(heroRequest)
+                    .onErrorMap(ReactiveHeroService::isUniqueViolation,
+                        ex -> new DuplicateHeroNameException(heroRequest.nomeHeroi()))
+                    .flatMap(heroId -> heroRepository.replaceSuperpoderes(heroId, superpoderIds)
+                        .then(findHeroById(heroId))));
+    }
+
+    @Transactional
+    public Mono<HeroResponseDTO> updateHero(Long heroId, HeroRequestDTO heroRequest) {
+        return validateHeroExists(heroId)
+                .then(heroRepository.existsByNomeHeroiAndIdNot(heroRequest.nomeHeroi(), heroId))
+                .flatMap(duplicate -> duplicate
+                    ? Mono.error(new DuplicateHeroNameException(heroRequest.nomeHeroi()))
+                    : validateSuperpoderes(heroRequest.superpoderIds()))
+                .flatMap(superpoderIds -> heroRepository.update(heroId, heroRequest)
+                    .onErrorMap(ReactiveHeroService::isUniqueViolation,
+                        ex -> new DuplicateHeroNameException(heroRequest.nomeHeroi()))
+                    .then(heroRepository.replaceSuperpoderes(heroId, superpoderIds))
+                    .then(findHeroById(heroId)));
+    }
+
+    @Transactional
+    public Mono<Void> removeHero(Long heroId) {
+        return validateHeroExists(heroId)
+                .then(heroRepository.delete(heroId));
+    }
+
+    // a verificação do nome e a gravação não são atômicas: quem perde a corrida pelo mesmo nome esbarra na restrição
+    // única do banco. 23505 é unique_violation no SQL padrão (PostgreSQL e H2), e em herois a única restrição única
+    // além da chave primária é a do nome
+    private static boolean isUniqueViolation(Throwable ex) {
+        if (!(ex instanceof DataIntegrityViolationException)) {
+            return false;
+        }
+        // o driver pode aninhar a exceção do banco sob a do R2DBC (o r2dbc-h2 aninha a do JDBC): vale a do R2DBC
+        for (Throwable cause = ex.getCause(); cause != null; cause = cause.getCause()) {
+            if (cause instanceof R2dbcException r2dbcException) {
+                return "23505".equals(r2dbcException.getSqlState());
+            }
+        }
+        return false;
+    }
+
+    private Mono<List<HeroResponseDTO>> findBatchAfter(long afterId) {
+        return heroRepository.findRowsAfter(afterId, exportBatchSize)
+                .collectList()
+                .map(heroMapper::toResponseDTOs);
+    }
+
+    /** Monta a página a partir das linhas de até {@code size + 1} heróis; o herói a mais só indica que há próxima. */
+    private Mono<HeroPageDTO> toPage(Flux<HeroSuperpoderRowDTO> rows, int size) {
+        return rows.collectList()
+                .map(heroMapper::toResponseDTOs)
+                .map(heroes -> {
+                    if (heroes.size() <= size) {
+                        return new HeroPageDTO(heroes, null);
+                    }
+                    List<HeroResponseDTO> content = heroes.subList(0, size);
+                    return new HeroPageDTO(content, HeroIdCursor.encode(content.get(size - 1).id()));
+                });
+    }
+
+    private Mono<Void> validateHeroExists(Long heroId) {
+        return heroRepository.existsById(heroId)
+                .flatMap(exists -> exists
+                    ? Mono.empty()
+                    : Mono.error(new ResourceNotFoundException(HERO_RESOURCE_NAME, "ID", heroId)));
+    }
+
+    /** Os ids distintos, na ordem informada, se todos existirem; senão ResourceNotFoundException com os que faltam. */
+    private Mono<Set<Long>> validateSuperpoderes(List<Long> superpoderIds) {
+        Set<Long> distinctIds = new LinkedHashSet<>(superpoderIds);
+        return superpoderRepository.findExistingIds(distinctIds)
+                .collect(Collectors.toSet())
+                .flatMap(existingIds -> {
+                    if (existingIds.size() == distinctIds.size()) {
+                        return Mono.just(distinctIds);
+                    }
+                    String missingIds = distinctIds.stream()
+                            .filter(superpoderId -> !existingIds.contains(superpoderId))
+                            .map(String::valueOf)
+                            .collect(Collectors.joining(", "));
+                    return Mono.error(new ResourceNotFoundException(SUPERPODER_RESOURCE_NAME, "ID", missingIds));
+                });
+    }
+
+    private int resolvePageSize(Integer pageSize) {
+        if (pageSize == null) {
+            return DEFAULT_PAGE_SIZE;
+        }
+        if (pageSize < 1 || pageSize > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException(
+                String.format("Tamanho de página deve estar entre 1 e %d", MAX_PAGE_SIZE));
+        }
+        return pageSize;
+    }
+
+    private record PageRequest(long afterId, int size) {
+    }
+}
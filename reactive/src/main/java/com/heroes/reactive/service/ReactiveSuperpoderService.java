@@ -0,0 +1,36 @@
+package com.heroes.reactive.service;
+
+import com.heroes.model.dto.SuperpoderDTO;
+import com.heroes.reactive.repository.SuperpoderR2dbcRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.util.DigestUtils;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+@Service
+public class ReactiveSuperpoderService {
+
+    private final SuperpoderR2dbcRepository superpoderRepository;
+
+    public ReactiveSuperpoderService(SuperpoderR2dbcRepository superpoderRepository) {
+        this.superpoderRepository = superpoderRepository;
+    }
+
+    /** O catálogo por id com o ETag calculado como no SuperpoderCatalog do backend. */
+    public Mono<Catalog> findCatalog() {
+        return superpoderRepository.findAll()
+                .collectList()
+                .map(superpoderes -> new Catalog(superpoderes, computeETag(superpoderes)));
+    }
+
+    private String computeETag(List<SuperpoderDTO> superpoderes) {
+        StringBuilder content = new StringBuilder();
+        superpoderes.forEach(superpoder -> content.append(superpoder).append('\n'));
+        return DigestUtils.md5DigestAsHex(content.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    public record Catalog(List<SuperpoderDTO> superpoderes, String etag) {
+    }
+}
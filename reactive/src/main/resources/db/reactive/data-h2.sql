@@ -0,0 +1,43 @@
+-- Dados iniciais da variante reativa no H2: os mesmos de backend/src/main/resources/sql/insert-initial-data.sql
+-- Superpoderes
+INSERT INTO superpoderes (id, nome, descricao) VALUES
+(1, 'Super Força', 'Capacidade de levantar objetos extremamente pesados'),
+(2, 'Voo', 'Capacidade de voar pelos céus'),
+(3, 'Visão de Calor', 'Capacidade de emitir raios de calor pelos olhos'),
+(4, 'Super Velocidade', 'Capacidade de se mover em velocidades sobre-humanas'),
+(5, 'Inteligência', 'Capacidade mental superior'),
+(6, 'Artes Marciais', 'Habilidades avançadas de combate'),
+(7, 'Agilidade', 'Capacidade de se mover com rapidez e precisão'),
+(8, 'Sentido Aranha', 'Sexto sentido que alerta sobre perigos'),
+(9, 'Braceletes Indestrutíveis', 'Braceletes que podem bloquear qualquer ataque'),
+(10, 'Tecnologia', 'Conhecimento avançado em tecnologia');
+
+-- Heróis
+INSERT INTO herois (id, nome, nome_heroi, data_nascimento, altura, peso) VALUES
+(1, 'Clark Kent', 'Superman', '1938-04-18', 1.91, 107.0),
+(2, 'Bruce Wayne', 'Batman', '1939-03-30', 1.88, 95.0),
+(3, 'Peter Parker', 'Homem-Aranha', '1962-08-10', 1.78, 76.0);
+
+-- Avança as sequências para além dos IDs fixos acima (o otimizador pooled aloca o bloco que termina no valor lido)
+ALTER SEQUENCE superpoderes_seq RESTART WITH 101;
+ALTER SEQUENCE herois_seq RESTART WITH 101;
+
+-- Relacionamentos Heróis-Superpoderes
+-- Superman
+INSERT INTO heroissuperpoderes (heroi_id, superpoder_id) VALUES
+(1, 1), -- Super Força
+(1, 2), -- Voo
+(1, 3), -- Visão de Calor
+(1, 4); -- Super Velocidade
+
+-- Batman
+INSERT INTO heroissuperpoderes (heroi_id, superpoder_id) VALUES
+(2, 5), -- Inteligência
+(2, 6), -- Artes Marciais
+(2, 10); -- Tecnologia
+
+-- Homem-Aranha
+INSERT INTO heroissuperpoderes (heroi_id, superpoder_id) VALUES
+(3, 1), -- Super Força
+(3, 7), -- Agilidade
+(3, 8); -- Sentido Aranha
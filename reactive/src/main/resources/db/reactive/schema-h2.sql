@@ -0,0 +1,48 @@
+-- Esquema do banco em memória da variante reativa: o mesmo das migrações V1 e V2 do backend (db/migration),
+-- sem o CONCURRENTLY, que é do PostgreSQL, e sem o índice sobre lower(nome_heroi), que o H2 não suporta
+-- (a variante reativa não filtra por prefixo do nome).
+
+CREATE SEQUENCE herois_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE superpoderes_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE superpoderes (
+    id BIGINT NOT NULL,
+    nome VARCHAR(120) NOT NULL,
+    descricao VARCHAR(500),
+    CONSTRAINT pk_superpoderes PRIMARY KEY (id),
+    CONSTRAINT uk_superpoderes_nome UNIQUE (nome)
+);
+
+CREATE TABLE herois (
+    id BIGINT NOT NULL,
+    nome VARCHAR(120) NOT NULL,
+    nome_heroi VARCHAR(120) NOT NULL,
+    data_nascimento DATE NOT NULL,
+    altura DOUBLE PRECISION NOT NULL,
+    peso DOUBLE PRECISION NOT NULL,
+    versao BIGINT NOT NULL DEFAULT 0,
+    atualizado_em TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT pk_herois PRIMARY KEY (id),
+    CONSTRAINT uk_herois_nome_heroi UNIQUE (nome_heroi)
+);
+
+CREATE TABLE herois_removidos (
+    heroi_id BIGINT NOT NULL,
+    removido_em TIMESTAMP NOT NULL,
+    CONSTRAINT pk_herois_removidos PRIMARY KEY (heroi_id)
+);
+
+CREATE TABLE heroissuperpoderes (
+    heroi_id BIGINT NOT NULL,
+    superpoder_id BIGINT NOT NULL,
+    CONSTRAINT pk_heroissuperpoderes PRIMARY KEY (heroi_id, superpoder_id),
+    CONSTRAINT fk_heroissuperpoderes_heroi FOREIGN KEY (heroi_id) REFERENCES herois (id),
+    CONSTRAINT fk_heroissuperpoderes_superpoder FOREIGN KEY (superpoder_id) REFERENCES superpoderes (id)
+);
+
+CREATE INDEX idx_herois_atualizado_em ON herois (atualizado_em, id);
+CREATE INDEX idx_herois_data_nascimento ON herois (data_nascimento, id);
+CREATE INDEX idx_herois_altura ON herois (altura, id);
+CREATE INDEX idx_herois_peso ON herois (peso, id);
+CREATE INDEX idx_herois_removidos_removido_em ON herois_removidos (removido_em, heroi_id);
+CREATE INDEX idx_heroissuperpoderes_superpoder ON heroissuperpoderes (superpoder_id, heroi_id);
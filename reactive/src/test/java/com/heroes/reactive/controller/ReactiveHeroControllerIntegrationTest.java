@@ -0,0 +1,223 @@
+package com.heroes.reactive.controller;
+
+import com.heroes.model.dto.HeroRequestDTO;
+import com.heroes.model.dto.HeroResponseDTO;
+import com.heroes.model.dto.SuperpoderDTO;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.EntityExchangeResult;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Base64;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Contrato de /api/heroes na variante reativa, sobre o H2 com os dados iniciais (Superman, Batman e Homem-Aranha).
+ * Os testes que escrevem usam nomes próprios e não alteram os três heróis iniciais.
+ */
+@SpringBootTest(properties = "spring.r2dbc.url=r2dbc:h2:mem:///reactive-heroes?options=DB_CLOSE_DELAY=-1;MODE=PostgreSQL")
+@AutoConfigureWebTestClient
+class ReactiveHeroControllerIntegrationTest {
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Test
+    void testGetHeroById() {
+        HeroResponseDTO superman = webTestClient.get().uri("/api/heroes/1")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(HeroResponseDTO.class)
+                .returnResult()
+                .getResponseBody();
+
+        assertNotNull(superman);
+        assertEquals("Superman", superman.nomeHeroi());
+        assertEquals(LocalDate.of(1938, 4, 18), superman.dataNascimento());
+        assertEquals(List.of(1L, 2L, 3L, 4L), superman.superpoderes().stream().map(SuperpoderDTO::id).toList());
+    }
+
+    @Test
+    void testGetHeroByIdNotFound() {
+        webTestClient.get().uri("/api/heroes/999999")
+                .exchange()
+                .expectStatus().isNotFound()
+                .expectBody()
+                .jsonPath("$.error").isEqualTo("Recurso não encontrado")
+                .jsonPath("$.message").isEqualTo("Herói não encontrado com ID: '999999'")
+                .jsonPath("$.path").isEqualTo("/api/heroes/999999");
+    }
+
+    @Test
+    void testListingFollowsNextCursor() {
+        EntityExchangeResult<List<HeroResponseDTO>> firstPage = webTestClient.get().uri("/api/heroes?tamanho=2")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBodyList(HeroResponseDTO.class)
+                .returnResult();
+        List<HeroResponseDTO> firstHeroes = firstPage.getResponseBody();
+        String nextCursor = firstPage.getResponseHeaders().getFirst(ReactiveHeroController.NEXT_CURSOR_HEADER);
+
+        assertEquals(List.of(1L, 2L), firstHeroes.stream().map(HeroResponseDTO::id).toList());
+        assertEquals(cursorAfter(2L), nextCursor);
+
+        List<HeroResponseDTO> secondHeroes = webTestClient.get().uri("/api/heroes?tamanho=2&cursor={cursor}", nextCursor)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBodyList(HeroResponseDTO.class)
+                .returnResult()
+                .getResponseBody();
+
+        assertEquals(3L, secondHeroes.get(0).id());
+        assertEquals("Homem-Aranha", secondHeroes.get(0).nomeHeroi());
+    }
+
+    @Test
+    void testListingRejectsInvalidPageSizeAndCursor() {
+        webTestClient.get().uri("/api/heroes?tamanho=501")
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.message").isEqualTo("Tamanho de página deve estar entre 1 e 500");
+
+        String sortedByPeso = Base64.getUrlEncoder().withoutPadding()
+                .encodeToString("k:PESO:DESC:2:95.0".getBytes(StandardCharsets.UTF_8));
+        webTestClient.get().uri("/api/heroes?cursor={cursor}", sortedByPeso)
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.message").isEqualTo("Cursor de paginação não corresponde à ordenação solicitada");
+    }
+
+    @Test
+    void testExportStreamsOneHeroPerLine() {
+        String body = webTestClient.get().uri("/api/heroes/export")
+                .accept(MediaType.parseMediaType(ReactiveHeroController.NDJSON_MEDIA_TYPE))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(String.class)
+                .returnResult()
+                .getResponseBody();
+
+        assertNotNull(body);
+        String[] lines = body.split("\n");
+        assertTrue(lines.length >= 3);
+        assertTrue(lines[0].startsWith("{\"id\":1,\"nome\":\"Clark Kent\",\"nomeHeroi\":\"Superman\""), lines[0]);
+    }
+
+    @Test
+    void testCreateUpdateAndDeleteHero() {
+        HeroResponseDTO created = webTestClient.post().uri("/api/heroes")
+                .bodyValue(new HeroRequestDTO("Diana Prince", "Mulher-Maravilha", LocalDate.of(1941, 10, 21),
+                    1.83, 75.0, List.of(9L, 1L, 9L)))
+                .exchange()
+                .expectStatus().isCreated()
+                .expectBody(HeroResponseDTO.class)
+                .returnResult()
+                .getResponseBody();
+
+        assertNotNull(created);
+        assertTrue(created.id() > 3L);
+        assertEquals(List.of(1L, 9L), created.superpoderes().stream().map(SuperpoderDTO::id).toList());
+
+        webTestClient.put().uri("/api/heroes/{id}", created.id())
+                .bodyValue(new HeroRequestDTO("Diana de Temiscira", "Mulher-Maravilha", LocalDate.of(1941, 10, 21),
+                    1.83, 75.0, List.of(2L)))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.nome").isEqualTo("Diana de Temiscira")
+                .jsonPath("$.superpoderes.length()").isEqualTo(1)
+                .jsonPath("$.superpoderes[0].nome").isEqualTo("Voo");
+
+        webTestClient.delete().uri("/api/heroes/{id}", created.id())
+                .exchange()
+                .expectStatus().isNoContent();
+
+        webTestClient.get().uri("/api/heroes/{id}", created.id())
+                .exchange()
+                .expectStatus().isNotFound();
+    }
+
+    @Test
+    void testCreatedHeroesTakeIdsFromTheSameBlock() {
+        Long first = createHero("Bloco Um");
+        Long second = createHero("Bloco Dois");
+
+        // um bloco de heroes.id.allocation-size ids por leitura de herois_seq, não um bloco por herói
+        assertEquals(first + 1, second);
+    }
+
+    @Test
+    void testCreateHeroWithDuplicateName() {
+        webTestClient.post().uri("/api/heroes")
+                .bodyValue(new HeroRequestDTO("Outro Clark", "Superman", LocalDate.of(1990, 1, 1), 1.80, 80.0, List.of(1L)))
+                .exchange()
+                .expectStatus().isEqualTo(409)
+                .expectBody()
+                .jsonPath("$.error").isEqualTo("Nome de herói duplicado");
+    }
+
+    @Test
+    void testCreateHeroWithUnknownSuperpoder() {
+        webTestClient.post().uri("/api/heroes")
+                .bodyValue(new HeroRequestDTO("Sem Poder", "Poder Inexistente", LocalDate.of(1990, 1, 1), 1.80, 80.0,
+                    List.of(1L, 9998L, 9999L)))
+                .exchange()
+                .expectStatus().isNotFound()
+                .expectBody()
+                .jsonPath("$.message").isEqualTo("Superpoder não encontrado com ID: '9998, 9999'");
+
+        webTestClient.get().uri("/api/heroes?tamanho=500")
+                .exchange()
+                .expectBody()
+                .jsonPath("$[?(@.nomeHeroi == 'Poder Inexistente')]").doesNotExist();
+    }
+
+    @Test
+    void testCreateHeroWithInvalidData() {
+        webTestClient.post().uri("/api/heroes")
+                .bodyValue(new HeroRequestDTO("", "Invalido", null, -1.0, 80.0, List.of()))
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.error").isEqualTo("Dados inválidos")
+                .jsonPath("$.fieldErrors.length()").isEqualTo(4);
+    }
+
+    @Test
+    void testUpdateAndDeleteUnknownHero() {
+        webTestClient.put().uri("/api/heroes/999999")
+                .bodyValue(new HeroRequestDTO("Ninguém", "Ninguém", LocalDate.of(1990, 1, 1), 1.80, 80.0, List.of(1L)))
+                .exchange()
+                .expectStatus().isNotFound();
+
+        webTestClient.delete().uri("/api/heroes/999999")
+                .exchange()
+                .expectStatus().isNotFound();
+    }
+
+    private Long createHero(String nomeHeroi) {
+        HeroResponseDTO created = webTestClient.post().uri("/api/heroes")
+                .bodyValue(new HeroRequestDTO("Pessoa " + nomeHeroi, nomeHeroi, LocalDate.of(1980, 1, 1), 1.80, 80.0, List.of(1L)))
+                .exchange()
+                .expectStatus().isCreated()
+                .expectBody(HeroResponseDTO.class)
+                .returnResult()
+                .getResponseBody();
+        assertNotNull(created);
+        return created.id();
+    }
+
+    private static String cursorAfter(long heroId) {
+        String raw = "k:ID:ASC:" + heroId + ":" + heroId;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
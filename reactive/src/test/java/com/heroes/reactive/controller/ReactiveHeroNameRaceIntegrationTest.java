@@ -0,0 +1,61 @@
+package com.heroes.reactive.controller;
+
+import com.heroes.model.dto.HeroRequestDTO;
+import com.heroes.reactive.repository.HeroR2dbcRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.mockito.Mockito.doReturn;
+
+/**
+ * Requisição que perde a corrida pelo nome: a verificação do nome não vê o herói gravado pela outra (aqui, forçado
+ * pelo espião), e a restrição única do banco responde 409 como no backend, não 500.
+ */
+@SpringBootTest(properties = "spring.r2dbc.url=r2dbc:h2:mem:///reactive-name-race?options=DB_CLOSE_DELAY=-1;MODE=PostgreSQL")
+@AutoConfigureWebTestClient
+class ReactiveHeroNameRaceIntegrationTest {
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @SpyBean
+    private HeroR2dbcRepository heroRepository;
+
+    @Test
+    void testCreateHeroLosingNameRace() {
+        doReturn(Mono.just(false)).when(heroRepository).existsByNomeHeroi("Superman");
+
+        webTestClient.post().uri("/api/heroes")
+                .bodyValue(new HeroRequestDTO("Outro Clark", "Superman", LocalDate.of(1990, 1, 1), 1.80, 80.0, List.of(1L)))
+                .exchange()
+                .expectStatus().isEqualTo(409)
+                .expectBody()
+                .jsonPath("$.error").isEqualTo("Nome de herói duplicado");
+    }
+
+    @Test
+    void testUpdateHeroLosingNameRace() {
+        doReturn(Mono.just(false)).when(heroRepository).existsByNomeHeroiAndIdNot("Superman", 2L);
+
+        webTestClient.put().uri("/api/heroes/2")
+                .bodyValue(new HeroRequestDTO("Bruce Wayne", "Superman", LocalDate.of(1939, 5, 27), 1.88, 95.0, List.of(5L)))
+                .exchange()
+                .expectStatus().isEqualTo(409)
+                .expectBody()
+                .jsonPath("$.error").isEqualTo("Nome de herói duplicado");
+
+        webTestClient.get().uri("/api/heroes/2")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.nomeHeroi").isEqualTo("Batman");
+    }
+}
@@ -0,0 +1,83 @@
+package com.heroes.reactive.controller;
+
+import com.heroes.model.dto.HeroResponseDTO;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.reactive.server.EntityExchangeResult;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * /api/superpoderes na variante reativa, sobre a massa de carga do BulkDataSeeder: 1.000 heróis com 3 dos
+ * 10 superpoderes cada, em rodízio, então cada superpoder fica com 300 heróis da massa, além dos heróis iniciais.
+ */
+@SpringBootTest(properties = {
+    "spring.r2dbc.url=r2dbc:h2:mem:///reactive-superpoderes?options=DB_CLOSE_DELAY=-1;MODE=PostgreSQL",
+    "heroes.seed.herois=1000"
+})
+@AutoConfigureWebTestClient
+class ReactiveSuperpoderControllerIntegrationTest {
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Test
+    void testGetAllSuperpoderesWithETag() {
+        String etag = webTestClient.get().uri("/api/superpoderes")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().cacheControl(CacheControl.noCache())
+                .expectBody()
+                .jsonPath("$.length()").isEqualTo(10)
+                .jsonPath("$[0].nome").isEqualTo("Super Força")
+                .jsonPath("$[9].nome").isEqualTo("Tecnologia")
+                .returnResult()
+                .getResponseHeaders()
+                .getETag();
+
+        assertNotNull(etag);
+
+        webTestClient.get().uri("/api/superpoderes")
+                .header(HttpHeaders.IF_NONE_MATCH, etag)
+                .exchange()
+                .expectStatus().isNotModified()
+                .expectBody().isEmpty();
+    }
+
+    @Test
+    void testGetHeroesBySuperpoderPagesThroughAllHeroes() {
+        int total = 0;
+        String cursor = null;
+        do {
+            String uri = "/api/superpoderes/5/heroes?tamanho=200" + (cursor != null ? "&cursor=" + cursor : "");
+            EntityExchangeResult<List<HeroResponseDTO>> page = webTestClient.get().uri(uri)
+                    .exchange()
+                    .expectStatus().isOk()
+                    .expectBodyList(HeroResponseDTO.class)
+                    .returnResult();
+            total += page.getResponseBody().size();
+            page.getResponseBody().forEach(hero -> assertTrue(
+                hero.superpoderes().stream().anyMatch(superpoder -> superpoder.id() == 5L)));
+            cursor = page.getResponseHeaders().getFirst(ReactiveHeroController.NEXT_CURSOR_HEADER);
+        } while (cursor != null);
+
+        // 300 heróis da massa de carga e o Batman, dos dados iniciais
+        assertEquals(301, total);
+    }
+
+    @Test
+    void testGetHeroesByUnknownSuperpoder() {
+        webTestClient.get().uri("/api/superpoderes/9999/heroes")
+                .exchange()
+                .expectStatus().isNotFound()
+                .expectBody()
+                .jsonPath("$.message").isEqualTo("Superpoder não encontrado com ID: '9999'");
+    }
+}